@@ -0,0 +1,141 @@
+package sanctuary.bench;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sanctuary.ExportReport;
+import sanctuary.RosterExporter;
+import sanctuary.Sanctuary;
+import sanctuary.entities.Monkey;
+import sanctuary.enums.ExportFormat;
+import sanctuary.enums.Foods;
+import sanctuary.enums.Sex;
+import sanctuary.enums.Size;
+import sanctuary.enums.Species;
+import sanctuary.housing.Enclosure;
+
+/**
+ * JMH Benchmarks for exporting the roster of a large Sanctuary, comparing the streaming
+ * exporter with writing out the monkey lists of every housing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx3g"})
+public class ExportBenchmark {
+
+  /**
+   * A Sanctuary with its monkeys shared out between enclosures of 200 monkeys each.
+   */
+  @State(Scope.Benchmark)
+  public static class Roster {
+
+    @Param({"1000000"})
+    int monkeyCount;
+
+    Sanctuary sanctuary;
+    List<Enclosure> enclosures;
+    RosterExporter exporter;
+    Path file;
+
+    /**
+     * Build the Sanctuary.
+     *
+     * @throws IOException if the export file cannot be created.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+      sanctuary = new Sanctuary();
+      sanctuary.createIsolation(200);
+      Species[] species = Species.values();
+      enclosures = new ArrayList<>();
+      for (int i = 0; i < monkeyCount; i++) {
+        if (i % 200 == 0) {
+          enclosures.add((Enclosure) sanctuary.createEnclosure("Enclosure " + i / 200, 1000,
+                  species[i / 200 % species.length]));
+        }
+        Monkey monkey = new Monkey("Monkey " + i, species[i / 200 % species.length],
+                Sex.Female, Size.Medium, 12.5, 24, Foods.Fruits);
+        sanctuary.tryAddMonkeyToSanctuary(monkey);
+        sanctuary.tryShiftMonkeyToEnclosure(monkey);
+      }
+      exporter = new RosterExporter();
+      file = Files.createTempFile("roster", ".export");
+    }
+
+    /**
+     * Delete the export file.
+     *
+     * @throws IOException if the file cannot be deleted.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  /**
+   * Export the roster as CSV.
+   *
+   * @param state the Sanctuary.
+   * @return the report of the export.
+   * @throws IOException if the file cannot be written.
+   */
+  @Benchmark
+  public ExportReport exportCsv(Roster state) throws IOException {
+    return state.exporter.export(state.sanctuary, state.file, ExportFormat.Csv);
+  }
+
+  /**
+   * Export the roster as JSON Lines.
+   *
+   * @param state the Sanctuary.
+   * @return the report of the export.
+   * @throws IOException if the file cannot be written.
+   */
+  @Benchmark
+  public ExportReport exportJsonLines(Roster state) throws IOException {
+    return state.exporter.export(state.sanctuary, state.file, ExportFormat.JsonLines);
+  }
+
+  /**
+   * Write out the monkey lists of the Isolation and every enclosure.
+   *
+   * @param state the Sanctuary.
+   * @return the file written.
+   * @throws IOException if the file cannot be written.
+   */
+  @Benchmark
+  public Path writeMonkeyLists(Roster state) throws IOException {
+    List<String> lines = new ArrayList<>();
+    for (Object monkey : state.sanctuary.getMonkeysInIsolation()) {
+      lines.add("Isolation," + monkey);
+    }
+    for (Enclosure enclosure : state.enclosures) {
+      for (Object monkey : state.sanctuary.getMonkeysInEnclosure(enclosure)) {
+        lines.add(enclosure.getName() + "," + monkey);
+      }
+    }
+    return Files.write(state.file, lines, StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,174 @@
+package sanctuary.bench;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sanctuary.ImportReport;
+import sanctuary.IntakeReport;
+import sanctuary.RosterExporter;
+import sanctuary.RosterImporter;
+import sanctuary.Sanctuary;
+import sanctuary.entities.Monkey;
+import sanctuary.enums.ExportFormat;
+import sanctuary.enums.Foods;
+import sanctuary.enums.IntakeOutcome;
+import sanctuary.enums.Sex;
+import sanctuary.enums.Size;
+import sanctuary.enums.Species;
+
+/**
+ * JMH Benchmarks for importing the roster of a large Sanctuary from CSV, comparing the
+ * memory-mapped importer with reading the lines and splitting them into Strings.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx3g"})
+public class ImportBenchmark {
+
+  private static final int TROOP_SIZE = 200;
+
+  /**
+   * A roster exported as CSV, and an empty Sanctuary with the enclosures it names.
+   */
+  @State(Scope.Benchmark)
+  public static class Roster {
+
+    @Param({"200000"})
+    int monkeyCount;
+
+    Path file;
+    Sanctuary sanctuary;
+
+    /**
+     * Export the roster of a Sanctuary with its monkeys shared out between enclosures.
+     *
+     * @throws IOException if the roster cannot be written.
+     */
+    @Setup(Level.Trial)
+    public void export() throws IOException {
+      Sanctuary source = newSanctuary(monkeyCount);
+      Species[] species = Species.values();
+      for (int i = 0; i < monkeyCount; i++) {
+        Monkey monkey = new Monkey("Monkey " + i, species[i / TROOP_SIZE % species.length],
+                Sex.Female, Size.Medium, 12.5, 24, Foods.Fruits);
+        source.tryAddMonkeyToSanctuary(monkey);
+        source.tryShiftMonkeyToEnclosure(monkey);
+      }
+      file = Files.createTempFile("roster", ".csv");
+      new RosterExporter().export(source, file, ExportFormat.Csv);
+    }
+
+    /**
+     * Make an empty Sanctuary to import the roster into.
+     */
+    @Setup(Level.Invocation)
+    public void setUp() {
+      sanctuary = newSanctuary(monkeyCount);
+    }
+
+    /**
+     * Delete the roster.
+     *
+     * @throws IOException if the file cannot be deleted.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+      Files.deleteIfExists(file);
+    }
+
+    /**
+     * Make a Sanctuary with an enclosure for every troop.
+     *
+     * @param monkeyCount number of monkeys.
+     * @return the Sanctuary.
+     */
+    private static Sanctuary newSanctuary(int monkeyCount) {
+      Sanctuary sanctuary = new Sanctuary();
+      sanctuary.createIsolation(8192);
+      Species[] species = Species.values();
+      for (int i = 0; i < monkeyCount / TROOP_SIZE; i++) {
+        sanctuary.createEnclosure("Enclosure " + i, 1000, species[i % species.length]);
+      }
+      return sanctuary;
+    }
+  }
+
+  /**
+   * Import the roster with the memory-mapped importer.
+   *
+   * @param state the roster.
+   * @return the report of the import.
+   * @throws IOException if the file cannot be read.
+   */
+  @Benchmark
+  public ImportReport importRoster(Roster state) throws IOException {
+    return new RosterImporter().load(state.sanctuary, state.file);
+  }
+
+  /**
+   * Import the roster reading its lines, splitting them and valuing the enums by name, then
+   * shifting the monkeys of every batch to an enclosure.
+   *
+   * @param state the roster.
+   * @return the number of monkeys admitted.
+   * @throws IOException if the file cannot be read.
+   */
+  @Benchmark
+  public int splitLines(Roster state) throws IOException {
+    int admitted = 0;
+    List<Monkey> batch = new ArrayList<>();
+    try (BufferedReader reader = Files.newBufferedReader(state.file, StandardCharsets.UTF_8)) {
+      reader.readLine();
+      String line;
+      while ((line = reader.readLine()) != null) {
+        String[] fields = line.split(",");
+        batch.add(new Monkey(fields[1], Species.valueOf(fields[2]), Sex.valueOf(fields[3]),
+                fields[4].isEmpty() ? null : Size.valueOf(fields[4]),
+                Double.parseDouble(fields[5]), Double.parseDouble(fields[6]),
+                Foods.valueOf(fields[7])));
+        if (batch.size() == 4096) {
+          admitted += load(state.sanctuary, batch);
+        }
+      }
+    }
+    return admitted + load(state.sanctuary, batch);
+  }
+
+  /**
+   * Bring a batch of monkeys in to the Sanctuary and shift them to an enclosure.
+   *
+   * @param sanctuary the Sanctuary.
+   * @param batch     monkeys of the batch, cleared once loaded.
+   * @return the number of monkeys admitted.
+   */
+  private static int load(Sanctuary sanctuary, List<Monkey> batch) {
+    IntakeReport report = sanctuary.addMonkeysToSanctuary(batch);
+    for (Monkey monkey : batch) {
+      sanctuary.tryShiftMonkeyToEnclosure(monkey);
+    }
+    batch.clear();
+    return report.count(IntakeOutcome.Admitted);
+  }
+}
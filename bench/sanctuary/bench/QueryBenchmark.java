@@ -0,0 +1,141 @@
+package sanctuary.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sanctuary.Sanctuary;
+import sanctuary.entities.Monkey;
+import sanctuary.enums.Foods;
+import sanctuary.enums.Sex;
+import sanctuary.enums.Size;
+import sanctuary.enums.Species;
+import sanctuary.query.MonkeyQuery;
+
+/**
+ * JMH Benchmarks for queries over the monkeys of the Sanctuary, comparing the indexes with
+ * checking every monkey of the roster.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryBenchmark {
+
+  /**
+   * A Sanctuary with an Isolation full of random monkeys.
+   */
+  @State(Scope.Benchmark)
+  public static class Roster {
+
+    @Param({"10000"})
+    int monkeyCount;
+
+    Sanctuary sanctuary;
+    List<Monkey> monkeys;
+    MonkeyQuery selective;
+    MonkeyQuery range;
+
+    /**
+     * Build the Sanctuary.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+      Random random = new Random(42);
+      sanctuary = new Sanctuary();
+      sanctuary.createIsolation(monkeyCount);
+      monkeys = new ArrayList<>(monkeyCount);
+      Species[] species = Species.values();
+      Size[] sizes = Size.values();
+      Foods[] foods = Foods.values();
+      for (int i = 0; i < monkeyCount; i++) {
+        Monkey monkey = new Monkey("Monkey " + i, species[random.nextInt(species.length)],
+                random.nextBoolean() ? Sex.Female : Sex.Male,
+                sizes[random.nextInt(sizes.length)], 1 + random.nextInt(40),
+                1 + random.nextInt(300),
+                foods[random.nextInt(foods.length)]);
+        sanctuary.tryAddMonkeyToSanctuary(monkey);
+        monkeys.add(monkey);
+      }
+      selective = new MonkeyQuery().species(Species.Howler).sex(Sex.Female).size(Size.Large)
+              .weightBetween(20, Double.POSITIVE_INFINITY);
+      range = new MonkeyQuery().ageBetween(100, 110);
+    }
+  }
+
+  /**
+   * Find the female Large Howlers of 20 kg or more with the indexes.
+   *
+   * @param state the Sanctuary.
+   * @return the monkeys found.
+   */
+  @Benchmark
+  public List<Monkey> findSelective(Roster state) {
+    return state.sanctuary.findMonkeys(state.selective);
+  }
+
+  /**
+   * Find the female Large Howlers of 20 kg or more by checking every monkey.
+   *
+   * @param state the Sanctuary.
+   * @return the monkeys found.
+   */
+  @Benchmark
+  public List<Monkey> scanSelective(Roster state) {
+    return scan(state.monkeys, state.selective);
+  }
+
+  /**
+   * Find the monkeys in a narrow age range with the indexes.
+   *
+   * @param state the Sanctuary.
+   * @return the monkeys found.
+   */
+  @Benchmark
+  public List<Monkey> findRange(Roster state) {
+    return state.sanctuary.findMonkeys(state.range);
+  }
+
+  /**
+   * Find the monkeys in a narrow age range by checking every monkey.
+   *
+   * @param state the Sanctuary.
+   * @return the monkeys found.
+   */
+  @Benchmark
+  public List<Monkey> scanRange(Roster state) {
+    return scan(state.monkeys, state.range);
+  }
+
+  /**
+   * Check every monkey against a query.
+   *
+   * @param monkeys monkeys of the roster.
+   * @param query   criteria of the search.
+   * @return the monkeys found.
+   */
+  private static List<Monkey> scan(List<Monkey> monkeys, MonkeyQuery query) {
+    List<Monkey> found = new ArrayList<>();
+    for (Monkey monkey : monkeys) {
+      if (query.matches(monkey)) {
+        found.add(monkey);
+      }
+    }
+    return found;
+  }
+}
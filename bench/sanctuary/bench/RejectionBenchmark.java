@@ -0,0 +1,153 @@
+package sanctuary.bench;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sanctuary.Sanctuary;
+import sanctuary.entities.Monkey;
+import sanctuary.enums.Foods;
+import sanctuary.enums.Sex;
+import sanctuary.enums.Size;
+import sanctuary.enums.Species;
+import sanctuary.housing.Result;
+
+/**
+ * JMH Benchmarks for the rejection paths of the Sanctuary, comparing the methods that print
+ * a rejection or return it as an exception with the methods returning a Result. Every call
+ * is rejected, which is the worst case of a burst the sanctuary cannot absorb.
+ *
+ * <p>Standard output is sent nowhere while the benchmarks run, so the printing methods pay
+ * for formatting the message but not for the terminal.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RejectionBenchmark {
+
+  /**
+   * A Sanctuary with a full Isolation of one cage and a Drill enclosure holding a Large
+   * Drill, so a Howler has no enclosure to go to.
+   */
+  @State(Scope.Benchmark)
+  public static class Full {
+
+    Sanctuary sanctuary;
+    Monkey resident;
+    Monkey duplicate;
+    Monkey arrival;
+    PrintStream out;
+
+    /**
+     * Build the Sanctuary.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+      out = System.out;
+      System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+      sanctuary = new Sanctuary();
+      sanctuary.createIsolation(1);
+      sanctuary.createEnclosure("Enclosure 1", 10, Species.Drill);
+      sanctuary.addMonkeyToSanctuary(new Monkey("Drill", Species.Drill, Sex.Male, Size.Large,
+              30, 60, Foods.Eggs));
+      sanctuary.shiftMonkeyToEnclosure(sanctuary.lookupMonkey("Drill"));
+      resident = new Monkey("Howler", Species.Howler, Sex.Female, Size.Medium, 12, 48,
+              Foods.Fruits);
+      sanctuary.addMonkeyToSanctuary(resident);
+      duplicate = new Monkey("Howler", Species.Howler, Sex.Male, Size.Small, 8, 20,
+              Foods.Nuts);
+      arrival = new Monkey("Saki", Species.Saki, Sex.Male, Size.Small, 3, 20, Foods.Seeds);
+    }
+
+    /**
+     * Give standard output back.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      System.setOut(out);
+    }
+  }
+
+  /**
+   * Turn away a monkey for lack of space, printing the rejection.
+   *
+   * @param state the full Sanctuary.
+   * @return the Isolation occupancy, to keep the call alive.
+   */
+  @Benchmark
+  public int addMonkeyNoSpace(Full state) {
+    state.sanctuary.addMonkeyToSanctuary(state.arrival);
+    return state.sanctuary.getIsolationOccupancy();
+  }
+
+  /**
+   * Turn away a monkey for lack of space, returning the rejection.
+   *
+   * @param state the full Sanctuary.
+   * @return the rejection.
+   */
+  @Benchmark
+  public Result<Void> tryAddMonkeyNoSpace(Full state) {
+    return state.sanctuary.tryAddMonkeyToSanctuary(state.arrival);
+  }
+
+  /**
+   * Turn away a monkey for a duplicate name, printing the rejection.
+   *
+   * @param state the full Sanctuary.
+   * @return the Isolation occupancy, to keep the call alive.
+   */
+  @Benchmark
+  public int addMonkeyDuplicateName(Full state) {
+    state.sanctuary.addMonkeyToSanctuary(state.duplicate);
+    return state.sanctuary.getIsolationOccupancy();
+  }
+
+  /**
+   * Turn away a monkey for a duplicate name, returning the rejection.
+   *
+   * @param state the full Sanctuary.
+   * @return the rejection.
+   */
+  @Benchmark
+  public Result<Void> tryAddMonkeyDuplicateName(Full state) {
+    return state.sanctuary.tryAddMonkeyToSanctuary(state.duplicate);
+  }
+
+  /**
+   * Fail to shift a monkey with no enclosure to go to, returning the exception.
+   *
+   * @param state the full Sanctuary.
+   * @return the exception.
+   */
+  @Benchmark
+  public Object shiftMonkeyNoEnclosure(Full state) {
+    return state.sanctuary.shiftMonkeyToEnclosure(state.resident);
+  }
+
+  /**
+   * Fail to shift a monkey with no enclosure to go to, returning the rejection.
+   *
+   * @param state the full Sanctuary.
+   * @return the rejection.
+   */
+  @Benchmark
+  public Result<?> tryShiftMonkeyNoEnclosure(Full state) {
+    return state.sanctuary.tryShiftMonkeyToEnclosure(state.resident);
+  }
+}
@@ -0,0 +1,120 @@
+package sanctuary.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sanctuary.Sanctuary;
+import sanctuary.SanctuaryReport;
+import sanctuary.SanctuaryReporter;
+import sanctuary.entities.Monkey;
+import sanctuary.enums.Foods;
+import sanctuary.enums.Sex;
+import sanctuary.enums.Size;
+import sanctuary.enums.Species;
+import sanctuary.housing.Enclosure;
+
+/**
+ * JMH Benchmarks for reporting on every enclosure of a Sanctuary, comparing the sanctuary
+ * report with going through the enclosures one report call at a time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReportBenchmark {
+
+  /**
+   * A Sanctuary with every enclosure holding a few monkeys.
+   */
+  @State(Scope.Benchmark)
+  public static class Housed {
+
+    @Param({"5000"})
+    int enclosureCount;
+
+    Sanctuary sanctuary;
+    List<Enclosure> enclosures;
+    SanctuaryReporter sequential;
+    SanctuaryReporter parallel;
+
+    /**
+     * Build the Sanctuary.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+      sanctuary = new Sanctuary();
+      sanctuary.createIsolation(4);
+      Species[] species = Species.values();
+      enclosures = new ArrayList<>(enclosureCount);
+      int id = 0;
+      for (int i = 0; i < enclosureCount; i++) {
+        Species designation = species[i % species.length];
+        enclosures.add((Enclosure) sanctuary.createEnclosure("Enclosure " + i, 20,
+                designation));
+        for (int k = 0; k < 4; k++) {
+          Monkey monkey = new Monkey("Monkey " + id++, designation, Sex.Female, Size.Medium,
+                  12, 24, Foods.Fruits);
+          sanctuary.tryAddMonkeyToSanctuary(monkey);
+          sanctuary.tryShiftMonkeyToEnclosure(monkey);
+        }
+      }
+      sequential = new SanctuaryReporter(ForkJoinPool.commonPool(), Integer.MAX_VALUE);
+      parallel = new SanctuaryReporter();
+    }
+  }
+
+  /**
+   * Go through the enclosures one report call at a time.
+   *
+   * @param state the Sanctuary.
+   * @return the number of monkeys listed, to keep the calls alive.
+   */
+  @Benchmark
+  public int reportEachEnclosure(Housed state) {
+    int listed = 0;
+    for (Enclosure enclosure : state.enclosures) {
+      listed += state.sanctuary.getMonkeysInEnclosure(enclosure).size();
+      listed += state.sanctuary.getSpeciesListInEnclosure(enclosure).size();
+      listed += state.sanctuary.getEnclosureAvailability(enclosure);
+    }
+    return listed;
+  }
+
+  /**
+   * Make the sanctuary report on the calling thread.
+   *
+   * @param state the Sanctuary.
+   * @return the report.
+   */
+  @Benchmark
+  public SanctuaryReport reportSequential(Housed state) {
+    return state.sanctuary.getSanctuaryReport(state.sequential);
+  }
+
+  /**
+   * Make the sanctuary report on the common pool.
+   *
+   * @param state the Sanctuary.
+   * @return the report.
+   */
+  @Benchmark
+  public SanctuaryReport reportParallel(Housed state) {
+    return state.sanctuary.getSanctuaryReport(state.parallel);
+  }
+}
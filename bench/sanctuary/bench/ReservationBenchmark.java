@@ -0,0 +1,153 @@
+package sanctuary.bench;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sanctuary.entities.Monkey;
+import sanctuary.enums.Foods;
+import sanctuary.enums.Sex;
+import sanctuary.enums.Size;
+import sanctuary.enums.Species;
+import sanctuary.housing.Enclosure;
+import sanctuary.housing.EnclosureIndex;
+
+/**
+ * JMH Benchmarks for the contention on the lock-free space reservation of an enclosure, with
+ * 1, 2, 4 and 8 threads reserving and releasing space in the same enclosure. Each benchmark
+ * reports the time of one reservation and its release, so a flat line across the thread
+ * counts means the reservation scales.
+ *
+ * <p>With {@code indexed=true} the enclosure is registered with a placement index, so every
+ * reservation also files the enclosure again in the index, as it does in a Sanctuary.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReservationBenchmark {
+
+  /**
+   * An enclosure shared by every thread, large enough for every thread to hold a reservation.
+   */
+  @State(Scope.Benchmark)
+  public static class Shared {
+
+    @Param({"false", "true"})
+    public boolean indexed;
+
+    Enclosure enclosure;
+    final AtomicInteger nextMonkey = new AtomicInteger();
+
+    /**
+     * Create the enclosure, registering it with an index if asked.
+     */
+    @Setup
+    public void setUp() {
+      enclosure = new Enclosure("Enclosure", 1000, Species.Drill);
+      if (indexed) {
+        new EnclosureIndex().register(enclosure);
+      }
+    }
+  }
+
+  /**
+   * The monkey of a thread, reserving space for itself.
+   */
+  @State(Scope.Thread)
+  public static class Worker {
+
+    Monkey monkey;
+
+    /**
+     * Make the monkey of the thread.
+     *
+     * @param shared the shared enclosure, numbering the monkeys.
+     */
+    @Setup
+    public void setUp(Shared shared) {
+      monkey = new Monkey("Monkey " + shared.nextMonkey.getAndIncrement(), Species.Drill,
+              Sex.Male, Size.Medium, 12, 24, Foods.Eggs);
+    }
+  }
+
+  /**
+   * Reserve space for the monkey of the thread and release it with one thread.
+   *
+   * @param shared the shared enclosure.
+   * @param worker the monkey of the thread.
+   * @return true if the space was reserved.
+   */
+  @Benchmark
+  @Threads(1)
+  public boolean reserveAndRelease1(Shared shared, Worker worker) {
+    return reserveAndRelease(shared.enclosure, worker.monkey);
+  }
+
+  /**
+   * Reserve space for the monkey of the thread and release it with two threads.
+   *
+   * @param shared the shared enclosure.
+   * @param worker the monkey of the thread.
+   * @return true if the space was reserved.
+   */
+  @Benchmark
+  @Threads(2)
+  public boolean reserveAndRelease2(Shared shared, Worker worker) {
+    return reserveAndRelease(shared.enclosure, worker.monkey);
+  }
+
+  /**
+   * Reserve space for the monkey of the thread and release it with four threads.
+   *
+   * @param shared the shared enclosure.
+   * @param worker the monkey of the thread.
+   * @return true if the space was reserved.
+   */
+  @Benchmark
+  @Threads(4)
+  public boolean reserveAndRelease4(Shared shared, Worker worker) {
+    return reserveAndRelease(shared.enclosure, worker.monkey);
+  }
+
+  /**
+   * Reserve space for the monkey of the thread and release it with eight threads.
+   *
+   * @param shared the shared enclosure.
+   * @param worker the monkey of the thread.
+   * @return true if the space was reserved.
+   */
+  @Benchmark
+  @Threads(8)
+  public boolean reserveAndRelease8(Shared shared, Worker worker) {
+    return reserveAndRelease(shared.enclosure, worker.monkey);
+  }
+
+  /**
+   * Reserve space for a monkey and give it back.
+   *
+   * @param enclosure enclosure the space is reserved in.
+   * @param monkey    monkey the space is reserved for.
+   * @return true if the space was reserved.
+   */
+  private static boolean reserveAndRelease(Enclosure enclosure, Monkey monkey) {
+    boolean reserved = enclosure.reserveSpace(monkey);
+    if (reserved) {
+      enclosure.releaseReservation(monkey);
+    }
+    return reserved;
+  }
+}
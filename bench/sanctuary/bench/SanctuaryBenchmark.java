@@ -0,0 +1,346 @@
+package sanctuary.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import sanctuary.Sanctuary;
+import sanctuary.entities.Monkey;
+import sanctuary.enums.Foods;
+import sanctuary.enums.Sex;
+import sanctuary.enums.Size;
+import sanctuary.enums.Species;
+import sanctuary.housing.ElasticCapacity;
+import sanctuary.housing.Enclosure;
+import sanctuary.housing.EnclosureIndex;
+
+/**
+ * JMH Benchmarks for the hot paths of the Sanctuary, over populations from 10^2 to 10^6
+ * monkeys and from 10 to 10^4 enclosures.
+ *
+ * <p>Run a single benchmark with a smaller matrix using the JMH command line, for example
+ * {@code -p population=100,10000 -p enclosures=10 SanctuaryBenchmark.getShoppingList}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SanctuaryBenchmark {
+
+  private static final Species[] SPECIES = Species.values();
+  private static final Size[] SIZES = Size.values();
+  private static final Foods[] FOODS = Foods.values();
+
+  /**
+   * A Sanctuary holding the population, half of it shifted to the enclosures, along with an
+   * index of empty enclosures of the same sizes. It is only read by the benchmarks.
+   */
+  @State(Scope.Benchmark)
+  public static class Populated {
+
+    @Param({"100", "10000", "1000000"})
+    public int population;
+
+    @Param({"10", "100", "10000"})
+    public int enclosures;
+
+    Sanctuary sanctuary;
+    Enclosure enclosure;
+    Monkey monkey;
+    List<Monkey> monkeys;
+    EnclosureIndex index;
+    int next;
+
+    /**
+     * Build the Sanctuary.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+      sanctuary = new Sanctuary();
+      sanctuary.createIsolation(population);
+      for (int i = 0; i < enclosures; i++) {
+        Object created = sanctuary.createEnclosure("Enclosure " + i,
+                enclosureSize(population, enclosures), SPECIES[i % SPECIES.length]);
+        if (i == 0) {
+          enclosure = (Enclosure) created;
+        }
+      }
+      monkeys = monkeys("Monkey", population);
+      sanctuary.addMonkeysToSanctuary(monkeys);
+      for (int i = 0; i < monkeys.size(); i += 2) {
+        sanctuary.shiftMonkeyToEnclosure(monkeys.get(i));
+      }
+      monkey = monkeys.get(population / 2);
+      index = new EnclosureIndex();
+      for (int i = 0; i < enclosures; i++) {
+        index.register(new Enclosure("Enclosure " + i, enclosureSize(population, enclosures),
+                SPECIES[i % SPECIES.length]));
+      }
+    }
+  }
+
+  /**
+   * A Sanctuary holding the population in an Isolation that grows with the monkeys added. A
+   * fresh Sanctuary is built for every iteration, so the intake does not pile up.
+   */
+  @State(Scope.Benchmark)
+  public static class Intake {
+
+    @Param({"100", "10000", "1000000"})
+    public int population;
+
+    Sanctuary sanctuary;
+    int next;
+
+    /**
+     * Build the Sanctuary.
+     */
+    @Setup(Level.Iteration)
+    public void setUp() {
+      sanctuary = new Sanctuary();
+      sanctuary.createIsolation(population);
+      sanctuary.setIsolationElasticity(new ElasticCapacity(0, 0.9, 1 << 16,
+              Integer.MAX_VALUE));
+      sanctuary.addMonkeysToSanctuary(monkeys("Monkey", population));
+      next = 0;
+    }
+  }
+
+  /**
+   * A Sanctuary with the population waiting in the Isolation to be shifted. A fresh Sanctuary
+   * is built for every iteration, as shifting empties the Isolation.
+   */
+  @State(Scope.Benchmark)
+  public static class Shift {
+
+    @Param({"100", "10000", "1000000"})
+    public int population;
+
+    @Param({"10", "100", "10000"})
+    public int enclosures;
+
+    Sanctuary sanctuary;
+    List<Monkey> monkeys;
+    int next;
+
+    /**
+     * Build the Sanctuary.
+     */
+    @Setup(Level.Iteration)
+    public void setUp() {
+      sanctuary = new Sanctuary();
+      sanctuary.createIsolation(population);
+      for (int i = 0; i < enclosures; i++) {
+        sanctuary.createEnclosure("Enclosure " + i, enclosureSize(population, enclosures),
+                SPECIES[i % SPECIES.length]);
+      }
+      monkeys = monkeys("Monkey", population);
+      sanctuary.addMonkeysToSanctuary(monkeys);
+      next = 0;
+    }
+  }
+
+  /**
+   * Size of each enclosure so the whole population fits with room to spare.
+   *
+   * @param population number of monkeys.
+   * @param enclosures number of enclosures.
+   * @return the size of each enclosure (in square meters).
+   */
+  static int enclosureSize(int population, int enclosures) {
+    return Math.max(10, (int) ((long) population * 10 * 2 / enclosures));
+  }
+
+  /**
+   * Build monkeys of every species and size.
+   *
+   * @param prefix prefix of the names of the monkeys.
+   * @param count  number of monkeys.
+   * @return the monkeys.
+   */
+  static List<Monkey> monkeys(String prefix, int count) {
+    List<Monkey> monkeys = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      monkeys.add(new Monkey(prefix + i, SPECIES[i % SPECIES.length],
+              i % 2 == 0 ? Sex.Male : Sex.Female, SIZES[(i / SPECIES.length) % SIZES.length],
+              10 + i % 30, 12 + i % 100, FOODS[i % FOODS.length]));
+    }
+    return monkeys;
+  }
+
+  /**
+   * Add a new monkey to the Isolation.
+   *
+   * @param state Sanctuary the monkey is added to.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @Warmup(iterations = 3, batchSize = 10000)
+  @Measurement(iterations = 10, batchSize = 10000)
+  public void addMonkeyToSanctuary(Intake state) {
+    int i = state.next++;
+    state.sanctuary.addMonkeyToSanctuary(new Monkey("New" + i, SPECIES[i % SPECIES.length],
+            Sex.Male, Size.Small, 10, 12, Foods.Eggs));
+  }
+
+  /**
+   * Shift the next monkey from the Isolation to an enclosure.
+   *
+   * @param state Sanctuary the monkey is shifted in.
+   * @return the enclosure the monkey was shifted to.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @Warmup(iterations = 3, batchSize = 100)
+  @Measurement(iterations = 10, batchSize = 100)
+  public Object shiftMonkeyToEnclosure(Shift state) {
+    return state.sanctuary.shiftMonkeyToEnclosure(state.monkeys.get(state.next++));
+  }
+
+  /**
+   * Find an enclosure for the next monkey.
+   *
+   * @param state index the enclosure is found in.
+   * @return the enclosure found.
+   */
+  @Benchmark
+  public Enclosure checkForEnclosure(Populated state) {
+    Monkey monkey = state.monkeys.get(state.next++ % state.monkeys.size());
+    return state.index.findEnclosure(monkey.getSpeciesType(), monkey.getSpaceOccupancy());
+  }
+
+  /**
+   * Build the shopping list of the whole population.
+   *
+   * @param state Sanctuary the shopping list is built for.
+   * @return the shopping list.
+   */
+  @Benchmark
+  public Object getShoppingList(Populated state) {
+    return state.sanctuary.getShoppingList();
+  }
+
+  /**
+   * Report the species in the Isolation.
+   *
+   * @param state Sanctuary the species are reported for.
+   * @return the species list.
+   */
+  @Benchmark
+  public Object reportAllSpeciesListInIsolation(Populated state) {
+    return state.sanctuary.getSpeciesListInIsolation();
+  }
+
+  /**
+   * Report the species in an enclosure.
+   *
+   * @param state Sanctuary the species are reported for.
+   * @return the species list.
+   */
+  @Benchmark
+  public Object reportAllSpeciesListInEnclosure(Populated state) {
+    return state.sanctuary.getSpeciesListInEnclosure(state.enclosure);
+  }
+
+  /**
+   * Lookup a species in the Isolation and in an enclosure.
+   *
+   * @param state     Sanctuary the species is looked up in.
+   * @param blackhole consumes the results of the lookups.
+   */
+  @Benchmark
+  public void lookupSpecies(Populated state, Blackhole blackhole) {
+    blackhole.consume(state.sanctuary.lookupSpeciesInIsolation(Species.Tamarin));
+    blackhole.consume(state.sanctuary.lookupSpeciesInEnclosure(state.enclosure,
+            Species.Tamarin));
+  }
+
+  /**
+   * Build the signboard of an enclosure.
+   *
+   * @param state Sanctuary the signboard is built for.
+   * @return the signboard.
+   */
+  @Benchmark
+  public Object signBoard(Populated state) {
+    return state.sanctuary.getEnclosureSignBoard(state.enclosure);
+  }
+
+  /**
+   * Get the label of a monkey.
+   *
+   * @param state Sanctuary holding the monkey.
+   * @return the label.
+   */
+  @Benchmark
+  public String monkeyToString(Populated state) {
+    return state.monkey.toString();
+  }
+
+  /**
+   * Format the label of a monkey with String.format, as it was before labels were cached.
+   * The baseline of monkeyToString.
+   *
+   * @param state Sanctuary holding the monkey.
+   * @return the label.
+   */
+  @Benchmark
+  public String monkeyToStringFormat(Populated state) {
+    return format(state.monkey);
+  }
+
+  /**
+   * Append the signboard of an enclosure to a builder.
+   *
+   * @param state Sanctuary the signboard is rendered for.
+   * @return the rendered signboard.
+   */
+  @Benchmark
+  public StringBuilder renderSignBoard(Populated state) {
+    StringBuilder out = new StringBuilder();
+    state.sanctuary.renderEnclosureSignBoard(state.enclosure, out);
+    return out;
+  }
+
+  /**
+   * Build the signboard of an enclosure as a list of labels formatted with String.format, as
+   * it was before labels were cached. The baseline of signBoard and renderSignBoard.
+   *
+   * @param state Sanctuary the signboard is built for.
+   * @return the signboard.
+   */
+  @Benchmark
+  public List<String> signBoardFormat(Populated state) {
+    List<String> signBoard = new ArrayList<>();
+    for (Monkey monkey : state.enclosure.getMonkeys()) {
+      signBoard.add(format(monkey));
+    }
+    return signBoard;
+  }
+
+  /**
+   * Format the label of a monkey with String.format.
+   *
+   * @param monkey monkey to be labelled.
+   * @return the label (Name (Species) - Sex - Favourite Food).
+   */
+  private static String format(Monkey monkey) {
+    return String.format("%s (%s) - %s - %s", monkey.getName(), monkey.getSpeciesType(),
+            monkey.getSex(), monkey.getFavoriteFood());
+  }
+}
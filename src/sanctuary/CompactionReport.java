@@ -0,0 +1,141 @@
+package sanctuary;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * CompactionReport records the work done by the enclosure compaction job: the monkeys moved,
+ * the enclosures freed and the space reclaimed by freeing them.
+ */
+public class CompactionReport {
+
+  private int slicesRun;
+  private long timeSpent;
+  private int movesMade;
+  private int movesSkipped;
+  private final List<String> enclosuresFreed;
+  private long spaceReclaimed;
+
+  /**
+   * Constructor to initialize an empty CompactionReport.
+   */
+  CompactionReport() {
+    this.enclosuresFreed = new ArrayList<>();
+  }
+
+  /**
+   * Copy constructor to create a copy of the report.
+   *
+   * @param report report to be copied.
+   */
+  CompactionReport(CompactionReport report) {
+    this.slicesRun = report.slicesRun;
+    this.timeSpent = report.timeSpent;
+    this.movesMade = report.movesMade;
+    this.movesSkipped = report.movesSkipped;
+    this.enclosuresFreed = new ArrayList<>(report.enclosuresFreed);
+    this.spaceReclaimed = report.spaceReclaimed;
+  }
+
+  /**
+   * Record a time slice run by the job.
+   *
+   * @param nanos time spent in the slice (in nanoseconds).
+   */
+  void recordSlice(long nanos) {
+    slicesRun++;
+    timeSpent += nanos;
+  }
+
+  /**
+   * Record a monkey moved between enclosures.
+   */
+  void recordMove() {
+    movesMade++;
+  }
+
+  /**
+   * Record a planned move given up because the enclosures changed since it was planned.
+   */
+  void recordSkippedMove() {
+    movesSkipped++;
+  }
+
+  /**
+   * Record an enclosure emptied by the job.
+   *
+   * @param name  name of the enclosure.
+   * @param space space reclaimed (in square meters).
+   */
+  void recordFreed(String name, int space) {
+    enclosuresFreed.add(name);
+    spaceReclaimed += space;
+  }
+
+  /**
+   * Get the number of time slices run.
+   *
+   * @return the number of slices.
+   */
+  public int getSlicesRun() {
+    return this.slicesRun;
+  }
+
+  /**
+   * Get the time spent by the job.
+   *
+   * @return the time spent (in nanoseconds).
+   */
+  public long getTimeSpent() {
+    return this.timeSpent;
+  }
+
+  /**
+   * Get the number of monkeys moved between enclosures.
+   *
+   * @return the number of moves.
+   */
+  public int getMovesMade() {
+    return this.movesMade;
+  }
+
+  /**
+   * Get the number of planned moves given up.
+   *
+   * @return the number of skipped moves.
+   */
+  public int getMovesSkipped() {
+    return this.movesSkipped;
+  }
+
+  /**
+   * Get the names of the enclosures emptied, in the order they were emptied.
+   *
+   * @return the names of the enclosures freed.
+   */
+  public List<String> getEnclosuresFreed() {
+    return Collections.unmodifiableList(enclosuresFreed);
+  }
+
+  /**
+   * Get the space reclaimed by emptying enclosures.
+   *
+   * @return the space reclaimed (in square meters).
+   */
+  public long getSpaceReclaimed() {
+    return this.spaceReclaimed;
+  }
+
+  /**
+   * toString method for data representation.
+   *
+   * @return overview of the work done by the job.
+   */
+  @Override
+  public String toString() {
+    return movesMade + " monkeys moved, " + enclosuresFreed.size() + " enclosures freed, "
+            + spaceReclaimed + " square meters reclaimed in " + slicesRun + " slices ("
+            + timeSpent / 1_000_000 + " ms)";
+  }
+}
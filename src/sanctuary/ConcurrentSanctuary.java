@@ -0,0 +1,652 @@
+package sanctuary;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import sanctuary.entities.Monkey;
+import sanctuary.enums.Foods;
+import sanctuary.enums.IntakeOutcome;
+import sanctuary.enums.Operation;
+import sanctuary.enums.Outcome;
+import sanctuary.enums.Species;
+import sanctuary.events.BatchIntakeEvent;
+import sanctuary.events.HousingReportEvent;
+import sanctuary.events.IntakeEvent;
+import sanctuary.events.ShiftEvent;
+import sanctuary.events.ShoppingListEvent;
+import sanctuary.housing.ElasticCapacity;
+import sanctuary.housing.Enclosure;
+import sanctuary.housing.EnclosureIndex;
+import sanctuary.housing.Isolation;
+import sanctuary.housing.Result;
+import sanctuary.interfaces.MonkeyObserver;
+import sanctuary.metrics.HousingGauge;
+import sanctuary.metrics.SanctuaryMetrics;
+
+/**
+ * A thread-safe variant of the Sanctuary facade. The Isolation and every Enclosure are guarded
+ * by their own lock so intake, shifting and reporting can proceed in parallel across housings.
+ * Space in an enclosure is claimed with a lock-free reservation, so shifting never takes the
+ * enclosure lock: it holds the Isolation lock alone while the monkey is taken out, and a
+ * reservation that cannot be used is given back.
+ *
+ * <p>No more than one housing is locked at a time, and the placement index, which guards
+ * itself, is the only lock taken while one is held, so callers cannot deadlock.
+ */
+public class ConcurrentSanctuary {
+
+  private static final int SPECIES_COUNT = Species.values().length;
+
+  //Monkey Map -> Key = monkey name, Value -> Monkey Object
+  private final ConcurrentNavigableMap<String, Monkey> monkeyMap;
+  private volatile Isolation isolation;
+  private final List<Enclosure> enclosureList;
+  private final EnclosureIndex enclosureIndex;
+  //Food Totals -> Index = Foods ordinal, Value = grams needed per day
+  private final AtomicIntegerArray foodTotals;
+  private final MonkeyObserver shoppingListObserver;
+  private final EnclosureCompactor compactor;
+  private final SanctuaryMetrics metrics;
+
+  /**
+   * ConcurrentSanctuary Constructor.
+   */
+  public ConcurrentSanctuary() {
+    this.monkeyMap = new ConcurrentSkipListMap<>();
+    this.isolation = null;
+    this.enclosureList = new CopyOnWriteArrayList<>();
+    this.enclosureIndex = new EnclosureIndex();
+    this.foodTotals = new AtomicIntegerArray(Foods.values().length);
+    this.shoppingListObserver = (monkey, previous) -> {
+      foodTotals.addAndGet(monkey.getFavoriteFood().ordinal(),
+              Sanctuary.foodQuantity(monkey.getSize()) - Sanctuary.foodQuantity(previous));
+    };
+    this.compactor = new EnclosureCompactor(() -> enclosureList,
+            EnclosureCompactor::moveMonkey);
+    this.metrics = new SanctuaryMetrics();
+  }
+
+  /**
+   * Create an isolation in the sanctuary.
+   *
+   * @param isolationSize the size of the isolation (number of cages).
+   */
+  public void createIsolation(int isolationSize) {
+    isolation = new Isolation(isolationSize);
+    metrics.addHousing(HousingGauge.of(() -> isolation));
+  }
+
+  /**
+   * Get the metrics of the Sanctuary, to read them or to publish them over JMX. Every thread
+   * records into the same registry without locking.
+   *
+   * @return the metrics registry of the Sanctuary.
+   */
+  public SanctuaryMetrics getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * Create an enclosure in the Sanctuary. Unlike Sanctuary, the enclosure itself is returned
+   * rather than a copy, so its availability stays current as monkeys are shifted into it.
+   *
+   * @param name    name of the enclosure.
+   * @param size    size of the enclosure (in square meters).
+   * @param species species type designation of the enclosure.
+   * @return Object enclosure.
+   */
+  public Object createEnclosure(String name, int size, Species species) {
+    Result<Enclosure> result = tryCreateEnclosure(name, size, species);
+    if (!result.isDone()) {
+      System.out.println("Error: Cannot create enclosure. Enclosure Size cannot be 0 or less.");
+    }
+    return result.getValue();
+  }
+
+  /**
+   * Create an enclosure in the Sanctuary, reporting a rejection instead of printing it.
+   *
+   * @param name    name of the enclosure.
+   * @param size    size of the enclosure (in square meters).
+   * @param species species type designation of the enclosure.
+   * @return Done with the enclosure, or InvalidSize if the size is 0 or less.
+   */
+  public Result<Enclosure> tryCreateEnclosure(String name, int size, Species species) {
+    if (size <= 0) {
+      return Result.of(Outcome.InvalidSize);
+    }
+    Enclosure enclosure = new Enclosure(name, size, species);
+    enclosureIndex.register(enclosure);
+    enclosureList.add(enclosure);
+    metrics.addHousing(HousingGauge.of(enclosure));
+    return Result.done(enclosure);
+  }
+
+  /**
+   * Add monkey to the Sanctuary.
+   *
+   * @param monkey monkey to be added in the Sanctuary.
+   */
+  public void addMonkeyToSanctuary(Monkey monkey) {
+    Result<Void> result = tryAddMonkeyToSanctuary(monkey);
+    if (!result.isDone()) {
+      System.out.println(Sanctuary.rejectionMessage(monkey, result.getOutcome()));
+    }
+  }
+
+  /**
+   * Add monkey to the Sanctuary, reporting a rejection instead of printing it.
+   *
+   * @param monkey monkey to be added in the Sanctuary.
+   * @return Done, DuplicateName if a monkey with same name exists in the Sanctuary, or NoSpace
+   *         if the Isolation is full.
+   */
+  public Result<Void> tryAddMonkeyToSanctuary(Monkey monkey) {
+    long start = metrics.startTimer(Operation.Intake);
+    IntakeEvent event = new IntakeEvent();
+    event.begin();
+    Result<Void> result;
+    if (monkeyMap.putIfAbsent(monkey.getName(), monkey) != null) {
+      result = Result.of(Outcome.DuplicateName);
+    } else {
+      Isolation iso = isolation;
+      iso.getLock().lock();
+      try {
+        result = iso.tryAddMonkey(monkey);
+      } finally {
+        iso.getLock().unlock();
+      }
+      if (result.isDone()) {
+        addToShoppingList(monkey);
+      } else {
+        monkeyMap.remove(monkey.getName(), monkey);
+      }
+    }
+    IntakeOutcome outcome = Sanctuary.intakeOutcome(result);
+    metrics.recordIntake(outcome);
+    metrics.recordLatency(Operation.Intake, start);
+    event.emit(monkey.getName(), monkey.getSpeciesType().toString(), outcome.toString(),
+            isolation.cageOccupied());
+    return result;
+  }
+
+  /**
+   * Add a batch of monkeys to the Sanctuary. Names are reserved for the whole batch up front
+   * and the Isolation cages are reserved once, under a single hold of the Isolation lock.
+   *
+   * @param monkeys monkeys to be added in the Sanctuary.
+   * @return the report with the outcome for every monkey, in the order received.
+   */
+  public IntakeReport addMonkeysToSanctuary(Collection<Monkey> monkeys) {
+    long start = metrics.startTimer(Operation.BatchIntake);
+    BatchIntakeEvent event = new BatchIntakeEvent();
+    event.begin();
+    IntakeOutcome[] outcomes = new IntakeOutcome[monkeys.size()];
+    List<Monkey> reserved = new ArrayList<>(monkeys.size());
+    int i = 0;
+    for (Monkey monkey : monkeys) {
+      if (monkeyMap.putIfAbsent(monkey.getName(), monkey) != null) {
+        outcomes[i] = IntakeOutcome.DuplicateName;
+      } else {
+        outcomes[i] = IntakeOutcome.Admitted;
+        reserved.add(monkey);
+      }
+      i++;
+    }
+
+    List<Monkey> admitted = reserved;
+    Isolation iso = isolation;
+    iso.getLock().lock();
+    try {
+      int cagesAvailable = iso.cagesObtainable();
+      if (reserved.size() > cagesAvailable) {
+        admitted = new ArrayList<>(reserved.subList(0, cagesAvailable));
+      }
+      iso.addMonkeys(admitted);
+    } finally {
+      iso.getLock().unlock();
+    }
+
+    IntakeReport report = new IntakeReport(monkeys.size());
+    int admittedCount = 0;
+    i = 0;
+    for (Monkey monkey : monkeys) {
+      if (outcomes[i] == IntakeOutcome.Admitted) {
+        if (admittedCount < admitted.size()) {
+          admittedCount++;
+          addToShoppingList(monkey);
+        } else {
+          outcomes[i] = IntakeOutcome.NoSpace;
+          monkeyMap.remove(monkey.getName(), monkey);
+        }
+      }
+      report.record(monkey, outcomes[i]);
+      i++;
+    }
+    for (IntakeOutcome outcome : IntakeOutcome.values()) {
+      metrics.recordIntakes(outcome, report.count(outcome));
+    }
+    metrics.recordLatency(Operation.BatchIntake, start);
+    event.emit(report.size(), report.count(IntakeOutcome.Admitted),
+            report.count(IntakeOutcome.DuplicateName), report.count(IntakeOutcome.NoSpace));
+    return report;
+  }
+
+  /**
+   * Get the List of monkeys in the Isolation.
+   *
+   * @return list of monkeys in Isolation.
+   */
+  public List<String> getMonkeysInIsolation() {
+    HousingReportEvent event = new HousingReportEvent();
+    event.begin();
+    List<String> monkeys;
+    Isolation iso = isolation;
+    iso.getLock().lock();
+    try {
+      monkeys = iso.reportAllMonkeyInHousing();
+    } finally {
+      iso.getLock().unlock();
+    }
+    event.emit("Isolation", "MonkeyList", monkeys.size(), monkeys.size());
+    return monkeys;
+  }
+
+  /**
+   * Get the List of monkeys in the Enclosure.
+   *
+   * @param enclosure enclosure to get the monkeys from.
+   * @return the list of monkeys in the enclosure.
+   */
+  public List<String> getMonkeysInEnclosure(Enclosure enclosure) {
+    HousingReportEvent event = new HousingReportEvent();
+    event.begin();
+    List<String> monkeys;
+    enclosure.getLock().lock();
+    try {
+      monkeys = enclosure.reportAllMonkeyInHousing();
+    } finally {
+      enclosure.getLock().unlock();
+    }
+    event.emit(enclosure.getName(), "MonkeyList", monkeys.size(), monkeys.size());
+    return monkeys;
+  }
+
+  /**
+   * Get the set of species in the Isolation.
+   *
+   * @return set of species in the Isolation (sorted alphabetically).
+   */
+  public SortedSet<String> getSpeciesListInIsolation() {
+    long start = metrics.startTimer(Operation.SpeciesReport);
+    HousingReportEvent event = new HousingReportEvent();
+    event.begin();
+    SortedSet<String> speciesList;
+    Isolation iso = isolation;
+    iso.getLock().lock();
+    try {
+      speciesList = iso.reportAllSpeciesList();
+    } finally {
+      iso.getLock().unlock();
+      metrics.recordLatency(Operation.SpeciesReport, start);
+    }
+    event.emit("Isolation", "SpeciesList", SPECIES_COUNT, speciesList.size());
+    return speciesList;
+  }
+
+  /**
+   * Get the set of species in the Enclosure.
+   *
+   * @param enclosure enclosure to get the species from.
+   * @return set of species in the Enclosure (sorted alphabetically).
+   */
+  public SortedSet<String> getSpeciesListInEnclosure(Enclosure enclosure) {
+    long start = metrics.startTimer(Operation.SpeciesReport);
+    HousingReportEvent event = new HousingReportEvent();
+    event.begin();
+    SortedSet<String> speciesList;
+    enclosure.getLock().lock();
+    try {
+      speciesList = enclosure.reportAllSpeciesList();
+    } finally {
+      enclosure.getLock().unlock();
+      metrics.recordLatency(Operation.SpeciesReport, start);
+    }
+    event.emit(enclosure.getName(), "SpeciesList", SPECIES_COUNT, speciesList.size());
+    return speciesList;
+  }
+
+  /**
+   * Get the Signboard on the Enclosure.
+   *
+   * @param enclosure enclosure to get the signboard of.
+   * @return the signboard of the Enclosure.
+   */
+  public List<String> getEnclosureSignBoard(Enclosure enclosure) {
+    long start = metrics.startTimer(Operation.SignBoard);
+    HousingReportEvent event = new HousingReportEvent();
+    event.begin();
+    List<String> signBoard;
+    enclosure.getLock().lock();
+    try {
+      signBoard = enclosure.signBoard();
+    } finally {
+      enclosure.getLock().unlock();
+      metrics.recordLatency(Operation.SignBoard, start);
+    }
+    event.emit(enclosure.getName(), "SignBoard", signBoard.size(), signBoard.size());
+    return signBoard;
+  }
+
+  /**
+   * Append the Signboard on the Enclosure to the output.
+   *
+   * @param enclosure enclosure to render the signboard of.
+   * @param out       output the signboard is appended to.
+   */
+  public void renderEnclosureSignBoard(Enclosure enclosure, Appendable out) {
+    long start = metrics.startTimer(Operation.SignBoard);
+    HousingReportEvent event = new HousingReportEvent();
+    event.begin();
+    enclosure.getLock().lock();
+    try {
+      enclosure.renderSignBoard(out);
+    } finally {
+      enclosure.getLock().unlock();
+      metrics.recordLatency(Operation.SignBoard, start);
+    }
+    if (event.shouldCommit()) {
+      int troopSize = enclosure.getMonkeys().size();
+      event.emit(enclosure.getName(), "SignBoard", troopSize, troopSize);
+    }
+  }
+
+  /**
+   * Increase the capacity of the Isolation.
+   *
+   * @param size size by which the capacity to be increased.
+   */
+  public void increaseIsolationCapacity(int size) {
+    Isolation iso = isolation;
+    iso.getLock().lock();
+    try {
+      iso.increaseSize(size);
+    } finally {
+      iso.getLock().unlock();
+    }
+  }
+
+  /**
+   * Let the Isolation resize itself with demand, following the elasticity policy.
+   *
+   * @param elasticity the elasticity policy, with the metrics of its grow and shrink events.
+   */
+  public void setIsolationElasticity(ElasticCapacity elasticity) {
+    Isolation iso = isolation;
+    iso.getLock().lock();
+    try {
+      iso.setElasticity(elasticity);
+    } finally {
+      iso.getLock().unlock();
+    }
+  }
+
+  /**
+   * Get the Total Capacity of the Isolation.
+   *
+   * @return total number of cages in the isolation.
+   */
+  public int getIsolationCapacity() {
+    Isolation iso = isolation;
+    iso.getLock().lock();
+    try {
+      return iso.getTotalCages();
+    } finally {
+      iso.getLock().unlock();
+    }
+  }
+
+  /**
+   * Get the occupancy of the Isolation.
+   *
+   * @return the number of cages occupied in the Isolation.
+   */
+  public int getIsolationOccupancy() {
+    Isolation iso = isolation;
+    iso.getLock().lock();
+    try {
+      return iso.cageOccupied();
+    } finally {
+      iso.getLock().unlock();
+    }
+  }
+
+  /**
+   * Get the availability of the enclosure.
+   *
+   * @param enclosure enclosure to be checked for availability.
+   * @return the available space in the enclosure.
+   */
+  public int getEnclosureAvailability(Enclosure enclosure) {
+    enclosure.getLock().lock();
+    try {
+      return enclosure.getAvailableSpace();
+    } finally {
+      enclosure.getLock().unlock();
+    }
+  }
+
+  /**
+   * Lookup for a species type in the Isolation.
+   *
+   * @param species species to lookup.
+   * @return true if species found, false if not found.
+   */
+  public boolean lookupSpeciesInIsolation(Species species) {
+    Isolation iso = isolation;
+    iso.getLock().lock();
+    try {
+      return iso.lookupSpecies(species);
+    } finally {
+      iso.getLock().unlock();
+    }
+  }
+
+  /**
+   * Lookup for a species type in the Enclosure.
+   *
+   * @param enclosure enclosure to check in.
+   * @param species   species to lookup.
+   * @return true if species found, false if not found.
+   */
+  public boolean lookupSpeciesInEnclosure(Enclosure enclosure, Species species) {
+    enclosure.getLock().lock();
+    try {
+      return enclosure.lookupSpecies(species);
+    } finally {
+      enclosure.getLock().unlock();
+    }
+  }
+
+  /**
+   * Get the report of the whole Sanctuary, summarizing the Isolation and every Enclosure.
+   * Large Sanctuaries are summarized in parallel on the common pool.
+   *
+   * @return the report.
+   */
+  public SanctuaryReport getSanctuaryReport() {
+    return getSanctuaryReport(new SanctuaryReporter());
+  }
+
+  /**
+   * Get the report of the whole Sanctuary, made by a reporter, while intake and shifting go
+   * on. The summary of an enclosure may count space reserved for a monkey still on its way.
+   *
+   * @param reporter reporter setting the pool and the threshold for going parallel.
+   * @return the report.
+   */
+  public SanctuaryReport getSanctuaryReport(SanctuaryReporter reporter) {
+    return reporter.report(isolation, new ArrayList<>(enclosureList));
+  }
+
+  /**
+   * Get shopping list for the monkeys.
+   *
+   * @return the shopping list.
+   */
+  public Map<String, Integer> getShoppingList() {
+    long start = metrics.startTimer(Operation.ShoppingList);
+    ShoppingListEvent event = new ShoppingListEvent();
+    event.begin();
+    Map<String, Integer> shoppingList = new TreeMap<>();
+    Foods[] foods = Foods.values();
+    for (int i = 0; i < foods.length; i++) {
+      int total = foodTotals.get(i);
+      if (total > 0) {
+        shoppingList.put(foods[i].toString(), total);
+      }
+    }
+    metrics.recordLatency(Operation.ShoppingList, start);
+    if (event.shouldCommit()) {
+      //Counting the monkeys walks the whole map, so only when the event is recorded.
+      event.emit(monkeyMap.size(), foods.length, shoppingList.size());
+    }
+    return shoppingList;
+  }
+
+  /**
+   * Shift the monkey to enclosure. Space is reserved in the enclosure chosen before the monkey
+   * leaves the Isolation, and another enclosure is tried if it was filled in the meantime.
+   *
+   * @param monkey monkey to be shifted.
+   * @return the enclosure the monkey is shifted to, or the exception if none was found.
+   */
+  public Object shiftMonkeyToEnclosure(Monkey monkey) {
+    Result<Enclosure> result = tryShiftMonkeyToEnclosure(monkey);
+    if (result.isDone()) {
+      return result.getValue();
+    }
+    if (result.getOutcome() == Outcome.NotFound) {
+      throw new IllegalArgumentException("Monkey does not exists in the Isolation");
+    }
+    IllegalStateException e = new IllegalStateException(Sanctuary.rejectionMessage(monkey,
+            result.getOutcome()));
+    System.out.println(e.getMessage());
+    return e;
+  }
+
+  /**
+   * Shift the monkey to enclosure, reporting a rejection instead of creating an exception.
+   * Space is reserved in the enclosure chosen before the monkey leaves the Isolation, and
+   * another enclosure is tried if it was filled in the meantime.
+   *
+   * @param monkey monkey to be shifted.
+   * @return Done with the enclosure the monkey is shifted to, NoEnclosure if no enclosure can
+   *         house the monkey, or NotFound if the monkey is not in the Isolation.
+   */
+  public Result<Enclosure> tryShiftMonkeyToEnclosure(Monkey monkey) {
+    long start = metrics.startTimer(Operation.Shift);
+    ShiftEvent event = new ShiftEvent();
+    event.begin();
+    int monkeySpaceSize = monkey.getSpaceOccupancy();
+    int scanLength = 0;
+    while (true) {
+      scanLength++;
+      Enclosure enclosure = enclosureIndex.findDesignatedEnclosure(monkey.getSpeciesType(),
+              monkeySpaceSize);
+      if (enclosure == null) {
+        scanLength++;
+        enclosure = enclosureIndex.findVacantEnclosure(monkeySpaceSize);
+      }
+      if (enclosure == null) {
+        metrics.recordShift(false);
+        metrics.recordLatency(Operation.Shift, start);
+        event.emit(monkey.getName(), monkey.getSpeciesType().toString(), monkeySpaceSize, null,
+                scanLength, "NoEnclosure");
+        return Result.of(Outcome.NoEnclosure);
+      }
+      if (!enclosure.reserveSpace(monkey)) {
+        continue;
+      }
+      Result<Void> removed;
+      Isolation iso = isolation;
+      iso.getLock().lock();
+      try {
+        removed = iso.tryRemoveMonkey(monkey);
+      } finally {
+        iso.getLock().unlock();
+      }
+      if (!removed.isDone()) {
+        enclosure.releaseReservation(monkey);
+        metrics.recordLatency(Operation.Shift, start);
+        event.emit(monkey.getName(), monkey.getSpeciesType().toString(), monkeySpaceSize,
+                null, scanLength, "NotFound");
+        return removed.asRejection();
+      }
+      enclosure.commitReservation(monkey);
+      metrics.recordShift(true);
+      metrics.recordLatency(Operation.Shift, start);
+      event.emit(monkey.getName(), monkey.getSpeciesType().toString(), monkeySpaceSize,
+              enclosure.getName(), scanLength, "Shifted");
+      return Result.done(enclosure);
+    }
+  }
+
+  /**
+   * Consolidate the monkeys of each species into fewer enclosures for a bounded time slice,
+   * freeing whole enclosures for other species. Call again while work is left.
+   *
+   * @param budgetNanos time budget of the slice (in nanoseconds).
+   * @return boolean true if work is left for another slice.
+   */
+  public boolean compactEnclosures(long budgetNanos) {
+    return compactor.runSlice(budgetNanos);
+  }
+
+  /**
+   * Consolidate the monkeys of each species into fewer enclosures in the background, one
+   * bounded time slice per period, freeing whole enclosures for other species.
+   *
+   * @param executor    executor to run the slices on.
+   * @param period      time between the start of two slices.
+   * @param unit        unit of the period.
+   * @param budgetNanos time budget of each slice (in nanoseconds).
+   * @return the future of the compaction job, to cancel it.
+   */
+  public ScheduledFuture<?> startCompaction(ScheduledExecutorService executor, long period,
+                                            TimeUnit unit, long budgetNanos) {
+    return compactor.schedule(executor, period, unit, budgetNanos);
+  }
+
+  /**
+   * Get the report of the enclosure compaction done so far.
+   *
+   * @return the report with the monkeys moved and the space reclaimed.
+   */
+  public CompactionReport getCompactionReport() {
+    return compactor.getReport();
+  }
+
+  /**
+   * Add the favourite food of the monkey to the running food totals and keep it updated when
+   * the size of the monkey changes.
+   *
+   * @param monkey monkey brought in to the Sanctuary.
+   */
+  private void addToShoppingList(Monkey monkey) {
+    foodTotals.addAndGet(monkey.getFavoriteFood().ordinal(),
+            Sanctuary.foodQuantity(monkey.getSize()));
+    monkey.addObserver(shoppingListObserver);
+  }
+}
@@ -7,6 +7,8 @@ import sanctuary.enums.Sex;
 import sanctuary.enums.Size;
 import sanctuary.enums.Species;
 import sanctuary.housing.Enclosure;
+import sanctuary.load.LoadGenerator;
+import sanctuary.load.WorkloadConfig;
 
 
 /**
@@ -16,11 +18,23 @@ import sanctuary.housing.Enclosure;
 public class Driver {
 
   /**
-   * Main method for the program.
+   * Main method for the program. Runs the scripted example, or a synthetic workload when the
+   * first argument is {@code load}, followed by the {@code key=value} settings of the workload
+   * (see WorkloadConfig.parse).
    *
-   * @param args default.
+   * @param args none for the example, or load and the settings of the workload.
    */
   public static void main(String[] args) {
+    if (args.length > 0 && args[0].equals("load")) {
+      String[] settings = new String[args.length - 1];
+      System.arraycopy(args, 1, settings, 0, settings.length);
+      try {
+        System.out.println(new LoadGenerator(WorkloadConfig.parse(settings)).run());
+      } catch (IllegalArgumentException e) {
+        System.out.println(e.getMessage());
+      }
+      return;
+    }
 
     Sanctuary sanctuary = new Sanctuary();
 
@@ -0,0 +1,291 @@
+package sanctuary;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import sanctuary.entities.Monkey;
+import sanctuary.enums.Species;
+import sanctuary.housing.Enclosure;
+import sanctuary.housing.Result;
+
+/**
+ * EnclosureCompactor consolidates the monkeys of a species into as few enclosures as possible,
+ * so whole enclosures are freed for other species. Work is planned one enclosure at a time,
+ * species by species, and carried out in bounded time slices, so the job can run between
+ * intakes without stalling them.
+ *
+ * <p>An enclosure is only planned for evacuation if every one of its monkeys fits in the
+ * fuller enclosures of the same species. Moves reserve space in the target before the monkey
+ * leaves the source, so a move planned against enclosures that have since changed is simply
+ * given up.
+ */
+public class EnclosureCompactor {
+
+  private static final Species[] SPECIES = Species.values();
+
+  private final Supplier<List<Enclosure>> enclosures;
+  private final Mover mover;
+  private final Deque<Move> pendingMoves;
+  private int speciesCursor;
+  //Plan -> Enclosures of the species being planned, fullest first, with their planned space
+  private List<Enclosure> candidates;
+  private int[] spaceLeft;
+  //Targeted -> Enclosures already planned to receive monkeys are not evacuated themselves.
+  private boolean[] targeted;
+  private int sourceCursor;
+  //Moved -> Whether the current pass over every species moved a monkey, the moves freeing
+  //space that may let another pass move more.
+  private boolean moved;
+  //Settled -> Whether a full pass moved nothing and no monkey was moved since, so a slice cut
+  //short by its budget does not report work that a new pass has yet to find.
+  private boolean settled;
+  private final CompactionReport report;
+
+  /**
+   * Moves a monkey between two enclosures.
+   */
+  interface Mover {
+
+    /**
+     * Move the monkey from the source to the target enclosure.
+     *
+     * @param monkey monkey to be moved.
+     * @param source enclosure the monkey is in.
+     * @param target enclosure the monkey is moved to.
+     * @return boolean true if the monkey was moved.
+     */
+    boolean move(Monkey monkey, Enclosure source, Enclosure target);
+  }
+
+  /**
+   * Constructor to initialize the compactor.
+   *
+   * @param enclosures supplies the enclosures of the Sanctuary.
+   * @param mover      moves a monkey between two enclosures.
+   */
+  EnclosureCompactor(Supplier<List<Enclosure>> enclosures, Mover mover) {
+    this.enclosures = enclosures;
+    this.mover = mover;
+    this.pendingMoves = new ArrayDeque<>();
+    this.speciesCursor = 0;
+    this.report = new CompactionReport();
+  }
+
+  /**
+   * Run the job for a bounded time slice. A slice always makes progress, carrying out at least
+   * one move or planning one enclosure, and stops as soon as the budget is spent.
+   *
+   * @param budgetNanos time budget of the slice (in nanoseconds).
+   * @return boolean true if work is left for another slice, false once a full pass over every
+   *         species found nothing more to move and no monkey was moved since.
+   */
+  public synchronized boolean runSlice(long budgetNanos) {
+    long start = System.nanoTime();
+    long deadline = start + budgetNanos;
+    do {
+      if (!pendingMoves.isEmpty()) {
+        execute(pendingMoves.poll());
+      } else if (sourceCursor > 0) {
+        planSource(sourceCursor--);
+      } else if (speciesCursor < SPECIES.length) {
+        startPlan(SPECIES[speciesCursor++]);
+      } else {
+        speciesCursor = 0;
+        candidates = null;
+        settled = !moved;
+        moved = false;
+        if (settled) {
+          break;
+        }
+      }
+    } while (System.nanoTime() < deadline);
+    report.recordSlice(System.nanoTime() - start);
+    return !settled;
+  }
+
+  /**
+   * Run slices until a full pass finds nothing more to move.
+   *
+   * @param budgetNanos time budget of each slice (in nanoseconds).
+   * @return the report of the work done so far.
+   */
+  public CompactionReport runToCompletion(long budgetNanos) {
+    while (runSlice(budgetNanos)) {
+      Thread.yield();
+    }
+    return getReport();
+  }
+
+  /**
+   * Run the job in the background, one slice per period. Only safe for a Sanctuary whose
+   * housings can be changed from another thread.
+   *
+   * @param executor    executor to run the slices on.
+   * @param period      time between the start of two slices.
+   * @param unit        unit of the period.
+   * @param budgetNanos time budget of each slice (in nanoseconds).
+   * @return the future of the scheduled job, to cancel it.
+   */
+  public ScheduledFuture<?> schedule(ScheduledExecutorService executor, long period,
+                                     TimeUnit unit, long budgetNanos) {
+    return executor.scheduleAtFixedRate(() -> runSlice(budgetNanos), period, period, unit);
+  }
+
+  /**
+   * Get the report of the work done so far.
+   *
+   * @return a copy of the report.
+   */
+  public synchronized CompactionReport getReport() {
+    return new CompactionReport(report);
+  }
+
+  /**
+   * Start planning a species, with its least filled enclosures as the first sources.
+   *
+   * @param species species to plan for.
+   */
+  private void startPlan(Species species) {
+    candidates = new ArrayList<>();
+    for (Enclosure enclosure : enclosures.get()) {
+      if (enclosure.getSpecies() == species && !enclosure.isEmpty()) {
+        candidates.add(enclosure);
+      }
+    }
+    candidates.sort(Comparator.comparingInt(Enclosure::getAvailableSpace));
+    spaceLeft = new int[candidates.size()];
+    for (int i = 0; i < spaceLeft.length; i++) {
+      spaceLeft[i] = candidates.get(i).getAvailableSpace();
+    }
+    targeted = new boolean[candidates.size()];
+    sourceCursor = candidates.size() - 1;
+  }
+
+  /**
+   * Plan the evacuation of an enclosure into the fuller enclosures of its species, if every
+   * one of its monkeys fits.
+   *
+   * @param source position of the enclosure among the candidates.
+   */
+  private void planSource(int source) {
+    if (targeted[source]) {
+      return;
+    }
+    List<Monkey> troop = new ArrayList<>(candidates.get(source).getMonkeys());
+    troop.sort(Comparator.comparingInt(Monkey::getSpaceOccupancy).reversed());
+    int[] chosen = new int[troop.size()];
+    for (int i = 0; i < chosen.length; i++) {
+      int space = troop.get(i).getSpaceOccupancy();
+      chosen[i] = bestFit(spaceLeft, source, space);
+      if (chosen[i] < 0) {
+        for (int j = 0; j < i; j++) {
+          spaceLeft[chosen[j]] += troop.get(j).getSpaceOccupancy();
+        }
+        return;
+      }
+      spaceLeft[chosen[i]] -= space;
+    }
+    for (int i = 0; i < chosen.length; i++) {
+      targeted[chosen[i]] = true;
+      Move move = new Move(troop.get(i), candidates.get(source), candidates.get(chosen[i]));
+      move.lastFromSource = i == chosen.length - 1;
+      pendingMoves.add(move);
+    }
+  }
+
+  /**
+   * Find the target with the least space left that still fits the monkey.
+   *
+   * @param spaceLeft space left in each candidate enclosure.
+   * @param source    position of the source, only the enclosures before it are targets.
+   * @param space     space needed by the monkey.
+   * @return the position of the target, -1 if the monkey fits nowhere.
+   */
+  private static int bestFit(int[] spaceLeft, int source, int space) {
+    int best = -1;
+    for (int i = 0; i < source; i++) {
+      if (spaceLeft[i] >= space && (best < 0 || spaceLeft[i] < spaceLeft[best])) {
+        best = i;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Carry out a planned move and record it.
+   *
+   * @param move move to be carried out.
+   */
+  private void execute(Move move) {
+    if (!mover.move(move.monkey, move.source, move.target)) {
+      report.recordSkippedMove();
+      return;
+    }
+    report.recordMove();
+    moved = true;
+    settled = false;
+    if (move.lastFromSource && move.source.isEmpty()) {
+      report.recordFreed(move.source.getName(), move.source.getTotalCapacity());
+    }
+  }
+
+  /**
+   * Move a monkey between two enclosures. Space is reserved in the target before the monkey
+   * leaves the source, and no more than one enclosure lock is held at a time.
+   *
+   * @param monkey monkey to be moved.
+   * @param source enclosure the monkey is in.
+   * @param target enclosure the monkey is moved to.
+   * @return boolean true if the monkey was moved, false if it no longer fits the target or is
+   *         no longer in the source.
+   */
+  static boolean moveMonkey(Monkey monkey, Enclosure source, Enclosure target) {
+    if (!target.reserveSpace(monkey)) {
+      return false;
+    }
+    Result<Void> removed;
+    source.getLock().lock();
+    try {
+      removed = source.tryRemoveMonkey(monkey);
+    } finally {
+      source.getLock().unlock();
+    }
+    if (!removed.isDone()) {
+      target.releaseReservation(monkey);
+      return false;
+    }
+    target.commitReservation(monkey);
+    return true;
+  }
+
+  /**
+   * A planned move of a monkey between two enclosures.
+   */
+  private static final class Move {
+
+    private final Monkey monkey;
+    private final Enclosure source;
+    private final Enclosure target;
+    private boolean lastFromSource;
+
+    /**
+     * Constructor to initialize a planned move.
+     *
+     * @param monkey monkey to be moved.
+     * @param source enclosure the monkey is in.
+     * @param target enclosure the monkey is moved to.
+     */
+    private Move(Monkey monkey, Enclosure source, Enclosure target) {
+      this.monkey = monkey;
+      this.source = source;
+      this.target = target;
+    }
+  }
+}
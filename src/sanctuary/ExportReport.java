@@ -0,0 +1,87 @@
+package sanctuary;
+
+import java.util.concurrent.TimeUnit;
+
+import sanctuary.enums.ExportFormat;
+
+/**
+ * ExportReport sums up an export of the roster: the records and bytes written and how fast.
+ */
+public class ExportReport {
+
+  private final ExportFormat format;
+  private final long records;
+  private final long bytes;
+  private final long elapsedNanos;
+
+  /**
+   * Constructor to initialize an ExportReport.
+   *
+   * @param format       format the roster was exported in.
+   * @param records      number of monkeys written.
+   * @param bytes        number of bytes written.
+   * @param elapsedNanos time taken by the export (in nanoseconds).
+   */
+  ExportReport(ExportFormat format, long records, long bytes, long elapsedNanos) {
+    this.format = format;
+    this.records = records;
+    this.bytes = bytes;
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  /**
+   * Get the format the roster was exported in.
+   *
+   * @return the format.
+   */
+  public ExportFormat getFormat() {
+    return this.format;
+  }
+
+  /**
+   * Get the number of monkeys written.
+   *
+   * @return the number of records.
+   */
+  public long getRecords() {
+    return this.records;
+  }
+
+  /**
+   * Get the number of bytes written, header included.
+   *
+   * @return the number of bytes.
+   */
+  public long getBytes() {
+    return this.bytes;
+  }
+
+  /**
+   * Get the time taken by the export.
+   *
+   * @return the elapsed time (in nanoseconds).
+   */
+  public long getElapsedNanos() {
+    return this.elapsedNanos;
+  }
+
+  /**
+   * Get the number of monkeys written per second.
+   *
+   * @return the throughput (in records per second), 0 if no time was measured.
+   */
+  public double getRecordsPerSecond() {
+    return elapsedNanos == 0 ? 0 : records * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+  }
+
+  /**
+   * toString method for data representation.
+   *
+   * @return overview of the export.
+   */
+  @Override
+  public String toString() {
+    return String.format("%d records (%d bytes) as %s in %d ms, %.0f records/s", records,
+            bytes, format, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), getRecordsPerSecond());
+  }
+}
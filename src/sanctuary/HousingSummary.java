@@ -0,0 +1,172 @@
+package sanctuary;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+import sanctuary.enums.Species;
+import sanctuary.housing.Enclosure;
+import sanctuary.housing.Isolation;
+
+/**
+ * HousingSummary records the state of one housing at the time of a sanctuary report: how
+ * much of it is occupied, how many monkeys live in it and of which species. The Isolation
+ * is measured in cages and an Enclosure in square meters.
+ */
+public class HousingSummary {
+
+  private static final Species[] SPECIES = Species.values();
+  //Single Species -> Key = Species, Value = set of that species alone, shared by the
+  //summaries of every enclosure housing the species
+  private static final Map<Species, Set<Species>> SINGLE_SPECIES = singleSpecies();
+
+  private final String name;
+  private final Species designation;
+  private final int capacity;
+  private final int occupied;
+  private final int monkeyCount;
+  private final Set<Species> species;
+
+  /**
+   * Constructor to initialize a HousingSummary.
+   *
+   * @param name        name of the housing.
+   * @param designation species the housing is designated for, null if none.
+   * @param capacity    capacity of the housing.
+   * @param occupied    part of the capacity occupied.
+   * @param monkeyCount number of monkeys in the housing.
+   * @param species     species of the monkeys in the housing, not to be modified.
+   */
+  HousingSummary(String name, Species designation, int capacity, int occupied,
+                 int monkeyCount, Set<Species> species) {
+    this.name = name;
+    this.designation = designation;
+    this.capacity = capacity;
+    this.occupied = occupied;
+    this.monkeyCount = monkeyCount;
+    this.species = species;
+  }
+
+  /**
+   * Summarize the Isolation.
+   *
+   * @param isolation the isolation.
+   * @return the summary of the isolation.
+   */
+  static HousingSummary of(Isolation isolation) {
+    Set<Species> species = EnumSet.noneOf(Species.class);
+    for (Species value : SPECIES) {
+      if (isolation.lookupSpecies(value)) {
+        species.add(value);
+      }
+    }
+    return new HousingSummary("Isolation", null, isolation.getTotalCages(),
+            isolation.cageOccupied(), isolation.cageOccupied(),
+            Collections.unmodifiableSet(species));
+  }
+
+  /**
+   * Summarize an Enclosure, without loading the troop of an enclosure restored from a
+   * snapshot.
+   *
+   * @param enclosure the enclosure.
+   * @return the summary of the enclosure.
+   */
+  static HousingSummary of(Enclosure enclosure) {
+    int monkeyCount = enclosure.getMonkeyCount();
+    Set<Species> species = monkeyCount > 0
+            ? SINGLE_SPECIES.get(enclosure.getSpecies()) : Collections.emptySet();
+    return new HousingSummary(enclosure.getName(), enclosure.getSpecies(),
+            enclosure.getTotalCapacity(),
+            enclosure.getTotalCapacity() - enclosure.getAvailableSpace(), monkeyCount, species);
+  }
+
+  /**
+   * Build the set of every species alone.
+   *
+   * @return the sets, by Species.
+   */
+  private static Map<Species, Set<Species>> singleSpecies() {
+    Map<Species, Set<Species>> sets = new EnumMap<>(Species.class);
+    for (Species value : SPECIES) {
+      sets.put(value, Collections.unmodifiableSet(EnumSet.of(value)));
+    }
+    return sets;
+  }
+
+  /**
+   * Get the name of the housing.
+   *
+   * @return the name.
+   */
+  public String getName() {
+    return this.name;
+  }
+
+  /**
+   * Get the species the housing is designated for.
+   *
+   * @return the species designation, null for the Isolation.
+   */
+  public Species getDesignation() {
+    return this.designation;
+  }
+
+  /**
+   * Get the capacity of the housing.
+   *
+   * @return the capacity (cages for the Isolation, square meters for an Enclosure).
+   */
+  public int getCapacity() {
+    return this.capacity;
+  }
+
+  /**
+   * Get the part of the capacity occupied.
+   *
+   * @return the capacity occupied (cages for the Isolation, square meters for an Enclosure).
+   */
+  public int getOccupied() {
+    return this.occupied;
+  }
+
+  /**
+   * Get the share of the capacity occupied.
+   *
+   * @return the utilization, between 0 and 1 unless monkeys outgrew the housing.
+   */
+  public double getUtilization() {
+    return capacity == 0 ? 0 : (double) occupied / capacity;
+  }
+
+  /**
+   * Get the number of monkeys in the housing.
+   *
+   * @return the number of monkeys.
+   */
+  public int getMonkeyCount() {
+    return this.monkeyCount;
+  }
+
+  /**
+   * Get the species of the monkeys in the housing.
+   *
+   * @return the species, in the order of the Species enum.
+   */
+  public Set<Species> getSpecies() {
+    return this.species;
+  }
+
+  /**
+   * toString method for data representation.
+   *
+   * @return overview of the housing.
+   */
+  @Override
+  public String toString() {
+    return String.format("%s: %d/%d (%.0f%%), %d monkeys, %s", name, occupied, capacity,
+            getUtilization() * 100, monkeyCount, species);
+  }
+}
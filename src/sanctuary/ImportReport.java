@@ -0,0 +1,171 @@
+package sanctuary;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ImportReport sums up a bulk import of the roster: the rows read, the monkeys admitted and
+ * placed, and every row rejected along the way with its line number and the reason, in the
+ * order of the file.
+ */
+public class ImportReport {
+
+  private long rows;
+  private long admitted;
+  private long placed;
+  private final List<Long> rejectedLines;
+  private final List<String> reasons;
+  private long elapsedNanos;
+
+  /**
+   * Constructor to initialize an empty ImportReport.
+   */
+  ImportReport() {
+    this.rejectedLines = new ArrayList<>();
+    this.reasons = new ArrayList<>();
+  }
+
+  /**
+   * Record rows read from the file.
+   *
+   * @param count number of rows.
+   */
+  void recordRows(long count) {
+    rows += count;
+  }
+
+  /**
+   * Record a monkey admitted to the Isolation.
+   */
+  void recordAdmitted() {
+    admitted++;
+  }
+
+  /**
+   * Record a monkey placed in the enclosure named by its row.
+   */
+  void recordPlaced() {
+    placed++;
+  }
+
+  /**
+   * Record a row rejected, or a monkey kept in the Isolation.
+   *
+   * @param line   line number of the row in the file, starting at 1.
+   * @param reason reason of the rejection.
+   */
+  void recordRejected(long line, String reason) {
+    rejectedLines.add(line);
+    reasons.add(reason);
+  }
+
+  /**
+   * Record the time taken by the import.
+   *
+   * @param elapsedNanos elapsed time (in nanoseconds).
+   */
+  void recordElapsed(long elapsedNanos) {
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  /**
+   * Get the number of rows read, header and blank lines excluded.
+   *
+   * @return the number of rows.
+   */
+  public long getRows() {
+    return this.rows;
+  }
+
+  /**
+   * Get the number of monkeys admitted to the Sanctuary.
+   *
+   * @return the number of monkeys admitted, placed ones included.
+   */
+  public long getAdmitted() {
+    return this.admitted;
+  }
+
+  /**
+   * Get the number of monkeys placed in the enclosure named by their row.
+   *
+   * @return the number of monkeys placed.
+   */
+  public long getPlaced() {
+    return this.placed;
+  }
+
+  /**
+   * Get the number of rows rejected.
+   *
+   * @return the number of rejections, monkeys kept in the Isolation included.
+   */
+  public int getRejectedCount() {
+    return this.rejectedLines.size();
+  }
+
+  /**
+   * Get the line number of a rejected row.
+   *
+   * @param position position of the rejection, in the order of the file.
+   * @return the line number, starting at 1.
+   */
+  public long getRejectedLine(int position) {
+    return this.rejectedLines.get(position);
+  }
+
+  /**
+   * Get the reason a row was rejected.
+   *
+   * @param position position of the rejection, in the order of the file.
+   * @return the reason.
+   */
+  public String getReason(int position) {
+    return this.reasons.get(position);
+  }
+
+  /**
+   * Get every rejection, with its line number.
+   *
+   * @return the rejections, in the order of the file.
+   */
+  public List<String> getRejections() {
+    List<String> rejections = new ArrayList<>(rejectedLines.size());
+    for (int i = 0; i < rejectedLines.size(); i++) {
+      rejections.add("Line " + rejectedLines.get(i) + ": " + reasons.get(i));
+    }
+    return Collections.unmodifiableList(rejections);
+  }
+
+  /**
+   * Get the time taken by the import.
+   *
+   * @return the elapsed time (in nanoseconds).
+   */
+  public long getElapsedNanos() {
+    return this.elapsedNanos;
+  }
+
+  /**
+   * Get the number of rows read per second.
+   *
+   * @return the throughput (in rows per second), 0 if no time was measured.
+   */
+  public double getRowsPerSecond() {
+    return elapsedNanos == 0 ? 0 : rows * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+  }
+
+  /**
+   * toString method for data representation.
+   *
+   * @return overview of the import.
+   */
+  @Override
+  public String toString() {
+    return String.format("%d rows, %d admitted, %d placed, %d rejected in %d ms, %.0f rows/s",
+            rows, admitted, placed, rejectedLines.size(),
+            TimeUnit.NANOSECONDS.toMillis(elapsedNanos), getRowsPerSecond());
+  }
+}
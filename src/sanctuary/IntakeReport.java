@@ -0,0 +1,100 @@
+package sanctuary;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import sanctuary.entities.Monkey;
+import sanctuary.enums.IntakeOutcome;
+
+/**
+ * IntakeReport records the outcome for every monkey of a batch brought in to the Sanctuary,
+ * in the order the monkeys were received.
+ */
+public class IntakeReport {
+
+  private final List<Monkey> monkeys;
+  private final List<IntakeOutcome> outcomes;
+  private final Map<IntakeOutcome, Integer> outcomeCount;
+
+  /**
+   * Constructor to initialize an empty IntakeReport.
+   *
+   * @param batchSize number of monkeys in the batch.
+   */
+  IntakeReport(int batchSize) {
+    this.monkeys = new ArrayList<>(batchSize);
+    this.outcomes = new ArrayList<>(batchSize);
+    this.outcomeCount = new EnumMap<>(IntakeOutcome.class);
+    for (IntakeOutcome outcome : IntakeOutcome.values()) {
+      this.outcomeCount.put(outcome, 0);
+    }
+  }
+
+  /**
+   * Record the outcome for a monkey.
+   *
+   * @param monkey  monkey of the batch.
+   * @param outcome outcome of the intake.
+   */
+  void record(Monkey monkey, IntakeOutcome outcome) {
+    monkeys.add(monkey);
+    outcomes.add(outcome);
+    outcomeCount.put(outcome, outcomeCount.get(outcome) + 1);
+  }
+
+  /**
+   * Number of monkeys in the report.
+   *
+   * @return the number of monkeys in the report.
+   */
+  public int size() {
+    return monkeys.size();
+  }
+
+  /**
+   * Get the monkey at the position in the batch.
+   *
+   * @param position position of the monkey in the batch.
+   * @return the monkey at the position.
+   */
+  public Monkey getMonkey(int position) {
+    return monkeys.get(position);
+  }
+
+  /**
+   * Get the outcome for the monkey at the position in the batch.
+   *
+   * @param position position of the monkey in the batch.
+   * @return the outcome of the intake.
+   */
+  public IntakeOutcome getOutcome(int position) {
+    return outcomes.get(position);
+  }
+
+  /**
+   * Number of monkeys of the batch with the outcome.
+   *
+   * @param outcome outcome to be counted.
+   * @return the number of monkeys with the outcome.
+   */
+  public int count(IntakeOutcome outcome) {
+    return outcomeCount.get(outcome);
+  }
+
+  /**
+   * List of monkeys of the batch that were not admitted.
+   *
+   * @return list of rejected monkeys in the order they were received.
+   */
+  public List<Monkey> getRejected() {
+    List<Monkey> rejected = new ArrayList<>();
+    for (int i = 0; i < monkeys.size(); i++) {
+      if (outcomes.get(i) != IntakeOutcome.Admitted) {
+        rejected.add(monkeys.get(i));
+      }
+    }
+    return rejected;
+  }
+}
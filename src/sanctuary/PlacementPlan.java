@@ -0,0 +1,167 @@
+package sanctuary;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import sanctuary.entities.Monkey;
+import sanctuary.enums.PlacementStrategy;
+import sanctuary.housing.Enclosure;
+
+/**
+ * PlacementPlan records the enclosure planned for every monkey of the Isolation, the monkeys
+ * left without an enclosure and how well the enclosures are used by the plan.
+ */
+public class PlacementPlan {
+
+  private final PlacementStrategy strategy;
+  private final List<Monkey> monkeys;
+  private final List<Enclosure> enclosures;
+  private final List<Monkey> unplaced;
+  private long spaceDemanded;
+  private long spacePlaced;
+  private long capacityUsed;
+  private long spaceOccupied;
+  private long runtime;
+
+  /**
+   * Constructor to initialize an empty PlacementPlan.
+   *
+   * @param strategy strategy the plan is made with.
+   */
+  PlacementPlan(PlacementStrategy strategy) {
+    this.strategy = strategy;
+    this.monkeys = new ArrayList<>();
+    this.enclosures = new ArrayList<>();
+    this.unplaced = new ArrayList<>();
+  }
+
+  /**
+   * Record the enclosure planned for a monkey.
+   *
+   * @param monkey    monkey to be placed.
+   * @param enclosure enclosure the monkey is to be placed in.
+   */
+  void place(Monkey monkey, Enclosure enclosure) {
+    monkeys.add(monkey);
+    enclosures.add(enclosure);
+    spaceDemanded += monkey.getSpaceOccupancy();
+    spacePlaced += monkey.getSpaceOccupancy();
+  }
+
+  /**
+   * Record a monkey left without an enclosure.
+   *
+   * @param monkey monkey that could not be placed.
+   */
+  void leave(Monkey monkey) {
+    unplaced.add(monkey);
+    spaceDemanded += monkey.getSpaceOccupancy();
+  }
+
+  /**
+   * Record the space of the enclosures holding monkeys once the plan is carried out.
+   *
+   * @param capacity total capacity of the enclosures holding monkeys.
+   * @param occupied space occupied in those enclosures.
+   */
+  void recordUsage(long capacity, long occupied) {
+    this.capacityUsed = capacity;
+    this.spaceOccupied = occupied;
+  }
+
+  /**
+   * Record the time taken to make the plan.
+   *
+   * @param nanos time taken (in nanoseconds).
+   */
+  void recordRuntime(long nanos) {
+    this.runtime = nanos;
+  }
+
+  /**
+   * Get the strategy the plan is made with.
+   *
+   * @return the placement strategy.
+   */
+  public PlacementStrategy getStrategy() {
+    return this.strategy;
+  }
+
+  /**
+   * Number of monkeys placed by the plan.
+   *
+   * @return the number of monkeys placed.
+   */
+  public int size() {
+    return monkeys.size();
+  }
+
+  /**
+   * Get a monkey placed by the plan.
+   *
+   * @param position position of the placement in the plan.
+   * @return the monkey at the position.
+   */
+  public Monkey getMonkey(int position) {
+    return monkeys.get(position);
+  }
+
+  /**
+   * Get the enclosure planned for a monkey.
+   *
+   * @param position position of the placement in the plan.
+   * @return the enclosure at the position.
+   */
+  public Enclosure getEnclosure(int position) {
+    return enclosures.get(position);
+  }
+
+  /**
+   * Get the monkeys left without an enclosure.
+   *
+   * @return the monkeys not placed.
+   */
+  public List<Monkey> getUnplaced() {
+    return Collections.unmodifiableList(unplaced);
+  }
+
+  /**
+   * Get the share of the space needed by the monkeys that the plan places.
+   *
+   * @return the space placed over the space demanded (0 to 1).
+   */
+  public double getPlacedShare() {
+    return spaceDemanded == 0 ? 1 : (double) spacePlaced / spaceDemanded;
+  }
+
+  /**
+   * Get the utilization of the enclosures holding monkeys once the plan is carried out.
+   *
+   * @return the space occupied over the capacity of those enclosures (0 to 1).
+   */
+  public double getUtilization() {
+    return capacityUsed == 0 ? 0 : (double) spaceOccupied / capacityUsed;
+  }
+
+  /**
+   * Get the time taken to make the plan.
+   *
+   * @return the time taken (in nanoseconds).
+   */
+  public long getRuntime() {
+    return this.runtime;
+  }
+
+  /**
+   * toString method for data representation.
+   *
+   * @return overview of the plan.
+   */
+  @Override
+  public String toString() {
+    return String.format("%s: %d placed, %d unplaced, %.1f%% of space placed, "
+                    + "%.1f%% utilization, %.2f ms", strategy, monkeys.size(), unplaced.size(),
+            getPlacedShare() * 100, getUtilization() * 100, runtime / 1e6);
+  }
+}
@@ -0,0 +1,287 @@
+package sanctuary;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import sanctuary.entities.Monkey;
+import sanctuary.enums.PlacementStrategy;
+import sanctuary.enums.Species;
+import sanctuary.housing.Enclosure;
+
+/**
+ * PlacementPlanner plans the placement of the whole Isolation population in enclosures at
+ * once, following the housing rules: an enclosure holds a single species, a vacant enclosure
+ * can be designated for any species, and a monkey takes 10, 5 or 1 square meters when Large,
+ * Medium or Small. Plans are made against a copy of the enclosure state, so nothing changes in
+ * the Sanctuary until a plan is applied.
+ *
+ * <p>Two strategies are offered. FirstFitDecreasing places the largest monkeys first, each in
+ * the first enclosure that takes it. SpeciesBestFit packs every species into the enclosures
+ * already designated for it, species in parallel, then shares out the vacant enclosures so
+ * each one is given to the species that fills it best.
+ */
+public class PlacementPlanner {
+
+  private static final Comparator<Monkey> LARGEST_FIRST =
+          Comparator.comparingInt(Monkey::getSpaceOccupancy).reversed()
+                  .thenComparing(Monkey::getName);
+
+  private final ForkJoinPool pool;
+
+  /**
+   * Constructor to initialize a planner running on the common pool.
+   */
+  public PlacementPlanner() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Constructor to initialize a planner running on a pool.
+   *
+   * @param pool pool the species partitions are planned on.
+   */
+  public PlacementPlanner(ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  /**
+   * Plan the placement of the monkeys in enclosures.
+   *
+   * @param monkeys    monkeys to be placed.
+   * @param enclosures enclosures the monkeys can be placed in.
+   * @param strategy   strategy to plan with.
+   * @return the plan.
+   */
+  public PlacementPlan plan(List<Monkey> monkeys, List<Enclosure> enclosures,
+                            PlacementStrategy strategy) {
+    long start = System.nanoTime();
+    List<Bin> bins = new ArrayList<>(enclosures.size());
+    for (Enclosure enclosure : enclosures) {
+      bins.add(new Bin(enclosure));
+    }
+    PlacementPlan plan = new PlacementPlan(strategy);
+    if (strategy == PlacementStrategy.FirstFitDecreasing) {
+      firstFitDecreasing(monkeys, bins);
+    } else {
+      speciesBestFit(monkeys, bins);
+    }
+
+    long capacity = 0;
+    long occupied = 0;
+    Set<Monkey> placed = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (Bin bin : bins) {
+      for (Monkey monkey : bin.placed) {
+        plan.place(monkey, bin.enclosure);
+        placed.add(monkey);
+      }
+      if (bin.space < bin.capacity) {
+        capacity += bin.capacity;
+        occupied += bin.capacity - bin.space;
+      }
+    }
+    for (Monkey monkey : monkeys) {
+      if (!placed.contains(monkey)) {
+        plan.leave(monkey);
+      }
+    }
+    plan.recordUsage(capacity, occupied);
+    plan.recordRuntime(System.nanoTime() - start);
+    return plan;
+  }
+
+  /**
+   * Place the largest monkeys first, each in the first enclosure that takes it.
+   *
+   * @param monkeys monkeys to be placed.
+   * @param bins    enclosures the monkeys can be placed in.
+   */
+  private static void firstFitDecreasing(List<Monkey> monkeys, List<Bin> bins) {
+    List<Monkey> sorted = new ArrayList<>(monkeys);
+    sorted.sort(LARGEST_FIRST);
+    for (Monkey monkey : sorted) {
+      for (Bin bin : bins) {
+        if (bin.accepts(monkey)) {
+          bin.add(monkey);
+          break;
+        }
+      }
+    }
+  }
+
+  /**
+   * Pack every species into its designated enclosures in parallel, then share out the vacant
+   * enclosures between the species left with monkeys to place.
+   *
+   * @param monkeys monkeys to be placed.
+   * @param bins    enclosures the monkeys can be placed in.
+   */
+  private void speciesBestFit(List<Monkey> monkeys, List<Bin> bins) {
+    Map<Species, Partition> partitions = new EnumMap<>(Species.class);
+    for (Monkey monkey : monkeys) {
+      partitions.computeIfAbsent(monkey.getSpeciesType(), species -> new Partition())
+              .monkeys.add(monkey);
+    }
+    List<Bin> vacant = new ArrayList<>();
+    for (Bin bin : bins) {
+      if (bin.species == null) {
+        vacant.add(bin);
+      } else if (partitions.containsKey(bin.species)) {
+        partitions.get(bin.species).bins.add(bin);
+      }
+    }
+    pool.invoke(new RecursiveAction() {
+      @Override
+      protected void compute() {
+        List<RecursiveAction> tasks = new ArrayList<>();
+        for (Partition partition : partitions.values()) {
+          tasks.add(new RecursiveAction() {
+            @Override
+            protected void compute() {
+              partition.monkeys.sort(LARGEST_FIRST);
+              partition.setLeft(bestFitDecreasing(partition.monkeys, partition.bins));
+            }
+          });
+        }
+        invokeAll(tasks);
+      }
+    });
+
+    //Share out the vacant enclosures, smallest first, to the species with most space left
+    //to place, preferring an enclosure that takes all of it.
+    vacant.sort(Comparator.comparingInt((Bin bin) -> bin.capacity));
+    while (!vacant.isEmpty()) {
+      Partition neediest = null;
+      for (Partition partition : partitions.values()) {
+        if (!partition.left.isEmpty()
+                && (neediest == null || partition.spaceLeft > neediest.spaceLeft)) {
+          neediest = partition;
+        }
+      }
+      if (neediest == null) {
+        return;
+      }
+      Bin chosen = null;
+      for (Bin bin : vacant) {
+        if (bin.capacity >= neediest.spaceLeft) {
+          chosen = bin;
+          break;
+        }
+      }
+      if (chosen == null) {
+        chosen = vacant.get(vacant.size() - 1);
+      }
+      List<Monkey> left = bestFitDecreasing(neediest.left, List.of(chosen));
+      if (left.size() == neediest.left.size()) {
+        //Nothing of this species fits any vacant enclosure.
+        neediest.setLeft(new ArrayList<>());
+      } else {
+        vacant.remove(chosen);
+        neediest.setLeft(left);
+      }
+    }
+  }
+
+  /**
+   * Place each monkey, largest first, in the enclosure it leaves the least space in.
+   *
+   * @param sorted monkeys to be placed, largest first.
+   * @param bins   enclosures the monkeys can be placed in.
+   * @return the monkeys that fit nowhere, largest first.
+   */
+  private static List<Monkey> bestFitDecreasing(List<Monkey> sorted, List<Bin> bins) {
+    List<Monkey> left = new ArrayList<>();
+    for (Monkey monkey : sorted) {
+      Bin best = null;
+      for (Bin bin : bins) {
+        if (bin.accepts(monkey) && (best == null || bin.space < best.space)) {
+          best = bin;
+        }
+      }
+      if (best == null) {
+        left.add(monkey);
+      } else {
+        best.add(monkey);
+      }
+    }
+    return left;
+  }
+
+  /**
+   * The state of an enclosure while a plan is made.
+   */
+  private static final class Bin {
+
+    private final Enclosure enclosure;
+    private final int capacity;
+    private Species species;
+    private int space;
+    private final List<Monkey> placed;
+
+    /**
+     * Constructor to copy the state of an enclosure.
+     *
+     * @param enclosure enclosure to be copied.
+     */
+    private Bin(Enclosure enclosure) {
+      this.enclosure = enclosure;
+      this.capacity = enclosure.getTotalCapacity();
+      this.space = enclosure.getAvailableSpace();
+      this.species = enclosure.isEmpty() ? null : enclosure.getSpecies();
+      this.placed = new ArrayList<>();
+    }
+
+    /**
+     * Check if the monkey can be placed in the enclosure.
+     *
+     * @param monkey monkey to be checked.
+     * @return boolean true if the monkey can be placed.
+     */
+    private boolean accepts(Monkey monkey) {
+      return (species == null || species == monkey.getSpeciesType())
+              && space >= monkey.getSpaceOccupancy();
+    }
+
+    /**
+     * Place the monkey in the enclosure, designating it for the species of the monkey.
+     *
+     * @param monkey monkey to be placed.
+     */
+    private void add(Monkey monkey) {
+      species = monkey.getSpeciesType();
+      space -= monkey.getSpaceOccupancy();
+      placed.add(monkey);
+    }
+  }
+
+  /**
+   * The monkeys of a species and the enclosures designated for it.
+   */
+  private static final class Partition {
+
+    private final List<Monkey> monkeys = new ArrayList<>();
+    private final List<Bin> bins = new ArrayList<>();
+    private List<Monkey> left = new ArrayList<>();
+    private int spaceLeft;
+
+    /**
+     * Set the monkeys of the species not placed yet and the space they need.
+     *
+     * @param left monkeys not placed yet, largest first.
+     */
+    private void setLeft(List<Monkey> left) {
+      this.left = left;
+      this.spaceLeft = 0;
+      for (Monkey monkey : left) {
+        this.spaceLeft += monkey.getSpaceOccupancy();
+      }
+    }
+  }
+}
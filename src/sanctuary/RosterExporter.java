@@ -0,0 +1,543 @@
+package sanctuary;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import sanctuary.entities.Monkey;
+import sanctuary.enums.ExportFormat;
+import sanctuary.enums.Foods;
+import sanctuary.enums.Sex;
+import sanctuary.enums.Size;
+import sanctuary.enums.Species;
+import sanctuary.housing.Enclosure;
+import sanctuary.housing.Isolation;
+
+/**
+ * RosterExporter streams the roster of a Sanctuary to a file, a record per monkey, as CSV or
+ * as JSON Lines. It walks the Isolation and then every Enclosure, encoding each monkey as
+ * UTF-8 straight into a direct buffer that is written with a FileChannel whenever it fills
+ * up. Only one buffer of records is held at a time, whatever the size of the roster.
+ *
+ * <p>The direct buffers are pooled and reused by the exports made with the same exporter,
+ * several at once if need be. An export finding the pool empty allocates a buffer of its own,
+ * kept for later exports if the pool has room for it.
+ */
+public class RosterExporter {
+
+  private static final int DEFAULT_BUFFER_SIZE = 1 << 18;
+  private static final int DEFAULT_POOL_SIZE = 2;
+  //Smallest buffer, so a single character or number always fits in an empty buffer
+  private static final int MIN_BUFFER_SIZE = 64;
+  //Chunk -> Records are encoded in a heap chunk of this size, copied into the buffer in bulk
+  private static final int CHUNK_SIZE = 1 << 13;
+  //Largest number put digit by digit, well inside the integers a double holds exactly
+  private static final long MAX_EXACT = 1_000_000_000_000_000L;
+
+  private static final byte[] CSV_HEADER =
+          ascii("housing,name,species,sex,size,weight,age,favoriteFood\n");
+  private static final byte[] JSON_HOUSING = ascii("{\"housing\":");
+  private static final byte[] JSON_NAME = ascii(",\"name\":");
+  private static final byte[] JSON_SPECIES = ascii(",\"species\":\"");
+  private static final byte[] JSON_SEX = ascii("\",\"sex\":\"");
+  private static final byte[] JSON_SIZE = ascii("\",\"size\":");
+  private static final byte[] JSON_WEIGHT = ascii(",\"weight\":");
+  private static final byte[] JSON_AGE = ascii(",\"age\":");
+  private static final byte[] JSON_FOOD = ascii(",\"favoriteFood\":\"");
+  private static final byte[] JSON_END = ascii("\"}\n");
+  private static final byte[] JSON_NULL = ascii("null");
+  //Enum names -> Index = enum ordinal, Value = name of the value in ASCII
+  private static final byte[][] SPECIES = names(Species.values());
+  private static final byte[][] SEXES = names(Sex.values());
+  private static final byte[][] SIZES = names(Size.values());
+  private static final byte[][] FOODS = names(Foods.values());
+
+  private final int bufferSize;
+  private final BlockingQueue<ByteBuffer> pool;
+
+  /**
+   * Constructor to initialize an exporter pooling two buffers of 256 KiB.
+   */
+  public RosterExporter() {
+    this(DEFAULT_BUFFER_SIZE, DEFAULT_POOL_SIZE);
+  }
+
+  /**
+   * Constructor to initialize an exporter.
+   *
+   * @param bufferSize size of the direct buffers (in bytes).
+   * @param poolSize   number of buffers kept for reuse.
+   * @throws IllegalArgumentException if the buffer size is below 64 bytes, or the pool size
+   *                                  is 0 or less.
+   */
+  public RosterExporter(int bufferSize, int poolSize) {
+    if (bufferSize < MIN_BUFFER_SIZE) {
+      throw new IllegalArgumentException("Buffer size cannot be less than "
+              + MIN_BUFFER_SIZE + " bytes.");
+    }
+    if (poolSize <= 0) {
+      throw new IllegalArgumentException("Pool size cannot be 0 or less.");
+    }
+    this.bufferSize = bufferSize;
+    this.pool = new ArrayBlockingQueue<>(poolSize);
+  }
+
+  /**
+   * Export the roster of a Sanctuary to a file, replacing the file if it exists.
+   *
+   * @param sanctuary sanctuary to be exported.
+   * @param file      file to write the roster to.
+   * @param format    format of the records.
+   * @return the report of the export.
+   * @throws IOException if the file cannot be written.
+   */
+  public ExportReport export(Sanctuary sanctuary, Path file, ExportFormat format)
+          throws IOException {
+    long start = System.nanoTime();
+    ByteBuffer buffer = acquire();
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      RecordWriter writer = new RecordWriter(channel, buffer);
+      long records = 0;
+      if (format == ExportFormat.Csv) {
+        writer.put(CSV_HEADER);
+      }
+      Isolation isolation = sanctuary.getIsolation();
+      if (isolation != null) {
+        records += writeHousing(writer, "Isolation", isolation.getMonkeys(), format);
+      }
+      for (Enclosure enclosure : sanctuary.getEnclosures()) {
+        records += writeHousing(writer, enclosure.getName(), enclosure.getMonkeys(), format);
+      }
+      writer.flush();
+      return new ExportReport(format, records, writer.written, System.nanoTime() - start);
+    } finally {
+      release(buffer);
+    }
+  }
+
+  /**
+   * Write a record for every monkey of a housing.
+   *
+   * @param writer  writer of the records.
+   * @param housing name of the housing.
+   * @param monkeys monkeys of the housing.
+   * @param format  format of the records.
+   * @return the number of records written.
+   * @throws IOException if the records cannot be written.
+   */
+  private static long writeHousing(RecordWriter writer, String housing,
+                                   Iterable<Monkey> monkeys, ExportFormat format)
+          throws IOException {
+    long records = 0;
+    for (Monkey monkey : monkeys) {
+      if (format == ExportFormat.Csv) {
+        writeCsv(writer, housing, monkey);
+      } else {
+        writeJson(writer, housing, monkey);
+      }
+      records++;
+    }
+    return records;
+  }
+
+  /**
+   * Write a monkey as a CSV record.
+   *
+   * @param writer  writer of the records.
+   * @param housing name of the housing.
+   * @param monkey  monkey to be written.
+   * @throws IOException if the record cannot be written.
+   */
+  private static void writeCsv(RecordWriter writer, String housing, Monkey monkey)
+          throws IOException {
+    writer.putCsvText(housing);
+    writer.putByte((byte) ',');
+    writer.putCsvText(monkey.getName());
+    writer.putByte((byte) ',');
+    writer.put(SPECIES[monkey.getSpeciesType().ordinal()]);
+    writer.putByte((byte) ',');
+    writer.put(SEXES[monkey.getSex().ordinal()]);
+    writer.putByte((byte) ',');
+    if (monkey.getSize() != null) {
+      writer.put(SIZES[monkey.getSize().ordinal()]);
+    }
+    writer.putByte((byte) ',');
+    writer.putNumber(monkey.getWeight());
+    writer.putByte((byte) ',');
+    writer.putNumber(monkey.getAge());
+    writer.putByte((byte) ',');
+    writer.put(FOODS[monkey.getFavoriteFood().ordinal()]);
+    writer.putByte((byte) '\n');
+  }
+
+  /**
+   * Write a monkey as a JSON Lines record.
+   *
+   * @param writer  writer of the records.
+   * @param housing name of the housing.
+   * @param monkey  monkey to be written.
+   * @throws IOException if the record cannot be written.
+   */
+  private static void writeJson(RecordWriter writer, String housing, Monkey monkey)
+          throws IOException {
+    writer.put(JSON_HOUSING);
+    writer.putJsonText(housing);
+    writer.put(JSON_NAME);
+    writer.putJsonText(monkey.getName());
+    writer.put(JSON_SPECIES);
+    writer.put(SPECIES[monkey.getSpeciesType().ordinal()]);
+    writer.put(JSON_SEX);
+    writer.put(SEXES[monkey.getSex().ordinal()]);
+    writer.put(JSON_SIZE);
+    if (monkey.getSize() == null) {
+      writer.put(JSON_NULL);
+    } else {
+      writer.putByte((byte) '"');
+      writer.put(SIZES[monkey.getSize().ordinal()]);
+      writer.putByte((byte) '"');
+    }
+    writer.put(JSON_WEIGHT);
+    writer.putNumber(monkey.getWeight());
+    writer.put(JSON_AGE);
+    writer.putNumber(monkey.getAge());
+    writer.put(JSON_FOOD);
+    writer.put(FOODS[monkey.getFavoriteFood().ordinal()]);
+    writer.put(JSON_END);
+  }
+
+  /**
+   * Take a buffer from the pool, or allocate one if the pool is empty.
+   *
+   * @return an empty direct buffer.
+   */
+  private ByteBuffer acquire() {
+    ByteBuffer buffer = pool.poll();
+    return buffer == null ? ByteBuffer.allocateDirect(bufferSize) : buffer;
+  }
+
+  /**
+   * Give a buffer back to the pool, dropping it if the pool is full.
+   *
+   * @param buffer buffer to be given back.
+   */
+  private void release(ByteBuffer buffer) {
+    buffer.clear();
+    pool.offer(buffer);
+  }
+
+  /**
+   * Encode a text made of ASCII characters.
+   *
+   * @param text the text.
+   * @return the bytes of the text.
+   */
+  private static byte[] ascii(String text) {
+    return text.getBytes(StandardCharsets.US_ASCII);
+  }
+
+  /**
+   * Encode the names of the values of an enum.
+   *
+   * @param values values of the enum.
+   * @return the names, by enum ordinal.
+   */
+  private static byte[][] names(Enum<?>[] values) {
+    byte[][] names = new byte[values.length][];
+    for (Enum<?> value : values) {
+      names[value.ordinal()] = ascii(value.name());
+    }
+    return names;
+  }
+
+  /**
+   * Encodes records into a small heap chunk, copied in bulk into the direct buffer whenever
+   * the next field does not fit, and writes the buffer to the channel whenever the chunk does
+   * not fit in it. Putting bytes one by one in an array is much cheaper than in a direct
+   * buffer, where every put is checked.
+   */
+  private static final class RecordWriter {
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final byte[] chunk;
+    private int position;
+    //Digits -> Scratch space for the digits of a number, written backwards
+    private final byte[] digits;
+    private long written;
+
+    /**
+     * Constructor to initialize a writer.
+     *
+     * @param channel channel the records are written to.
+     * @param buffer  buffer the records are written from.
+     */
+    private RecordWriter(FileChannel channel, ByteBuffer buffer) {
+      this.channel = channel;
+      this.buffer = buffer;
+      this.chunk = new byte[Math.min(CHUNK_SIZE, buffer.capacity())];
+      this.digits = new byte[20];
+    }
+
+    /**
+     * Move the chunk to the buffer if fewer bytes than needed are left in it.
+     *
+     * @param needed number of bytes about to be put, at most the size of the chunk.
+     * @throws IOException if the buffer cannot be written.
+     */
+    private void ensure(int needed) throws IOException {
+      if (chunk.length - position < needed) {
+        drain();
+      }
+    }
+
+    /**
+     * Move the chunk to the buffer, writing out the buffer first if the chunk does not fit.
+     *
+     * @throws IOException if the buffer cannot be written.
+     */
+    private void drain() throws IOException {
+      if (buffer.remaining() < position) {
+        write();
+      }
+      buffer.put(chunk, 0, position);
+      position = 0;
+    }
+
+    /**
+     * Write out the buffer.
+     *
+     * @throws IOException if the buffer cannot be written.
+     */
+    private void write() throws IOException {
+      buffer.flip();
+      while (buffer.hasRemaining()) {
+        written += channel.write(buffer);
+      }
+      buffer.clear();
+    }
+
+    /**
+     * Write out everything put so far.
+     *
+     * @throws IOException if the buffer cannot be written.
+     */
+    private void flush() throws IOException {
+      drain();
+      write();
+    }
+
+    /**
+     * Put a single byte.
+     *
+     * @param value the byte.
+     * @throws IOException if the buffer cannot be written.
+     */
+    private void putByte(byte value) throws IOException {
+      ensure(1);
+      chunk[position++] = value;
+    }
+
+    /**
+     * Put bytes, moving the chunk to the buffer as often as needed.
+     *
+     * @param bytes the bytes.
+     * @throws IOException if the buffer cannot be written.
+     */
+    private void put(byte[] bytes) throws IOException {
+      int offset = 0;
+      while (offset < bytes.length) {
+        ensure(1);
+        int length = Math.min(chunk.length - position, bytes.length - offset);
+        System.arraycopy(bytes, offset, chunk, position, length);
+        position += length;
+        offset += length;
+      }
+    }
+
+    /**
+     * Put a number, as an integer when it has no fraction. A number with up to three
+     * decimals is put digit by digit, any other number as Double.toString gives it.
+     *
+     * @param value the number.
+     * @throws IOException if the buffer cannot be written.
+     */
+    private void putNumber(double value) throws IOException {
+      long whole = (long) value;
+      if (whole == value && Math.abs(whole) < MAX_EXACT) {
+        putLong(whole);
+        return;
+      }
+      long thousandths = Math.round(value * 1000);
+      if (thousandths / 1000.0 != value || Math.abs(thousandths) >= MAX_EXACT) {
+        put(ascii(Double.toString(value)));
+        return;
+      }
+      if (thousandths < 0) {
+        putByte((byte) '-');
+        thousandths = -thousandths;
+      }
+      putLong(thousandths / 1000);
+      ensure(4);
+      chunk[position++] = '.';
+      int fraction = (int) (thousandths % 1000);
+      int scale = 100;
+      while (fraction > 0) {
+        chunk[position++] = (byte) ('0' + fraction / scale);
+        fraction %= scale;
+        scale /= 10;
+      }
+    }
+
+    /**
+     * Put an integer.
+     *
+     * @param value the integer.
+     * @throws IOException if the buffer cannot be written.
+     */
+    private void putLong(long value) throws IOException {
+      ensure(digits.length);
+      if (value < 0) {
+        chunk[position++] = '-';
+        value = -value;
+      }
+      int count = 0;
+      do {
+        digits[count++] = (byte) ('0' + value % 10);
+        value /= 10;
+      } while (value != 0);
+      while (count > 0) {
+        chunk[position++] = digits[--count];
+      }
+    }
+
+    /**
+     * Put a text as a CSV field, quoted if it holds a comma, a quote or a line break.
+     *
+     * @param text the text.
+     * @throws IOException if the buffer cannot be written.
+     */
+    private void putCsvText(String text) throws IOException {
+      boolean quoted = false;
+      for (int i = 0; i < text.length() && !quoted; i++) {
+        char c = text.charAt(i);
+        quoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+      }
+      if (!quoted) {
+        putText(text);
+        return;
+      }
+      putByte((byte) '"');
+      for (int i = 0; i < text.length(); i++) {
+        ensure(4);
+        if (text.charAt(i) == '"') {
+          chunk[position++] = '"';
+        }
+        i = putChar(text, i);
+      }
+      putByte((byte) '"');
+    }
+
+    /**
+     * Put a text as a JSON string, escaping quotes, backslashes and control characters.
+     *
+     * @param text the text.
+     * @throws IOException if the buffer cannot be written.
+     */
+    private void putJsonText(String text) throws IOException {
+      putByte((byte) '"');
+      for (int i = 0; i < text.length(); i++) {
+        ensure(6);
+        char c = text.charAt(i);
+        if (c == '"' || c == '\\') {
+          chunk[position++] = '\\';
+          chunk[position++] = (byte) c;
+        } else if (c < 0x20) {
+          chunk[position++] = '\\';
+          chunk[position++] = 'u';
+          chunk[position++] = '0';
+          chunk[position++] = '0';
+          chunk[position++] = hexDigit(c >> 4);
+          chunk[position++] = hexDigit(c);
+        } else {
+          i = putChar(text, i);
+        }
+      }
+      putByte((byte) '"');
+    }
+
+    /**
+     * Put a text as it is. A text that fits in the chunk is put without checking for room
+     * character by character.
+     *
+     * @param text the text.
+     * @throws IOException if the buffer cannot be written.
+     */
+    private void putText(String text) throws IOException {
+      int length = text.length();
+      if (length * 3 <= chunk.length) {
+        ensure(length * 3);
+        for (int i = 0; i < length; i++) {
+          char c = text.charAt(i);
+          if (c < 0x80) {
+            chunk[position++] = (byte) c;
+          } else {
+            i = putChar(text, i);
+          }
+        }
+        return;
+      }
+      for (int i = 0; i < length; i++) {
+        ensure(4);
+        i = putChar(text, i);
+      }
+    }
+
+    /**
+     * Put a character of a text in UTF-8, with the next character too when the two are a
+     * surrogate pair. The chunk must have room for 4 bytes.
+     *
+     * @param text  the text.
+     * @param index position of the character.
+     * @return the position of the last character put.
+     */
+    private int putChar(String text, int index) {
+      char c = text.charAt(index);
+      if (c < 0x80) {
+        chunk[position++] = (byte) c;
+      } else if (c < 0x800) {
+        chunk[position++] = (byte) (0xC0 | c >> 6);
+        chunk[position++] = (byte) (0x80 | c & 0x3F);
+      } else if (Character.isHighSurrogate(c) && index + 1 < text.length()
+              && Character.isLowSurrogate(text.charAt(index + 1))) {
+        int point = Character.toCodePoint(c, text.charAt(++index));
+        chunk[position++] = (byte) (0xF0 | point >> 18);
+        chunk[position++] = (byte) (0x80 | point >> 12 & 0x3F);
+        chunk[position++] = (byte) (0x80 | point >> 6 & 0x3F);
+        chunk[position++] = (byte) (0x80 | point & 0x3F);
+      } else if (Character.isSurrogate(c)) {
+        chunk[position++] = '?';
+      } else {
+        chunk[position++] = (byte) (0xE0 | c >> 12);
+        chunk[position++] = (byte) (0x80 | c >> 6 & 0x3F);
+        chunk[position++] = (byte) (0x80 | c & 0x3F);
+      }
+      return index;
+    }
+
+    /**
+     * Get the hexadecimal digit of the low 4 bits of a value.
+     *
+     * @param value the value.
+     * @return the digit, in lower case.
+     */
+    private static byte hexDigit(int value) {
+      return (byte) "0123456789abcdef".charAt(value & 0xF);
+    }
+  }
+}
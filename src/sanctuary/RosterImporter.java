@@ -0,0 +1,829 @@
+package sanctuary;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+import sanctuary.entities.Monkey;
+import sanctuary.enums.Foods;
+import sanctuary.enums.IntakeOutcome;
+import sanctuary.enums.Sex;
+import sanctuary.enums.Size;
+import sanctuary.enums.Species;
+import sanctuary.housing.Enclosure;
+import sanctuary.housing.Isolation;
+import sanctuary.housing.Result;
+
+/**
+ * RosterImporter loads a roster written as CSV by the RosterExporter into a Sanctuary, a
+ * record per line: housing, name, species, sex, size, weight, age and favorite food, under an
+ * optional header line. The file is split in chunks at line boundaries, each chunk memory
+ * mapped and parsed into monkeys on a fork-join pool, matching the enum values and numbers on
+ * the bytes of the file.
+ *
+ * <p>The chunks are loaded in the order of the file on the calling thread, while the next
+ * ones are parsed, in batches brought in to the Isolation with a single intake each. The
+ * monkeys of a row naming an enclosure are then placed in it, so every monkey needs a free
+ * cage in the Isolation when its row is loaded. A row that cannot be parsed or loaded is
+ * reported with its line number and the load goes on with the next row.
+ *
+ * <p>A quoted field may hold line breaks, as the RosterExporter writes a name holding one. The
+ * quotes of every chunk are counted in parallel before parsing, and a chunk that would start
+ * inside a quoted field is merged with the one before it, so every record is parsed whole by a
+ * single task and numbered by the line it starts on.
+ */
+public class RosterImporter {
+
+  private static final long DEFAULT_CHUNK_SIZE = 1 << 22;
+  private static final int DEFAULT_BATCH_SIZE = 4096;
+  //Largest chunk, so a chunk and the end of its last line always fit in a mapping
+  private static final long MAX_CHUNK_SIZE = 1 << 30;
+  //Probe -> Bytes read at a time looking for the end of the line a chunk is split at
+  private static final int PROBE_SIZE = 1 << 12;
+  private static final int FIELDS = 8;
+  //Largest number of digits parsed by hand, well inside the integers a double holds exactly
+  private static final int MAX_DIGITS = 15;
+  private static final String ISOLATION = "Isolation";
+
+  private static final byte[] HEADER = ascii("housing,");
+  private static final Species[] SPECIES_VALUES = Species.values();
+  private static final Sex[] SEX_VALUES = Sex.values();
+  private static final Size[] SIZE_VALUES = Size.values();
+  private static final Foods[] FOOD_VALUES = Foods.values();
+  //Enum names -> Index = enum ordinal, Value = name of the value in ASCII
+  private static final byte[][] SPECIES = names(SPECIES_VALUES);
+  private static final byte[][] SEXES = names(SEX_VALUES);
+  private static final byte[][] SIZES = names(SIZE_VALUES);
+  private static final byte[][] FOODS = names(FOOD_VALUES);
+  //Powers of ten -> Index = number of decimals, Value = 10 to that power, exact as a double
+  private static final double[] POWERS = powers();
+
+  private final ForkJoinPool pool;
+  private final long chunkSize;
+  private final int batchSize;
+
+  /**
+   * Constructor to initialize an importer parsing chunks of 4 MiB on the common pool, and
+   * loading batches of 4096 monkeys.
+   */
+  public RosterImporter() {
+    this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE, DEFAULT_BATCH_SIZE);
+  }
+
+  /**
+   * Constructor to initialize an importer.
+   *
+   * @param pool      pool the chunks are parsed on.
+   * @param chunkSize size of the chunks parsed by a single task (in bytes), extended to the
+   *                  end of their last line.
+   * @param batchSize number of rows loaded at once.
+   * @throws IllegalArgumentException if the chunk size is 0 or less or above 1 GiB, or the
+   *                                  batch size is 0 or less.
+   */
+  public RosterImporter(ForkJoinPool pool, long chunkSize, int batchSize) {
+    if (chunkSize <= 0 || chunkSize > MAX_CHUNK_SIZE) {
+      throw new IllegalArgumentException("Chunk size must be between 1 and "
+              + MAX_CHUNK_SIZE + " bytes.");
+    }
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("Batch size cannot be 0 or less.");
+    }
+    this.pool = pool;
+    this.chunkSize = chunkSize;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Load the roster of a file into a Sanctuary.
+   *
+   * @param sanctuary sanctuary the monkeys are brought in to.
+   * @param file      file to read the roster from.
+   * @return the report of the import, with every row rejected.
+   * @throws IOException           if the file cannot be read.
+   * @throws IllegalStateException if the Isolation of the Sanctuary has not been created.
+   */
+  public ImportReport load(Sanctuary sanctuary, Path file) throws IOException {
+    if (sanctuary.getIsolation() == null) {
+      throw new IllegalStateException("Isolation has not been created.");
+    }
+    long start = System.nanoTime();
+    ImportReport report = new ImportReport();
+    //Enclosures -> Key = Name of the enclosure, Value = First enclosure with the name
+    Map<String, Enclosure> enclosures = new HashMap<>();
+    for (Enclosure enclosure : sanctuary.getEnclosures()) {
+      enclosures.putIfAbsent(enclosure.getName(), enclosure);
+    }
+    List<ForkJoinTask<Chunk>> tasks = new ArrayList<>();
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long[] bounds = split(channel);
+      List<MappedByteBuffer> regions = map(channel, bounds);
+      if (regions.size() > 1) {
+        bounds = align(bounds, regions);
+        regions = map(channel, bounds);
+      }
+      for (int i = 0; i < regions.size(); i++) {
+        tasks.add(pool.submit(new ParseTask(regions.get(i), i == 0)));
+      }
+    }
+    try {
+      List<Row> batch = new ArrayList<>(batchSize);
+      long lines = 0;
+      for (ForkJoinTask<Chunk> task : tasks) {
+        Chunk chunk = task.join();
+        report.recordRows(chunk.rows.size());
+        for (Row row : chunk.rows) {
+          row.line += lines;
+          batch.add(row);
+          if (batch.size() == batchSize) {
+            loadBatch(sanctuary, enclosures, batch, report);
+          }
+        }
+        lines += chunk.lines;
+      }
+      loadBatch(sanctuary, enclosures, batch, report);
+    } finally {
+      for (ForkJoinTask<Chunk> task : tasks) {
+        task.cancel(false);
+      }
+    }
+    report.recordElapsed(System.nanoTime() - start);
+    return report;
+  }
+
+  /**
+   * Split a file in chunks, each ending after a line break or at the end of the file.
+   *
+   * @param channel channel of the file.
+   * @return the positions the chunks start at, followed by the size of the file.
+   * @throws IOException if the file cannot be read.
+   */
+  private long[] split(FileChannel channel) throws IOException {
+    long size = channel.size();
+    List<Long> bounds = new ArrayList<>();
+    bounds.add(0L);
+    ByteBuffer probe = ByteBuffer.allocate(PROBE_SIZE);
+    long next = chunkSize;
+    while (next < size) {
+      long boundary = lineEnd(channel, next - 1, probe);
+      if (boundary >= size) {
+        break;
+      }
+      bounds.add(boundary);
+      next = boundary + chunkSize;
+    }
+    bounds.add(size);
+    long[] positions = new long[bounds.size()];
+    for (int i = 0; i < positions.length; i++) {
+      positions[i] = bounds.get(i);
+    }
+    return positions;
+  }
+
+  /**
+   * Map the chunks of a file.
+   *
+   * @param channel channel of the file.
+   * @param bounds  positions the chunks start at, followed by the size of the file.
+   * @return the mappings of the chunks.
+   * @throws IOException if the file cannot be mapped.
+   */
+  private static List<MappedByteBuffer> map(FileChannel channel, long[] bounds)
+          throws IOException {
+    List<MappedByteBuffer> regions = new ArrayList<>(bounds.length - 1);
+    for (int i = 1; i < bounds.length; i++) {
+      regions.add(channel.map(FileChannel.MapMode.READ_ONLY, bounds[i - 1],
+              bounds[i] - bounds[i - 1]));
+    }
+    return regions;
+  }
+
+  /**
+   * Drop the chunk boundaries falling inside a quoted field. A field is quoted when an odd
+   * number of quotes comes before it in the file, escaped quotes counting twice, so the
+   * quotes of every chunk are counted in parallel and added up in the order of the file. A
+   * boundary is kept anyway if dropping it would make a chunk too large to map, leaving the
+   * quoted field it splits to be rejected as unterminated.
+   *
+   * @param bounds  positions the chunks start at, followed by the size of the file.
+   * @param regions mappings of the chunks.
+   * @return the positions the aligned chunks start at, followed by the size of the file.
+   */
+  private long[] align(long[] bounds, List<MappedByteBuffer> regions) {
+    List<ForkJoinTask<Integer>> counts = new ArrayList<>(regions.size());
+    for (ByteBuffer region : regions) {
+      counts.add(pool.submit(new QuoteTask(region)));
+    }
+    List<Long> aligned = new ArrayList<>(bounds.length);
+    aligned.add(bounds[0]);
+    int quotes = 0;
+    for (int i = 1; i < bounds.length - 1; i++) {
+      quotes += counts.get(i - 1).join();
+      long start = aligned.get(aligned.size() - 1);
+      if ((quotes & 1) == 0 || bounds[i + 1] - start > Integer.MAX_VALUE) {
+        aligned.add(bounds[i]);
+      }
+    }
+    aligned.add(bounds[bounds.length - 1]);
+    long[] positions = new long[aligned.size()];
+    for (int i = 0; i < positions.length; i++) {
+      positions[i] = aligned.get(i);
+    }
+    return positions;
+  }
+
+  /**
+   * Find the end of the line holding a position.
+   *
+   * @param channel  channel of the file.
+   * @param position position in the file.
+   * @param probe    buffer the file is read in.
+   * @return the position after the next line break, or the size of the file if none.
+   * @throws IOException if the file cannot be read.
+   */
+  private static long lineEnd(FileChannel channel, long position, ByteBuffer probe)
+          throws IOException {
+    while (true) {
+      probe.clear();
+      int read = channel.read(probe, position);
+      if (read <= 0) {
+        return channel.size();
+      }
+      for (int i = 0; i < read; i++) {
+        if (probe.get(i) == '\n') {
+          return position + i + 1;
+        }
+      }
+      position += read;
+    }
+  }
+
+  /**
+   * Load a batch of rows in the order of the file, bringing the monkeys in to the Isolation
+   * as many at once as it has cages for, and placing those of a row naming an enclosure.
+   *
+   * @param sanctuary  sanctuary the monkeys are brought in to.
+   * @param enclosures enclosures of the Sanctuary, by name.
+   * @param batch      rows to be loaded, cleared once loaded.
+   * @param report     report of the import.
+   */
+  private static void loadBatch(Sanctuary sanctuary, Map<String, Enclosure> enclosures,
+                                List<Row> batch, ImportReport report) {
+    Isolation isolation = sanctuary.getIsolation();
+    int from = 0;
+    while (from < batch.size()) {
+      int cages = Math.max(1, isolation.cagesObtainable());
+      List<Monkey> monkeys = new ArrayList<>(Math.min(cages, batch.size() - from));
+      int to = from;
+      while (to < batch.size() && monkeys.size() < cages) {
+        Row row = batch.get(to++);
+        if (row.monkey == null) {
+          continue;
+        }
+        if (!ISOLATION.equals(row.housing)) {
+          row.target = enclosures.get(row.housing);
+          if (row.target == null) {
+            row.reason = "No enclosure named '" + row.housing + "'";
+            continue;
+          }
+        }
+        monkeys.add(row.monkey);
+      }
+      IntakeReport intake = monkeys.isEmpty() ? null : sanctuary.addMonkeysToSanctuary(monkeys);
+      int position = 0;
+      for (int i = from; i < to; i++) {
+        Row row = batch.get(i);
+        if (row.reason != null) {
+          report.recordRejected(row.line, row.reason);
+          continue;
+        }
+        IntakeOutcome outcome = intake.getOutcome(position++);
+        if (outcome != IntakeOutcome.Admitted) {
+          report.recordRejected(row.line, "Not admitted: " + outcome);
+          continue;
+        }
+        report.recordAdmitted();
+        if (row.target != null) {
+          Result<Enclosure> placed = sanctuary.tryPlaceMonkey(row.monkey, row.target);
+          if (placed.isDone()) {
+            report.recordPlaced();
+          } else {
+            report.recordRejected(row.line, "Kept in Isolation: " + placed.getOutcome()
+                    + " in " + row.housing);
+          }
+        }
+      }
+      from = to;
+    }
+    batch.clear();
+  }
+
+  /**
+   * Encode a text in ASCII.
+   *
+   * @param text text to be encoded.
+   * @return the bytes of the text.
+   */
+  private static byte[] ascii(String text) {
+    return text.getBytes(StandardCharsets.US_ASCII);
+  }
+
+  /**
+   * Encode the names of the values of an enum.
+   *
+   * @param values values of the enum.
+   * @return the names, by enum ordinal.
+   */
+  private static byte[][] names(Enum<?>[] values) {
+    byte[][] names = new byte[values.length][];
+    for (Enum<?> value : values) {
+      names[value.ordinal()] = ascii(value.name());
+    }
+    return names;
+  }
+
+  /**
+   * Compute the powers of ten up to the largest number of digits parsed by hand.
+   *
+   * @return the powers, by exponent.
+   */
+  private static double[] powers() {
+    double[] powers = new double[MAX_DIGITS + 1];
+    powers[0] = 1;
+    for (int i = 1; i < powers.length; i++) {
+      powers[i] = powers[i - 1] * 10;
+    }
+    return powers;
+  }
+
+  /**
+   * A row of the file: the monkey parsed and the housing it is loaded to, or the reason it
+   * was rejected.
+   */
+  private static final class Row {
+
+    private long line;
+    private final Monkey monkey;
+    private final String housing;
+    private String reason;
+    private Enclosure target;
+
+    /**
+     * Constructor to initialize a row.
+     *
+     * @param line    line number of the row, within its chunk until the chunk is loaded.
+     * @param monkey  monkey of the row, null if rejected.
+     * @param housing name of the housing of the monkey, null if rejected.
+     * @param reason  reason of the rejection, null if parsed.
+     */
+    private Row(long line, Monkey monkey, String housing, String reason) {
+      this.line = line;
+      this.monkey = monkey;
+      this.housing = housing;
+      this.reason = reason;
+    }
+  }
+
+  /**
+   * The rows parsed from a chunk and the number of lines it spans.
+   */
+  private static final class Chunk {
+
+    private final List<Row> rows;
+    private final int lines;
+
+    /**
+     * Constructor to initialize a chunk.
+     *
+     * @param rows  rows of the chunk, in the order of the file.
+     * @param lines number of lines of the chunk, header and blank lines included.
+     */
+    private Chunk(List<Row> rows, int lines) {
+      this.rows = rows;
+      this.lines = lines;
+    }
+  }
+
+  /**
+   * Counts the quotes of a chunk of the file.
+   */
+  private static final class QuoteTask extends RecursiveTask<Integer> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ByteBuffer buffer;
+
+    /**
+     * Constructor to initialize a task over a chunk.
+     *
+     * @param buffer mapping of the chunk.
+     */
+    private QuoteTask(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    /**
+     * Count the quotes of the chunk.
+     *
+     * @return the number of quotes.
+     */
+    @Override
+    protected Integer compute() {
+      int quotes = 0;
+      for (int i = 0, limit = buffer.limit(); i < limit; i++) {
+        if (buffer.get(i) == '"') {
+          quotes++;
+        }
+      }
+      return quotes;
+    }
+  }
+
+  /**
+   * Parses a chunk of the file. The fields of a line are unquoted into a scratch array, from
+   * which the enum values and numbers are matched without building a String, and the name of
+   * the housing is only built when it differs from the one of the previous row.
+   */
+  private static final class ParseTask extends RecursiveTask<Chunk> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ByteBuffer buffer;
+    private final boolean first;
+    private byte[] scratch = new byte[256];
+    //Field ends -> Index = field, Value = end of the field in the scratch array
+    private final int[] ends = new int[FIELDS];
+    private int fields;
+    //Line breaks read inside quoted fields by the last call to readLine
+    private int breaks;
+    private byte[] housingBytes = new byte[0];
+    private String housing;
+
+    /**
+     * Constructor to initialize a task over a chunk.
+     *
+     * @param buffer mapping of the chunk.
+     * @param first  true for the first chunk of the file, which may start with the header.
+     */
+    private ParseTask(ByteBuffer buffer, boolean first) {
+      this.buffer = buffer;
+      this.first = first;
+    }
+
+    /**
+     * Parse every line of the chunk.
+     *
+     * @return the chunk parsed.
+     */
+    @Override
+    protected Chunk compute() {
+      List<Row> rows = new ArrayList<>();
+      int limit = buffer.limit();
+      int position = 0;
+      int line = 0;
+      if (first && startsWithHeader()) {
+        position = skipLine(0, limit);
+        line++;
+      }
+      while (position < limit) {
+        line++;
+        int start = position;
+        position = readLine(position, limit);
+        if (fields == 1 && ends[0] == 0 && isBlank(start, position)) {
+          continue;
+        }
+        rows.add(parseRow(line));
+        line += breaks;
+      }
+      return new Chunk(rows, line);
+    }
+
+    /**
+     * Check if the chunk starts with the header line.
+     *
+     * @return true if the first line starts with the name of the first field.
+     */
+    private boolean startsWithHeader() {
+      if (buffer.limit() < HEADER.length) {
+        return false;
+      }
+      for (int i = 0; i < HEADER.length; i++) {
+        if (buffer.get(i) != HEADER[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /**
+     * Skip a line.
+     *
+     * @param position position the line starts at.
+     * @param limit    end of the chunk.
+     * @return the position after the line break.
+     */
+    private int skipLine(int position, int limit) {
+      while (position < limit && buffer.get(position++) != '\n') {
+        continue;
+      }
+      return position;
+    }
+
+    /**
+     * Check if a line holds nothing but its line break.
+     *
+     * @param start position the line starts at.
+     * @param end   position after the line break.
+     * @return true if the line is blank.
+     */
+    private boolean isBlank(int start, int end) {
+      for (int i = start; i < end; i++) {
+        byte b = buffer.get(i);
+        if (b != '\r' && b != '\n') {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /**
+     * Read the fields of a record into the scratch array, unquoting them. A quoted field may
+     * go on past a line break, the number of line breaks it holds being counted. The number of
+     * fields is set to -1 if a quoted field is not closed by the end of the chunk.
+     *
+     * @param position position the line starts at.
+     * @param limit    end of the chunk.
+     * @return the position after the line break.
+     */
+    private int readLine(int position, int limit) {
+      int length = 0;
+      fields = 0;
+      breaks = 0;
+      boolean quoted = false;
+      boolean fieldStart = true;
+      while (position < limit) {
+        byte b = buffer.get(position++);
+        if (quoted) {
+          if (b == '"') {
+            if (position < limit && buffer.get(position) == '"') {
+              position++;
+              length = put(length, b);
+            } else {
+              quoted = false;
+            }
+          } else {
+            if (b == '\n') {
+              breaks++;
+            }
+            length = put(length, b);
+          }
+        } else if (b == '\n') {
+          break;
+        } else if (b == ',') {
+          length = endField(length);
+          fieldStart = true;
+        } else if (b == '"' && fieldStart) {
+          quoted = true;
+          fieldStart = false;
+        } else {
+          length = put(length, b);
+          fieldStart = false;
+        }
+      }
+      int fieldFrom = fields == 0 ? 0 : ends[Math.min(fields, FIELDS) - 1];
+      if (length > fieldFrom && scratch[length - 1] == '\r') {
+        length--;
+      }
+      endField(length);
+      if (quoted) {
+        fields = -1;
+      }
+      return position;
+    }
+
+    /**
+     * Put a byte of a field in the scratch array, growing it if need be.
+     *
+     * @param length number of bytes in the scratch array.
+     * @param b      byte to be put.
+     * @return the new number of bytes.
+     */
+    private int put(int length, byte b) {
+      if (length == scratch.length) {
+        scratch = Arrays.copyOf(scratch, length * 2);
+      }
+      scratch[length] = b;
+      return length + 1;
+    }
+
+    /**
+     * End the current field of the line.
+     *
+     * @param length number of bytes in the scratch array.
+     * @return the number of bytes, unchanged.
+     */
+    private int endField(int length) {
+      if (fields < FIELDS) {
+        ends[fields] = length;
+      }
+      fields++;
+      return length;
+    }
+
+    /**
+     * Parse the fields read into a row.
+     *
+     * @param line line number within the chunk.
+     * @return the row, with its monkey or the reason it was rejected.
+     */
+    private Row parseRow(int line) {
+      if (fields < 0) {
+        return rejected(line, "Unterminated quoted field");
+      }
+      if (fields != FIELDS) {
+        return rejected(line, "Expected " + FIELDS + " fields, found " + fields);
+      }
+      if (length(0) == 0) {
+        return rejected(line, "Missing housing");
+      }
+      if (length(1) == 0) {
+        return rejected(line, "Missing name");
+      }
+      int species = match(SPECIES, 2);
+      if (species < 0) {
+        return rejected(line, "Unknown species '" + text(2) + "'");
+      }
+      int sex = match(SEXES, 3);
+      if (sex < 0) {
+        return rejected(line, "Unknown sex '" + text(3) + "'");
+      }
+      int size = length(4) == 0 ? -1 : match(SIZES, 4);
+      if (size < 0 && length(4) != 0) {
+        return rejected(line, "Unknown size '" + text(4) + "'");
+      }
+      double weight = number(5);
+      if (Double.isNaN(weight)) {
+        return rejected(line, "Invalid weight '" + text(5) + "'");
+      }
+      double age = number(6);
+      if (Double.isNaN(age)) {
+        return rejected(line, "Invalid age '" + text(6) + "'");
+      }
+      int food = match(FOODS, 7);
+      if (food < 0) {
+        return rejected(line, "Unknown favorite food '" + text(7) + "'");
+      }
+      Monkey monkey;
+      try {
+        monkey = new Monkey(text(1), SPECIES_VALUES[species], SEX_VALUES[sex],
+                size < 0 ? null : SIZE_VALUES[size], weight, age, FOOD_VALUES[food]);
+      } catch (IllegalArgumentException e) {
+        return rejected(line, e.getMessage());
+      }
+      return new Row(line, monkey, housing(), null);
+    }
+
+    /**
+     * Make a rejected row.
+     *
+     * @param line   line number within the chunk.
+     * @param reason reason of the rejection.
+     * @return the row.
+     */
+    private static Row rejected(int line, String reason) {
+      return new Row(line, null, null, reason);
+    }
+
+    /**
+     * Get the start of a field in the scratch array.
+     *
+     * @param field index of the field.
+     * @return the start of the field.
+     */
+    private int from(int field) {
+      return field == 0 ? 0 : ends[field - 1];
+    }
+
+    /**
+     * Get the length of a field.
+     *
+     * @param field index of the field.
+     * @return the number of bytes of the field.
+     */
+    private int length(int field) {
+      return ends[field] - from(field);
+    }
+
+    /**
+     * Decode a field as UTF-8.
+     *
+     * @param field index of the field.
+     * @return the text of the field.
+     */
+    private String text(int field) {
+      return new String(scratch, from(field), length(field), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Get the name of the housing of the row, reusing the one of the previous row if the
+     * bytes are the same.
+     *
+     * @return the name of the housing.
+     */
+    private String housing() {
+      int length = length(0);
+      if (housing == null || !Arrays.equals(scratch, 0, length, housingBytes, 0,
+              housingBytes.length)) {
+        housingBytes = Arrays.copyOf(scratch, length);
+        housing = text(0);
+      }
+      return housing;
+    }
+
+    /**
+     * Match a field against the names of the values of an enum.
+     *
+     * @param names names of the values, by enum ordinal.
+     * @param field index of the field.
+     * @return the ordinal of the value named, -1 if none.
+     */
+    private int match(byte[][] names, int field) {
+      int from = from(field);
+      int to = ends[field];
+      for (int i = 0; i < names.length; i++) {
+        if (Arrays.equals(scratch, from, to, names[i], 0, names[i].length)) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    /**
+     * Parse a field as a number, by hand for a plain decimal of up to 15 digits and with
+     * Double.parseDouble otherwise. The hand parsed digits and the power of ten dividing them
+     * are exact doubles, so the division rounds to the same double as Double.parseDouble.
+     *
+     * @param field index of the field.
+     * @return the number, NaN if the field is not a number.
+     */
+    private double number(int field) {
+      int from = from(field);
+      int to = ends[field];
+      int i = from;
+      boolean negative = i < to && scratch[i] == '-';
+      if (negative) {
+        i++;
+      }
+      long digits = 0;
+      int count = 0;
+      int decimals = 0;
+      boolean point = false;
+      for (; i < to; i++) {
+        byte b = scratch[i];
+        if (b >= '0' && b <= '9' && count < MAX_DIGITS) {
+          digits = digits * 10 + (b - '0');
+          count++;
+          if (point) {
+            decimals++;
+          }
+        } else if (b == '.' && !point) {
+          point = true;
+        } else {
+          return parseNumber(from, to);
+        }
+      }
+      if (count == 0) {
+        return Double.NaN;
+      }
+      double value = digits / POWERS[decimals];
+      return negative ? -value : value;
+    }
+
+    /**
+     * Parse a field as a number with Double.parseDouble.
+     *
+     * @param from start of the field in the scratch array.
+     * @param to   end of the field in the scratch array.
+     * @return the number, NaN if the field is not a number.
+     */
+    private double parseNumber(int from, int to) {
+      try {
+        return Double.parseDouble(new String(scratch, from, to - from,
+                StandardCharsets.US_ASCII));
+      } catch (NumberFormatException e) {
+        return Double.NaN;
+      }
+    }
+  }
+}
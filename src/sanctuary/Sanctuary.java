@@ -1,29 +1,60 @@
 package sanctuary;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeMap;
 
 import sanctuary.entities.Monkey;
+import sanctuary.entities.MonkeyStore;
 import sanctuary.enums.Foods;
+import sanctuary.enums.IntakeOutcome;
+import sanctuary.enums.Operation;
+import sanctuary.enums.Outcome;
+import sanctuary.enums.PlacementStrategy;
 import sanctuary.enums.Sex;
 import sanctuary.enums.Size;
 import sanctuary.enums.Species;
+import sanctuary.events.BatchIntakeEvent;
+import sanctuary.events.HousingReportEvent;
+import sanctuary.events.IntakeEvent;
+import sanctuary.events.ShiftEvent;
+import sanctuary.events.ShoppingListEvent;
+import sanctuary.housing.ElasticCapacity;
 import sanctuary.housing.Enclosure;
+import sanctuary.housing.EnclosureIndex;
 import sanctuary.housing.Isolation;
+import sanctuary.housing.Result;
+import sanctuary.interfaces.MonkeyObserver;
+import sanctuary.metrics.HousingGauge;
+import sanctuary.metrics.SanctuaryMetrics;
+import sanctuary.query.MonkeyQuery;
+import sanctuary.query.RosterIndex;
 
 /**
  * A facade for the implementation of various functions inside Sanctuary.
  */
 public class Sanctuary {
 
+  private static final int SPECIES_COUNT = Species.values().length;
+
   //Monkey Map -> Key = monkey name, Value -> Monkey Object
-  private final Map monkeyMap;
+  private final Map<String, Monkey> monkeyMap;
   private Isolation isolation;
   private final List<Object> enclosureList;
-
+  private final EnclosureIndex enclosureIndex;
+  //Food Totals -> Index = Foods ordinal, Value = grams needed per day
+  private final int[] foodTotals;
+  private final MonkeyObserver monkeyObserver;
+  private final RosterIndex rosterIndex;
+  private SanctuaryLog log;
+  private SanctuarySnapshot snapshot;
+  private final EnclosureCompactor compactor;
+  private final SanctuaryMetrics metrics;
 
   /**
    * Sanctuary Constructor.
@@ -32,6 +63,47 @@ public class Sanctuary {
     this.monkeyMap = new TreeMap<>();
     this.isolation = null;
     this.enclosureList = new ArrayList<>();
+    this.enclosureIndex = new EnclosureIndex();
+    this.foodTotals = new int[Foods.values().length];
+    this.monkeyObserver = new MonkeyObserver() {
+      @Override
+      public void sizeChanged(Monkey monkey, Size previous) {
+        foodTotals[monkey.getFavoriteFood().ordinal()] += foodQuantity(monkey.getSize())
+                - foodQuantity(previous);
+        if (log != null) {
+          log.setSize(monkey.getName(), monkey.getSize());
+        }
+      }
+
+      @Override
+      public void weightChanged(Monkey monkey, double previous) {
+        if (log != null) {
+          log.setWeight(monkey.getName(), monkey.getWeight());
+        }
+      }
+
+      @Override
+      public void ageChanged(Monkey monkey, double previous) {
+        if (log != null) {
+          log.setAge(monkey.getName(), monkey.getAge());
+        }
+      }
+    };
+    this.rosterIndex = new RosterIndex();
+    this.log = null;
+    this.snapshot = null;
+    this.compactor = new EnclosureCompactor(this::getEnclosures, this::moveMonkey);
+    this.metrics = new SanctuaryMetrics();
+  }
+
+  /**
+   * Attach a log to the Sanctuary. Every mutation made from now on is recorded in the log
+   * once it has been applied.
+   *
+   * @param log log to record the mutations in.
+   */
+  public void attachLog(SanctuaryLog log) {
+    this.log = log;
   }
 
   /**
@@ -41,6 +113,19 @@ public class Sanctuary {
    */
   public void createIsolation(int isolationSize) {
     isolation = new Isolation(isolationSize);
+    metrics.addHousing(HousingGauge.of(() -> isolation));
+    if (log != null) {
+      log.createIsolation(isolationSize);
+    }
+  }
+
+  /**
+   * Get the metrics of the Sanctuary, to read them or to publish them over JMX.
+   *
+   * @return the metrics registry of the Sanctuary.
+   */
+  public SanctuaryMetrics getMetrics() {
+    return metrics;
   }
 
   /**
@@ -52,15 +137,34 @@ public class Sanctuary {
    * @return Object enclosure.
    */
   public Object createEnclosure(String name, int size, Species species) {
-    try {
-      Enclosure enclosure = new Enclosure(name, size, species);
-      enclosureList.add(enclosure);
-      Enclosure copyEnclosure = new Enclosure(enclosure);
-      return copyEnclosure;
-    } catch (Exception e) {
-      System.out.println(e.getMessage());
-      return null;
+    Result<Enclosure> result = tryCreateEnclosure(name, size, species);
+    if (!result.isDone()) {
+      System.out.println("Error: Cannot create enclosure. Enclosure Size cannot be 0 or less.");
+    }
+    return result.getValue();
+  }
+
+  /**
+   * Create an enclosure in the Sanctuary, reporting a rejection instead of printing it.
+   *
+   * @param name    name of the enclosure.
+   * @param size    size of the enclosure (in square meters).
+   * @param species species type designation of the enclosure.
+   * @return Done with a copy of the enclosure, or InvalidSize if the size is 0 or less.
+   */
+  public Result<Enclosure> tryCreateEnclosure(String name, int size, Species species) {
+    if (size <= 0) {
+      return Result.of(Outcome.InvalidSize);
+    }
+    Enclosure enclosure = new Enclosure(name, size, species);
+    enclosureList.add(enclosure);
+    enclosureIndex.register(enclosure);
+    metrics.addHousing(HousingGauge.of(enclosure));
+    if (log != null) {
+      log.createEnclosure(name, size, species);
     }
+    Enclosure copyEnclosure = new Enclosure(enclosure);
+    return Result.done(copyEnclosure);
   }
 
   /**
@@ -84,23 +188,170 @@ public class Sanctuary {
   }
 
   /**
-   * Add monkey to the Sanctuary.
+   * Add monkey to the Sanctuary. A monkey turned away is reported on standard output.
    *
    * @param monkey monkey to be added in the Sanctuary.
-   * @throws IllegalStateException if a monkey with same name exists in the Sanctuary.
    */
   public void addMonkeyToSanctuary(Monkey monkey) {
-    try {
-      if (monkeyMap.containsKey(monkey.getName())) {
-        throw new IllegalStateException("Error: Cannot add Monkey- " + monkey.getName()
-                + ". A monkey with name " + monkey.getName() + " already exists in Sanctuary.");
+    Result<Void> result = tryAddMonkeyToSanctuary(monkey);
+    if (!result.isDone()) {
+      System.out.println(rejectionMessage(monkey, result.getOutcome()));
+    }
+  }
+
+  /**
+   * Add monkey to the Sanctuary, reporting a rejection instead of printing it.
+   *
+   * @param monkey monkey to be added in the Sanctuary.
+   * @return Done, DuplicateName if a monkey with same name exists in the Sanctuary, or NoSpace
+   *         if the Isolation is full.
+   */
+  public Result<Void> tryAddMonkeyToSanctuary(Monkey monkey) {
+    long start = metrics.startTimer(Operation.Intake);
+    IntakeEvent event = new IntakeEvent();
+    event.begin();
+    Result<Void> result;
+    if (nameExists(monkey.getName())) {
+      result = Result.of(Outcome.DuplicateName);
+    } else {
+      result = isolation.tryAddMonkey(monkey);
+    }
+    if (result.isDone()) {
+      monkeyMap.put(monkey.getName(), monkey);
+      rosterIndex.add(monkey);
+      addToShoppingList(monkey);
+      if (log != null) {
+        log.addMonkey(monkey);
+      }
+    }
+    IntakeOutcome outcome = intakeOutcome(result);
+    metrics.recordIntake(outcome);
+    metrics.recordLatency(Operation.Intake, start);
+    event.emit(monkey.getName(), monkey.getSpeciesType().toString(), outcome.toString(),
+            isolation.cageOccupied());
+    return result;
+  }
+
+  /**
+   * Release a monkey from the Isolation to another facility. The monkey leaves the Sanctuary
+   * and its food is taken off the shopping list.
+   *
+   * @param monkeyName name of the monkey.
+   * @return Done with the monkey released, or NotFound if the monkey is not in the Isolation.
+   */
+  public Result<Monkey> tryReleaseMonkey(String monkeyName) {
+    Monkey monkey = (Monkey) isolation.lookupMonkey(monkeyName);
+    if (monkey == null) {
+      return Result.of(Outcome.NotFound);
+    }
+    isolation.removeMonkeyFromIsolation(monkey);
+    monkeyMap.remove(monkeyName);
+    rosterIndex.remove(monkey);
+    foodTotals[monkey.getFavoriteFood().ordinal()] -= foodQuantity(monkey.getSize());
+    monkey.removeObserver(monkeyObserver);
+    if (log != null) {
+      log.releaseMonkey(monkeyName);
+    }
+    return Result.done(monkey);
+  }
+
+  /**
+   * Add every monkey of a store to the Sanctuary as one batch. The Monkeys are the ones built
+   * by the store, so a change made through a view of the store reaches the Sanctuary.
+   *
+   * @param store store holding the monkeys to be added in the Sanctuary.
+   * @return the report with the outcome for every monkey, in the order of their ids.
+   */
+  public IntakeReport addMonkeysToSanctuary(MonkeyStore store) {
+    List<Monkey> monkeys = new ArrayList<>(store.size());
+    for (int id = 0; id < store.size(); id++) {
+      monkeys.add(store.toMonkey(id));
+    }
+    return addMonkeysToSanctuary(monkeys);
+  }
+
+  /**
+   * Add a batch of monkeys to the Sanctuary. Names are validated for the whole batch up front
+   * and the Isolation cages are reserved once for all the monkeys admitted.
+   *
+   * @param monkeys monkeys to be added in the Sanctuary.
+   * @return the report with the outcome for every monkey, in the order received.
+   */
+  public IntakeReport addMonkeysToSanctuary(Collection<Monkey> monkeys) {
+    long start = metrics.startTimer(Operation.BatchIntake);
+    BatchIntakeEvent event = new BatchIntakeEvent();
+    event.begin();
+    IntakeReport report = new IntakeReport(monkeys.size());
+    List<Monkey> admitted = new ArrayList<>(monkeys.size());
+    Set<String> batchNames = new HashSet<>();
+    int cagesAvailable = isolation.cagesObtainable();
+    for (Monkey monkey : monkeys) {
+      if (nameExists(monkey.getName()) || !batchNames.add(monkey.getName())) {
+        report.record(monkey, IntakeOutcome.DuplicateName);
+      } else if (admitted.size() >= cagesAvailable) {
+        report.record(monkey, IntakeOutcome.NoSpace);
+      } else {
+        report.record(monkey, IntakeOutcome.Admitted);
+        admitted.add(monkey);
       }
-      isolation.addMonkey(monkey);
+    }
+    isolation.addMonkeys(admitted);
+    for (Monkey monkey : admitted) {
       monkeyMap.put(monkey.getName(), monkey);
-    } catch (IllegalStateException e) {
-      System.out.println(e.getMessage());
+      rosterIndex.add(monkey);
+      addToShoppingList(monkey);
+      if (log != null) {
+        log.addMonkey(monkey);
+      }
     }
+    for (IntakeOutcome outcome : IntakeOutcome.values()) {
+      metrics.recordIntakes(outcome, report.count(outcome));
+    }
+    metrics.recordLatency(Operation.BatchIntake, start);
+    event.emit(report.size(), report.count(IntakeOutcome.Admitted),
+            report.count(IntakeOutcome.DuplicateName), report.count(IntakeOutcome.NoSpace));
+    return report;
+  }
 
+  /**
+   * Lookup a monkey in the Sanctuary using the name (unique).
+   *
+   * @param monkeyName name of the monkey.
+   * @return the monkey, null if no monkey with the name exists in the Sanctuary.
+   */
+  public Monkey lookupMonkey(String monkeyName) {
+    Monkey monkey = monkeyMap.get(monkeyName);
+    if (monkey == null && snapshot != null) {
+      int housing = snapshot.findHousing(monkeyName);
+      if (housing >= 0) {
+        //Load the troop of the enclosure the monkey was restored in.
+        ((Enclosure) enclosureList.get(housing)).getMonkeys();
+        monkey = monkeyMap.get(monkeyName);
+      }
+    }
+    return monkey;
+  }
+
+  /**
+   * Find the monkeys of the Sanctuary matching a query, in the Isolation or in an Enclosure.
+   *
+   * @param query criteria of the search.
+   * @return list of the monkeys found, in alphabetical order of their names.
+   */
+  public List<Monkey> findMonkeys(MonkeyQuery query) {
+    loadRestoredTroops();
+    return rosterIndex.find(query);
+  }
+
+  /**
+   * Describe how a query is answered by the indexes of the Sanctuary.
+   *
+   * @param query criteria of the search.
+   * @return the steps of the plan, with the number of monkeys left after each.
+   */
+  public String explainQuery(MonkeyQuery query) {
+    loadRestoredTroops();
+    return rosterIndex.explain(query);
   }
 
   /**
@@ -109,7 +360,10 @@ public class Sanctuary {
    * @return list of monkeys in Isolation.
    */
   public List getMonkeysInIsolation() {
+    HousingReportEvent event = new HousingReportEvent();
+    event.begin();
     List monkeys = isolation.reportAllMonkeyInHousing();
+    event.emit("Isolation", "MonkeyList", monkeys.size(), monkeys.size());
     return monkeys;
   }
 
@@ -120,7 +374,11 @@ public class Sanctuary {
    * @return the list of monkeys in the enclosure.
    */
   public List getMonkeysInEnclosure(Enclosure enclosure) {
-    return enclosure.reportAllMonkeyInHousing();
+    HousingReportEvent event = new HousingReportEvent();
+    event.begin();
+    List monkeys = enclosure.reportAllMonkeyInHousing();
+    event.emit(enclosure.getName(), "MonkeyList", monkeys.size(), monkeys.size());
+    return monkeys;
   }
 
   /**
@@ -129,7 +387,13 @@ public class Sanctuary {
    * @return set of species in the Isolation (sorted alphabetically).
    */
   public SortedSet getSpeciesListInIsolation() {
-    return isolation.reportAllSpeciesList();
+    long start = metrics.startTimer(Operation.SpeciesReport);
+    HousingReportEvent event = new HousingReportEvent();
+    event.begin();
+    SortedSet speciesList = isolation.reportAllSpeciesList();
+    metrics.recordLatency(Operation.SpeciesReport, start);
+    event.emit("Isolation", "SpeciesList", SPECIES_COUNT, speciesList.size());
+    return speciesList;
   }
 
   /**
@@ -138,8 +402,14 @@ public class Sanctuary {
    * @return set of species in the Enclosure (sorted alphabetically).
    */
   public SortedSet getSpeciesListInEnclosure(Object enclosure) {
+    long start = metrics.startTimer(Operation.SpeciesReport);
+    HousingReportEvent event = new HousingReportEvent();
+    event.begin();
     Enclosure enc = (Enclosure) enclosure;
-    return enc.reportAllSpeciesList();
+    SortedSet speciesList = enc.reportAllSpeciesList();
+    metrics.recordLatency(Operation.SpeciesReport, start);
+    event.emit(enc.getName(), "SpeciesList", SPECIES_COUNT, speciesList.size());
+    return speciesList;
   }
 
   /**
@@ -148,7 +418,31 @@ public class Sanctuary {
    * @return the signboard of the Enclosure.
    */
   public List getEnclosureSignBoard(Enclosure enclosure) {
-    return enclosure.signBoard();
+    long start = metrics.startTimer(Operation.SignBoard);
+    HousingReportEvent event = new HousingReportEvent();
+    event.begin();
+    List signBoard = enclosure.signBoard();
+    metrics.recordLatency(Operation.SignBoard, start);
+    event.emit(enclosure.getName(), "SignBoard", signBoard.size(), signBoard.size());
+    return signBoard;
+  }
+
+  /**
+   * Append the Signboard on the Enclosure to the output.
+   *
+   * @param enclosure enclosure to render the signboard of.
+   * @param out       output the signboard is appended to.
+   */
+  public void renderEnclosureSignBoard(Enclosure enclosure, Appendable out) {
+    long start = metrics.startTimer(Operation.SignBoard);
+    HousingReportEvent event = new HousingReportEvent();
+    event.begin();
+    enclosure.renderSignBoard(out);
+    metrics.recordLatency(Operation.SignBoard, start);
+    if (event.shouldCommit()) {
+      int troopSize = enclosure.getMonkeys().size();
+      event.emit(enclosure.getName(), "SignBoard", troopSize, troopSize);
+    }
   }
 
   /**
@@ -158,6 +452,21 @@ public class Sanctuary {
    */
   public void increaseIsolationCapacity(int size) {
     isolation.increaseSize(size);
+    if (log != null) {
+      log.increaseIsolation(size);
+    }
+  }
+
+  /**
+   * Let the Isolation resize itself with demand, following the elasticity policy.
+   *
+   * @param elasticity the elasticity policy, with the metrics of its grow and shrink events.
+   */
+  public void setIsolationElasticity(ElasticCapacity elasticity) {
+    isolation.setElasticity(elasticity);
+    if (log != null) {
+      log.setElasticity(elasticity);
+    }
   }
 
   /**
@@ -220,116 +529,490 @@ public class Sanctuary {
     return enclosure.lookupSpecies(species);
   }
 
+  /**
+   * Get the report of the whole Sanctuary, summarizing the Isolation and every Enclosure.
+   * Large Sanctuaries are summarized in parallel on the common pool.
+   *
+   * @return the report.
+   */
+  public SanctuaryReport getSanctuaryReport() {
+    return getSanctuaryReport(new SanctuaryReporter());
+  }
+
+  /**
+   * Get the report of the whole Sanctuary, made by a reporter.
+   *
+   * @param reporter reporter setting the pool and the threshold for going parallel.
+   * @return the report.
+   */
+  public SanctuaryReport getSanctuaryReport(SanctuaryReporter reporter) {
+    return reporter.report(isolation, getEnclosures());
+  }
+
   /**
    * Get shopping list for the monkeys.
    *
    * @return the shopping list.
    */
   public Map getShoppingList() {
+    long start = metrics.startTimer(Operation.ShoppingList);
     //Get Shopping List for Monkeys
-    return createShoppingList();
+    Map shoppingList = createShoppingList();
+    metrics.recordLatency(Operation.ShoppingList, start);
+    return shoppingList;
   }
 
   /**
-   * Create shopping list for the monkeys in the Sanctuary.
+   * Create shopping list for the monkeys in the Sanctuary from the running food totals.
    *
    * @return the created shopping list.
    */
   private Map createShoppingList() {
+    ShoppingListEvent event = new ShoppingListEvent();
+    event.begin();
     Map<String, Integer> shoppingList = new TreeMap<>();
-    for (Object monkey : monkeyMap.values()) {
-      Monkey tempMonkey = (Monkey) monkey;
-      Size monkeySize = tempMonkey.getSize();
-      String monkeyFavFood = tempMonkey.getFavoriteFood().toString();
-      switch (monkeySize) {
-        case Large:
-          if (shoppingList.containsKey(monkeyFavFood)) {
-            int newValue = shoppingList.get(monkeyFavFood) + 500;
-            shoppingList.put(monkeyFavFood, newValue);
-          } else {
-            shoppingList.put(monkeyFavFood, 500);
-          }
-          break;
-        case Medium:
-          if (shoppingList.containsKey(monkeyFavFood)) {
-            int newValue = shoppingList.get(monkeyFavFood) + 250;
-            shoppingList.put(monkeyFavFood, newValue);
-          } else {
-            shoppingList.put(monkeyFavFood, 250);
-          }
-          break;
-        case Small:
-          if (shoppingList.containsKey(monkeyFavFood)) {
-            int newValue = shoppingList.get(monkeyFavFood) + 100;
-            shoppingList.put(monkeyFavFood, newValue);
-          } else {
-            shoppingList.put(monkeyFavFood, 100);
-          }
-          break;
-        default:
-          break;
+    Foods[] foods = Foods.values();
+    for (int i = 0; i < foods.length; i++) {
+      if (foodTotals[i] > 0) {
+        shoppingList.put(foods[i].toString(), foodTotals[i]);
       }
     }
-
+    event.emit(monkeyMap.size(), foods.length, shoppingList.size());
     return shoppingList;
   }
 
+  /**
+   * Add the favourite food of the monkey to the running food totals and keep it updated when
+   * the size of the monkey changes.
+   *
+   * @param monkey monkey brought in to the Sanctuary.
+   */
+  private void addToShoppingList(Monkey monkey) {
+    foodTotals[monkey.getFavoriteFood().ordinal()] += foodQuantity(monkey.getSize());
+    monkey.addObserver(monkeyObserver);
+  }
+
+  /**
+   * Quantity of food (in grams) needed by a monkey of the size.
+   *
+   * @param size size of the monkey.
+   * @return the quantity of food in grams.
+   */
+  static int foodQuantity(Size size) {
+    if (size == null) {
+      return 0;
+    }
+    switch (size) {
+      case Large:
+        return 500;
+      case Medium:
+        return 250;
+      case Small:
+        return 100;
+      default:
+        return 0;
+    }
+  }
+
   /**
    * Shift the monkey to enclosure.
    *
    * @param monkey monkey to be shifted.
+   * @return the enclosure the monkey is shifted to, or the exception if none was found.
+   * @throws IllegalArgumentException if the monkey is not in the Isolation.
    */
   public Object shiftMonkeyToEnclosure(Monkey monkey) {
+    Result<Enclosure> result = tryShiftMonkeyToEnclosure(monkey);
+    if (result.isDone()) {
+      return result.getValue();
+    }
+    if (result.getOutcome() == Outcome.NotFound) {
+      throw new IllegalArgumentException("Monkey does not exists in the Isolation");
+    }
+    IllegalStateException e = new IllegalStateException(rejectionMessage(monkey,
+            result.getOutcome()));
+    System.out.println(e.getMessage());
+    return e;
+  }
+
+  /**
+   * Shift the monkey to enclosure, reporting a rejection instead of creating an exception.
+   *
+   * @param monkey monkey to be shifted.
+   * @return Done with the enclosure the monkey is shifted to, NoEnclosure if no enclosure can
+   *         house the monkey, or NotFound if the monkey is not in the Isolation.
+   */
+  public Result<Enclosure> tryShiftMonkeyToEnclosure(Monkey monkey) {
+    long start = metrics.startTimer(Operation.Shift);
+    ShiftEvent event = new ShiftEvent();
+    event.begin();
     int monkeySpaceSize = monkey.getSpaceOccupancy();
-    Integer enclosureNumber = checkForEnclosure(monkey.getSpeciesType(), monkeySpaceSize);
-    try {
-      return changeLocationToEnclosure(enclosureNumber, monkey);
-    } catch (IllegalStateException e) {
-      System.out.println(e.getMessage());
-      return e;
+    Enclosure enclosure = checkForEnclosure(monkey.getSpeciesType(), monkeySpaceSize, event);
+    Result<Enclosure> result = changeLocationToEnclosure(enclosure, monkey);
+    if (result.getOutcome() != Outcome.NotFound) {
+      metrics.recordShift(result.isDone());
     }
+    metrics.recordLatency(Operation.Shift, start);
+    event.emit(monkey.getName(), monkey.getSpeciesType().toString(), monkeySpaceSize,
+            enclosure == null ? null : enclosure.getName(), event.scanLength,
+            result.isDone() ? "Shifted" : result.getOutcome().toString());
+    return result;
+  }
+
+  /**
+   * Consolidate the monkeys of each species into fewer enclosures for a bounded time slice,
+   * freeing whole enclosures for other species. Call again while work is left.
+   *
+   * @param budgetNanos time budget of the slice (in nanoseconds).
+   * @return boolean true if work is left for another slice.
+   */
+  public boolean compactEnclosures(long budgetNanos) {
+    return compactor.runSlice(budgetNanos);
+  }
+
+  /**
+   * Get the report of the enclosure compaction done so far.
+   *
+   * @return the report with the monkeys moved and the space reclaimed.
+   */
+  public CompactionReport getCompactionReport() {
+    return compactor.getReport();
+  }
+
+  /**
+   * Move a monkey between two enclosures of its species and record the move in the log.
+   *
+   * @param monkey monkey to be moved.
+   * @param source enclosure the monkey is in.
+   * @param target enclosure the monkey is moved to.
+   * @return boolean true if the monkey was moved.
+   */
+  private boolean moveMonkey(Monkey monkey, Enclosure source, Enclosure target) {
+    if (log == null) {
+      return EnclosureCompactor.moveMonkey(monkey, source, target);
+    }
+    int sourcePosition = positionOf(source);
+    int targetPosition = positionOf(target);
+    boolean moved = EnclosureCompactor.moveMonkey(monkey, source, target);
+    if (moved) {
+      log.moveMonkey(monkey.getName(), sourcePosition, targetPosition);
+    }
+    return moved;
+  }
+
+  /**
+   * Move a monkey between two enclosures found by position, as recorded in the log.
+   *
+   * @param monkeyName name of the monkey.
+   * @param source     position of the enclosure the monkey is in.
+   * @param target     position of the enclosure the monkey is moved to.
+   * @throws IllegalStateException if the monkey or either enclosure cannot be found.
+   */
+  void applyMove(String monkeyName, int source, int target) {
+    moveMonkey(requireMonkey(monkeyName), enclosureAt(source), enclosureAt(target));
+  }
+
+  /**
+   * Plan the placement of every monkey in the Isolation in the enclosures at once. Nothing is
+   * changed in the Sanctuary until the plan is applied.
+   *
+   * @param strategy strategy to plan with.
+   * @return the plan, with the utilization of the enclosures and the time taken.
+   */
+  public PlacementPlan planPlacement(PlacementStrategy strategy) {
+    return new PlacementPlanner().plan(new ArrayList<>(isolation.getMonkeys()),
+            getEnclosures(), strategy);
+  }
+
+  /**
+   * Shift the monkeys of the Isolation to the enclosures planned for them. Placements that no
+   * longer fit because the Sanctuary changed since the plan was made are skipped.
+   *
+   * @param plan plan to be applied.
+   * @return the number of monkeys shifted.
+   */
+  public int applyPlacement(PlacementPlan plan) {
+    int shifted = 0;
+    for (int i = 0; i < plan.size(); i++) {
+      if (placeMonkey(plan.getMonkey(i), plan.getEnclosure(i))) {
+        shifted++;
+      }
+    }
+    return shifted;
+  }
+
+  /**
+   * Shift a monkey from the Isolation to a chosen enclosure and record it in the log.
+   *
+   * @param monkey    monkey to be shifted.
+   * @param enclosure enclosure the monkey is shifted to.
+   * @return boolean true if the monkey was shifted.
+   */
+  private boolean placeMonkey(Monkey monkey, Enclosure enclosure) {
+    return tryPlaceMonkey(monkey, enclosure).isDone();
+  }
+
+  /**
+   * Shift a monkey from the Isolation to a chosen enclosure and record it in the log,
+   * reporting a rejection.
+   *
+   * @param monkey    monkey to be shifted.
+   * @param enclosure enclosure the monkey is shifted to.
+   * @return Done with the enclosure, NotFound if the monkey is not in the Isolation, or
+   *         WrongSpecies or NoSpace if the enclosure cannot house the monkey.
+   */
+  Result<Enclosure> tryPlaceMonkey(Monkey monkey, Enclosure enclosure) {
+    if (isolation.lookupMonkey(monkey.getName()) != monkey) {
+      return Result.of(Outcome.NotFound);
+    }
+    int position = log == null ? -1 : positionOf(enclosure);
+    Result<Void> added = enclosure.tryAddMonkey(monkey);
+    if (!added.isDone()) {
+      return added.asRejection();
+    }
+    isolation.removeMonkeyFromIsolation(monkey);
+    metrics.recordShift(true);
+    if (log != null) {
+      log.placeMonkey(monkey.getName(), position);
+    }
+    return Result.done(enclosure);
+  }
+
+  /**
+   * Shift a monkey from the Isolation to an enclosure found by position, as recorded in the
+   * log.
+   *
+   * @param monkeyName name of the monkey.
+   * @param enclosure  position of the enclosure.
+   * @throws IllegalStateException if the monkey or the enclosure cannot be found.
+   */
+  void applyPlacement(String monkeyName, int enclosure) {
+    placeMonkey(requireMonkey(monkeyName), enclosureAt(enclosure));
+  }
+
+  /**
+   * Find the position of an enclosure of the Sanctuary, in the order they were created.
+   *
+   * @param enclosure enclosure of the Sanctuary, not a copy.
+   * @return the position of the enclosure.
+   * @throws IllegalArgumentException if the enclosure is not one of the Sanctuary.
+   */
+  private int positionOf(Enclosure enclosure) {
+    int position = enclosure.getPosition();
+    if (position >= enclosureList.size() || enclosureList.get(position) != enclosure) {
+      throw new IllegalArgumentException("Enclosure is not part of the Sanctuary.");
+    }
+    return position;
+  }
+
+  /**
+   * Get the enclosure at a position recorded in the log.
+   *
+   * @param position position of the enclosure, in the order they were created.
+   * @return the enclosure.
+   * @throws IllegalStateException if no enclosure is at the position.
+   */
+  private Enclosure enclosureAt(int position) {
+    if (position < 0 || position >= enclosureList.size()) {
+      throw new IllegalStateException("Error: Cannot replay the log. No enclosure at position "
+              + position + ".");
+    }
+    return (Enclosure) enclosureList.get(position);
+  }
+
+  /**
+   * Get a monkey named in the log.
+   *
+   * @param monkeyName name of the monkey.
+   * @return the monkey.
+   * @throws IllegalStateException if no monkey has the name.
+   */
+  private Monkey requireMonkey(String monkeyName) {
+    Monkey monkey = lookupMonkey(monkeyName);
+    if (monkey == null) {
+      throw new IllegalStateException("Error: Cannot replay the log. No monkey named '"
+              + monkeyName + "'.");
+    }
+    return monkey;
   }
 
   /**
    * Change the location of the Monkey to the enclosure.
    *
-   * @param enclosureNumber enclosure number in the enclosure list.
-   * @param monkey          monkey to be shifted.
-   * @return the enclosure the monkey is shifted to.
+   * @param enclosure enclosure the monkey is to be shifted to, null if none was found.
+   * @param monkey    monkey to be shifted.
+   * @return Done with the enclosure the monkey is shifted to, or the rejection.
    */
-  private Object changeLocationToEnclosure(Integer enclosureNumber, Monkey monkey) {
-    if (enclosureNumber < 0) {
-      throw new IllegalStateException("Cannot add " + monkey.getName()
-              + " (" + monkey.getSpeciesType() + "). No enclosure found for the Monkey");
+  private Result<Enclosure> changeLocationToEnclosure(Enclosure enclosure, Monkey monkey) {
+    if (enclosure == null) {
+      return Result.of(Outcome.NoEnclosure);
+    }
+    if (isolation.lookupMonkey(monkey.getName()) != monkey) {
+      return Result.of(Outcome.NotFound);
+    }
+    Result<Void> added = enclosure.tryAddMonkey(monkey);
+    if (!added.isDone()) {
+      return added.asRejection();
     }
-    Enclosure enclosure = (Enclosure) enclosureList.get(enclosureNumber);
     isolation.removeMonkeyFromIsolation(monkey);
-    enclosure.addMonkey(monkey);
-    return enclosure;
+    if (log != null) {
+      log.shiftMonkey(monkey.getName());
+    }
+    return Result.done(enclosure);
   }
 
   /**
-   * Check for the availability of the enclosure for the monkey.
+   * Check for the availability of the enclosure for the monkey. An enclosure designated for
+   * the species is preferred, else a vacant enclosure that can accommodate the monkey.
    *
    * @param species         species type of the monkey.
    * @param monkeySpaceSize space the monkey will occupy in the enclosure.
-   * @return the enclosure number in the enclosure list. If none found, return -1.
-   */
-  private int checkForEnclosure(Species species, int monkeySpaceSize) {
-    //Check if an enclosure designated has space available
-    for (int i = 0; i < enclosureList.size(); i++) {
-      Enclosure enclosure = (Enclosure) enclosureList.get(i);
-      if (enclosure.getSpecies() == species && enclosure.getAvailableSpace() >= monkeySpaceSize) {
-        return i;
-      }
+   * @param event           event the number of lookups made is recorded in.
+   * @return the enclosure found. If none found, return null.
+   */
+  private Enclosure checkForEnclosure(Species species, int monkeySpaceSize, ShiftEvent event) {
+    event.scanLength = 1;
+    Enclosure enclosure = enclosureIndex.findDesignatedEnclosure(species, monkeySpaceSize);
+    if (enclosure == null) {
+      event.scanLength = 2;
+      enclosure = enclosureIndex.findVacantEnclosure(monkeySpaceSize);
     }
-    //Check for any other enclosure which is vacant and can accommodate monkey.
-    for (int i = 0; i < enclosureList.size(); i++) {
-      Enclosure enclosure = (Enclosure) enclosureList.get(i);
-      if (enclosure.isEmpty() && enclosure.getAvailableSpace() >= monkeySpaceSize) {
-        return i;
-      }
+    return enclosure;
+  }
+
+  /**
+   * Outcome of an intake for the metrics and events of the Sanctuary.
+   *
+   * @param result result of the intake.
+   * @return Admitted, DuplicateName or NoSpace.
+   */
+  static IntakeOutcome intakeOutcome(Result<?> result) {
+    switch (result.getOutcome()) {
+      case Done:
+        return IntakeOutcome.Admitted;
+      case DuplicateName:
+        return IntakeOutcome.DuplicateName;
+      default:
+        return IntakeOutcome.NoSpace;
+    }
+  }
+
+  /**
+   * Message a rejected monkey is reported with on standard output.
+   *
+   * @param monkey  monkey rejected.
+   * @param outcome outcome of the rejection.
+   * @return the message.
+   */
+  static String rejectionMessage(Monkey monkey, Outcome outcome) {
+    switch (outcome) {
+      case DuplicateName:
+        return "Error: Cannot add Monkey- " + monkey.getName() + ". A monkey with name "
+                + monkey.getName() + " already exists in Sanctuary.";
+      case NoSpace:
+        return "Error: Cannot add Monkey- " + monkey.getName()
+                + ". No space available in the Isolation. Request you to contact another facility";
+      case NoEnclosure:
+        return "Cannot add " + monkey.getName() + " (" + monkey.getSpeciesType()
+                + "). No enclosure found for the Monkey";
+      default:
+        return Result.of(outcome).getDetail();
+    }
+  }
+
+  /**
+   * Check if a monkey with the name exists in the Sanctuary, including the monkeys restored
+   * from a snapshot that have not been loaded yet. A name the snapshot places in an enclosure
+   * loads the troop of the enclosure, so a monkey released or moved since the restore no
+   * longer holds its name.
+   *
+   * @param monkeyName name of the monkey.
+   * @return boolean true if the name is taken.
+   */
+  private boolean nameExists(String monkeyName) {
+    return lookupMonkey(monkeyName) != null;
+  }
+
+  /**
+   * Restore the Sanctuary from a snapshot. The Isolation is built straight away, while the
+   * monkeys of each Enclosure are built the first time the enclosure is accessed.
+   *
+   * @param snapshot snapshot to restore from.
+   */
+  void restoreSnapshot(SanctuarySnapshot snapshot) {
+    this.snapshot = snapshot;
+    System.arraycopy(snapshot.getFoodTotals(), 0, foodTotals, 0, foodTotals.length);
+    if (snapshot.hasIsolation()) {
+      isolation = new Isolation(snapshot.getIsolationCapacity());
+      isolation.addMonkeys(registerRestored(snapshot.isolationMonkeys()));
+      metrics.addHousing(HousingGauge.of(() -> isolation));
     }
-    return -1;
+    for (int k = 0; k < snapshot.getEnclosureCount(); k++) {
+      final int position = k;
+      Enclosure enclosure = snapshot.enclosure(k,
+          () -> registerRestored(snapshot.enclosureMonkeys(position)));
+      enclosureList.add(enclosure);
+      enclosureIndex.register(enclosure);
+      metrics.addHousing(HousingGauge.of(enclosure));
+    }
+  }
+
+  /**
+   * Load the troops of the enclosures restored from a snapshot that are not loaded yet, so
+   * their monkeys are indexed.
+   */
+  private void loadRestoredTroops() {
+    if (snapshot == null) {
+      return;
+    }
+    for (Object enclosure : enclosureList) {
+      ((Enclosure) enclosure).getMonkeys();
+    }
+  }
+
+  /**
+   * Register monkeys restored from a snapshot. Their food is already in the running totals.
+   *
+   * @param monkeys monkeys restored.
+   * @return the monkeys restored.
+   */
+  private List<Monkey> registerRestored(List<Monkey> monkeys) {
+    for (Monkey monkey : monkeys) {
+      monkeyMap.put(monkey.getName(), monkey);
+      monkey.addObserver(monkeyObserver);
+      rosterIndex.add(monkey);
+    }
+    return monkeys;
+  }
+
+  /**
+   * Get the Isolation of the Sanctuary.
+   *
+   * @return the isolation, null if none was created.
+   */
+  Isolation getIsolation() {
+    return isolation;
+  }
+
+  /**
+   * Get the Enclosures of the Sanctuary, in the order they were created.
+   *
+   * @return list of the enclosures.
+   */
+  List<Enclosure> getEnclosures() {
+    List<Enclosure> enclosures = new ArrayList<>(enclosureList.size());
+    for (Object enclosure : enclosureList) {
+      enclosures.add((Enclosure) enclosure);
+    }
+    return enclosures;
+  }
+
+  /**
+   * Get a copy of the running food totals.
+   *
+   * @return the food totals indexed by Foods ordinal.
+   */
+  int[] getFoodTotals() {
+    return foodTotals.clone();
   }
 }
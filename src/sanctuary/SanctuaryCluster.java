@@ -0,0 +1,326 @@
+package sanctuary;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import sanctuary.entities.Monkey;
+import sanctuary.enums.Outcome;
+import sanctuary.enums.ShardingPolicy;
+import sanctuary.enums.Species;
+import sanctuary.housing.Enclosure;
+import sanctuary.housing.Result;
+
+/**
+ * A cluster of facilities, each a Sanctuary of its own, that share the intake of monkeys.
+ *
+ * <p>Every monkey has a home shard, chosen by the hash of its name or by its species. A
+ * monkey arriving at a home shard with a full Isolation is routed to the next shard with a
+ * cage to spare, and is only turned away when every shard is full. Names are unique across
+ * the whole cluster, and a monkey waiting in an Isolation can be transferred to another
+ * shard.
+ *
+ * <p>Each shard is guarded by a lock of its own, so operations on different shards run in
+ * parallel. An operation on two shards takes their locks in the order of the shards.
+ */
+public class SanctuaryCluster {
+
+  //Pending -> Shard of a name reserved by an intake still looking for a shard
+  private static final int PENDING = -1;
+
+  private final Sanctuary[] shards;
+  private final ReentrantLock[] locks;
+  private final ShardingPolicy policy;
+  //Directory -> Key = monkey name, Value = shard holding the monkey
+  private final Map<String, Integer> directory;
+  private final LongAdder overflows;
+
+  /**
+   * Constructor to initialize the cluster, with an Isolation in every shard.
+   *
+   * @param shardCount    number of shards.
+   * @param isolationSize size of the isolation of every shard (number of cages).
+   * @param policy        policy for choosing the home shard of a monkey.
+   * @throws IllegalArgumentException if the shard count or the isolation size is 0 or less.
+   */
+  public SanctuaryCluster(int shardCount, int isolationSize, ShardingPolicy policy) {
+    if (shardCount <= 0) {
+      throw new IllegalArgumentException("Shard count cannot be 0 or less.");
+    }
+    if (isolationSize <= 0) {
+      throw new IllegalArgumentException("Isolation capacity cannot be 0 or less.");
+    }
+    this.shards = new Sanctuary[shardCount];
+    this.locks = new ReentrantLock[shardCount];
+    for (int i = 0; i < shardCount; i++) {
+      shards[i] = new Sanctuary();
+      shards[i].createIsolation(isolationSize);
+      locks[i] = new ReentrantLock();
+    }
+    this.policy = policy;
+    this.directory = new ConcurrentHashMap<>();
+    this.overflows = new LongAdder();
+  }
+
+  /**
+   * Create an enclosure in a shard.
+   *
+   * @param shard   shard the enclosure is created in.
+   * @param name    name of the enclosure.
+   * @param size    size of the enclosure (in square meters).
+   * @param species species type designation of the enclosure.
+   * @return Done with a copy of the enclosure, or InvalidSize if the size is 0 or less.
+   * @throws IllegalArgumentException if the shard does not exist.
+   */
+  public Result<Enclosure> tryCreateEnclosure(int shard, String name, int size,
+                                              Species species) {
+    checkShard(shard);
+    locks[shard].lock();
+    try {
+      return shards[shard].tryCreateEnclosure(name, size, species);
+    } finally {
+      locks[shard].unlock();
+    }
+  }
+
+  /**
+   * Add monkey to the cluster, in its home shard or else in the next shard with a free cage.
+   *
+   * @param monkey monkey to be added in the cluster.
+   * @return Done with the shard the monkey was added to, DuplicateName if a monkey with same
+   *         name exists in the cluster, or NoSpace if the Isolation of every shard is full.
+   */
+  public Result<Integer> tryAddMonkey(Monkey monkey) {
+    if (directory.putIfAbsent(monkey.getName(), PENDING) != null) {
+      return Result.of(Outcome.DuplicateName);
+    }
+    int home = homeShard(monkey);
+    for (int k = 0; k < shards.length; k++) {
+      int shard = (home + k) % shards.length;
+      Result<Void> result;
+      locks[shard].lock();
+      try {
+        //Probe before adding, so the shards passed over do not count a rejection
+        if (shards[shard].getIsolation().cagesObtainable() <= 0) {
+          continue;
+        }
+        result = shards[shard].tryAddMonkeyToSanctuary(monkey);
+      } finally {
+        locks[shard].unlock();
+      }
+      if (result.isDone()) {
+        directory.put(monkey.getName(), shard);
+        if (k > 0) {
+          overflows.increment();
+        }
+        return Result.done(shard);
+      }
+    }
+    directory.remove(monkey.getName(), PENDING);
+    return Result.of(Outcome.NoSpace);
+  }
+
+  /**
+   * Shift a monkey to an enclosure of the shard holding it.
+   *
+   * @param monkeyName name of the monkey.
+   * @return Done with the enclosure the monkey is shifted to, NoEnclosure if no enclosure of
+   *         the shard can house the monkey, or NotFound if the monkey is not in an Isolation.
+   */
+  public Result<Enclosure> tryShiftMonkeyToEnclosure(String monkeyName) {
+    while (true) {
+      int shard = getShardOf(monkeyName);
+      if (shard < 0) {
+        return Result.of(Outcome.NotFound);
+      }
+      locks[shard].lock();
+      try {
+        //The monkey may have been transferred before the lock was taken
+        if (getShardOf(monkeyName) != shard) {
+          continue;
+        }
+        Monkey monkey = shards[shard].lookupMonkey(monkeyName);
+        return shards[shard].tryShiftMonkeyToEnclosure(monkey);
+      } finally {
+        locks[shard].unlock();
+      }
+    }
+  }
+
+  /**
+   * Transfer a monkey waiting in the Isolation of its shard to the Isolation of another
+   * shard.
+   *
+   * @param monkeyName name of the monkey.
+   * @param target     shard the monkey is transferred to.
+   * @return Done, NotFound if the monkey is not in an Isolation, or NoSpace if the Isolation
+   *         of the target shard is full.
+   * @throws IllegalArgumentException if the target shard does not exist.
+   */
+  public Result<Void> transferMonkey(String monkeyName, int target) {
+    checkShard(target);
+    while (true) {
+      int source = getShardOf(monkeyName);
+      if (source < 0) {
+        return Result.of(Outcome.NotFound);
+      }
+      if (source == target) {
+        return Result.of(Outcome.Done);
+      }
+      ReentrantLock first = locks[Math.min(source, target)];
+      ReentrantLock second = locks[Math.max(source, target)];
+      first.lock();
+      second.lock();
+      try {
+        if (getShardOf(monkeyName) != source) {
+          continue;
+        }
+        if (shards[source].getIsolation().lookupMonkey(monkeyName) == null) {
+          return Result.of(Outcome.NotFound);
+        }
+        if (shards[target].getIsolation().cagesObtainable() <= 0) {
+          return Result.of(Outcome.NoSpace);
+        }
+        Monkey monkey = shards[source].tryReleaseMonkey(monkeyName).getValue();
+        shards[target].tryAddMonkeyToSanctuary(monkey);
+        directory.put(monkeyName, target);
+        return Result.of(Outcome.Done);
+      } finally {
+        second.unlock();
+        first.unlock();
+      }
+    }
+  }
+
+  /**
+   * Lookup a monkey in the cluster using the name (unique).
+   *
+   * @param monkeyName name of the monkey.
+   * @return the monkey, null if no monkey with the name exists in the cluster.
+   */
+  public Monkey lookupMonkey(String monkeyName) {
+    while (true) {
+      int shard = getShardOf(monkeyName);
+      if (shard < 0) {
+        return null;
+      }
+      locks[shard].lock();
+      try {
+        if (getShardOf(monkeyName) == shard) {
+          return shards[shard].lookupMonkey(monkeyName);
+        }
+      } finally {
+        locks[shard].unlock();
+      }
+    }
+  }
+
+  /**
+   * Get the shard holding a monkey.
+   *
+   * @param monkeyName name of the monkey.
+   * @return the shard, -1 if no monkey with the name exists in the cluster.
+   */
+  public int getShardOf(String monkeyName) {
+    Integer shard = directory.get(monkeyName);
+    return shard == null ? -1 : shard;
+  }
+
+  /**
+   * Get the home shard of a monkey, where it is added unless that shard is full.
+   *
+   * @param monkey monkey to be added in the cluster.
+   * @return the home shard.
+   */
+  public int homeShard(Monkey monkey) {
+    if (policy == ShardingPolicy.SpeciesAffinity) {
+      return monkey.getSpeciesType().ordinal() % shards.length;
+    }
+    int hash = monkey.getName().hashCode();
+    return Math.floorMod(hash ^ (hash >>> 16), shards.length);
+  }
+
+  /**
+   * Get the number of shards.
+   *
+   * @return the number of shards.
+   */
+  public int getShardCount() {
+    return shards.length;
+  }
+
+  /**
+   * Get the number of monkeys added to a shard other than their home shard.
+   *
+   * @return the number of monkeys routed away from a full shard.
+   */
+  public long getOverflowCount() {
+    return overflows.sum();
+  }
+
+  /**
+   * Get the occupancy of the Isolation of a shard.
+   *
+   * @param shard shard of the cluster.
+   * @return the number of cages occupied.
+   * @throws IllegalArgumentException if the shard does not exist.
+   */
+  public int getIsolationOccupancy(int shard) {
+    checkShard(shard);
+    locks[shard].lock();
+    try {
+      return shards[shard].getIsolationOccupancy();
+    } finally {
+      locks[shard].unlock();
+    }
+  }
+
+  /**
+   * Get the occupancy of the Isolations of every shard.
+   *
+   * @return the number of cages occupied over the cluster.
+   */
+  public int getIsolationOccupancy() {
+    int occupied = 0;
+    for (int i = 0; i < shards.length; i++) {
+      occupied += getIsolationOccupancy(i);
+    }
+    return occupied;
+  }
+
+  /**
+   * Get the shopping list of the whole cluster, summing the lists of every shard.
+   *
+   * @return the shopping list.
+   */
+  public Map<String, Integer> getShoppingList() {
+    Map<String, Integer> shoppingList = new TreeMap<>();
+    for (int i = 0; i < shards.length; i++) {
+      Map<?, ?> shardList;
+      locks[i].lock();
+      try {
+        shardList = shards[i].getShoppingList();
+      } finally {
+        locks[i].unlock();
+      }
+      for (Map.Entry<?, ?> entry : shardList.entrySet()) {
+        shoppingList.merge((String) entry.getKey(), (Integer) entry.getValue(), Integer::sum);
+      }
+    }
+    return shoppingList;
+  }
+
+  /**
+   * Check that a shard exists.
+   *
+   * @param shard shard of the cluster.
+   * @throws IllegalArgumentException if the shard does not exist.
+   */
+  private void checkShard(int shard) {
+    if (shard < 0 || shard >= shards.length) {
+      throw new IllegalArgumentException("Shard " + shard + " does not exist.");
+    }
+  }
+}
@@ -0,0 +1,542 @@
+package sanctuary;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import sanctuary.entities.Monkey;
+import sanctuary.enums.Foods;
+import sanctuary.enums.LogRecordType;
+import sanctuary.enums.Sex;
+import sanctuary.enums.Size;
+import sanctuary.enums.Species;
+import sanctuary.housing.ElasticCapacity;
+
+/**
+ * SanctuaryLog is a redo log of every mutation made to a Sanctuary, so the Sanctuary can be
+ * rebuilt after a restart by replaying the log. A mutation is applied to the Sanctuary first
+ * and appended to the log once it succeeded, so the log is written behind the Sanctuary: the
+ * mutations recorded since the last commit are lost if the process stops before the next one.
+ *
+ * <p>Enclosures are referred to by their position, in the order they were created, as their
+ * names need not be unique. A record referring to an enclosure or a monkey that cannot be found
+ * fails the replay.
+ *
+ * <p>Every record is framed as [payload length][CRC32 of payload][payload], where the payload
+ * starts with the record type and enums are stored as a single ordinal byte. Records are
+ * gathered in a buffer and written and forced to disk together once a group of records has
+ * built up (group commit), or when commit is called. A torn record at the end of the file is
+ * ignored on replay and cut off before new records are appended.
+ */
+public class SanctuaryLog implements Closeable {
+
+  private static final int HEADER_SIZE = 8;
+  private static final int MAX_NAME_BYTES = 0xFFFF;
+  //Largest payload -> A monkey added: its type, a name of the longest length and the attributes
+  private static final int MAX_PAYLOAD_SIZE = 1 + 2 + MAX_NAME_BYTES + 20;
+  //Buffer -> Large enough for a record of the largest payload, so every record fits
+  private static final int BUFFER_SIZE = 256 * 1024;
+  private static final long MAP_WINDOW = 1L << 30;
+
+  private final Path file;
+  private final FileChannel channel;
+  private final ByteBuffer buffer;
+  private final CRC32 crc;
+  private final int groupCommitSize;
+  private int pendingRecords;
+  private int recordStart;
+
+  /**
+   * Constructor to initialize the log over an open channel positioned at its end.
+   *
+   * @param file            log file.
+   * @param channel         channel to append the records to.
+   * @param groupCommitSize number of records written to disk together.
+   */
+  private SanctuaryLog(Path file, FileChannel channel, int groupCommitSize) {
+    if (groupCommitSize <= 0) {
+      throw new IllegalArgumentException("Group commit size cannot be 0 or less.");
+    }
+    this.file = file;
+    this.channel = channel;
+    this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    this.crc = new CRC32();
+    this.groupCommitSize = groupCommitSize;
+    this.pendingRecords = 0;
+  }
+
+  /**
+   * Open a log for appending, creating the file if it does not exist.
+   *
+   * @param file            log file.
+   * @param groupCommitSize number of records written to disk together.
+   * @return the opened log.
+   * @throws IOException if the file cannot be opened.
+   */
+  public static SanctuaryLog open(Path file, int groupCommitSize) throws IOException {
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE);
+    channel.position(channel.size());
+    return new SanctuaryLog(file, channel, groupCommitSize);
+  }
+
+  /**
+   * Rebuild a Sanctuary from the log. The log is not attached to the returned Sanctuary.
+   *
+   * @param file log file.
+   * @return the rebuilt Sanctuary.
+   * @throws IOException if the file cannot be read.
+   */
+  public static Sanctuary replay(Path file) throws IOException {
+    Sanctuary sanctuary = new Sanctuary();
+    replayInto(file, sanctuary);
+    return sanctuary;
+  }
+
+  /**
+   * Rebuild a Sanctuary from this log and attach the log to it, so further mutations are
+   * appended after the records replayed.
+   *
+   * @return the rebuilt Sanctuary.
+   * @throws IOException if the file cannot be read.
+   */
+  public synchronized Sanctuary restore() throws IOException {
+    Sanctuary sanctuary = new Sanctuary();
+    long validLength = replayInto(file, sanctuary);
+    buffer.clear();
+    pendingRecords = 0;
+    channel.truncate(validLength);
+    channel.position(validLength);
+    sanctuary.attachLog(this);
+    return sanctuary;
+  }
+
+  /**
+   * Write the records gathered so far to the file and force them to disk.
+   *
+   * @throws IOException if the records cannot be written.
+   */
+  public synchronized void commit() throws IOException {
+    writeBuffer();
+    channel.force(false);
+    pendingRecords = 0;
+  }
+
+  /**
+   * Commit the records gathered so far and close the log.
+   *
+   * @throws IOException if the records cannot be written.
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    commit();
+    channel.close();
+  }
+
+  /**
+   * Record the creation of the isolation.
+   *
+   * @param isolationSize the size of the isolation (number of cages).
+   */
+  synchronized void createIsolation(int isolationSize) {
+    begin(LogRecordType.CreateIsolation, 4);
+    buffer.putInt(isolationSize);
+    end();
+  }
+
+  /**
+   * Record the creation of an enclosure.
+   *
+   * @param name    name of the enclosure.
+   * @param size    size of the enclosure (in square meters).
+   * @param species species type designation of the enclosure.
+   */
+  synchronized void createEnclosure(String name, int size, Species species) {
+    byte[] nameBytes = encode(name);
+    begin(LogRecordType.CreateEnclosure, 2 + nameBytes.length + 5);
+    putName(nameBytes);
+    buffer.putInt(size);
+    putOrdinal(species);
+    end();
+  }
+
+  /**
+   * Record a monkey added to the Sanctuary.
+   *
+   * @param monkey monkey added.
+   */
+  synchronized void addMonkey(Monkey monkey) {
+    byte[] nameBytes = encode(monkey.getName());
+    begin(LogRecordType.AddMonkey, 2 + nameBytes.length + 20);
+    putName(nameBytes);
+    putOrdinal(monkey.getSpeciesType());
+    putOrdinal(monkey.getSex());
+    putOrdinal(monkey.getSize());
+    buffer.putDouble(monkey.getWeight());
+    buffer.putDouble(monkey.getAge());
+    putOrdinal(monkey.getFavoriteFood());
+    end();
+  }
+
+  /**
+   * Record a monkey shifted to an enclosure.
+   *
+   * @param name name of the monkey.
+   */
+  synchronized void shiftMonkey(String name) {
+    byte[] nameBytes = encode(name);
+    begin(LogRecordType.ShiftMonkey, 2 + nameBytes.length);
+    putName(nameBytes);
+    end();
+  }
+
+  /**
+   * Record a monkey moved between two enclosures by the compaction job.
+   *
+   * @param name   name of the monkey.
+   * @param source position of the enclosure the monkey was in.
+   * @param target position of the enclosure the monkey was moved to.
+   */
+  synchronized void moveMonkey(String name, int source, int target) {
+    byte[] nameBytes = encode(name);
+    begin(LogRecordType.MoveMonkey, 2 + nameBytes.length + 8);
+    putName(nameBytes);
+    buffer.putInt(source);
+    buffer.putInt(target);
+    end();
+  }
+
+  /**
+   * Record a monkey shifted to an enclosure chosen by a placement plan.
+   *
+   * @param name      name of the monkey.
+   * @param enclosure position of the enclosure.
+   */
+  synchronized void placeMonkey(String name, int enclosure) {
+    byte[] nameBytes = encode(name);
+    begin(LogRecordType.PlaceMonkey, 2 + nameBytes.length + 4);
+    putName(nameBytes);
+    buffer.putInt(enclosure);
+    end();
+  }
+
+  /**
+   * Record a monkey released from the isolation to another facility.
+   *
+   * @param name name of the monkey.
+   */
+  synchronized void releaseMonkey(String name) {
+    byte[] nameBytes = encode(name);
+    begin(LogRecordType.ReleaseMonkey, 2 + nameBytes.length);
+    putName(nameBytes);
+    end();
+  }
+
+  /**
+   * Record an increase of the isolation capacity.
+   *
+   * @param size size by which the capacity was increased.
+   */
+  synchronized void increaseIsolation(int size) {
+    begin(LogRecordType.IncreaseIsolation, 4);
+    buffer.putInt(size);
+    end();
+  }
+
+  /**
+   * Record the elasticity policy set on the isolation.
+   *
+   * @param elasticity the elasticity policy.
+   */
+  synchronized void setElasticity(ElasticCapacity elasticity) {
+    begin(LogRecordType.SetElasticity, 24);
+    buffer.putDouble(elasticity.getLowWatermark());
+    buffer.putDouble(elasticity.getHighWatermark());
+    buffer.putInt(elasticity.getChunkSize());
+    buffer.putInt(elasticity.getMaxCapacity());
+    end();
+  }
+
+  /**
+   * Record a change in the size of a monkey.
+   *
+   * @param name name of the monkey.
+   * @param size new size of the monkey.
+   */
+  synchronized void setSize(String name, Size size) {
+    byte[] nameBytes = encode(name);
+    begin(LogRecordType.SetSize, 2 + nameBytes.length + 1);
+    putName(nameBytes);
+    putOrdinal(size);
+    end();
+  }
+
+  /**
+   * Record a change in the weight of a monkey.
+   *
+   * @param name   name of the monkey.
+   * @param weight new weight of the monkey.
+   */
+  synchronized void setWeight(String name, double weight) {
+    byte[] nameBytes = encode(name);
+    begin(LogRecordType.SetWeight, 2 + nameBytes.length + 8);
+    putName(nameBytes);
+    buffer.putDouble(weight);
+    end();
+  }
+
+  /**
+   * Record a change in the age of a monkey.
+   *
+   * @param name        name of the monkey.
+   * @param ageInMonths new age of the monkey (in months).
+   */
+  synchronized void setAge(String name, double ageInMonths) {
+    byte[] nameBytes = encode(name);
+    begin(LogRecordType.SetAge, 2 + nameBytes.length + 8);
+    putName(nameBytes);
+    buffer.putDouble(ageInMonths);
+    end();
+  }
+
+  /**
+   * Replay the records of the log into the Sanctuary, mapping the file a window at a time.
+   * Consecutive monkeys added are brought in to the Sanctuary as one batch.
+   *
+   * @param file      log file.
+   * @param sanctuary sanctuary to replay the records into.
+   * @return the length of the file holding complete records.
+   * @throws IOException if the file cannot be read.
+   */
+  private static long replayInto(Path file, Sanctuary sanctuary) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = channel.size();
+      long offset = 0;
+      List<Monkey> pendingMonkeys = new ArrayList<>();
+      CRC32 checksum = new CRC32();
+      boolean torn = false;
+      while (offset < size && !torn) {
+        MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, offset,
+                Math.min(size - offset, MAP_WINDOW));
+        int consumed = 0;
+        while (map.limit() - consumed >= HEADER_SIZE) {
+          int length = map.getInt(consumed);
+          if (length <= 0 || length > MAX_PAYLOAD_SIZE) {
+            torn = true;
+            break;
+          }
+          if (map.limit() - consumed - HEADER_SIZE < length) {
+            break;
+          }
+          ByteBuffer payload = map.duplicate();
+          payload.position(consumed + HEADER_SIZE).limit(consumed + HEADER_SIZE + length);
+          checksum.reset();
+          checksum.update(payload.duplicate());
+          if ((int) checksum.getValue() != map.getInt(consumed + 4)) {
+            torn = true;
+            break;
+          }
+          apply(payload, sanctuary, pendingMonkeys);
+          consumed += HEADER_SIZE + length;
+        }
+        if (consumed == 0) {
+          torn = true;
+        }
+        offset += consumed;
+      }
+      addPending(sanctuary, pendingMonkeys);
+      return offset;
+    }
+  }
+
+  /**
+   * Apply a single record to the Sanctuary.
+   *
+   * @param payload        payload of the record.
+   * @param sanctuary      sanctuary to apply the record to.
+   * @param pendingMonkeys monkeys waiting to be added as a batch.
+   */
+  private static void apply(ByteBuffer payload, Sanctuary sanctuary,
+                            List<Monkey> pendingMonkeys) {
+    LogRecordType type = LogRecordType.values()[payload.get()];
+    if (type == LogRecordType.AddMonkey) {
+      pendingMonkeys.add(new Monkey(getName(payload), getOrdinal(payload, Species.values()),
+              getOrdinal(payload, Sex.values()), getOrdinal(payload, Size.values()),
+              payload.getDouble(), payload.getDouble(), getOrdinal(payload, Foods.values())));
+      return;
+    }
+    addPending(sanctuary, pendingMonkeys);
+    switch (type) {
+      case CreateIsolation:
+        sanctuary.createIsolation(payload.getInt());
+        break;
+      case CreateEnclosure:
+        sanctuary.createEnclosure(getName(payload), payload.getInt(),
+                getOrdinal(payload, Species.values()));
+        break;
+      case ShiftMonkey:
+        sanctuary.shiftMonkeyToEnclosure(sanctuary.lookupMonkey(getName(payload)));
+        break;
+      case IncreaseIsolation:
+        sanctuary.increaseIsolationCapacity(payload.getInt());
+        break;
+      case SetSize:
+        sanctuary.lookupMonkey(getName(payload)).setSize(getOrdinal(payload, Size.values()));
+        break;
+      case SetWeight:
+        sanctuary.lookupMonkey(getName(payload)).setWeight(payload.getDouble());
+        break;
+      case SetAge:
+        sanctuary.lookupMonkey(getName(payload)).setAge((int) payload.getDouble());
+        break;
+      case MoveMonkey:
+        sanctuary.applyMove(getName(payload), payload.getInt(), payload.getInt());
+        break;
+      case PlaceMonkey:
+        sanctuary.applyPlacement(getName(payload), payload.getInt());
+        break;
+      case ReleaseMonkey:
+        sanctuary.tryReleaseMonkey(getName(payload));
+        break;
+      case SetElasticity:
+        sanctuary.setIsolationElasticity(new ElasticCapacity(payload.getDouble(),
+                payload.getDouble(), payload.getInt(), payload.getInt()));
+        break;
+      default:
+        break;
+    }
+  }
+
+  /**
+   * Bring the monkeys waiting in the batch in to the Sanctuary.
+   *
+   * @param sanctuary      sanctuary to add the monkeys to.
+   * @param pendingMonkeys monkeys waiting to be added as a batch.
+   */
+  private static void addPending(Sanctuary sanctuary, List<Monkey> pendingMonkeys) {
+    if (!pendingMonkeys.isEmpty()) {
+      sanctuary.addMonkeysToSanctuary(pendingMonkeys);
+      pendingMonkeys.clear();
+    }
+  }
+
+  /**
+   * Start a record, writing out the buffer first if the record does not fit.
+   *
+   * @param type        type of the record.
+   * @param payloadSize size of the payload after the record type.
+   */
+  private void begin(LogRecordType type, int payloadSize) {
+    if (buffer.remaining() < HEADER_SIZE + 1 + payloadSize) {
+      try {
+        writeBuffer();
+      } catch (IOException e) {
+        throw new UncheckedIOException("Error: Cannot write to the sanctuary log.", e);
+      }
+    }
+    recordStart = buffer.position();
+    buffer.position(recordStart + HEADER_SIZE);
+    buffer.put((byte) type.ordinal());
+  }
+
+  /**
+   * Finish a record by filling in its header, committing the group once it is complete.
+   */
+  private void end() {
+    int recordEnd = buffer.position();
+    ByteBuffer payload = buffer.duplicate();
+    payload.position(recordStart + HEADER_SIZE).limit(recordEnd);
+    crc.reset();
+    crc.update(payload);
+    buffer.putInt(recordStart, recordEnd - recordStart - HEADER_SIZE);
+    buffer.putInt(recordStart + 4, (int) crc.getValue());
+    pendingRecords += 1;
+    if (pendingRecords >= groupCommitSize) {
+      try {
+        commit();
+      } catch (IOException e) {
+        throw new UncheckedIOException("Error: Cannot write to the sanctuary log.", e);
+      }
+    }
+  }
+
+  /**
+   * Write the records in the buffer to the file.
+   *
+   * @throws IOException if the records cannot be written.
+   */
+  private void writeBuffer() throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  /**
+   * Encode a name, checking it fits in a record.
+   *
+   * @param name name to be encoded.
+   * @return the UTF-8 bytes of the name.
+   */
+  private static byte[] encode(String name) {
+    byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+    if (nameBytes.length > MAX_NAME_BYTES) {
+      throw new IllegalArgumentException("Name is too long to be logged.");
+    }
+    return nameBytes;
+  }
+
+  /**
+   * Put an encoded name in the buffer.
+   *
+   * @param nameBytes the UTF-8 bytes of the name.
+   */
+  private void putName(byte[] nameBytes) {
+    buffer.putShort((short) nameBytes.length);
+    buffer.put(nameBytes);
+  }
+
+  /**
+   * Put the ordinal of an enum in the buffer, -1 if there is none.
+   *
+   * @param value enum value to be put.
+   */
+  private void putOrdinal(Enum<?> value) {
+    buffer.put(value == null ? -1 : (byte) value.ordinal());
+  }
+
+  /**
+   * Read a name from a record.
+   *
+   * @param payload payload of the record.
+   * @return the name.
+   */
+  private static String getName(ByteBuffer payload) {
+    byte[] nameBytes = new byte[payload.getShort() & 0xFFFF];
+    payload.get(nameBytes);
+    return new String(nameBytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Read an enum ordinal from a record.
+   *
+   * @param payload payload of the record.
+   * @param values  values of the enum.
+   * @param <T>     type of the enum.
+   * @return the enum value, null if there is none.
+   */
+  private static <T> T getOrdinal(ByteBuffer payload, T[] values) {
+    byte ordinal = payload.get();
+    return ordinal < 0 ? null : values[ordinal];
+  }
+}
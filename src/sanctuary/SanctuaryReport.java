@@ -0,0 +1,169 @@
+package sanctuary;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import sanctuary.enums.Species;
+
+/**
+ * SanctuaryReport records the state of the whole Sanctuary: a summary of the Isolation and of
+ * every Enclosure, and the totals over the enclosures.
+ */
+public class SanctuaryReport {
+
+  private final HousingSummary isolation;
+  private final List<HousingSummary> enclosures;
+  private final long enclosureCapacity;
+  private final long enclosureOccupied;
+  private final int vacantEnclosures;
+  private final int monkeyCount;
+  private final Set<Species> species;
+  private final boolean parallel;
+  private final long runtime;
+
+  /**
+   * Constructor to initialize a SanctuaryReport.
+   *
+   * @param isolation         summary of the isolation, null if none was created.
+   * @param enclosures        summaries of the enclosures, in the order they were created.
+   * @param enclosureCapacity capacity of all the enclosures (in square meters).
+   * @param enclosureOccupied space occupied in all the enclosures (in square meters).
+   * @param vacantEnclosures  number of enclosures without a monkey.
+   * @param monkeyCount       number of monkeys in the enclosures.
+   * @param species           species of the monkeys in the enclosures.
+   * @param parallel          true if the enclosures were summarized in parallel.
+   * @param runtime           time taken to make the report (in nanoseconds).
+   */
+  SanctuaryReport(HousingSummary isolation, List<HousingSummary> enclosures,
+                  long enclosureCapacity, long enclosureOccupied, int vacantEnclosures,
+                  int monkeyCount, Set<Species> species, boolean parallel, long runtime) {
+    this.isolation = isolation;
+    this.enclosures = Collections.unmodifiableList(enclosures);
+    this.enclosureCapacity = enclosureCapacity;
+    this.enclosureOccupied = enclosureOccupied;
+    this.vacantEnclosures = vacantEnclosures;
+    this.monkeyCount = monkeyCount;
+    this.species = Collections.unmodifiableSet(species);
+    this.parallel = parallel;
+    this.runtime = runtime;
+  }
+
+  /**
+   * Get the summary of the Isolation.
+   *
+   * @return the summary, null if no isolation was created.
+   */
+  public HousingSummary getIsolation() {
+    return this.isolation;
+  }
+
+  /**
+   * Get the summaries of the Enclosures.
+   *
+   * @return the summaries, in the order the enclosures were created.
+   */
+  public List<HousingSummary> getEnclosures() {
+    return this.enclosures;
+  }
+
+  /**
+   * Get the capacity of all the Enclosures.
+   *
+   * @return the capacity (in square meters).
+   */
+  public long getEnclosureCapacity() {
+    return this.enclosureCapacity;
+  }
+
+  /**
+   * Get the space occupied in all the Enclosures.
+   *
+   * @return the space occupied (in square meters).
+   */
+  public long getEnclosureOccupied() {
+    return this.enclosureOccupied;
+  }
+
+  /**
+   * Get the share of the capacity of all the Enclosures occupied.
+   *
+   * @return the utilization of the enclosures, 0 if there are none.
+   */
+  public double getEnclosureUtilization() {
+    return enclosureCapacity == 0 ? 0 : (double) enclosureOccupied / enclosureCapacity;
+  }
+
+  /**
+   * Get the number of Enclosures without a monkey.
+   *
+   * @return the number of vacant enclosures.
+   */
+  public int getVacantEnclosures() {
+    return this.vacantEnclosures;
+  }
+
+  /**
+   * Get the number of monkeys in the Sanctuary, in the Isolation and the Enclosures.
+   *
+   * @return the number of monkeys.
+   */
+  public int getMonkeyCount() {
+    return monkeyCount + (isolation == null ? 0 : isolation.getMonkeyCount());
+  }
+
+  /**
+   * Get the species of the monkeys in the Sanctuary, in the Isolation and the Enclosures.
+   *
+   * @return the species, in the order of the Species enum.
+   */
+  public Set<Species> getSpecies() {
+    if (isolation == null || species.containsAll(isolation.getSpecies())) {
+      return this.species;
+    }
+    Set<Species> all = EnumSet.noneOf(Species.class);
+    all.addAll(species);
+    all.addAll(isolation.getSpecies());
+    return Collections.unmodifiableSet(all);
+  }
+
+  /**
+   * Check if the Enclosures were summarized in parallel.
+   *
+   * @return boolean true if the report was made in parallel, false if sequentially.
+   */
+  public boolean isParallel() {
+    return this.parallel;
+  }
+
+  /**
+   * Get the time taken to make the report.
+   *
+   * @return the runtime (in nanoseconds).
+   */
+  public long getRuntime() {
+    return this.runtime;
+  }
+
+  /**
+   * toString method for data representation.
+   *
+   * @return overview of the Sanctuary, then a line per housing.
+   */
+  @Override
+  public String toString() {
+    StringBuilder out = new StringBuilder();
+    out.append(String.format("%d monkeys, %d enclosures (%d vacant), %d/%d square meters "
+                    + "(%.0f%%), %s%n", getMonkeyCount(), enclosures.size(), vacantEnclosures,
+            enclosureOccupied, enclosureCapacity, getEnclosureUtilization() * 100,
+            getSpecies()));
+    if (isolation != null) {
+      out.append(isolation).append(System.lineSeparator());
+    }
+    for (HousingSummary enclosure : enclosures) {
+      out.append(enclosure).append(System.lineSeparator());
+    }
+    return out.toString();
+  }
+}
@@ -0,0 +1,197 @@
+package sanctuary;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReentrantLock;
+
+import sanctuary.enums.Species;
+import sanctuary.housing.Enclosure;
+import sanctuary.housing.Isolation;
+
+/**
+ * SanctuaryReporter makes the report of a whole Sanctuary. The enclosures are split in ranges
+ * summarized in parallel on a fork-join pool, each range adding up its own totals, and the
+ * totals are merged as the ranges join. A Sanctuary with no more enclosures than the
+ * threshold is summarized sequentially on the calling thread, where the pool would cost more
+ * than it saves.
+ *
+ * <p>Every housing is summarized holding its lock, so the report can be made while a
+ * ConcurrentSanctuary is in use. The lock of an enclosure holds off removals but not shifts,
+ * which reserve space without it, so the space occupied may count a monkey yet to join the
+ * troop. The report is not a single point in time snapshot of the Sanctuary either.
+ */
+public class SanctuaryReporter {
+
+  //Threshold -> Enclosures summarized by a single task, and below which no task is forked
+  private static final int DEFAULT_THRESHOLD = 512;
+
+  private final ForkJoinPool pool;
+  private final int threshold;
+
+  /**
+   * Constructor to initialize a reporter running on the common pool.
+   */
+  public SanctuaryReporter() {
+    this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+  }
+
+  /**
+   * Constructor to initialize a reporter running on a pool, its parallelism setting the
+   * number of enclosure ranges summarized at once.
+   *
+   * @param pool      pool the enclosures are summarized on.
+   * @param threshold number of enclosures summarized by a single task, and up to which the
+   *                  report is made sequentially.
+   * @throws IllegalArgumentException if the threshold is 0 or less.
+   */
+  public SanctuaryReporter(ForkJoinPool pool, int threshold) {
+    if (threshold <= 0) {
+      throw new IllegalArgumentException("Threshold cannot be 0 or less.");
+    }
+    this.pool = pool;
+    this.threshold = threshold;
+  }
+
+  /**
+   * Make the report of a Sanctuary.
+   *
+   * @param isolation  isolation of the Sanctuary, null if none was created.
+   * @param enclosures enclosures of the Sanctuary, in the order they were created.
+   * @return the report.
+   */
+  public SanctuaryReport report(Isolation isolation, List<Enclosure> enclosures) {
+    long start = System.nanoTime();
+    HousingSummary isolationSummary = null;
+    if (isolation != null) {
+      isolation.getLock().lock();
+      try {
+        isolationSummary = HousingSummary.of(isolation);
+      } finally {
+        isolation.getLock().unlock();
+      }
+    }
+    HousingSummary[] summaries = new HousingSummary[enclosures.size()];
+    SummaryTask task = new SummaryTask(enclosures, summaries, 0, summaries.length, threshold);
+    boolean parallel = summaries.length > threshold;
+    Totals totals = parallel ? pool.invoke(task) : task.compute();
+    return new SanctuaryReport(isolationSummary, Arrays.asList(summaries), totals.capacity,
+            totals.occupied, totals.vacant, totals.monkeys, totals.species, parallel,
+            System.nanoTime() - start);
+  }
+
+  /**
+   * Summarize an Enclosure holding its lock.
+   *
+   * @param enclosure the enclosure.
+   * @return the summary of the enclosure.
+   */
+  private static HousingSummary summarize(Enclosure enclosure) {
+    ReentrantLock lock = enclosure.getLock();
+    lock.lock();
+    try {
+      return HousingSummary.of(enclosure);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Summarizes a range of enclosures, splitting it in two while it is above the threshold.
+   */
+  private static final class SummaryTask extends RecursiveTask<Totals> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<Enclosure> enclosures;
+    private final HousingSummary[] summaries;
+    private final int from;
+    private final int to;
+    private final int threshold;
+
+    /**
+     * Constructor to initialize a task over a range of enclosures.
+     *
+     * @param enclosures enclosures of the Sanctuary.
+     * @param summaries  summaries of the enclosures, filled in by position.
+     * @param from       first position of the range.
+     * @param to         position after the last of the range.
+     * @param threshold  number of enclosures summarized without splitting.
+     */
+    private SummaryTask(List<Enclosure> enclosures, HousingSummary[] summaries, int from,
+                        int to, int threshold) {
+      this.enclosures = enclosures;
+      this.summaries = summaries;
+      this.from = from;
+      this.to = to;
+      this.threshold = threshold;
+    }
+
+    /**
+     * Summarize the range, or split it and merge the totals of both halves.
+     *
+     * @return the totals of the range.
+     */
+    @Override
+    protected Totals compute() {
+      if (to - from <= threshold) {
+        Totals totals = new Totals();
+        for (int i = from; i < to; i++) {
+          summaries[i] = summarize(enclosures.get(i));
+          totals.add(summaries[i]);
+        }
+        return totals;
+      }
+      int middle = (from + to) >>> 1;
+      SummaryTask left = new SummaryTask(enclosures, summaries, from, middle, threshold);
+      SummaryTask right = new SummaryTask(enclosures, summaries, middle, to, threshold);
+      left.fork();
+      Totals totals = right.compute();
+      totals.merge(left.join());
+      return totals;
+    }
+  }
+
+  /**
+   * Totals over a range of enclosures.
+   */
+  private static final class Totals {
+
+    private long capacity;
+    private long occupied;
+    private int vacant;
+    private int monkeys;
+    private final Set<Species> species = EnumSet.noneOf(Species.class);
+
+    /**
+     * Add an enclosure to the totals.
+     *
+     * @param summary summary of the enclosure.
+     */
+    private void add(HousingSummary summary) {
+      capacity += summary.getCapacity();
+      occupied += summary.getOccupied();
+      monkeys += summary.getMonkeyCount();
+      if (summary.getMonkeyCount() == 0) {
+        vacant++;
+      }
+      species.addAll(summary.getSpecies());
+    }
+
+    /**
+     * Merge the totals of another range into these.
+     *
+     * @param other totals of the other range.
+     */
+    private void merge(Totals other) {
+      capacity += other.capacity;
+      occupied += other.occupied;
+      vacant += other.vacant;
+      monkeys += other.monkeys;
+      species.addAll(other.species);
+    }
+  }
+}
@@ -0,0 +1,392 @@
+package sanctuary;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+import sanctuary.entities.Monkey;
+import sanctuary.enums.Foods;
+import sanctuary.enums.Sex;
+import sanctuary.enums.Size;
+import sanctuary.enums.Species;
+import sanctuary.housing.Enclosure;
+import sanctuary.housing.Isolation;
+
+/**
+ * SanctuarySnapshot is a compact binary image of a Sanctuary that can be memory-mapped and
+ * served from straight away, with the monkeys of each Enclosure built on first access.
+ *
+ * <p>The image is laid out as a header, a table of fixed-width enclosure records, a table of
+ * fixed-width monkey records (Isolation first, then each enclosure in turn), an index of the
+ * monkey records sorted by name, and a string table holding the names.
+ */
+public class SanctuarySnapshot {
+
+  private static final int MAGIC = 0x534E4354;
+  private static final int VERSION = 1;
+  private static final int ENCLOSURE_RECORD_SIZE = 24;
+  private static final int MONKEY_RECORD_SIZE = 24;
+  private static final int STRING_ENTRY_SIZE = 8;
+  //Housing -> Returned by findHousing for a monkey of the isolation, or not in the snapshot
+  static final int IN_ISOLATION = -1;
+  static final int NOT_FOUND = -2;
+
+  private final ByteBuffer image;
+  private final boolean hasIsolation;
+  private final int isolationCapacity;
+  private final int isolationCount;
+  private final int enclosureCount;
+  private final int monkeyCount;
+  private final int[] foodTotals;
+  private final int enclosureTable;
+  private final int monkeyTable;
+  private final int nameIndex;
+  private final int stringDirectory;
+  private final int stringBytes;
+
+  /**
+   * Constructor to initialize a snapshot over a mapped image.
+   *
+   * @param image mapped image of the snapshot.
+   * @throws IllegalArgumentException if the image is not a snapshot.
+   */
+  private SanctuarySnapshot(ByteBuffer image) {
+    if (image.getInt(0) != MAGIC || image.getInt(4) != VERSION) {
+      throw new IllegalArgumentException("File is not a sanctuary snapshot.");
+    }
+    this.image = image;
+    int position = 8;
+    this.hasIsolation = image.getInt(position) != 0;
+    this.isolationCapacity = image.getInt(position + 4);
+    this.isolationCount = image.getInt(position + 8);
+    this.enclosureCount = image.getInt(position + 12);
+    this.monkeyCount = image.getInt(position + 16);
+    position += 20;
+    this.foodTotals = new int[image.getInt(position)];
+    position += 4;
+    for (int i = 0; i < foodTotals.length; i++) {
+      foodTotals[i] = image.getInt(position);
+      position += 4;
+    }
+    this.enclosureTable = position;
+    this.monkeyTable = enclosureTable + enclosureCount * ENCLOSURE_RECORD_SIZE;
+    this.nameIndex = monkeyTable + monkeyCount * MONKEY_RECORD_SIZE;
+    this.stringDirectory = nameIndex + monkeyCount * 4;
+    this.stringBytes = stringDirectory + (monkeyCount + enclosureCount) * STRING_ENTRY_SIZE;
+  }
+
+  /**
+   * Write a snapshot of the Sanctuary to the file.
+   *
+   * @param sanctuary sanctuary to be written.
+   * @param file      snapshot file.
+   * @throws IOException if the file cannot be written.
+   */
+  public static void write(Sanctuary sanctuary, Path file) throws IOException {
+    Isolation isolation = sanctuary.getIsolation();
+    List<Enclosure> enclosures = sanctuary.getEnclosures();
+    List<Monkey> monkeys = new ArrayList<>();
+    if (isolation != null) {
+      monkeys.addAll(isolation.getMonkeys());
+    }
+    int isolationCount = monkeys.size();
+    int[] firstMonkey = new int[enclosures.size()];
+    for (int k = 0; k < enclosures.size(); k++) {
+      firstMonkey[k] = monkeys.size();
+      monkeys.addAll(enclosures.get(k).getMonkeys());
+    }
+
+    byte[][] strings = new byte[monkeys.size() + enclosures.size()][];
+    for (int i = 0; i < monkeys.size(); i++) {
+      strings[i] = monkeys.get(i).getName().getBytes(StandardCharsets.UTF_8);
+    }
+    for (int k = 0; k < enclosures.size(); k++) {
+      strings[monkeys.size() + k] = enclosures.get(k).getName()
+              .getBytes(StandardCharsets.UTF_8);
+    }
+    Integer[] sortedNames = new Integer[monkeys.size()];
+    for (int i = 0; i < sortedNames.length; i++) {
+      sortedNames[i] = i;
+    }
+    Arrays.sort(sortedNames, (a, b) -> Arrays.compareUnsigned(strings[a], strings[b]));
+
+    try (OutputStream stream = Files.newOutputStream(file);
+         DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream, 1 << 16))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(isolation == null ? 0 : 1);
+      out.writeInt(isolation == null ? 0 : isolation.getTotalCages());
+      out.writeInt(isolationCount);
+      out.writeInt(enclosures.size());
+      out.writeInt(monkeys.size());
+      int[] foodTotals = sanctuary.getFoodTotals();
+      out.writeInt(foodTotals.length);
+      for (int total : foodTotals) {
+        out.writeInt(total);
+      }
+      for (int k = 0; k < enclosures.size(); k++) {
+        Enclosure enclosure = enclosures.get(k);
+        int troopSize = (k + 1 < firstMonkey.length ? firstMonkey[k + 1] : monkeys.size())
+                - firstMonkey[k];
+        out.writeInt(monkeys.size() + k);
+        out.writeInt(enclosure.getTotalCapacity());
+        out.writeInt(enclosure.getAvailableSpace());
+        out.writeInt(firstMonkey[k]);
+        out.writeInt(troopSize);
+        out.writeByte(ordinal(enclosure.getSpecies()));
+        out.write(new byte[3]);
+      }
+      for (int i = 0; i < monkeys.size(); i++) {
+        Monkey monkey = monkeys.get(i);
+        out.writeInt(i);
+        out.writeByte(ordinal(monkey.getSpeciesType()));
+        out.writeByte(ordinal(monkey.getSex()));
+        out.writeByte(ordinal(monkey.getSize()));
+        out.writeByte(ordinal(monkey.getFavoriteFood()));
+        out.writeDouble(monkey.getWeight());
+        out.writeDouble(monkey.getAge());
+      }
+      for (Integer record : sortedNames) {
+        out.writeInt(record);
+      }
+      int offset = 0;
+      for (byte[] string : strings) {
+        out.writeInt(offset);
+        out.writeInt(string.length);
+        offset += string.length;
+      }
+      for (byte[] string : strings) {
+        out.write(string);
+      }
+    }
+  }
+
+  /**
+   * Load a Sanctuary from a snapshot file. The file is memory-mapped, the Isolation is built
+   * straight away and each Enclosure builds its monkeys the first time they are accessed.
+   *
+   * @param file snapshot file.
+   * @return the loaded Sanctuary.
+   * @throws IOException if the file cannot be read.
+   */
+  public static Sanctuary load(Path file) throws IOException {
+    ByteBuffer image;
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      image = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    Sanctuary sanctuary = new Sanctuary();
+    sanctuary.restoreSnapshot(new SanctuarySnapshot(image));
+    return sanctuary;
+  }
+
+  /**
+   * Check if the snapshot holds an isolation.
+   *
+   * @return boolean true if the snapshot holds an isolation.
+   */
+  boolean hasIsolation() {
+    return hasIsolation;
+  }
+
+  /**
+   * Get the total number of cages of the isolation.
+   *
+   * @return the total number of cages.
+   */
+  int getIsolationCapacity() {
+    return isolationCapacity;
+  }
+
+  /**
+   * Number of enclosures in the snapshot.
+   *
+   * @return the number of enclosures.
+   */
+  int getEnclosureCount() {
+    return enclosureCount;
+  }
+
+  /**
+   * Get the running food totals of the Sanctuary.
+   *
+   * @return the food totals indexed by Foods ordinal.
+   */
+  int[] getFoodTotals() {
+    return foodTotals.clone();
+  }
+
+  /**
+   * Build the monkeys of the isolation.
+   *
+   * @return the monkeys of the isolation.
+   */
+  List<Monkey> isolationMonkeys() {
+    return monkeys(0, isolationCount);
+  }
+
+  /**
+   * Build the monkeys of an enclosure.
+   *
+   * @param enclosure position of the enclosure in the snapshot.
+   * @return the monkeys of the enclosure.
+   */
+  List<Monkey> enclosureMonkeys(int enclosure) {
+    int record = enclosureTable + enclosure * ENCLOSURE_RECORD_SIZE;
+    return monkeys(image.getInt(record + 12), image.getInt(record + 16));
+  }
+
+  /**
+   * Restore an enclosure whose troop is built from the snapshot on first access.
+   *
+   * @param enclosure position of the enclosure in the snapshot.
+   * @param roster    builds the monkeys of the troop.
+   * @return the restored enclosure.
+   */
+  Enclosure enclosure(int enclosure, Supplier<Collection<Monkey>> roster) {
+    int record = enclosureTable + enclosure * ENCLOSURE_RECORD_SIZE;
+    return new Enclosure(string(image.getInt(record)), image.getInt(record + 4),
+            value(image.get(record + 20), Species.values()), image.getInt(record + 8),
+            image.getInt(record + 16), roster);
+  }
+
+  /**
+   * Find the housing of a monkey in the snapshot by name, without building any monkeys.
+   *
+   * @param monkeyName name of the monkey.
+   * @return IN_ISOLATION if the monkey is in the isolation, NOT_FOUND if no monkey with the
+   *         name is in the snapshot, the position of its enclosure otherwise.
+   */
+  int findHousing(String monkeyName) {
+    byte[] target = monkeyName.getBytes(StandardCharsets.UTF_8);
+    int low = 0;
+    int high = monkeyCount - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      int record = image.getInt(nameIndex + middle * 4);
+      int compare = compareName(record, target);
+      if (compare < 0) {
+        low = middle + 1;
+      } else if (compare > 0) {
+        high = middle - 1;
+      } else {
+        return housingOf(record);
+      }
+    }
+    return NOT_FOUND;
+  }
+
+  /**
+   * Find the housing of a monkey record.
+   *
+   * @param record position of the monkey record.
+   * @return IN_ISOLATION if the monkey is in the isolation, the position of its enclosure
+   *         otherwise.
+   */
+  private int housingOf(int record) {
+    if (record < isolationCount) {
+      return IN_ISOLATION;
+    }
+    int low = 0;
+    int high = enclosureCount - 1;
+    while (low < high) {
+      int middle = (low + high + 1) >>> 1;
+      if (image.getInt(enclosureTable + middle * ENCLOSURE_RECORD_SIZE + 12) <= record) {
+        low = middle;
+      } else {
+        high = middle - 1;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Build the monkeys of a run of monkey records.
+   *
+   * @param first position of the first monkey record.
+   * @param count number of monkey records.
+   * @return the monkeys built.
+   */
+  private List<Monkey> monkeys(int first, int count) {
+    List<Monkey> monkeys = new ArrayList<>(count);
+    for (int i = first; i < first + count; i++) {
+      int record = monkeyTable + i * MONKEY_RECORD_SIZE;
+      monkeys.add(new Monkey(string(image.getInt(record)),
+              value(image.get(record + 4), Species.values()),
+              value(image.get(record + 5), Sex.values()),
+              value(image.get(record + 6), Size.values()),
+              image.getDouble(record + 8), image.getDouble(record + 16),
+              value(image.get(record + 7), Foods.values())));
+    }
+    return monkeys;
+  }
+
+  /**
+   * Compare the name of a monkey record with a name, byte by byte.
+   *
+   * @param record position of the monkey record.
+   * @param target UTF-8 bytes of the name.
+   * @return negative, zero or positive as the record name is less, equal or greater.
+   */
+  private int compareName(int record, byte[] target) {
+    int entry = stringDirectory + record * STRING_ENTRY_SIZE;
+    int offset = stringBytes + image.getInt(entry);
+    int length = image.getInt(entry + 4);
+    int common = Math.min(length, target.length);
+    for (int i = 0; i < common; i++) {
+      int compare = Byte.toUnsignedInt(image.get(offset + i)) - Byte.toUnsignedInt(target[i]);
+      if (compare != 0) {
+        return compare;
+      }
+    }
+    return length - target.length;
+  }
+
+  /**
+   * Read a string from the string table.
+   *
+   * @param id id of the string.
+   * @return the string.
+   */
+  private String string(int id) {
+    int entry = stringDirectory + id * STRING_ENTRY_SIZE;
+    byte[] bytes = new byte[image.getInt(entry + 4)];
+    ByteBuffer view = image.duplicate();
+    view.position(stringBytes + image.getInt(entry));
+    view.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Get the ordinal of an enum as a byte, -1 if there is none.
+   *
+   * @param value enum value.
+   * @return the ordinal.
+   */
+  private static int ordinal(Enum<?> value) {
+    return value == null ? -1 : value.ordinal();
+  }
+
+  /**
+   * Get the enum value for an ordinal byte.
+   *
+   * @param ordinal ordinal byte.
+   * @param values  values of the enum.
+   * @param <T>     type of the enum.
+   * @return the enum value, null if there is none.
+   */
+  private static <T> T value(byte ordinal, T[] values) {
+    return ordinal < 0 ? null : values[ordinal];
+  }
+}
@@ -1,6 +1,11 @@
 package sanctuary.entities;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 import sanctuary.interfaces.AnimalInterface;
+import sanctuary.interfaces.MonkeyObserver;
 import sanctuary.enums.Foods;
 import sanctuary.enums.Sex;
 import sanctuary.enums.Size;
@@ -18,6 +23,10 @@ public class Monkey implements AnimalInterface {
   private double weight;
   private double ageInMonths;
   private final Foods favFood;
+  //Observers -> Created when the first observer is added, null until then
+  private volatile List<MonkeyObserver> observers;
+  //Label -> Built on first use, only from attributes that never change
+  private String label;
 
   /**
    * Monkey Constructor to create Monkey object.
@@ -42,6 +51,7 @@ public class Monkey implements AnimalInterface {
     this.weight = weight;
     this.ageInMonths = ageInMonths;
     this.favFood = favFood;
+    this.observers = null;
   }
 
   /**
@@ -60,6 +70,8 @@ public class Monkey implements AnimalInterface {
     this.weight = monkey.weight;
     this.ageInMonths = monkey.ageInMonths;
     this.favFood = monkey.favFood;
+    this.observers = null;
+    this.label = monkey.label;
   }
 
   /**
@@ -109,7 +121,13 @@ public class Monkey implements AnimalInterface {
    */
   @Override
   public void setSize(Size size) {
+    Size previous = this.size;
     this.size = size;
+    if (previous != size) {
+      for (MonkeyObserver observer : observers()) {
+        observer.sizeChanged(this, previous);
+      }
+    }
   }
 
   /**
@@ -132,7 +150,11 @@ public class Monkey implements AnimalInterface {
     if (weight <= 0) {
       throw new IllegalArgumentException("Weight cannot be 0 or less.");
     }
+    double previous = this.weight;
     this.weight = weight;
+    for (MonkeyObserver observer : observers()) {
+      observer.weightChanged(this, previous);
+    }
   }
 
   /**
@@ -155,7 +177,11 @@ public class Monkey implements AnimalInterface {
     if (ageInMonths <= 0) {
       throw new IllegalArgumentException("Age cannot be 0 or less.");
     }
+    double previous = this.ageInMonths;
     this.ageInMonths = ageInMonths;
+    for (MonkeyObserver observer : observers()) {
+      observer.ageChanged(this, previous);
+    }
   }
 
   /**
@@ -171,19 +197,72 @@ public class Monkey implements AnimalInterface {
   /**
    * toString method for data representation.
    *
+   * The label is built once and cached, as none of the attributes shown can change.
+   *
    * @return overview of the attributes of the monkey (Name (Species) - Sex - Favourite Food).
    */
   @Override
   public String toString() {
-    return String.format("%s (%s) - %s - %s",
-            this.name, this.species, this.sex, this.favFood);
+    String current = this.label;
+    if (current == null) {
+      current = this.name + " (" + this.species + ") - " + this.sex + " - " + this.favFood;
+      this.label = current;
+    }
+    return current;
+  }
+
+  /**
+   * Add an observer to be notified when the monkey changes.
+   *
+   * @param observer observer to be added.
+   */
+  public synchronized void addObserver(MonkeyObserver observer) {
+    if (observers == null) {
+      observers = new CopyOnWriteArrayList<>();
+    }
+    observers.add(observer);
+  }
+
+  /**
+   * Remove an observer of the monkey.
+   *
+   * @param observer observer to be removed.
+   */
+  public void removeObserver(MonkeyObserver observer) {
+    List<MonkeyObserver> current = observers;
+    if (current != null) {
+      current.remove(observer);
+    }
+  }
+
+  /**
+   * Get the observers of the monkey.
+   *
+   * @return the observers, an empty list if none was ever added.
+   */
+  private List<MonkeyObserver> observers() {
+    List<MonkeyObserver> current = observers;
+    return current == null ? Collections.emptyList() : current;
   }
 
   /**
    * Get the space the monkey will occupy in the sanctuary.
    */
   public int getSpaceOccupancy() {
-    switch (this.size) {
+    return spaceOccupancy(this.size);
+  }
+
+  /**
+   * Get the space a monkey of the size occupies in the sanctuary.
+   *
+   * @param size size of the monkey.
+   * @return the space occupied (in square meters).
+   */
+  public static int spaceOccupancy(Size size) {
+    if (size == null) {
+      return 0;
+    }
+    switch (size) {
       case Large:
         return 10;
       case Medium:
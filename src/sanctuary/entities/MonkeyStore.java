@@ -0,0 +1,582 @@
+package sanctuary.entities;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import sanctuary.enums.Foods;
+import sanctuary.enums.Sex;
+import sanctuary.enums.Size;
+import sanctuary.enums.Species;
+import sanctuary.interfaces.AnimalInterface;
+import sanctuary.interfaces.MonkeyObserver;
+
+/**
+ * MonkeyStore keeps a large population of monkeys column by column, with the attributes of
+ * every monkey held in primitive arrays indexed by an int id. Names are interned into a pool
+ * of UTF-8 bytes, so the name column only holds the int id of each name rather than a String.
+ * Monkeys are read and changed through lightweight views implementing AnimalInterface.
+ *
+ * <p>A missing attribute is kept as the ordinal -1, as in the snapshot and the log. Once a
+ * Monkey has been built from an id, the store observes it: a change made through the Monkey
+ * is written back to the columns, and a change made through a view is made on the Monkey, so
+ * the observers of the Monkey are notified either way.
+ */
+public class MonkeyStore implements MonkeyObserver {
+
+  private static final int INITIAL_CAPACITY = 16;
+  private static final Species[] SPECIES = Species.values();
+  private static final Sex[] SEXES = Sex.values();
+  private static final Size[] SIZES = Size.values();
+  private static final Foods[] FOODS = Foods.values();
+  //Column Bytes -> name id, four ordinals, weight and age of a monkey
+  private static final int COLUMN_BYTES = Integer.BYTES + 4 * Byte.BYTES + 2 * Double.BYTES;
+  private static final int NAME_BYTES = 16;
+
+  //Name Ids -> Offset of the name of each monkey in the pool, names being added in id order
+  //so a name ends where the next one starts
+  private int[] nameIds;
+  private byte[] namePool;
+  private int poolSize;
+  private byte[] species;
+  private byte[] sex;
+  private byte[] size;
+  private byte[] favFood;
+  private double[] weight;
+  private double[] ageInMonths;
+  private int count;
+  //Name Table -> Open addressing table of (id + 1), 0 marks an empty slot
+  private int[] nameTable;
+  //Bound -> Index = id, Value = Monkey built from the id, null until the first one is built
+  private Monkey[] bound;
+
+  /**
+   * Constructor to initialize an empty MonkeyStore.
+   */
+  public MonkeyStore() {
+    this(INITIAL_CAPACITY);
+  }
+
+  /**
+   * Constructor to initialize an empty MonkeyStore sized for a population.
+   *
+   * @param capacity number of monkeys the store can hold before growing.
+   * @throws IllegalArgumentException if the capacity is 0 or less.
+   */
+  public MonkeyStore(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity cannot be 0 or less.");
+    }
+    this.nameIds = new int[capacity];
+    this.namePool = new byte[capacity * NAME_BYTES];
+    this.poolSize = 0;
+    this.species = new byte[capacity];
+    this.sex = new byte[capacity];
+    this.size = new byte[capacity];
+    this.favFood = new byte[capacity];
+    this.weight = new double[capacity];
+    this.ageInMonths = new double[capacity];
+    this.count = 0;
+    this.nameTable = new int[tableSize(capacity)];
+    this.bound = null;
+  }
+
+  /**
+   * Add a monkey to the store.
+   *
+   * @param name        name of the monkey (unique).
+   * @param species     species of the monkey.
+   * @param sex         sex of the monkey.
+   * @param size        size of the monkey, null if not known.
+   * @param weight      weight of the monkey.
+   * @param ageInMonths age of the monkey (in months).
+   * @param favFood     favourite food of the monkey.
+   * @return the id of the monkey in the store.
+   * @throws IllegalArgumentException if the weight or age is negative.
+   * @throws IllegalStateException    if a monkey with the same name is already in the store.
+   */
+  public int add(String name, Species species, Sex sex, Size size, double weight,
+                 double ageInMonths, Foods favFood) {
+    if (weight < 0 || ageInMonths < 0) {
+      throw new IllegalArgumentException("Weight and Age cannot be 0 or less.");
+    }
+    byte[] encoded = name.getBytes(StandardCharsets.UTF_8);
+    if (find(encoded) >= 0) {
+      throw new IllegalStateException("Monkey with same name already exists in the store.");
+    }
+    if (count == nameIds.length) {
+      grow();
+    }
+    int id = count;
+    this.nameIds[id] = intern(encoded);
+    this.species[id] = ordinal(species);
+    this.sex[id] = ordinal(sex);
+    this.size[id] = ordinal(size);
+    this.favFood[id] = ordinal(favFood);
+    this.weight[id] = weight;
+    this.ageInMonths[id] = ageInMonths;
+    this.count += 1;
+    insertName(id);
+    return id;
+  }
+
+  /**
+   * Add a copy of a monkey to the store.
+   *
+   * @param monkey monkey to be copied into the store.
+   * @return the id of the monkey in the store.
+   */
+  public int add(AnimalInterface monkey) {
+    return add(monkey.getName(), monkey.getSpeciesType(), monkey.getSex(), monkey.getSize(),
+            monkey.getWeight(), monkey.getAge(), monkey.getFavoriteFood());
+  }
+
+  /**
+   * Find the id of a monkey by name.
+   *
+   * @param name name of the monkey.
+   * @return the id of the monkey, -1 if no monkey with the name is in the store.
+   */
+  public int find(String name) {
+    return find(name.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Get a view of the monkey with the id.
+   *
+   * @param id id of the monkey.
+   * @return view of the monkey.
+   * @throws IndexOutOfBoundsException if no monkey has the id.
+   */
+  public AnimalInterface get(int id) {
+    checkId(id);
+    return new View(id);
+  }
+
+  /**
+   * Get the Monkey object of the monkey with the id, for use with the housings. The Monkey is
+   * built on first use and observed by the store, so the same Monkey is returned every time.
+   *
+   * @param id id of the monkey.
+   * @return the Monkey with the attributes of the monkey in the store.
+   */
+  public Monkey toMonkey(int id) {
+    checkId(id);
+    if (bound == null) {
+      bound = new Monkey[nameIds.length];
+    }
+    Monkey monkey = bound[id];
+    if (monkey == null) {
+      monkey = new Monkey(name(id), decode(SPECIES, species[id]), decode(SEXES, sex[id]),
+              decode(SIZES, size[id]), weight[id], ageInMonths[id],
+              decode(FOODS, favFood[id]));
+      monkey.addObserver(this);
+      bound[id] = monkey;
+    }
+    return monkey;
+  }
+
+  /**
+   * Write the new size of a Monkey built by the store to its column.
+   *
+   * @param monkey   monkey whose size changed.
+   * @param previous size of the monkey before the change.
+   */
+  @Override
+  public void sizeChanged(Monkey monkey, Size previous) {
+    size[find(monkey.getName())] = ordinal(monkey.getSize());
+  }
+
+  /**
+   * Write the new weight of a Monkey built by the store to its column.
+   *
+   * @param monkey   monkey whose weight changed.
+   * @param previous weight of the monkey before the change.
+   */
+  @Override
+  public void weightChanged(Monkey monkey, double previous) {
+    weight[find(monkey.getName())] = monkey.getWeight();
+  }
+
+  /**
+   * Write the new age of a Monkey built by the store to its column.
+   *
+   * @param monkey   monkey whose age changed.
+   * @param previous age of the monkey (in months) before the change.
+   */
+  @Override
+  public void ageChanged(Monkey monkey, double previous) {
+    ageInMonths[find(monkey.getName())] = monkey.getAge();
+  }
+
+  /**
+   * Number of monkeys in the store.
+   *
+   * @return the number of monkeys.
+   */
+  public int size() {
+    return count;
+  }
+
+  /**
+   * Memory held by the columns, the name pool and the name table of the store, spread over
+   * the monkeys it holds. Spare capacity is included, as the store holds it. Once Monkey
+   * objects are built, their column of references is included, but not the Monkeys.
+   *
+   * @return bytes per monkey, 0 if the store is empty.
+   */
+  public double bytesPerMonkey() {
+    if (count == 0) {
+      return 0;
+    }
+    long bytes = (long) nameIds.length * COLUMN_BYTES + namePool.length
+            + (long) nameTable.length * Integer.BYTES;
+    if (bound != null) {
+      //Compressed references, 4 bytes each
+      bytes += (long) bound.length * Integer.BYTES;
+    }
+    return (double) bytes / count;
+  }
+
+  /**
+   * Check the id belongs to a monkey in the store.
+   *
+   * @param id id of the monkey.
+   */
+  private void checkId(int id) {
+    if (id < 0 || id >= count) {
+      throw new IndexOutOfBoundsException("No monkey with id " + id + " in the store.");
+    }
+  }
+
+  /**
+   * Double the capacity of the columns and rebuild the name table.
+   */
+  private void grow() {
+    int capacity = nameIds.length * 2;
+    nameIds = Arrays.copyOf(nameIds, capacity);
+    species = Arrays.copyOf(species, capacity);
+    sex = Arrays.copyOf(sex, capacity);
+    size = Arrays.copyOf(size, capacity);
+    favFood = Arrays.copyOf(favFood, capacity);
+    weight = Arrays.copyOf(weight, capacity);
+    ageInMonths = Arrays.copyOf(ageInMonths, capacity);
+    if (bound != null) {
+      bound = Arrays.copyOf(bound, capacity);
+    }
+    nameTable = new int[tableSize(capacity)];
+    for (int id = 0; id < count; id++) {
+      insertName(id);
+    }
+  }
+
+  /**
+   * Find the id of a monkey by the UTF-8 bytes of its name.
+   *
+   * @param encoded name of the monkey in UTF-8.
+   * @return the id of the monkey, -1 if no monkey with the name is in the store.
+   */
+  private int find(byte[] encoded) {
+    int mask = nameTable.length - 1;
+    int start = hash(encoded, 0, encoded.length) & mask;
+    for (int slot = start; nameTable[slot] != 0; slot = (slot + 1) & mask) {
+      int id = nameTable[slot] - 1;
+      if (Arrays.equals(namePool, nameIds[id], nameEnd(id), encoded, 0, encoded.length)) {
+        return id;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Append a name to the pool, growing it if needed.
+   *
+   * @param encoded name in UTF-8.
+   * @return the id of the name, its offset in the pool.
+   */
+  private int intern(byte[] encoded) {
+    if (namePool.length - poolSize < encoded.length) {
+      namePool = Arrays.copyOf(namePool, Math.max(namePool.length * 2,
+              poolSize + encoded.length));
+    }
+    System.arraycopy(encoded, 0, namePool, poolSize, encoded.length);
+    int nameId = poolSize;
+    poolSize += encoded.length;
+    return nameId;
+  }
+
+  /**
+   * Decode the name of a monkey from the pool.
+   *
+   * @param id id of the monkey.
+   * @return the name of the monkey.
+   */
+  private String name(int id) {
+    return new String(namePool, nameIds[id], nameEnd(id) - nameIds[id],
+            StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Offset in the pool just past the name of a monkey.
+   *
+   * @param id id of the monkey.
+   * @return the end of the name.
+   */
+  private int nameEnd(int id) {
+    return id + 1 < count ? nameIds[id + 1] : poolSize;
+  }
+
+  /**
+   * Ordinal of an attribute, as kept in its column.
+   *
+   * @param value value of the attribute, may be null.
+   * @return the ordinal of the value, -1 if it is null.
+   */
+  private static byte ordinal(Enum<?> value) {
+    return value == null ? -1 : (byte) value.ordinal();
+  }
+
+  /**
+   * Value of an attribute from the ordinal kept in its column.
+   *
+   * @param values   values of the attribute, by ordinal.
+   * @param ordinal  ordinal kept in the column.
+   * @param <E>      type of the attribute.
+   * @return the value, null if the ordinal is -1.
+   */
+  private static <E extends Enum<E>> E decode(E[] values, byte ordinal) {
+    return ordinal < 0 ? null : values[ordinal];
+  }
+
+  /**
+   * Hash of a name in UTF-8, spread so the low bits used by the table vary.
+   *
+   * @param bytes array holding the name.
+   * @param from  start of the name.
+   * @param to    end of the name.
+   * @return the hash of the name.
+   */
+  private static int hash(byte[] bytes, int from, int to) {
+    int hash = 1;
+    for (int i = from; i < to; i++) {
+      hash = 31 * hash + bytes[i];
+    }
+    return hash ^ (hash >>> 16);
+  }
+
+  /**
+   * Put the id of a monkey in the name table.
+   *
+   * @param id id of the monkey.
+   */
+  private void insertName(int id) {
+    int mask = nameTable.length - 1;
+    int slot = hash(namePool, nameIds[id], nameEnd(id)) & mask;
+    while (nameTable[slot] != 0) {
+      slot = (slot + 1) & mask;
+    }
+    nameTable[slot] = id + 1;
+  }
+
+  /**
+   * Size of the name table for a capacity, a power of two at most half full.
+   *
+   * @param capacity number of monkeys the store can hold.
+   * @return size of the name table.
+   */
+  private static int tableSize(int capacity) {
+    return Integer.highestOneBit(Math.max(capacity, 2) * 2 - 1) * 2;
+  }
+
+  /**
+   * View of a monkey in the store. Reads go straight to the columns. Writes go to the Monkey
+   * built from the id if there is one, so its observers are notified, or else to the columns.
+   */
+  private final class View implements AnimalInterface {
+
+    private final int id;
+
+    /**
+     * Constructor to initialize the view of a monkey.
+     *
+     * @param id id of the monkey.
+     */
+    private View(int id) {
+      this.id = id;
+    }
+
+    /**
+     * Get the name of the monkey.
+     *
+     * @return String name of the monkey.
+     */
+    @Override
+    public String getName() {
+      return name(id);
+    }
+
+    /**
+     * Get the species type of the monkey.
+     *
+     * @return the species of the monkey.
+     */
+    @Override
+    public Species getSpeciesType() {
+      return decode(SPECIES, species[id]);
+    }
+
+    /**
+     * Get the sex of the monkey.
+     *
+     * @return the sex of the monkey.
+     */
+    @Override
+    public Sex getSex() {
+      return decode(SEXES, sex[id]);
+    }
+
+    /**
+     * Get the size of the monkey.
+     *
+     * @return the size of the monkey.
+     */
+    @Override
+    public Size getSize() {
+      return decode(SIZES, size[id]);
+    }
+
+    /**
+     * Set the size of the monkey.
+     *
+     * @param newSize size of the monkey.
+     */
+    @Override
+    public void setSize(Size newSize) {
+      Monkey monkey = boundMonkey();
+      if (monkey != null) {
+        monkey.setSize(newSize);
+      } else {
+        size[id] = ordinal(newSize);
+      }
+    }
+
+    /**
+     * Get weight of the monkey.
+     *
+     * @return the weight of the monkey.
+     */
+    @Override
+    public double getWeight() {
+      return weight[id];
+    }
+
+    /**
+     * Set the weight of the monkey.
+     *
+     * @param newWeight weight of the monkey.
+     */
+    @Override
+    public void setWeight(double newWeight) {
+      if (newWeight <= 0) {
+        throw new IllegalArgumentException("Weight cannot be 0 or less.");
+      }
+      Monkey monkey = boundMonkey();
+      if (monkey != null) {
+        monkey.setWeight(newWeight);
+      } else {
+        weight[id] = newWeight;
+      }
+    }
+
+    /**
+     * Get age of the monkey.
+     *
+     * @return the age of the monkey (in months).
+     */
+    @Override
+    public double getAge() {
+      return ageInMonths[id];
+    }
+
+    /**
+     * Set the age of the monkey.
+     *
+     * @param newAgeInMonths age of the monkey in months.
+     */
+    @Override
+    public void setAge(int newAgeInMonths) {
+      if (newAgeInMonths <= 0) {
+        throw new IllegalArgumentException("Age cannot be 0 or less.");
+      }
+      Monkey monkey = boundMonkey();
+      if (monkey != null) {
+        monkey.setAge(newAgeInMonths);
+      } else {
+        ageInMonths[id] = newAgeInMonths;
+      }
+    }
+
+    /**
+     * Get favourite food of the monkey.
+     *
+     * @return the favourite food of the monkey.
+     */
+    @Override
+    public Foods getFavoriteFood() {
+      return decode(FOODS, favFood[id]);
+    }
+
+    /**
+     * Views are equal when they read the same monkey of the same store.
+     *
+     * @param other object to compare with.
+     * @return true if both views read the same monkey.
+     */
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof View)) {
+        return false;
+      }
+      View view = (View) other;
+      return view.id == id && view.store() == store();
+    }
+
+    /**
+     * Hash code of the view.
+     *
+     * @return the id of the monkey.
+     */
+    @Override
+    public int hashCode() {
+      return id;
+    }
+
+    /**
+     * toString method for data representation.
+     *
+     * @return overview of the attributes of the monkey (Name (Species) - Sex - Favourite Food).
+     */
+    @Override
+    public String toString() {
+      return getName() + " (" + getSpeciesType() + ") - " + getSex() + " - "
+              + getFavoriteFood();
+    }
+
+    /**
+     * Get the Monkey built from the id of the view.
+     *
+     * @return the Monkey, null if none was built.
+     */
+    private Monkey boundMonkey() {
+      return bound == null ? null : bound[id];
+    }
+
+    /**
+     * Get the store the view reads from.
+     *
+     * @return the store.
+     */
+    private MonkeyStore store() {
+      return MonkeyStore.this;
+    }
+  }
+}
@@ -0,0 +1,8 @@
+package sanctuary.enums;
+
+/**
+ * Types of formats the roster of the Sanctuary can be exported in.
+ */
+public enum ExportFormat {
+  Csv, JsonLines
+}
@@ -0,0 +1,8 @@
+package sanctuary.enums;
+
+/**
+ * Types of outcomes for a monkey brought in to the sanctuary.
+ */
+public enum IntakeOutcome {
+  Admitted, DuplicateName, NoSpace
+}
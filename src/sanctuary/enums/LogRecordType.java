@@ -0,0 +1,10 @@
+package sanctuary.enums;
+
+/**
+ * Types of records written to the sanctuary log, one for every kind of mutation.
+ */
+public enum LogRecordType {
+  CreateIsolation, CreateEnclosure, AddMonkey, ShiftMonkey, IncreaseIsolation,
+  SetSize, SetWeight, SetAge, SetElasticity, MoveMonkey,
+  PlaceMonkey, ReleaseMonkey
+}
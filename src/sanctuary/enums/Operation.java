@@ -0,0 +1,8 @@
+package sanctuary.enums;
+
+/**
+ * Types of operations on the sanctuary whose latency is measured.
+ */
+public enum Operation {
+  Intake, BatchIntake, Shift, ShoppingList, SpeciesReport, SignBoard
+}
@@ -0,0 +1,8 @@
+package sanctuary.enums;
+
+/**
+ * Types of outcomes for an operation on the sanctuary or one of its housings.
+ */
+public enum Outcome {
+  Done, DuplicateName, NoSpace, WrongSpecies, NoEnclosure, NotFound, InvalidSize
+}
@@ -0,0 +1,8 @@
+package sanctuary.enums;
+
+/**
+ * Types of strategies for planning the placement of the Isolation population in enclosures.
+ */
+public enum PlacementStrategy {
+  FirstFitDecreasing, SpeciesBestFit
+}
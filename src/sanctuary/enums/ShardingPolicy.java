@@ -0,0 +1,8 @@
+package sanctuary.enums;
+
+/**
+ * Types of policies for choosing the home shard of a monkey in a sanctuary cluster.
+ */
+public enum ShardingPolicy {
+  NameHash, SpeciesAffinity
+}
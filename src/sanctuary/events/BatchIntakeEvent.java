@@ -0,0 +1,49 @@
+package sanctuary.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for a batch of monkeys brought in to the Isolation.
+ */
+@Name("sanctuary.BatchIntake")
+@Label("Batch Intake")
+@Category("Sanctuary")
+@Description("A batch of monkeys brought in to the Isolation of the sanctuary")
+public class BatchIntakeEvent extends Event {
+
+  @Label("Batch Size")
+  public int batchSize;
+
+  @Label("Admitted")
+  public int admitted;
+
+  @Label("Duplicate Names")
+  public int duplicateNames;
+
+  @Label("No Space")
+  @Description("Monkeys turned away because the Isolation is full")
+  public int noSpace;
+
+  /**
+   * End the event and commit it with its fields, if it is enabled and lasted long enough to
+   * be recorded.
+   *
+   * @param batchSize      monkeys in the batch.
+   * @param admitted       monkeys admitted.
+   * @param duplicateNames monkeys turned away for a duplicate name.
+   * @param noSpace        monkeys turned away because the Isolation is full.
+   */
+  public void emit(int batchSize, int admitted, int duplicateNames, int noSpace) {
+    if (shouldCommit()) {
+      this.batchSize = batchSize;
+      this.admitted = admitted;
+      this.duplicateNames = duplicateNames;
+      this.noSpace = noSpace;
+      commit();
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package sanctuary.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for a report on a housing: its monkeys, its species or its signboard.
+ */
+@Name("sanctuary.HousingReport")
+@Label("Housing Report")
+@Category("Sanctuary")
+@Description("A report on the monkeys, species or signboard of a housing")
+public class HousingReportEvent extends Event {
+
+  @Label("Housing")
+  public String housing;
+
+  @Label("Report")
+  @Description("MonkeyList, SpeciesList or SignBoard")
+  public String report;
+
+  @Label("Scan Length")
+  @Description("Monkeys, or species counters, scanned to make the report")
+  public int scanLength;
+
+  @Label("Entries")
+  @Description("Entries in the report")
+  public int entries;
+
+  /**
+   * End the event and commit it with its fields, if it is enabled and lasted long enough to
+   * be recorded.
+   *
+   * @param housing    name of the housing.
+   * @param report     kind of report.
+   * @param scanLength monkeys or species counters scanned to make the report.
+   * @param entries    entries in the report.
+   */
+  public void emit(String housing, String report, int scanLength, int entries) {
+    if (shouldCommit()) {
+      this.housing = housing;
+      this.report = report;
+      this.scanLength = scanLength;
+      this.entries = entries;
+      commit();
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package sanctuary.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for a monkey brought in to the Isolation.
+ */
+@Name("sanctuary.Intake")
+@Label("Monkey Intake")
+@Category("Sanctuary")
+@Description("A monkey brought in to the Isolation of the sanctuary")
+public class IntakeEvent extends Event {
+
+  @Label("Monkey")
+  public String monkeyName;
+
+  @Label("Species")
+  public String species;
+
+  @Label("Outcome")
+  @Description("Admitted, or the reason the monkey was turned away")
+  public String outcome;
+
+  @Label("Cages Occupied")
+  @Description("Cages occupied in the Isolation after the intake")
+  public int cagesOccupied;
+
+  /**
+   * End the event and commit it with its fields, if it is enabled and lasted long enough to
+   * be recorded.
+   *
+   * @param monkeyName    name of the monkey.
+   * @param species       species of the monkey.
+   * @param outcome       outcome of the intake.
+   * @param cagesOccupied cages occupied in the Isolation after the intake.
+   */
+  public void emit(String monkeyName, String species, String outcome, int cagesOccupied) {
+    if (shouldCommit()) {
+      this.monkeyName = monkeyName;
+      this.species = species;
+      this.outcome = outcome;
+      this.cagesOccupied = cagesOccupied;
+      commit();
+    }
+  }
+}
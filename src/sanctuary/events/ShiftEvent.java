@@ -0,0 +1,63 @@
+package sanctuary.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for a monkey shifted from the Isolation to an enclosure.
+ */
+@Name("sanctuary.Shift")
+@Label("Monkey Shift")
+@Category("Sanctuary")
+@Description("A monkey shifted from the Isolation to an enclosure")
+public class ShiftEvent extends Event {
+
+  @Label("Monkey")
+  public String monkeyName;
+
+  @Label("Species")
+  public String species;
+
+  @Label("Space Needed")
+  @Description("Space the monkey takes in an enclosure, in square meters")
+  public int spaceNeeded;
+
+  @Label("Enclosure")
+  @Description("Enclosure chosen for the monkey, null if none was found")
+  public String enclosure;
+
+  @Label("Scan Length")
+  @Description("Lookups made to find the enclosure: the species bucket, the vacant "
+          + "enclosures, and any retry after the chosen enclosure filled up")
+  public int scanLength;
+
+  @Label("Outcome")
+  public String outcome;
+
+  /**
+   * End the event and commit it with its fields, if it is enabled and lasted long enough to
+   * be recorded.
+   *
+   * @param monkeyName  name of the monkey.
+   * @param species     species of the monkey.
+   * @param spaceNeeded space the monkey takes in an enclosure.
+   * @param enclosure   name of the enclosure chosen, null if none was found.
+   * @param scanLength  lookups made to find the enclosure.
+   * @param outcome     outcome of the shift.
+   */
+  public void emit(String monkeyName, String species, int spaceNeeded, String enclosure,
+                   int scanLength, String outcome) {
+    if (shouldCommit()) {
+      this.monkeyName = monkeyName;
+      this.species = species;
+      this.spaceNeeded = spaceNeeded;
+      this.enclosure = enclosure;
+      this.scanLength = scanLength;
+      this.outcome = outcome;
+      commit();
+    }
+  }
+}
@@ -0,0 +1,46 @@
+package sanctuary.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for the shopping list built for the monkeys of the sanctuary.
+ */
+@Name("sanctuary.ShoppingList")
+@Label("Shopping List")
+@Category("Sanctuary")
+@Description("The shopping list built for the monkeys of the sanctuary")
+public class ShoppingListEvent extends Event {
+
+  @Label("Monkeys")
+  @Description("Monkeys in the sanctuary")
+  public int monkeys;
+
+  @Label("Scan Length")
+  @Description("Food totals scanned to build the list")
+  public int scanLength;
+
+  @Label("Entries")
+  @Description("Foods on the list")
+  public int entries;
+
+  /**
+   * End the event and commit it with its fields, if it is enabled and lasted long enough to
+   * be recorded.
+   *
+   * @param monkeys    monkeys in the sanctuary.
+   * @param scanLength food totals scanned.
+   * @param entries    foods on the list.
+   */
+  public void emit(int monkeys, int scanLength, int entries) {
+    if (shouldCommit()) {
+      this.monkeys = monkeys;
+      this.scanLength = scanLength;
+      this.entries = entries;
+      commit();
+    }
+  }
+}
@@ -0,0 +1,131 @@
+package sanctuary.housing;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import sanctuary.entities.Monkey;
+
+/**
+ * CageAllocator hands out the numbered cages of the Isolation, always the lowest free number
+ * first. Free cages are kept in a bitmap searched from the lowest cage that may be free, so
+ * the cages below it are never scanned again until one of them is freed.
+ */
+class CageAllocator {
+
+  //Cages -> Index = cage number, Value = Monkey in the cage or null if free
+  private Monkey[] cages;
+  //Free Cages -> Bit set for every free cage number
+  private final BitSet freeCages;
+  private int freeCount;
+  //Lowest Free -> No cage below this number is free
+  private int lowestFree;
+
+  /**
+   * Constructor to initialize the allocator with every cage free.
+   *
+   * @param capacity number of cages.
+   */
+  CageAllocator(int capacity) {
+    this.cages = new Monkey[capacity];
+    this.freeCages = new BitSet(capacity);
+    this.freeCages.set(0, capacity);
+    this.freeCount = capacity;
+    this.lowestFree = 0;
+  }
+
+  /**
+   * Put the monkey in the free cage with the lowest number.
+   *
+   * @param monkey monkey to be caged.
+   * @return the number of the cage, -1 if no cage is free.
+   */
+  int allocate(Monkey monkey) {
+    if (freeCount == 0) {
+      return -1;
+    }
+    int cage = freeCages.nextSetBit(lowestFree);
+    freeCages.clear(cage);
+    freeCount--;
+    lowestFree = cage + 1;
+    cages[cage] = monkey;
+    return cage;
+  }
+
+  /**
+   * Free a cage.
+   *
+   * @param cage number of the cage.
+   * @return the monkey that was in the cage, null if the cage was already free.
+   */
+  Monkey free(int cage) {
+    Monkey monkey = cages[cage];
+    if (monkey != null) {
+      cages[cage] = null;
+      freeCages.set(cage);
+      freeCount++;
+      lowestFree = Math.min(lowestFree, cage);
+    }
+    return monkey;
+  }
+
+  /**
+   * Get the monkey in a cage.
+   *
+   * @param cage number of the cage.
+   * @return the monkey in the cage, null if the cage is free or does not exist.
+   */
+  Monkey get(int cage) {
+    return cage >= 0 && cage < cages.length ? cages[cage] : null;
+  }
+
+  /**
+   * Add cages, numbered after the existing ones.
+   *
+   * @param size number of cages to add.
+   */
+  void grow(int size) {
+    int capacity = cages.length;
+    cages = Arrays.copyOf(cages, capacity + size);
+    freeCages.set(capacity, capacity + size);
+    freeCount += size;
+  }
+
+  /**
+   * Remove free cages from the end of the numbering, stopping at the first occupied cage.
+   *
+   * @param size most cages to remove.
+   * @return the number of cages removed.
+   */
+  int shrink(int size) {
+    int capacity = cages.length;
+    int newCapacity = capacity;
+    while (newCapacity > capacity - size && newCapacity > 0 && cages[newCapacity - 1] == null) {
+      newCapacity--;
+    }
+    if (newCapacity == capacity) {
+      return 0;
+    }
+    freeCages.clear(newCapacity, capacity);
+    freeCount -= capacity - newCapacity;
+    cages = Arrays.copyOf(cages, newCapacity);
+    return capacity - newCapacity;
+  }
+
+  /**
+   * Total number of cages.
+   *
+   * @return the number of cages.
+   */
+  int capacity() {
+    return cages.length;
+  }
+
+  /**
+   * Number of free cages.
+   *
+   * @return the number of free cages.
+   */
+  int available() {
+    return freeCount;
+  }
+}
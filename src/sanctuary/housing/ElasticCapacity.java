@@ -0,0 +1,191 @@
+package sanctuary.housing;
+
+/**
+ * ElasticCapacity is the policy an Isolation follows to resize itself with demand. Cages are
+ * added in chunks once occupancy would reach the high watermark, and overflow cages are
+ * released in chunks while occupancy stays below the low watermark. The Isolation never
+ * shrinks below the capacity it was given by hand, nor grows beyond the maximum capacity.
+ *
+ * <p>The policy also counts the grow and shrink events of the Isolation it is applied to.
+ */
+public class ElasticCapacity {
+
+  private final double lowWatermark;
+  private final double highWatermark;
+  private final int chunkSize;
+  private final int maxCapacity;
+  private int growCount;
+  private int shrinkCount;
+  private long cagesAdded;
+  private long cagesReleased;
+  private int peakCapacity;
+
+  /**
+   * Constructor to initialize the elasticity policy.
+   *
+   * @param lowWatermark  occupancy (0 to 1) below which overflow cages are released.
+   * @param highWatermark occupancy (0 to 1) at which cages are added.
+   * @param chunkSize     number of cages added or released at a time.
+   * @param maxCapacity   number of cages the Isolation may grow to.
+   * @throws IllegalArgumentException if the watermarks are not 0 <= low < high <= 1, or the
+   *                                  chunk size or maximum capacity is 0 or less.
+   */
+  public ElasticCapacity(double lowWatermark, double highWatermark, int chunkSize,
+                         int maxCapacity) {
+    if (lowWatermark < 0 || lowWatermark >= highWatermark || highWatermark > 1) {
+      throw new IllegalArgumentException("Watermarks must satisfy 0 <= low < high <= 1.");
+    }
+    if (chunkSize <= 0 || maxCapacity <= 0) {
+      throw new IllegalArgumentException("Chunk size and maximum capacity cannot be 0 or less.");
+    }
+    this.lowWatermark = lowWatermark;
+    this.highWatermark = highWatermark;
+    this.chunkSize = chunkSize;
+    this.maxCapacity = maxCapacity;
+  }
+
+  /**
+   * Number of cages to add so the occupancy stays below the high watermark.
+   *
+   * @param occupied cages that will be occupied.
+   * @param capacity current number of cages.
+   * @return the number of cages to add, in whole chunks and within the maximum capacity.
+   */
+  int cagesToAdd(int occupied, int capacity) {
+    int target = capacity;
+    while (target < maxCapacity && occupied >= highWatermark * target) {
+      target = (int) Math.min((long) target + chunkSize, maxCapacity);
+    }
+    return target - capacity;
+  }
+
+  /**
+   * Number of cages to release while the occupancy stays below the low watermark.
+   *
+   * @param occupied     cages occupied.
+   * @param capacity     current number of cages.
+   * @param baseCapacity capacity given to the Isolation by hand.
+   * @return the number of cages to release, in whole chunks.
+   */
+  int cagesToRelease(int occupied, int capacity, int baseCapacity) {
+    int target = capacity;
+    while (target - chunkSize >= baseCapacity && occupied < lowWatermark * (target - chunkSize)) {
+      target -= chunkSize;
+    }
+    return capacity - target;
+  }
+
+  /**
+   * Count a grow event.
+   *
+   * @param cages    number of cages added.
+   * @param capacity capacity after the cages were added.
+   */
+  void grew(int cages, int capacity) {
+    growCount++;
+    cagesAdded += cages;
+    peakCapacity = Math.max(peakCapacity, capacity);
+  }
+
+  /**
+   * Count a shrink event.
+   *
+   * @param cages number of cages released.
+   */
+  void shrank(int cages) {
+    shrinkCount++;
+    cagesReleased += cages;
+  }
+
+  /**
+   * Get the occupancy below which overflow cages are released.
+   *
+   * @return the low watermark (0 to 1).
+   */
+  public double getLowWatermark() {
+    return this.lowWatermark;
+  }
+
+  /**
+   * Get the occupancy at which cages are added.
+   *
+   * @return the high watermark (0 to 1).
+   */
+  public double getHighWatermark() {
+    return this.highWatermark;
+  }
+
+  /**
+   * Get the number of cages added or released at a time.
+   *
+   * @return the chunk size.
+   */
+  public int getChunkSize() {
+    return this.chunkSize;
+  }
+
+  /**
+   * Get the maximum capacity the Isolation may grow to.
+   *
+   * @return the maximum number of cages.
+   */
+  public int getMaxCapacity() {
+    return this.maxCapacity;
+  }
+
+  /**
+   * Get the number of times the Isolation grew.
+   *
+   * @return the number of grow events.
+   */
+  public int getGrowCount() {
+    return this.growCount;
+  }
+
+  /**
+   * Get the number of times the Isolation shrank.
+   *
+   * @return the number of shrink events.
+   */
+  public int getShrinkCount() {
+    return this.shrinkCount;
+  }
+
+  /**
+   * Get the total number of cages added by the policy.
+   *
+   * @return the number of cages added.
+   */
+  public long getCagesAdded() {
+    return this.cagesAdded;
+  }
+
+  /**
+   * Get the total number of cages released by the policy.
+   *
+   * @return the number of cages released.
+   */
+  public long getCagesReleased() {
+    return this.cagesReleased;
+  }
+
+  /**
+   * Get the highest capacity the Isolation grew to.
+   *
+   * @return the peak number of cages.
+   */
+  public int getPeakCapacity() {
+    return this.peakCapacity;
+  }
+
+  /**
+   * toString method for data representation.
+   *
+   * @return overview of the grow and shrink events.
+   */
+  @Override
+  public String toString() {
+    return "grew " + growCount + " times (+" + cagesAdded + " cages), shrank " + shrinkCount
+            + " times (-" + cagesReleased + " cages), peak " + peakCapacity + " cages";
+  }
+}
@@ -1,26 +1,64 @@
 package sanctuary.housing;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.SortedSet;
-import java.util.TreeMap;
-import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
+import sanctuary.interfaces.MonkeyObserver;
 import sanctuary.interfaces.SanctuaryInterface;
 import sanctuary.entities.Monkey;
+import sanctuary.enums.Outcome;
+import sanctuary.enums.Size;
 import sanctuary.enums.Species;
 
 /**
  * Enclosure class intends to provide the functionality of Enclosure housing in the Sanctuary.
+ *
+ * <p>The species designation and the available space are kept together in a single atomic
+ * word, so space can be reserved by concurrent placement workers without taking a lock. A
+ * reservation re-designating a vacant enclosure is undone if its space is given back before a
+ * monkey moves in, leaving the enclosure as it found it.
+ *
+ * <p>Reserving, committing and releasing space never take the lock of the enclosure. The lock
+ * only guards removals from the troop and the readers that need a steady troop, so holding it
+ * does not hold off a shift: space may be reserved for a monkey yet to join the troop.
  */
 public class Enclosure implements SanctuaryInterface {
 
+  private static final Species[] SPECIES = Species.values();
+  private static final long SPACE_BITS = 0xFFFFFFFFL;
+  //Pending -> Set while the reservation that re-designated the vacant enclosure is pending
+  private static final long PENDING = 1L << 40;
+
   private final String name;
-  private Species species;
-  private final Map<String, Object> troops;
+  private final Map<String, Monkey> troops;
+  private final SpeciesCount speciesCount;
+  //Pending Roster -> Loads the troop on first access, null once the troop is loaded
+  private final AtomicReference<Supplier<Collection<Monkey>>> pendingRoster;
   private final int totalCapacity;
-  private int availableSpace;
+  //Capacity State -> Bits 0-31 = space left, Bits 32-39 = species ordinal + 1 (0 if none),
+  //Bit 40 = Pending, Bits 41-48 = designation replaced by the pending one, ordinal + 1
+  private final AtomicLong capacityState;
+  //Redesignations -> Times a vacant enclosure was designated for another species, designations
+  //undone by a released reservation excluded
+  private final LongAdder redesignations;
+  private EnclosureIndex index;
+  private int position;
+  //Index Entry -> Guarded by the index, the key and species the enclosure is filed under
+  private long indexKey;
+  private Species indexedSpecies;
+  private final ReentrantLock lock;
+  //Space Observer -> Takes or gives back space as a monkey of the troop changes size
+  private final MonkeyObserver spaceObserver;
 
   /**
    * Constructor class to initialize Enclosure.
@@ -37,9 +75,41 @@ public class Enclosure implements SanctuaryInterface {
     }
     this.name = name;
     this.totalCapacity = size;
-    this.availableSpace = size;
-    this.species = species;
-    this.troops = new TreeMap<>();
+    this.capacityState = new AtomicLong(state(species, size));
+    this.troops = new ConcurrentSkipListMap<>();
+    this.speciesCount = new SpeciesCount();
+    this.pendingRoster = new AtomicReference<>();
+    this.redesignations = new LongAdder();
+    this.lock = new ReentrantLock();
+    this.spaceObserver = this::sizeChanged;
+  }
+
+  /**
+   * Constructor to initialize an Enclosure restored from a snapshot. The troop is loaded from
+   * the roster the first time the monkeys of the enclosure are accessed, while the space and
+   * designation are available straight away.
+   *
+   * @param name           name of the enclosure.
+   * @param size           capacity of the enclosure (in square meters).
+   * @param species        designated species type.
+   * @param availableSpace space available in the enclosure.
+   * @param troopSize      number of monkeys in the troop, all of the designated species.
+   * @param roster         loads the monkeys of the troop.
+   * @throws IllegalArgumentException if the size is 0 or less, or the space is more than it.
+   */
+  public Enclosure(String name, int size, Species species, int availableSpace, int troopSize,
+                   Supplier<Collection<Monkey>> roster) {
+    this(name, size, species);
+    //Space left is below 0 when a monkey outgrew the enclosure before the snapshot
+    if (availableSpace > size) {
+      throw new IllegalArgumentException("Error: Cannot create enclosure. "
+              + "Available space cannot be more than the Enclosure Size.");
+    }
+    this.capacityState.set(state(species, availableSpace));
+    if (troopSize > 0) {
+      this.speciesCount.add(species, troopSize);
+    }
+    this.pendingRoster.set(roster);
   }
 
   /**
@@ -54,37 +124,160 @@ public class Enclosure implements SanctuaryInterface {
     }
     this.name = enclosure.name;
     this.totalCapacity = enclosure.totalCapacity;
-    this.availableSpace = enclosure.availableSpace;
-    this.species = enclosure.species;
+    this.capacityState = new AtomicLong(enclosure.capacityState.get());
     this.troops = enclosure.troops;
+    this.speciesCount = enclosure.speciesCount;
+    this.pendingRoster = enclosure.pendingRoster;
+    this.redesignations = enclosure.redesignations;
+    this.lock = enclosure.lock;
+    this.spaceObserver = this::sizeChanged;
   }
 
   /**
    * Add monkey to the Enclosure.
    *
    * @param monkey monkey to be added in the enclosure.
+   * @throws IllegalStateException    if the enclosure is designated for another species.
+   * @throws IllegalArgumentException if there is not enough space for the monkey.
    */
   @Override
   public void addMonkey(Monkey monkey) {
-    //Change the Species Designation.
-    if (isEmpty() && this.species != monkey.getSpeciesType()) {
-      this.species = monkey.getSpeciesType();
-    }
-    //Check if the monkey already exists in the enclosure.
-
-    //Check for species designation match
-    if (this.species != monkey.getSpeciesType()) {
+    Result<Void> result = tryAddMonkey(monkey);
+    if (result.getOutcome() == Outcome.WrongSpecies) {
       throw new IllegalStateException("Monkey of " + monkey.getSpeciesType()
               + " species cannot be added to this Enclosure");
     }
-    if (this.availableSpace >= monkey.getSpaceOccupancy()) {
-      this.troops.put(monkey.getName(), monkey);
-      manageCapacityAfterAdding(monkey); //Manage Capacity after adding
-    } else {
+    if (result.getOutcome() == Outcome.NoSpace) {
       throw new IllegalArgumentException("Monkey cannot be added to Enclosure");
     }
+  }
+
+  /**
+   * Add monkey to the Enclosure, reporting a rejection instead of throwing.
+   *
+   * @param monkey monkey to be added in the enclosure.
+   * @return Done, WrongSpecies if the enclosure is designated for another species, or NoSpace
+   *         if there is not enough space for the monkey.
+   */
+  public Result<Void> tryAddMonkey(Monkey monkey) {
+    if (!reserveSpace(monkey)) {
+      long current = capacityState.get();
+      if (speciesOf(current) != monkey.getSpeciesType() && spaceOf(current) != totalCapacity) {
+        return Result.of(Outcome.WrongSpecies);
+      }
+      return Result.of(Outcome.NoSpace);
+    }
+    commitReservation(monkey);
+    return Result.of(Outcome.Done);
+  }
+
+  /**
+   * Reserve space for the monkey without taking a lock. A vacant enclosure is re-designated
+   * to the species of the monkey as part of the same atomic update, pending until a monkey
+   * moves in.
+   *
+   * @param monkey monkey to reserve the space for.
+   * @return boolean true if the space was reserved, false if the monkey cannot be housed here.
+   */
+  public boolean reserveSpace(Monkey monkey) {
+    Species monkeySpecies = monkey.getSpeciesType();
+    int monkeySpace = monkey.getSpaceOccupancy();
+    while (true) {
+      long current = capacityState.get();
+      int space = spaceOf(current);
+      if (space < monkeySpace) {
+        return false;
+      }
+      if (speciesOf(current) != monkeySpecies && space != totalCapacity) {
+        return false;
+      }
+      boolean redesignate = speciesOf(current) != monkeySpecies;
+      long next = redesignate
+              ? state(monkeySpecies, space - monkeySpace) | PENDING
+                      | speciesBits(speciesOf(current)) << 41
+              : withSpace(current, space - monkeySpace);
+      if (capacityState.compareAndSet(current, next)) {
+        if (redesignate) {
+          redesignations.increment();
+        }
+        updateIndex();
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Place the monkey in the troop once space has been reserved for it.
+   *
+   * @param monkey monkey to be placed in the enclosure.
+   */
+  public void commitReservation(Monkey monkey) {
+    settleDesignation();
+    loadTroop();
+    Monkey previous = this.troops.put(monkey.getName(), monkey);
+    if (previous == null) {
+      this.speciesCount.add(monkey.getSpeciesType());
+      monkey.addObserver(spaceObserver);
+      return;
+    }
+    //A monkey with the same name was replaced, give back the space it held
+    if (previous != monkey) {
+      previous.removeObserver(spaceObserver);
+      monkey.addObserver(spaceObserver);
+    }
+    releaseReservation(previous);
+  }
 
+  /**
+   * Give back the space reserved for a monkey that will not be placed in the enclosure. Once
+   * the enclosure is vacant again, a re-designation still pending is undone.
+   *
+   * @param monkey monkey the space was reserved for.
+   */
+  public void releaseReservation(Monkey monkey) {
+    int monkeySpace = monkey.getSpaceOccupancy();
+    while (true) {
+      long current = capacityState.get();
+      int space = spaceOf(current) + monkeySpace;
+      boolean undo = (current & PENDING) != 0 && space == totalCapacity;
+      long next = undo ? state(replacedOf(current), space) : withSpace(current, space);
+      if (capacityState.compareAndSet(current, next)) {
+        if (undo) {
+          redesignations.decrement();
+        }
+        updateIndex();
+        return;
+      }
+    }
+  }
 
+  /**
+   * Remove monkey from the Enclosure.
+   *
+   * @param monkey monkey to be removed from the enclosure.
+   * @throws IllegalArgumentException if the monkey does not exist in the enclosure.
+   */
+  public void removeMonkeyFromEnclosure(Monkey monkey) {
+    if (!tryRemoveMonkey(monkey).isDone()) {
+      throw new IllegalArgumentException("Monkey does not exists in the Enclosure");
+    }
+  }
+
+  /**
+   * Remove monkey from the Enclosure, reporting a rejection instead of throwing.
+   *
+   * @param monkey monkey to be removed from the enclosure.
+   * @return Done, or NotFound if the monkey is not in the enclosure.
+   */
+  public Result<Void> tryRemoveMonkey(Monkey monkey) {
+    loadTroop();
+    if (!troops.remove(monkey.getName(), monkey)) {
+      return Result.of(Outcome.NotFound);
+    }
+    speciesCount.remove(monkey.getSpeciesType());
+    monkey.removeObserver(spaceObserver);
+    releaseSpace(monkey.getSpaceOccupancy());
+    return Result.of(Outcome.Done);
   }
 
   /**
@@ -94,7 +287,7 @@ public class Enclosure implements SanctuaryInterface {
    */
   @Override
   public boolean isSpaceAvailable() {
-    return availableSpace > 0;
+    return getAvailableSpace() > 0;
   }
 
   /**
@@ -105,6 +298,7 @@ public class Enclosure implements SanctuaryInterface {
    */
   @Override
   public Object lookupMonkey(String monkeyName) {
+    loadTroop();
     return this.troops.get(monkeyName);
   }
 
@@ -114,19 +308,8 @@ public class Enclosure implements SanctuaryInterface {
    * @return species list if found or 'No Species Found'.
    */
   @Override
-  public SortedSet reportAllSpeciesList() {
-    SortedSet<String> speciesList = new TreeSet<>();
-
-    for (Object monkey : troops.values()) {
-      Monkey tempMonkey = (Monkey) monkey;
-      speciesList.add(tempMonkey.getSpeciesType().toString());
-    }
-
-    if (speciesList.isEmpty()) {
-      speciesList.add("No Species Found");
-    }
-
-    return speciesList;
+  public SortedSet<String> reportAllSpeciesList() {
+    return speciesCount.speciesList();
   }
 
   /**
@@ -135,7 +318,8 @@ public class Enclosure implements SanctuaryInterface {
    * @return list of the monkeys found in the enclosure.
    */
   @Override
-  public List reportAllMonkeyInHousing() {
+  public List<String> reportAllMonkeyInHousing() {
+    loadTroop();
     List<String> monkeyList = new ArrayList<>();
     for (Object monkey : troops.values()) {
       Monkey tempMonkey = (Monkey) monkey;
@@ -152,13 +336,7 @@ public class Enclosure implements SanctuaryInterface {
    */
   @Override
   public boolean lookupSpecies(Species species) {
-    for (Object monkey : troops.values()) {
-      Monkey tempMonkey = (Monkey) monkey;
-      if (tempMonkey.getSpeciesType() == species) {
-        return true;
-      }
-    }
-    return false;
+    return speciesCount.contains(species);
   }
 
   /**
@@ -166,7 +344,8 @@ public class Enclosure implements SanctuaryInterface {
    *
    * @return Signboard of the enclosure.
    */
-  public List signBoard() {
+  public List<String> signBoard() {
+    loadTroop();
     List<String> signBoard = new ArrayList<>();
     for (Object monkey : troops.values()) {
       Monkey tempMonkey = (Monkey) monkey;
@@ -175,6 +354,59 @@ public class Enclosure implements SanctuaryInterface {
     return signBoard;
   }
 
+  /**
+   * Append the signboard of the enclosure to the output, one monkey per line, without
+   * building a list.
+   *
+   * @param out output the signboard is appended to.
+   */
+  public void renderSignBoard(Appendable out) {
+    renderAllMonkeyInHousing(out);
+  }
+
+  /**
+   * Monkeys in the Enclosure, in alphabetical order of their names.
+   *
+   * @return read-only view of the monkeys in the enclosure.
+   */
+  @Override
+  public Collection<Monkey> getMonkeys() {
+    loadTroop();
+    return Collections.unmodifiableCollection(troops.values());
+  }
+
+  /**
+   * Number of monkeys in the Enclosure, counted without loading the troop of an enclosure
+   * restored from a snapshot.
+   *
+   * @return the number of monkeys in the enclosure.
+   */
+  public int getMonkeyCount() {
+    return speciesCount.total();
+  }
+
+  /**
+   * Check if the troop of an enclosure restored from a snapshot has been loaded yet.
+   *
+   * @return boolean true if the troop is loaded.
+   */
+  public boolean isTroopLoaded() {
+    return pendingRoster.get() == null;
+  }
+
+  /**
+   * Check if the monkey can be added to the enclosure, either because the enclosure is
+   * designated for its species or because the enclosure is vacant, and enough space is left.
+   *
+   * @param monkey monkey to be checked.
+   * @return boolean true if the monkey can be added.
+   */
+  public boolean canAccommodate(Monkey monkey) {
+    long current = capacityState.get();
+    return (speciesOf(current) == monkey.getSpeciesType() || spaceOf(current) == totalCapacity)
+            && spaceOf(current) >= monkey.getSpaceOccupancy();
+  }
+
   /**
    * Get the name of the enclosure.
    *
@@ -199,7 +431,7 @@ public class Enclosure implements SanctuaryInterface {
    * @return the space available in the enclosure.
    */
   public int getAvailableSpace() {
-    return this.availableSpace;
+    return spaceOf(capacityState.get());
   }
 
   /**
@@ -208,36 +440,237 @@ public class Enclosure implements SanctuaryInterface {
    * @return the species type designation.
    */
   public Species getSpecies() {
-    return this.species;
+    return speciesOf(capacityState.get());
+  }
+
+  /**
+   * Get the number of times the enclosure was designated for another species when a monkey
+   * moved in while it was vacant. Copies of the enclosure share the count.
+   *
+   * @return the number of re-designations.
+   */
+  public long getRedesignationCount() {
+    return redesignations.sum();
   }
 
   /**
-   * Manage the capacity of the enclosure after adding the monkey.
+   * Load the troop of an enclosure restored from a snapshot, once.
+   */
+  private void loadTroop() {
+    if (pendingRoster.get() == null) {
+      return;
+    }
+    synchronized (pendingRoster) {
+      Supplier<Collection<Monkey>> roster = pendingRoster.get();
+      if (roster != null) {
+        for (Monkey monkey : roster.get()) {
+          troops.put(monkey.getName(), monkey);
+          monkey.addObserver(spaceObserver);
+        }
+        pendingRoster.set(null);
+      }
+    }
+  }
+
+  /**
+   * Take or give back the difference in space of a monkey of the troop that changed size.
+   * The space left can fall below 0 when a monkey outgrows a full enclosure, and the
+   * enclosure then takes no monkey until it has room again.
+   *
+   * @param monkey   monkey whose size changed.
+   * @param previous size of the monkey before the change.
+   */
+  private void sizeChanged(Monkey monkey, Size previous) {
+    releaseSpace(Monkey.spaceOccupancy(previous) - monkey.getSpaceOccupancy());
+  }
+
+  /**
+   * Give back space to the enclosure, keeping its species designation. A negative space is
+   * taken from the enclosure instead.
    *
-   * @param monkey monkey that is added.
+   * @param monkeySpace space to be given back.
+   */
+  private void releaseSpace(int monkeySpace) {
+    while (true) {
+      long current = capacityState.get();
+      long next = withSpace(current, spaceOf(current) + monkeySpace);
+      if (capacityState.compareAndSet(current, next)) {
+        updateIndex();
+        return;
+      }
+    }
+  }
+
+  /**
+   * Keep the designation made by a pending reservation, as a monkey is moving in.
+   */
+  private void settleDesignation() {
+    while (true) {
+      long current = capacityState.get();
+      if ((current & PENDING) == 0
+              || capacityState.compareAndSet(current, state(speciesOf(current),
+                      spaceOf(current)))) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * File the enclosure again in its placement index after its capacity state changed.
    */
-  private void manageCapacityAfterAdding(Monkey monkey) {
-    switch (monkey.getSize()) {
-      case Large:
-        this.availableSpace -= 10;
-        break;
-      case Medium:
-        this.availableSpace -= 5;
-        break;
-      case Small:
-        this.availableSpace -= 1;
-        break;
-      default:
-        break;
+  private void updateIndex() {
+    if (index != null) {
+      index.update(this);
     }
   }
 
+  /**
+   * Pack the species designation and the available space into a capacity state.
+   *
+   * @param species species type designation.
+   * @param space   available space.
+   * @return the packed capacity state.
+   */
+  private static long state(Species species, int space) {
+    return (speciesBits(species) << 32) | (space & SPACE_BITS);
+  }
+
+  /**
+   * Change the available space of a capacity state, keeping the rest of it.
+   *
+   * @param state packed capacity state.
+   * @param space available space.
+   * @return the packed capacity state.
+   */
+  private static long withSpace(long state, int space) {
+    return (state & ~SPACE_BITS) | (space & SPACE_BITS);
+  }
+
+  /**
+   * Pack a species designation.
+   *
+   * @param species species type designation.
+   * @return the ordinal of the species + 1, 0 if none.
+   */
+  private static long speciesBits(Species species) {
+    return species == null ? 0 : species.ordinal() + 1;
+  }
+
+  /**
+   * Get the designation replaced by a pending re-designation from a capacity state.
+   *
+   * @param state packed capacity state.
+   * @return the species type designation replaced.
+   */
+  private static Species replacedOf(long state) {
+    int speciesBits = (int) (state >>> 41) & 0xFF;
+    return speciesBits == 0 ? null : SPECIES[speciesBits - 1];
+  }
+
+  /**
+   * Get the species designation from a capacity state.
+   *
+   * @param state packed capacity state.
+   * @return the species type designation.
+   */
+  static Species speciesOf(long state) {
+    int speciesBits = (int) (state >>> 32) & 0xFF;
+    return speciesBits == 0 ? null : SPECIES[speciesBits - 1];
+  }
+
+  /**
+   * Get the available space from a capacity state.
+   *
+   * @param state packed capacity state.
+   * @return the available space.
+   */
+  static int spaceOf(long state) {
+    return (int) state;
+  }
+
+  /**
+   * Get the lock guarding the enclosure. Copies of the enclosure share the same lock.
+   *
+   * @return the lock of the enclosure.
+   */
+  public ReentrantLock getLock() {
+    return this.lock;
+  }
+
+  /**
+   * Get the capacity state holding the species designation and the available space.
+   *
+   * @return the packed capacity state.
+   */
+  long getCapacityState() {
+    return capacityState.get();
+  }
+
+  /**
+   * Get the placement index the enclosure is registered with.
+   *
+   * @return the placement index, null if not registered.
+   */
+  EnclosureIndex getIndex() {
+    return this.index;
+  }
+
+  /**
+   * Register the enclosure with a placement index.
+   *
+   * @param index    the placement index.
+   * @param position position of the enclosure in the index.
+   */
+  void setIndex(EnclosureIndex index, int position) {
+    this.index = index;
+    this.position = position;
+  }
+
+  /**
+   * Get the key the enclosure is filed under in its placement index.
+   *
+   * @return the key in the placement index.
+   */
+  long getIndexKey() {
+    return this.indexKey;
+  }
+
+  /**
+   * Get the species the enclosure is filed under in its placement index.
+   *
+   * @return the species in the placement index, null if filed under none.
+   */
+  Species getIndexedSpecies() {
+    return this.indexedSpecies;
+  }
+
+  /**
+   * Record where the enclosure is filed in its placement index.
+   *
+   * @param key     the key in the placement index.
+   * @param species the species in the placement index, null if filed under none.
+   */
+  void setIndexEntry(long key, Species species) {
+    this.indexKey = key;
+    this.indexedSpecies = species;
+  }
+
+  /**
+   * Get the position of the enclosure in its placement index, which registers the enclosures
+   * of a Sanctuary in the order they were created.
+   *
+   * @return the position in the placement index.
+   */
+  public int getPosition() {
+    return this.position;
+  }
+
   /**
    * Check if the enclosure is empty or not.
    *
    * @return boolean for enclosure emptiness.
    */
   public boolean isEmpty() {
-    return (this.totalCapacity - this.availableSpace) == 0;
+    return (this.totalCapacity - getAvailableSpace()) == 0;
   }
 }
@@ -0,0 +1,142 @@
+package sanctuary.housing;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import sanctuary.enums.Species;
+
+/**
+ * EnclosureIndex keeps the enclosures of the Sanctuary bucketed by designated species and
+ * ordered by available space, along with a free list of the vacant enclosures, so a home for
+ * a monkey can be found without scanning every enclosure. The index guards itself and never
+ * takes the lock of an enclosure, so it can be used while an enclosure lock is held.
+ */
+public class EnclosureIndex {
+
+  //Species Buckets -> Key = species designation, Value = (available space, position) -> Enclosure
+  private final Map<Species, TreeMap<Long, Enclosure>> speciesBuckets;
+  //Vacant Enclosures -> Key = (available space, position), Value = Enclosure
+  private final TreeMap<Long, Enclosure> vacantEnclosures;
+  private int nextPosition;
+
+  /**
+   * Constructor to initialize an empty EnclosureIndex.
+   */
+  public EnclosureIndex() {
+    this.speciesBuckets = new EnumMap<>(Species.class);
+    for (Species species : Species.values()) {
+      this.speciesBuckets.put(species, new TreeMap<>());
+    }
+    this.vacantEnclosures = new TreeMap<>();
+    this.nextPosition = 0;
+  }
+
+  /**
+   * Register an enclosure with the index. Enclosures registered earlier are preferred when
+   * two enclosures have the same available space.
+   *
+   * @param enclosure enclosure to be registered.
+   * @throws IllegalArgumentException if the enclosure is null or already registered.
+   */
+  public synchronized void register(Enclosure enclosure) {
+    if (enclosure == null) {
+      throw new IllegalArgumentException("Enclosure passed is null");
+    }
+    if (enclosure.getIndex() != null) {
+      throw new IllegalArgumentException("Enclosure is already registered with an index.");
+    }
+    enclosure.setIndex(this, nextPosition);
+    nextPosition += 1;
+    file(enclosure);
+  }
+
+  /**
+   * Find an enclosure for the monkey. An enclosure designated for the species with the least
+   * sufficient space is chosen first, else the smallest vacant enclosure that can hold it.
+   *
+   * @param species         species type of the monkey.
+   * @param monkeySpaceSize space the monkey will occupy in the enclosure.
+   * @return the enclosure found, null if none can accommodate the monkey.
+   */
+  public synchronized Enclosure findEnclosure(Species species, int monkeySpaceSize) {
+    Enclosure enclosure = findDesignatedEnclosure(species, monkeySpaceSize);
+    return enclosure != null ? enclosure : findVacantEnclosure(monkeySpaceSize);
+  }
+
+  /**
+   * Find the enclosure designated for the species with the least sufficient space.
+   *
+   * @param species         species type of the monkey.
+   * @param monkeySpaceSize space the monkey will occupy in the enclosure.
+   * @return the enclosure found, null if no enclosure designated for the species has room.
+   */
+  public synchronized Enclosure findDesignatedEnclosure(Species species, int monkeySpaceSize) {
+    Map.Entry<Long, Enclosure> entry = speciesBuckets.get(species)
+            .ceilingEntry(key(monkeySpaceSize, 0));
+    return entry == null ? null : entry.getValue();
+  }
+
+  /**
+   * Find the smallest vacant enclosure that can hold the monkey.
+   *
+   * @param monkeySpaceSize space the monkey will occupy in the enclosure.
+   * @return the enclosure found, null if no vacant enclosure is large enough.
+   */
+  public synchronized Enclosure findVacantEnclosure(int monkeySpaceSize) {
+    Map.Entry<Long, Enclosure> entry = vacantEnclosures.ceilingEntry(key(monkeySpaceSize, 0));
+    return entry == null ? null : entry.getValue();
+  }
+
+  /**
+   * Number of vacant enclosures in the index.
+   *
+   * @return the number of vacant enclosures.
+   */
+  public synchronized int vacantCount() {
+    return vacantEnclosures.size();
+  }
+
+  /**
+   * File the enclosure again after its space or designation has changed.
+   *
+   * @param enclosure enclosure to be updated.
+   */
+  synchronized void update(Enclosure enclosure) {
+    if (enclosure.getIndexedSpecies() != null) {
+      speciesBuckets.get(enclosure.getIndexedSpecies()).remove(enclosure.getIndexKey());
+    }
+    vacantEnclosures.remove(enclosure.getIndexKey());
+    file(enclosure);
+  }
+
+  /**
+   * Put the enclosure in its buckets for its current space and designation.
+   *
+   * @param enclosure enclosure to be filed.
+   */
+  private void file(Enclosure enclosure) {
+    long state = enclosure.getCapacityState();
+    int availableSpace = Enclosure.spaceOf(state);
+    Species species = Enclosure.speciesOf(state);
+    long key = key(availableSpace, enclosure.getPosition());
+    if (species != null) {
+      speciesBuckets.get(species).put(key, enclosure);
+    }
+    if (availableSpace == enclosure.getTotalCapacity()) {
+      vacantEnclosures.put(key, enclosure);
+    }
+    enclosure.setIndexEntry(key, species);
+  }
+
+  /**
+   * Build the ordering key from the available space and registration position.
+   *
+   * @param availableSpace available space of the enclosure.
+   * @param position       registration position of the enclosure.
+   * @return the ordering key.
+   */
+  private static long key(int availableSpace, int position) {
+    return ((long) availableSpace << 32) | (position & 0xFFFFFFFFL);
+  }
+}
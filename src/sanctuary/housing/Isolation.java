@@ -1,25 +1,39 @@
 package sanctuary.housing;
 
+import java.util.AbstractCollection;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.SortedSet;
 import java.util.TreeMap;
-import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
 
 import sanctuary.interfaces.SanctuaryInterface;
 import sanctuary.entities.Monkey;
+import sanctuary.enums.Outcome;
 import sanctuary.enums.Species;
 
 /**
  * Isolation class intends to provide the functionality of Isolation housing in the Sanctuary.
+ *
+ * <p>Every monkey is kept in a numbered cage, numbered from 0. Cages are handed out and freed
+ * in constant time, and a monkey can be found by its name or by its cage number.
+ *
+ * <p>With an {@link ElasticCapacity} policy set, the Isolation adds cages ahead of demand and
+ * releases overflow cages once they are no longer needed.
  */
 public class Isolation implements SanctuaryInterface {
 
-  //Map cages -> Key = name of monkey, Value = Monkey object.
-  private final Map<String, Object> cages;
-  private int totalCapacity;
-  private int spaceAvailable;
+  //Map cageNumbers -> Key = name of monkey, Value = number of the cage of the monkey.
+  private final Map<String, Integer> cageNumbers;
+  private final CageAllocator cages;
+  private final SpeciesCount speciesCount;
+  //Base Capacity -> Cages given by hand, the Isolation never shrinks below it
+  private int baseCapacity;
+  private ElasticCapacity elasticity;
+  private final ReentrantLock lock;
 
   /**
    * Constructor for isolation.
@@ -31,13 +45,16 @@ public class Isolation implements SanctuaryInterface {
     if (totalSize <= 0) {
       throw new IllegalArgumentException("Isolation capacity cannot be 0 or less.");
     }
-    this.cages = new TreeMap<>();
-    this.totalCapacity = totalSize;
-    this.spaceAvailable = totalSize;
+    this.cageNumbers = new TreeMap<>();
+    this.cages = new CageAllocator(totalSize);
+    this.speciesCount = new SpeciesCount();
+    this.baseCapacity = totalSize;
+    this.lock = new ReentrantLock();
   }
 
   /**
-   * Copy constructor to create a copy of the isolation.
+   * Copy constructor to create a copy of the isolation. The copy shares the cages of the
+   * isolation it is copied from.
    *
    * @param isolation is the isolation object to be copied.
    * @throws IllegalArgumentException if the argument passed in null.
@@ -46,9 +63,12 @@ public class Isolation implements SanctuaryInterface {
     if (isolation == null) {
       throw new IllegalArgumentException("Enclosure passed is null");
     }
+    this.cageNumbers = isolation.cageNumbers;
     this.cages = isolation.cages;
-    this.totalCapacity = isolation.totalCapacity;
-    this.spaceAvailable = isolation.spaceAvailable;
+    this.speciesCount = isolation.speciesCount;
+    this.baseCapacity = isolation.baseCapacity;
+    this.elasticity = isolation.elasticity;
+    this.lock = isolation.lock;
   }
 
   /**
@@ -59,15 +79,59 @@ public class Isolation implements SanctuaryInterface {
    */
   @Override
   public void addMonkey(Monkey monkey) {
-    if (spaceAvailable <= 0) {
+    Result<Void> result = tryAddMonkey(monkey);
+    if (result.getOutcome() == Outcome.NoSpace) {
       throw new IllegalStateException("Error: Cannot add Monkey- " + monkey.getName()
               + ". No space available in the Isolation. Request you to contact another facility");
     }
-    if (cages.containsKey(monkey.getName())) {
+    if (result.getOutcome() == Outcome.DuplicateName) {
       throw new IllegalStateException("Monkey with same name already exists in the Isolation.");
     }
-    this.cages.put(monkey.getName(), monkey);
-    this.spaceAvailable -= 1;
+  }
+
+  /**
+   * Add monkey to a isolation, reporting a rejection instead of throwing.
+   *
+   * @param monkey monkey is the monkey to be added to isolation.
+   * @return Done, NoSpace if no cage is available, or DuplicateName if a monkey with the same
+   *         name is in the isolation.
+   */
+  public Result<Void> tryAddMonkey(Monkey monkey) {
+    if (cagesObtainable() <= 0) {
+      return Result.of(Outcome.NoSpace);
+    }
+    if (cageNumbers.containsKey(monkey.getName())) {
+      return Result.of(Outcome.DuplicateName);
+    }
+    growAhead(1);
+    this.cageNumbers.put(monkey.getName(), cages.allocate(monkey));
+    this.speciesCount.add(monkey.getSpeciesType());
+    return Result.of(Outcome.Done);
+  }
+
+  /**
+   * Add a batch of monkeys to the isolation, reserving the cages for the whole batch at once.
+   *
+   * @param monkeys monkeys to be added to isolation.
+   * @throws IllegalStateException if the batch does not fit in the cages available, or a
+   *                               monkey with the same name already exists in the isolation.
+   */
+  public void addMonkeys(List<Monkey> monkeys) {
+    int obtainable = cagesObtainable();
+    if (monkeys.size() > obtainable) {
+      throw new IllegalStateException("Error: Cannot add " + monkeys.size() + " Monkeys. Only "
+              + obtainable + " cages available in the Isolation.");
+    }
+    for (Monkey monkey : monkeys) {
+      if (cageNumbers.containsKey(monkey.getName())) {
+        throw new IllegalStateException("Monkey with same name already exists in the Isolation.");
+      }
+    }
+    growAhead(monkeys.size());
+    for (Monkey monkey : monkeys) {
+      this.cageNumbers.put(monkey.getName(), cages.allocate(monkey));
+      this.speciesCount.add(monkey.getSpeciesType());
+    }
   }
 
   /**
@@ -77,7 +141,7 @@ public class Isolation implements SanctuaryInterface {
    */
   @Override
   public boolean isSpaceAvailable() {
-    return spaceAvailable > 0;
+    return cages.available() > 0;
   }
 
   /**
@@ -88,7 +152,29 @@ public class Isolation implements SanctuaryInterface {
    */
   @Override
   public Object lookupMonkey(String monkeyName) {
-    return this.cages.get(monkeyName);
+    Integer cage = this.cageNumbers.get(monkeyName);
+    return cage == null ? null : this.cages.get(cage);
+  }
+
+  /**
+   * To lookup the monkey in a cage of the Isolation.
+   *
+   * @param cageNumber number of the cage.
+   * @return the monkey in the cage, null if the cage is free.
+   */
+  public Monkey lookupCage(int cageNumber) {
+    return this.cages.get(cageNumber);
+  }
+
+  /**
+   * Get the number of the cage a monkey is kept in.
+   *
+   * @param monkeyName for the unique name of the monkey.
+   * @return the number of the cage, -1 if no monkey with the name is in the Isolation.
+   */
+  public int getCageNumber(String monkeyName) {
+    Integer cage = this.cageNumbers.get(monkeyName);
+    return cage == null ? -1 : cage;
   }
 
   /**
@@ -97,17 +183,8 @@ public class Isolation implements SanctuaryInterface {
    * @return species list if found or 'No Species Found'.
    */
   @Override
-  public SortedSet reportAllSpeciesList() {
-    SortedSet<String> speciesList = new TreeSet<>();
-
-    for (Object monkey : cages.values()) {
-      Monkey tempMonkey = (Monkey) monkey;
-      speciesList.add(tempMonkey.getSpeciesType().toString());
-    }
-    if (speciesList.isEmpty()) {
-      speciesList.add("No Species Found");
-    }
-    return speciesList;
+  public SortedSet<String> reportAllSpeciesList() {
+    return speciesCount.speciesList();
   }
 
   /**
@@ -116,12 +193,11 @@ public class Isolation implements SanctuaryInterface {
    * @return list of the monkeys found in the isolation.
    */
   @Override
-  public List reportAllMonkeyInHousing() {
-    List<String> monkeyList = new ArrayList<>();
+  public List<String> reportAllMonkeyInHousing() {
+    List<String> monkeyList = new ArrayList<>(cageNumbers.size());
 
-    for (Object monkey : cages.values()) {
-      Monkey tempMonkey = (Monkey) monkey;
-      monkeyList.add(tempMonkey.toString());
+    for (Monkey monkey : getMonkeys()) {
+      monkeyList.add(monkey.toString());
     }
 
     return monkeyList;
@@ -135,13 +211,38 @@ public class Isolation implements SanctuaryInterface {
    */
   @Override
   public boolean lookupSpecies(Species species) {
-    for (Object monkey : cages.values()) {
-      Monkey tempMonkey = (Monkey) monkey;
-      if (tempMonkey.getSpeciesType() == species) {
-        return true;
+    return speciesCount.contains(species);
+  }
+
+  /**
+   * Monkeys in the Isolation, in alphabetical order of their names.
+   *
+   * @return read-only view of the monkeys in the isolation.
+   */
+  @Override
+  public Collection<Monkey> getMonkeys() {
+    return new AbstractCollection<>() {
+      @Override
+      public Iterator<Monkey> iterator() {
+        Iterator<Integer> cageIterator = cageNumbers.values().iterator();
+        return new Iterator<>() {
+          @Override
+          public boolean hasNext() {
+            return cageIterator.hasNext();
+          }
+
+          @Override
+          public Monkey next() {
+            return cages.get(cageIterator.next());
+          }
+        };
       }
-    }
-    return false;
+
+      @Override
+      public int size() {
+        return cageNumbers.size();
+      }
+    };
   }
 
   /**
@@ -153,8 +254,8 @@ public class Isolation implements SanctuaryInterface {
     if (size <= 0) {
       throw new IllegalArgumentException("Size cannot be 0 or less");
     }
-    this.spaceAvailable += size;
-    this.totalCapacity += size;
+    this.cages.grow(size);
+    this.baseCapacity += size;
   }
 
   /**
@@ -163,7 +264,46 @@ public class Isolation implements SanctuaryInterface {
    * @return the number of the cages occupied.
    */
   public int cageOccupied() {
-    return this.cages.size();
+    return this.cageNumbers.size();
+  }
+
+  /**
+   * Number of cages available.
+   *
+   * @return the number of cages available in the isolation.
+   */
+  public int cagesAvailable() {
+    return this.cages.available();
+  }
+
+  /**
+   * Number of cages available, counting the cages the elasticity policy may still add.
+   *
+   * @return the number of cages the isolation can provide.
+   */
+  public int cagesObtainable() {
+    if (elasticity == null) {
+      return this.cages.available();
+    }
+    return this.cages.available() + Math.max(0, elasticity.getMaxCapacity() - cages.capacity());
+  }
+
+  /**
+   * Set the policy the isolation follows to resize itself with demand.
+   *
+   * @param elasticity the elasticity policy, null to keep a fixed capacity.
+   */
+  public void setElasticity(ElasticCapacity elasticity) {
+    this.elasticity = elasticity;
+  }
+
+  /**
+   * Get the policy the isolation follows to resize itself with demand.
+   *
+   * @return the elasticity policy, null if the capacity is fixed.
+   */
+  public ElasticCapacity getElasticity() {
+    return this.elasticity;
   }
 
   /**
@@ -172,22 +312,120 @@ public class Isolation implements SanctuaryInterface {
    * @return the total capacity of the isolation.
    */
   public int getTotalCages() {
-    return this.totalCapacity;
+    return this.cages.capacity();
+  }
+
+  /**
+   * Get the lock guarding the isolation. Copies of the isolation share the same lock.
+   *
+   * @return the lock of the isolation.
+   */
+  public ReentrantLock getLock() {
+    return this.lock;
   }
 
   /**
    * Remove monkey from the Isolation.
    *
    * @param monkey is the monkey to remove from isolation.
+   * @throws IllegalArgumentException if the monkey does not exist in the isolation.
    */
   public void removeMonkeyFromIsolation(Monkey monkey) {
-    Boolean checkMonkeyExists = cages.containsValue(monkey);
-    if (checkMonkeyExists) {
-      cages.remove(monkey.getName());
-      this.spaceAvailable -= 1;
-    } else {
+    if (!tryRemoveMonkey(monkey).isDone()) {
       throw new IllegalArgumentException("Monkey does not exists in the Isolation");
     }
   }
 
+  /**
+   * Remove monkey from the Isolation, reporting a rejection instead of throwing.
+   *
+   * @param monkey is the monkey to remove from isolation.
+   * @return Done, or NotFound if the monkey is not in the isolation.
+   */
+  public Result<Void> tryRemoveMonkey(Monkey monkey) {
+    Integer cage = cageNumbers.get(monkey.getName());
+    if (cage == null || cages.get(cage) != monkey) {
+      return Result.of(Outcome.NotFound);
+    }
+    freeCage(cage);
+    return Result.of(Outcome.Done);
+  }
+
+  /**
+   * Remove monkey from the Isolation by name.
+   *
+   * @param monkeyName for the unique name of the monkey.
+   * @return the monkey removed from the isolation.
+   * @throws IllegalArgumentException if no monkey with the name exists in the isolation.
+   */
+  public Monkey removeMonkeyFromIsolation(String monkeyName) {
+    Integer cage = cageNumbers.get(monkeyName);
+    if (cage == null) {
+      throw new IllegalArgumentException("Monkey does not exists in the Isolation");
+    }
+    return freeCage(cage);
+  }
+
+  /**
+   * Remove the monkey in a cage from the Isolation.
+   *
+   * @param cageNumber number of the cage.
+   * @return the monkey removed from the isolation.
+   * @throws IllegalArgumentException if the cage is free or does not exist.
+   */
+  public Monkey removeMonkeyFromCage(int cageNumber) {
+    if (cages.get(cageNumber) == null) {
+      throw new IllegalArgumentException("Cage " + cageNumber + " is not occupied");
+    }
+    return freeCage(cageNumber);
+  }
+
+  /**
+   * Free an occupied cage and count its monkey out.
+   *
+   * @param cageNumber number of the cage.
+   * @return the monkey that was in the cage.
+   */
+  private Monkey freeCage(int cageNumber) {
+    Monkey monkey = cages.free(cageNumber);
+    cageNumbers.remove(monkey.getName());
+    speciesCount.remove(monkey.getSpeciesType());
+    releaseIdle();
+    return monkey;
+  }
+
+  /**
+   * Add cages in chunks if the incoming monkeys would take occupancy to the high watermark.
+   * Only called once the monkeys are accepted, so a rejected intake never grows the isolation.
+   *
+   * @param incoming number of monkeys about to be added.
+   */
+  private void growAhead(int incoming) {
+    if (elasticity == null) {
+      return;
+    }
+    int size = elasticity.cagesToAdd(cageNumbers.size() + incoming, cages.capacity());
+    if (size > 0) {
+      cages.grow(size);
+      elasticity.grew(size, cages.capacity());
+    }
+  }
+
+  /**
+   * Release overflow cages in chunks while occupancy stays below the low watermark. Only free
+   * cages at the end of the numbering can be released.
+   */
+  private void releaseIdle() {
+    if (elasticity == null) {
+      return;
+    }
+    int size = elasticity.cagesToRelease(cageNumbers.size(), cages.capacity(), baseCapacity);
+    if (size > 0) {
+      int released = cages.shrink(size);
+      if (released > 0) {
+        elasticity.shrank(released);
+      }
+    }
+  }
+
 }
@@ -0,0 +1,166 @@
+package sanctuary.housing;
+
+import sanctuary.enums.Outcome;
+
+/**
+ * Result of an operation on the sanctuary or one of its housings: the outcome, the value
+ * produced if the operation was done, and a detail explaining a rejection.
+ *
+ * <p>Rejections are an expected part of running a sanctuary, so they are reported with a
+ * Result rather than an exception. A Result for every outcome without a value is allocated
+ * once and shared, so reporting a rejection costs no allocation at all.
+ *
+ * @param <T> type of the value produced.
+ */
+public final class Result<T> {
+
+  //Preallocated -> Index = Outcome ordinal, Value = result of the outcome without a value
+  private static final Result<?>[] PREALLOCATED;
+
+  static {
+    Outcome[] outcomes = Outcome.values();
+    PREALLOCATED = new Result<?>[outcomes.length];
+    for (Outcome outcome : outcomes) {
+      PREALLOCATED[outcome.ordinal()] = new Result<>(outcome, null, detailOf(outcome));
+    }
+  }
+
+  private final Outcome outcome;
+  private final T value;
+  private final String detail;
+
+  /**
+   * Constructor to initialize a Result.
+   *
+   * @param outcome outcome of the operation.
+   * @param value   value produced, null if none.
+   * @param detail  detail of the outcome.
+   */
+  private Result(Outcome outcome, T value, String detail) {
+    this.outcome = outcome;
+    this.value = value;
+    this.detail = detail;
+  }
+
+  /**
+   * Result of an operation done, producing a value.
+   *
+   * @param value value produced, null if none.
+   * @param <T>   type of the value produced.
+   * @return the result, shared if there is no value.
+   */
+  public static <T> Result<T> done(T value) {
+    return value == null ? of(Outcome.Done) : new Result<>(Outcome.Done, value, null);
+  }
+
+  /**
+   * Result of an outcome without a value, allocated once and shared.
+   *
+   * @param outcome outcome of the operation.
+   * @param <T>     type of the value the operation would produce.
+   * @return the shared result of the outcome.
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> Result<T> of(Outcome outcome) {
+    return (Result<T>) PREALLOCATED[outcome.ordinal()];
+  }
+
+  /**
+   * Result of an outcome with a detail of its own, for rejections that need more explaining
+   * than the shared result gives.
+   *
+   * @param outcome outcome of the operation.
+   * @param detail  detail of the outcome.
+   * @param <T>     type of the value the operation would produce.
+   * @return a new result.
+   */
+  public static <T> Result<T> of(Outcome outcome, String detail) {
+    return new Result<>(outcome, null, detail);
+  }
+
+  /**
+   * Pass a rejection on as the result of an operation producing another type of value.
+   *
+   * @param <U> type of the value the operation would produce.
+   * @return this result.
+   * @throws IllegalStateException if the operation was done.
+   */
+  @SuppressWarnings("unchecked")
+  public <U> Result<U> asRejection() {
+    if (isDone()) {
+      throw new IllegalStateException("Result is not a rejection.");
+    }
+    return (Result<U>) this;
+  }
+
+  /**
+   * Check if the operation was done.
+   *
+   * @return boolean true if the outcome is Done.
+   */
+  public boolean isDone() {
+    return outcome == Outcome.Done;
+  }
+
+  /**
+   * Get the outcome of the operation.
+   *
+   * @return the outcome.
+   */
+  public Outcome getOutcome() {
+    return outcome;
+  }
+
+  /**
+   * Get the value produced by the operation.
+   *
+   * @return the value, null if the operation was rejected or produced none.
+   */
+  public T getValue() {
+    return value;
+  }
+
+  /**
+   * Get the detail of the outcome.
+   *
+   * @return the detail, null if the operation was done.
+   */
+  public String getDetail() {
+    return detail;
+  }
+
+  /**
+   * toString method for data representation.
+   *
+   * @return the outcome, with the detail of a rejection.
+   */
+  @Override
+  public String toString() {
+    return detail == null ? outcome.toString() : outcome + ": " + detail;
+  }
+
+  /**
+   * Detail of the shared result of an outcome.
+   *
+   * @param outcome outcome of the operation.
+   * @return the detail, null for Done.
+   */
+  private static String detailOf(Outcome outcome) {
+    switch (outcome) {
+      case DuplicateName:
+        return "A monkey with the same name already exists.";
+      case NoSpace:
+        return "Not enough space available.";
+      case WrongSpecies:
+        return "The housing is designated for another species.";
+      case NoEnclosure:
+        return "No enclosure found for the monkey.";
+      case NotFound:
+        return "The monkey is not in the housing.";
+      case InvalidSize:
+        return "Size cannot be 0 or less.";
+      default:
+        return null;
+    }
+  }
+}
@@ -0,0 +1,95 @@
+package sanctuary.housing;
+
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import sanctuary.enums.Species;
+
+/**
+ * SpeciesCount keeps the number of monkeys of every species living in a housing, so species
+ * lookups and species lists do not have to go through the monkeys.
+ */
+class SpeciesCount {
+
+  private static final Species[] SPECIES = Species.values();
+
+  //Counts -> Index = Species ordinal, Value = number of monkeys of the species
+  private final AtomicIntegerArray counts;
+
+  /**
+   * Constructor to initialize the counts at zero.
+   */
+  SpeciesCount() {
+    this.counts = new AtomicIntegerArray(SPECIES.length);
+  }
+
+  /**
+   * Count a monkey of the species in.
+   *
+   * @param species species of the monkey.
+   */
+  void add(Species species) {
+    counts.incrementAndGet(species.ordinal());
+  }
+
+  /**
+   * Count a number of monkeys of the species in.
+   *
+   * @param species species of the monkeys.
+   * @param number  number of monkeys.
+   */
+  void add(Species species, int number) {
+    counts.addAndGet(species.ordinal(), number);
+  }
+
+  /**
+   * Count a monkey of the species out.
+   *
+   * @param species species of the monkey.
+   */
+  void remove(Species species) {
+    counts.decrementAndGet(species.ordinal());
+  }
+
+  /**
+   * Check if any monkey of the species is counted.
+   *
+   * @param species species to lookup.
+   * @return boolean true if monkey(s) of the species are counted.
+   */
+  boolean contains(Species species) {
+    return counts.get(species.ordinal()) > 0;
+  }
+
+  /**
+   * Number of monkeys counted, of every species.
+   *
+   * @return the number of monkeys.
+   */
+  int total() {
+    int total = 0;
+    for (int i = 0; i < counts.length(); i++) {
+      total += counts.get(i);
+    }
+    return total;
+  }
+
+  /**
+   * Set of Species counted, in the order of the Species enum.
+   *
+   * @return species list if found or 'No Species Found'.
+   */
+  SortedSet<String> speciesList() {
+    SortedSet<String> speciesList = new TreeSet<>();
+    for (Species species : SPECIES) {
+      if (counts.get(species.ordinal()) > 0) {
+        speciesList.add(species.toString());
+      }
+    }
+    if (speciesList.isEmpty()) {
+      speciesList.add("No Species Found");
+    }
+    return speciesList;
+  }
+}
@@ -0,0 +1,43 @@
+package sanctuary.interfaces;
+
+/**
+ * The management interface of the occupancy gauge of a housing, as published over JMX.
+ */
+public interface HousingGaugeMBean {
+
+  /**
+   * Get the name of the housing.
+   *
+   * @return the name of the housing.
+   */
+  String getName();
+
+  /**
+   * Get the capacity of the housing, in cages for the Isolation and in square meters for an
+   * Enclosure.
+   *
+   * @return the capacity of the housing.
+   */
+  int getCapacity();
+
+  /**
+   * Get the part of the capacity occupied, in the same unit as the capacity.
+   *
+   * @return the capacity occupied.
+   */
+  int getOccupied();
+
+  /**
+   * Get the share of the capacity occupied.
+   *
+   * @return the occupancy, from 0 to 1.
+   */
+  double getOccupancy();
+
+  /**
+   * Get the number of times the housing was designated for another species.
+   *
+   * @return the number of re-designations.
+   */
+  long getRedesignationCount();
+}
@@ -0,0 +1,55 @@
+package sanctuary.interfaces;
+
+/**
+ * The management interface of a latency histogram, as published over JMX. Latencies are in
+ * nanoseconds.
+ */
+public interface LatencyHistogramMBean {
+
+  /**
+   * Number of latencies recorded.
+   *
+   * @return the number of latencies recorded.
+   */
+  long getCount();
+
+  /**
+   * Mean of the latencies recorded.
+   *
+   * @return the mean latency, 0 if none was recorded.
+   */
+  double getMeanNanos();
+
+  /**
+   * Largest latency recorded.
+   *
+   * @return the largest latency, 0 if none was recorded.
+   */
+  long getMaxNanos();
+
+  /**
+   * Median of the latencies recorded.
+   *
+   * @return the median latency.
+   */
+  long getMedianNanos();
+
+  /**
+   * 99th percentile of the latencies recorded.
+   *
+   * @return the 99th percentile latency.
+   */
+  long get99thPercentileNanos();
+
+  /**
+   * 99.9th percentile of the latencies recorded.
+   *
+   * @return the 99.9th percentile latency.
+   */
+  long get999thPercentileNanos();
+
+  /**
+   * Clear the latencies recorded.
+   */
+  void reset();
+}
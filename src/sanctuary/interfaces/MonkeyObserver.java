@@ -0,0 +1,38 @@
+package sanctuary.interfaces;
+
+import sanctuary.entities.Monkey;
+import sanctuary.enums.Size;
+
+/**
+ * The observer interface for parties that keep totals derived from the attributes of a monkey,
+ * or otherwise need to know when a monkey changes.
+ */
+public interface MonkeyObserver {
+
+  /**
+   * Notified after the size of the monkey has changed.
+   *
+   * @param monkey   monkey whose size changed.
+   * @param previous size of the monkey before the change.
+   */
+  void sizeChanged(Monkey monkey, Size previous);
+
+  /**
+   * Notified after the weight of the monkey has changed.
+   *
+   * @param monkey   monkey whose weight changed.
+   * @param previous weight of the monkey before the change.
+   */
+  default void weightChanged(Monkey monkey, double previous) {
+  }
+
+  /**
+   * Notified after the age of the monkey has changed.
+   *
+   * @param monkey   monkey whose age changed.
+   * @param previous age of the monkey (in months) before the change.
+   */
+  default void ageChanged(Monkey monkey, double previous) {
+  }
+
+}
@@ -1,5 +1,8 @@
 package sanctuary.interfaces;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
 import java.util.List;
 import java.util.SortedSet;
 
@@ -55,4 +58,27 @@ public interface SanctuaryInterface {
    */
   boolean lookupSpecies(Species species);
 
+  /**
+   * Monkeys in the housing, in alphabetical order of their names.
+   *
+   * @return read-only view of the monkeys in the housing.
+   */
+  Collection<Monkey> getMonkeys();
+
+  /**
+   * Append the monkeys in the housing to the output, one per line, without building a list.
+   *
+   * @param out output the monkeys are appended to.
+   * @throws UncheckedIOException if the output cannot be written.
+   */
+  default void renderAllMonkeyInHousing(Appendable out) {
+    try {
+      for (Monkey monkey : getMonkeys()) {
+        out.append(monkey.toString()).append('\n');
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
 }
@@ -0,0 +1,49 @@
+package sanctuary.interfaces;
+
+/**
+ * The management interface of the counters of a sanctuary, as published over JMX.
+ */
+public interface SanctuaryMetricsMBean {
+
+  /**
+   * Number of monkeys admitted to the Isolation.
+   *
+   * @return the number of intakes.
+   */
+  long getIntakeCount();
+
+  /**
+   * Number of monkeys turned away because a monkey with the same name exists.
+   *
+   * @return the number of intakes rejected for a duplicate name.
+   */
+  long getDuplicateNameRejections();
+
+  /**
+   * Number of monkeys turned away because the Isolation is full.
+   *
+   * @return the number of intakes rejected for lack of space.
+   */
+  long getNoSpaceRejections();
+
+  /**
+   * Number of monkeys shifted from the Isolation to an enclosure.
+   *
+   * @return the number of shifts.
+   */
+  long getShiftCount();
+
+  /**
+   * Number of monkeys that could not be shifted because no enclosure could house them.
+   *
+   * @return the number of shifts rejected.
+   */
+  long getNoEnclosureRejections();
+
+  /**
+   * Number of times an enclosure was designated for another species, over every enclosure.
+   *
+   * @return the number of re-designations.
+   */
+  long getRedesignationCount();
+}
@@ -0,0 +1,249 @@
+package sanctuary.load;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import sanctuary.Sanctuary;
+import sanctuary.entities.Monkey;
+import sanctuary.enums.Foods;
+import sanctuary.enums.Operation;
+import sanctuary.enums.Sex;
+import sanctuary.enums.Size;
+import sanctuary.enums.Species;
+import sanctuary.housing.ElasticCapacity;
+import sanctuary.housing.Enclosure;
+
+/**
+ * LoadGenerator drives a Sanctuary with a synthetic workload: monkeys arrive at a set rate,
+ * a share of them is shifted on to an enclosure, and reports are asked for at a set
+ * frequency. Every operation is timed and the run is summed up in a LoadReport.
+ *
+ * <p>Arrivals are scheduled ahead of time when a rate is set, and their latency is measured
+ * from the time they were due rather than the time they were made, so a stall of the
+ * sanctuary shows up in the latency of every arrival held up behind it.
+ */
+public class LoadGenerator {
+
+  private static final Species[] SPECIES = Species.values();
+  private static final Size[] SIZES = Size.values();
+  private static final Sex[] SEXES = Sex.values();
+  private static final Foods[] FOODS = Foods.values();
+  private static final Operation[] REPORTS = {Operation.ShoppingList, Operation.SpeciesReport,
+          Operation.SignBoard};
+
+  private final WorkloadConfig config;
+  private final Random random;
+  //Cumulative weights -> Index = Species/Size ordinal, Value = sum of the weights up to it
+  private final double[] speciesCumulative;
+  private final double[] sizeCumulative;
+
+  /**
+   * Constructor to initialize the generator.
+   *
+   * @param config workload to generate.
+   * @throws IllegalArgumentException if every species or every size has a weight of 0.
+   */
+  public LoadGenerator(WorkloadConfig config) {
+    this.config = config;
+    this.random = new Random(config.getSeed());
+    this.speciesCumulative = cumulative(config.getSpeciesWeights());
+    this.sizeCumulative = cumulative(config.getSizeWeights());
+    if (speciesCumulative[SPECIES.length - 1] == 0 || sizeCumulative[SIZES.length - 1] == 0) {
+      throw new IllegalArgumentException("At least one species and one size must be weighted.");
+    }
+  }
+
+  /**
+   * Set up a Sanctuary as configured and run the workload against it.
+   *
+   * @return the report of the run.
+   */
+  public LoadReport run() {
+    Sanctuary sanctuary = new Sanctuary();
+    sanctuary.createIsolation(config.getIsolationCages());
+    if (config.isElastic()) {
+      sanctuary.setIsolationElasticity(new ElasticCapacity(0, 0.9, config.getIsolationCages(),
+              Integer.MAX_VALUE));
+    }
+    List<Enclosure> enclosures = createEnclosures(sanctuary);
+    return run(sanctuary, enclosures);
+  }
+
+  /**
+   * Run the workload against a Sanctuary already set up.
+   *
+   * @param sanctuary  sanctuary to drive.
+   * @param enclosures enclosures of the sanctuary asked for in reports.
+   * @return the report of the run.
+   */
+  public LoadReport run(Sanctuary sanctuary, List<Enclosure> enclosures) {
+    LoadReport report = new LoadReport(config);
+    long operations = config.getDurationMillis() > 0 ? Long.MAX_VALUE : config.getOperations();
+    long intervalNanos = config.getArrivalRate() > 0
+            ? (long) (TimeUnit.SECONDS.toNanos(1) / config.getArrivalRate()) : 0;
+    int reportEvery = config.getReportEvery();
+    int nextReport = 0;
+
+    long begin = System.nanoTime();
+    long deadline = begin + TimeUnit.MILLISECONDS.toNanos(config.getDurationMillis());
+    for (long i = 0; i < operations; i++) {
+      long due = begin + i * intervalNanos;
+      long now = System.nanoTime();
+      if (config.getDurationMillis() > 0 && now - deadline >= 0) {
+        break;
+      }
+      if (intervalNanos > 0 && due - now > 0) {
+        LockSupport.parkNanos(due - now);
+      }
+      long start = intervalNanos > 0 ? due : System.nanoTime();
+
+      Monkey monkey = nextMonkey(i);
+      boolean admitted = sanctuary.tryAddMonkeyToSanctuary(monkey).isDone();
+      long end = System.nanoTime();
+      report.record(Operation.Intake, end - start);
+
+      //Only a monkey admitted to the Isolation can be shifted out of it
+      if (random.nextDouble() < config.getShiftRatio() && admitted) {
+        start = end;
+        sanctuary.tryShiftMonkeyToEnclosure(monkey);
+        end = System.nanoTime();
+        report.record(Operation.Shift, end - start);
+      }
+
+      if (reportEvery > 0 && (i + 1) % reportEvery == 0) {
+        Operation operation = REPORTS[nextReport];
+        nextReport = (nextReport + 1) % REPORTS.length;
+        start = end;
+        runReport(sanctuary, enclosures, operation);
+        report.record(operation, System.nanoTime() - start);
+      }
+    }
+    report.finish(System.nanoTime() - begin, sanctuary.getMetrics());
+    return report;
+  }
+
+  /**
+   * Create the enclosures of the workload, designated in proportion to the species weights or
+   * round robin over the weighted species.
+   *
+   * @param sanctuary sanctuary to create the enclosures in.
+   * @return the enclosures created.
+   */
+  List<Enclosure> createEnclosures(Sanctuary sanctuary) {
+    double[] weights = config.getSpeciesWeights();
+    double total = speciesCumulative[SPECIES.length - 1];
+    List<Species> weighted = new ArrayList<>();
+    for (Species species : SPECIES) {
+      if (weights[species.ordinal()] > 0) {
+        weighted.add(species);
+      }
+    }
+    int count = config.getEnclosureCount();
+    int minSize = config.getMinEnclosureSize();
+    int sizeRange = config.getMaxEnclosureSize() - minSize + 1;
+    List<Enclosure> enclosures = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      Species species;
+      if (config.isProportionalLayout()) {
+        //Spread the enclosures over the species weights like stratified samples
+        species = pick(speciesCumulative, SPECIES, (i + 0.5) / count * total);
+      } else {
+        species = weighted.get(i % weighted.size());
+      }
+      int size = minSize + random.nextInt(sizeRange);
+      enclosures.add(sanctuary.tryCreateEnclosure("Enclosure " + (i + 1), size, species)
+              .getValue());
+    }
+    return enclosures;
+  }
+
+  /**
+   * Generate the next arrival.
+   *
+   * @param sequence number of the arrival, which makes its name unique.
+   * @return the monkey arriving.
+   */
+  Monkey nextMonkey(long sequence) {
+    Species species = pick(speciesCumulative, SPECIES,
+            random.nextDouble() * speciesCumulative[SPECIES.length - 1]);
+    Size size = pick(sizeCumulative, SIZES,
+            random.nextDouble() * sizeCumulative[SIZES.length - 1]);
+    return new Monkey("Monkey " + sequence, species, SEXES[random.nextInt(SEXES.length)], size,
+            1 + random.nextInt(40), random.nextInt(360), FOODS[random.nextInt(FOODS.length)]);
+  }
+
+  /**
+   * Ask the Sanctuary for a report.
+   *
+   * @param sanctuary  sanctuary to ask.
+   * @param enclosures enclosures of the sanctuary.
+   * @param operation  report to ask for.
+   */
+  private void runReport(Sanctuary sanctuary, List<Enclosure> enclosures, Operation operation) {
+    Enclosure enclosure = enclosures.isEmpty() ? null
+            : enclosures.get(random.nextInt(enclosures.size()));
+    switch (operation) {
+      case ShoppingList:
+        sanctuary.getShoppingList();
+        break;
+      case SpeciesReport:
+        if (enclosure == null) {
+          sanctuary.getSpeciesListInIsolation();
+        } else {
+          sanctuary.getSpeciesListInEnclosure(enclosure);
+        }
+        break;
+      case SignBoard:
+        if (enclosure != null) {
+          sanctuary.getEnclosureSignBoard(enclosure);
+        }
+        break;
+      default:
+        break;
+    }
+  }
+
+  /**
+   * Sum up weights so a value can be picked by a uniform draw.
+   *
+   * @param weights weights of the values.
+   * @return the cumulative weights.
+   */
+  private static double[] cumulative(double[] weights) {
+    double[] cumulative = new double[weights.length];
+    double sum = 0;
+    for (int i = 0; i < weights.length; i++) {
+      sum += weights[i];
+      cumulative[i] = sum;
+    }
+    return cumulative;
+  }
+
+  /**
+   * Pick the value whose cumulative weight first exceeds a draw, skipping values with no
+   * weight.
+   *
+   * @param cumulative cumulative weights of the values.
+   * @param values     the values.
+   * @param draw       a draw between 0 and the total weight.
+   * @param <T>        type of the values.
+   * @return the value picked.
+   */
+  private static <T> T pick(double[] cumulative, T[] values, double draw) {
+    for (int i = 0; i < values.length; i++) {
+      if (draw < cumulative[i]) {
+        return values[i];
+      }
+    }
+    //Rounding can leave the draw at the total weight, pick the last weighted value
+    for (int i = values.length - 1; i > 0; i--) {
+      if (cumulative[i] > cumulative[i - 1]) {
+        return values[i];
+      }
+    }
+    return values[0];
+  }
+}
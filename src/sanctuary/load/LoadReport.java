@@ -0,0 +1,168 @@
+package sanctuary.load;
+
+import java.util.concurrent.TimeUnit;
+
+import sanctuary.enums.Operation;
+import sanctuary.metrics.LatencyHistogram;
+import sanctuary.metrics.SanctuaryMetrics;
+
+/**
+ * LoadReport sums up a run of the LoadGenerator: how long it ran, the throughput and latency
+ * percentiles of every operation, and how many operations the Sanctuary turned away.
+ */
+public class LoadReport {
+
+  private static final Operation[] OPERATIONS = Operation.values();
+
+  private final WorkloadConfig config;
+  //Latencies -> Index = Operation ordinal, Value = histogram of every call of the operation
+  private final LatencyHistogram[] latencies;
+  private long elapsedNanos;
+  private long admitted;
+  private long noSpace;
+  private long duplicateNames;
+  private long shifted;
+  private long noEnclosure;
+
+  /**
+   * Constructor to initialize an empty report.
+   *
+   * @param config workload of the run.
+   */
+  LoadReport(WorkloadConfig config) {
+    this.config = config;
+    this.latencies = new LatencyHistogram[OPERATIONS.length];
+    for (int i = 0; i < latencies.length; i++) {
+      latencies[i] = new LatencyHistogram();
+    }
+  }
+
+  /**
+   * Record the latency of a call.
+   *
+   * @param operation operation called.
+   * @param nanos     latency of the call (in nanoseconds).
+   */
+  void record(Operation operation, long nanos) {
+    latencies[operation.ordinal()].record(nanos);
+  }
+
+  /**
+   * Close the report with the length of the run and the outcomes counted by the Sanctuary.
+   *
+   * @param elapsedNanos length of the run (in nanoseconds).
+   * @param metrics      metrics of the Sanctuary driven.
+   */
+  void finish(long elapsedNanos, SanctuaryMetrics metrics) {
+    this.elapsedNanos = elapsedNanos;
+    this.admitted = metrics.getIntakeCount();
+    this.noSpace = metrics.getNoSpaceRejections();
+    this.duplicateNames = metrics.getDuplicateNameRejections();
+    this.shifted = metrics.getShiftCount();
+    this.noEnclosure = metrics.getNoEnclosureRejections();
+  }
+
+  /**
+   * Get the length of the run.
+   *
+   * @return length of the run (in nanoseconds).
+   */
+  public long getElapsedNanos() {
+    return elapsedNanos;
+  }
+
+  /**
+   * Get the latencies of an operation.
+   *
+   * @param operation operation called.
+   * @return the histogram of every call of the operation.
+   */
+  public LatencyHistogram getLatency(Operation operation) {
+    return latencies[operation.ordinal()];
+  }
+
+  /**
+   * Get the number of calls of an operation.
+   *
+   * @param operation operation called.
+   * @return the number of calls.
+   */
+  public long getCount(Operation operation) {
+    return latencies[operation.ordinal()].getCount();
+  }
+
+  /**
+   * Get the throughput of an operation over the run.
+   *
+   * @param operation operation called.
+   * @return calls per second, 0 if the run took no time.
+   */
+  public double getThroughput(Operation operation) {
+    return elapsedNanos == 0 ? 0
+            : getCount(operation) * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+  }
+
+  /**
+   * Get the number of monkeys admitted to the Isolation.
+   *
+   * @return the number of monkeys admitted.
+   */
+  public long getAdmitted() {
+    return admitted;
+  }
+
+  /**
+   * Get the number of monkeys turned away, for lack of space or for a duplicate name.
+   *
+   * @return the number of intakes rejected.
+   */
+  public long getIntakeRejections() {
+    return noSpace + duplicateNames;
+  }
+
+  /**
+   * Get the number of monkeys shifted to an enclosure.
+   *
+   * @return the number of shifts.
+   */
+  public long getShifted() {
+    return shifted;
+  }
+
+  /**
+   * Get the number of monkeys that could not be shifted because no enclosure could house them.
+   *
+   * @return the number of shifts rejected.
+   */
+  public long getShiftRejections() {
+    return noEnclosure;
+  }
+
+  /**
+   * toString method for data representation.
+   *
+   * @return the throughput and latency percentiles of every operation called, in
+   *         microseconds.
+   */
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder();
+    builder.append(config).append('\n');
+    builder.append(String.format("Elapsed: %.3f s, Admitted: %d, No space: %d, Duplicate name:"
+                    + " %d, Shifted: %d, No enclosure: %d%n", elapsedNanos / 1e9, admitted,
+            noSpace, duplicateNames, shifted, noEnclosure));
+    builder.append(String.format("%-14s %10s %12s %10s %10s %10s %10s%n", "Operation", "Count",
+            "Ops/s", "p50 us", "p99 us", "p99.9 us", "Max us"));
+    for (Operation operation : OPERATIONS) {
+      LatencyHistogram latency = latencies[operation.ordinal()];
+      if (latency.getCount() == 0) {
+        continue;
+      }
+      builder.append(String.format("%-14s %10d %12.1f %10.2f %10.2f %10.2f %10.2f%n",
+              operation, latency.getCount(), getThroughput(operation),
+              latency.getMedianNanos() / 1e3, latency.get99thPercentileNanos() / 1e3,
+              latency.get999thPercentileNanos() / 1e3, latency.getMaxNanos() / 1e3));
+    }
+    return builder.toString();
+  }
+}
@@ -0,0 +1,478 @@
+package sanctuary.load;
+
+import java.util.Arrays;
+
+import sanctuary.enums.Size;
+import sanctuary.enums.Species;
+
+/**
+ * WorkloadConfig describes a synthetic workload for the LoadGenerator: how fast monkeys
+ * arrive and of which species and sizes, how the enclosures are laid out, how many arrivals
+ * are shifted on to an enclosure and how often reports are asked for, and for how long the
+ * workload runs.
+ *
+ * <p>A configuration can be read from {@code key=value} arguments, see {@link #parse}.
+ */
+public class WorkloadConfig {
+
+  private static final Species[] SPECIES = Species.values();
+  private static final Size[] SIZES = Size.values();
+
+  private double arrivalRate;
+  private long durationMillis;
+  private long operations;
+  private final double[] speciesWeights;
+  private final double[] sizeWeights;
+  private int enclosureCount;
+  private int minEnclosureSize;
+  private int maxEnclosureSize;
+  private boolean proportionalLayout;
+  private int isolationCages;
+  private boolean elastic;
+  private double shiftRatio;
+  private int reportEvery;
+  private long seed;
+
+  /**
+   * Constructor to initialize the default workload: 100 000 arrivals as fast as possible, of
+   * every species and size alike, into 1000 enclosures of 500 square meters laid out in
+   * proportion to the species and an elastic Isolation of 1000 cages, with 9 arrivals in 10
+   * shifted and a report every 100 operations.
+   */
+  public WorkloadConfig() {
+    this.arrivalRate = 0;
+    this.durationMillis = 0;
+    this.operations = 100_000;
+    this.speciesWeights = new double[SPECIES.length];
+    Arrays.fill(speciesWeights, 1);
+    this.sizeWeights = new double[SIZES.length];
+    Arrays.fill(sizeWeights, 1);
+    this.enclosureCount = 1_000;
+    this.minEnclosureSize = 500;
+    this.maxEnclosureSize = 500;
+    this.proportionalLayout = true;
+    this.isolationCages = 1_000;
+    this.elastic = true;
+    this.shiftRatio = 0.9;
+    this.reportEvery = 100;
+    this.seed = 42;
+  }
+
+  /**
+   * Read a workload from {@code key=value} arguments, starting from the default workload.
+   * The keys are:
+   * <ul>
+   *   <li>rate: arrivals per second, 0 for as fast as possible.</li>
+   *   <li>duration: how long to run, such as 30s or 500ms. Overrides operations.</li>
+   *   <li>operations: number of arrivals to run.</li>
+   *   <li>species: weights of the species, such as Drill:3,Spider:1. Species left out are
+   *       not generated.</li>
+   *   <li>sizes: weights of the sizes, such as Small:2,Large:1.</li>
+   *   <li>enclosures: number of enclosures.</li>
+   *   <li>enclosureSize: size of the enclosures in square meters, or a range such as
+   *       20-100.</li>
+   *   <li>layout: proportional to designate the enclosures in proportion to the species
+   *       weights, uniform to designate them round robin.</li>
+   *   <li>cages: cages in the Isolation.</li>
+   *   <li>elastic: true to let the Isolation grow with demand.</li>
+   *   <li>shiftRatio: share of the arrivals shifted to an enclosure, from 0 to 1.</li>
+   *   <li>reportEvery: operations between two reports, 0 for no reports.</li>
+   *   <li>seed: seed of the random generator.</li>
+   * </ul>
+   *
+   * @param args the arguments.
+   * @return the workload.
+   * @throws IllegalArgumentException if an argument is malformed, unknown or out of range.
+   */
+  public static WorkloadConfig parse(String[] args) {
+    WorkloadConfig config = new WorkloadConfig();
+    for (String arg : args) {
+      int separator = arg.indexOf('=');
+      if (separator <= 0) {
+        throw new IllegalArgumentException("Expected key=value but got " + arg);
+      }
+      String key = arg.substring(0, separator);
+      String value = arg.substring(separator + 1);
+      try {
+        config.set(key, value);
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Malformed value for " + key + ": " + value);
+      }
+    }
+    return config;
+  }
+
+  /**
+   * Set a setting from its textual value.
+   *
+   * @param key   name of the setting.
+   * @param value value of the setting.
+   * @throws IllegalArgumentException if the key is unknown or the value is out of range.
+   */
+  private void set(String key, String value) {
+    switch (key) {
+      case "rate":
+        setArrivalRate(Double.parseDouble(value));
+        break;
+      case "duration":
+        setDurationMillis(parseMillis(value));
+        break;
+      case "operations":
+        setOperations(Long.parseLong(value));
+        break;
+      case "species":
+        Arrays.fill(speciesWeights, 0);
+        for (String entry : value.split(",")) {
+          String[] pair = entry.split(":");
+          setSpeciesWeight(Species.valueOf(pair[0]),
+                  pair.length > 1 ? Double.parseDouble(pair[1]) : 1);
+        }
+        break;
+      case "sizes":
+        Arrays.fill(sizeWeights, 0);
+        for (String entry : value.split(",")) {
+          String[] pair = entry.split(":");
+          setSizeWeight(Size.valueOf(pair[0]), pair.length > 1 ? Double.parseDouble(pair[1]) : 1);
+        }
+        break;
+      case "enclosures":
+        setEnclosures(Integer.parseInt(value), minEnclosureSize, maxEnclosureSize);
+        break;
+      case "enclosureSize":
+        int dash = value.indexOf('-');
+        if (dash < 0) {
+          setEnclosures(enclosureCount, Integer.parseInt(value), Integer.parseInt(value));
+        } else {
+          setEnclosures(enclosureCount, Integer.parseInt(value.substring(0, dash)),
+                  Integer.parseInt(value.substring(dash + 1)));
+        }
+        break;
+      case "layout":
+        if (!value.equals("proportional") && !value.equals("uniform")) {
+          throw new IllegalArgumentException("Layout must be proportional or uniform.");
+        }
+        setProportionalLayout(value.equals("proportional"));
+        break;
+      case "cages":
+        setIsolation(Integer.parseInt(value), elastic);
+        break;
+      case "elastic":
+        setIsolation(isolationCages, Boolean.parseBoolean(value));
+        break;
+      case "shiftRatio":
+        setShiftRatio(Double.parseDouble(value));
+        break;
+      case "reportEvery":
+        setReportEvery(Integer.parseInt(value));
+        break;
+      case "seed":
+        setSeed(Long.parseLong(value));
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown workload setting: " + key);
+    }
+  }
+
+  /**
+   * Read a duration such as 30s, 500ms or 2m.
+   *
+   * @param value the duration.
+   * @return the duration in milliseconds.
+   */
+  private static long parseMillis(String value) {
+    if (value.endsWith("ms")) {
+      return Long.parseLong(value.substring(0, value.length() - 2));
+    } else if (value.endsWith("s")) {
+      return Long.parseLong(value.substring(0, value.length() - 1)) * 1000;
+    } else if (value.endsWith("m")) {
+      return Long.parseLong(value.substring(0, value.length() - 1)) * 60_000;
+    }
+    return Long.parseLong(value);
+  }
+
+  /**
+   * Set the arrival rate.
+   *
+   * @param arrivalRate arrivals per second, 0 for as fast as possible.
+   * @throws IllegalArgumentException if the rate is negative.
+   */
+  public void setArrivalRate(double arrivalRate) {
+    if (arrivalRate < 0) {
+      throw new IllegalArgumentException("Arrival rate cannot be negative.");
+    }
+    this.arrivalRate = arrivalRate;
+  }
+
+  /**
+   * Run for a fixed duration rather than a number of arrivals.
+   *
+   * @param durationMillis how long to run (in milliseconds), 0 to run a number of arrivals.
+   * @throws IllegalArgumentException if the duration is negative.
+   */
+  public void setDurationMillis(long durationMillis) {
+    if (durationMillis < 0) {
+      throw new IllegalArgumentException("Duration cannot be negative.");
+    }
+    this.durationMillis = durationMillis;
+  }
+
+  /**
+   * Run a fixed number of arrivals, unless a duration is set.
+   *
+   * @param operations number of arrivals to run.
+   * @throws IllegalArgumentException if the number is 0 or less.
+   */
+  public void setOperations(long operations) {
+    if (operations <= 0) {
+      throw new IllegalArgumentException("Operations cannot be 0 or less.");
+    }
+    this.operations = operations;
+  }
+
+  /**
+   * Set the weight of a species among the arrivals.
+   *
+   * @param species species of the arrivals.
+   * @param weight  relative weight of the species, 0 to leave it out.
+   * @throws IllegalArgumentException if the weight is negative.
+   */
+  public void setSpeciesWeight(Species species, double weight) {
+    if (weight < 0) {
+      throw new IllegalArgumentException("Species weight cannot be negative.");
+    }
+    speciesWeights[species.ordinal()] = weight;
+  }
+
+  /**
+   * Set the weight of a size among the arrivals.
+   *
+   * @param size   size of the arrivals.
+   * @param weight relative weight of the size, 0 to leave it out.
+   * @throws IllegalArgumentException if the weight is negative.
+   */
+  public void setSizeWeight(Size size, double weight) {
+    if (weight < 0) {
+      throw new IllegalArgumentException("Size weight cannot be negative.");
+    }
+    sizeWeights[size.ordinal()] = weight;
+  }
+
+  /**
+   * Set the enclosure layout.
+   *
+   * @param count   number of enclosures.
+   * @param minSize smallest enclosure (in square meters).
+   * @param maxSize largest enclosure (in square meters).
+   * @throws IllegalArgumentException if the count is negative, or the sizes are not
+   *                                  0 < min <= max.
+   */
+  public void setEnclosures(int count, int minSize, int maxSize) {
+    if (count < 0 || minSize <= 0 || minSize > maxSize) {
+      throw new IllegalArgumentException("Enclosures must satisfy count >= 0, 0 < min <= max.");
+    }
+    this.enclosureCount = count;
+    this.minEnclosureSize = minSize;
+    this.maxEnclosureSize = maxSize;
+  }
+
+  /**
+   * Designate the enclosures in proportion to the species weights, or round robin.
+   *
+   * @param proportionalLayout true to designate in proportion to the species weights.
+   */
+  public void setProportionalLayout(boolean proportionalLayout) {
+    this.proportionalLayout = proportionalLayout;
+  }
+
+  /**
+   * Set the Isolation.
+   *
+   * @param cages   cages in the Isolation.
+   * @param elastic true to let the Isolation grow with demand.
+   * @throws IllegalArgumentException if the cages are 0 or less.
+   */
+  public void setIsolation(int cages, boolean elastic) {
+    if (cages <= 0) {
+      throw new IllegalArgumentException("Isolation capacity cannot be 0 or less.");
+    }
+    this.isolationCages = cages;
+    this.elastic = elastic;
+  }
+
+  /**
+   * Set the share of the arrivals shifted to an enclosure.
+   *
+   * @param shiftRatio share of the arrivals shifted, from 0 to 1.
+   * @throws IllegalArgumentException if the ratio is not between 0 and 1.
+   */
+  public void setShiftRatio(double shiftRatio) {
+    if (shiftRatio < 0 || shiftRatio > 1) {
+      throw new IllegalArgumentException("Shift ratio must be between 0 and 1.");
+    }
+    this.shiftRatio = shiftRatio;
+  }
+
+  /**
+   * Set how often a report is asked for.
+   *
+   * @param reportEvery operations between two reports, 0 for no reports.
+   * @throws IllegalArgumentException if the number is negative.
+   */
+  public void setReportEvery(int reportEvery) {
+    if (reportEvery < 0) {
+      throw new IllegalArgumentException("Report frequency cannot be negative.");
+    }
+    this.reportEvery = reportEvery;
+  }
+
+  /**
+   * Set the seed of the random generator, so a workload can be replayed.
+   *
+   * @param seed seed of the random generator.
+   */
+  public void setSeed(long seed) {
+    this.seed = seed;
+  }
+
+  /**
+   * Get the arrival rate.
+   *
+   * @return arrivals per second, 0 for as fast as possible.
+   */
+  public double getArrivalRate() {
+    return arrivalRate;
+  }
+
+  /**
+   * Get the duration of the run.
+   *
+   * @return how long to run (in milliseconds), 0 if a number of arrivals is run.
+   */
+  public long getDurationMillis() {
+    return durationMillis;
+  }
+
+  /**
+   * Get the number of arrivals to run.
+   *
+   * @return number of arrivals to run, unless a duration is set.
+   */
+  public long getOperations() {
+    return operations;
+  }
+
+  /**
+   * Get the weights of the species.
+   *
+   * @return a copy of the weights, indexed by Species ordinal.
+   */
+  public double[] getSpeciesWeights() {
+    return speciesWeights.clone();
+  }
+
+  /**
+   * Get the weights of the sizes.
+   *
+   * @return a copy of the weights, indexed by Size ordinal.
+   */
+  public double[] getSizeWeights() {
+    return sizeWeights.clone();
+  }
+
+  /**
+   * Get the number of enclosures.
+   *
+   * @return number of enclosures.
+   */
+  public int getEnclosureCount() {
+    return enclosureCount;
+  }
+
+  /**
+   * Get the smallest enclosure size.
+   *
+   * @return smallest enclosure (in square meters).
+   */
+  public int getMinEnclosureSize() {
+    return minEnclosureSize;
+  }
+
+  /**
+   * Get the largest enclosure size.
+   *
+   * @return largest enclosure (in square meters).
+   */
+  public int getMaxEnclosureSize() {
+    return maxEnclosureSize;
+  }
+
+  /**
+   * Check if the enclosures are designated in proportion to the species weights.
+   *
+   * @return true if proportional, false if round robin.
+   */
+  public boolean isProportionalLayout() {
+    return proportionalLayout;
+  }
+
+  /**
+   * Get the cages in the Isolation.
+   *
+   * @return cages in the Isolation.
+   */
+  public int getIsolationCages() {
+    return isolationCages;
+  }
+
+  /**
+   * Check if the Isolation grows with demand.
+   *
+   * @return true if the Isolation is elastic.
+   */
+  public boolean isElastic() {
+    return elastic;
+  }
+
+  /**
+   * Get the share of the arrivals shifted to an enclosure.
+   *
+   * @return share of the arrivals shifted, from 0 to 1.
+   */
+  public double getShiftRatio() {
+    return shiftRatio;
+  }
+
+  /**
+   * Get how often a report is asked for.
+   *
+   * @return operations between two reports, 0 for no reports.
+   */
+  public int getReportEvery() {
+    return reportEvery;
+  }
+
+  /**
+   * Get the seed of the random generator.
+   *
+   * @return seed of the random generator.
+   */
+  public long getSeed() {
+    return seed;
+  }
+
+  /**
+   * toString method for data representation.
+   *
+   * @return overview of the workload.
+   */
+  @Override
+  public String toString() {
+    String length = durationMillis > 0 ? durationMillis + " ms" : operations + " arrivals";
+    String rate = arrivalRate > 0 ? arrivalRate + "/s" : "unthrottled";
+    return "Workload: " + length + " at " + rate + ", " + enclosureCount + " enclosures of "
+            + minEnclosureSize + "-" + maxEnclosureSize + " sq m ("
+            + (proportionalLayout ? "proportional" : "uniform") + "), " + isolationCages
+            + " cages" + (elastic ? " (elastic)" : "") + ", shift ratio " + shiftRatio
+            + ", report every " + reportEvery + ", seed " + seed;
+  }
+}
@@ -0,0 +1,148 @@
+package sanctuary.metrics;
+
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import sanctuary.housing.Enclosure;
+import sanctuary.housing.Isolation;
+import sanctuary.interfaces.HousingGaugeMBean;
+
+/**
+ * HousingGauge reads the occupancy of a housing when asked, so keeping it current costs the
+ * housing nothing. Values are read without taking the lock of the housing and may be a moment
+ * out of date.
+ */
+public class HousingGauge implements HousingGaugeMBean {
+
+  private final String name;
+  private final boolean isolation;
+  private final IntSupplier capacity;
+  private final IntSupplier occupied;
+  private final LongSupplier redesignations;
+
+  /**
+   * Constructor to initialize the gauge of a housing.
+   *
+   * @param name           name of the housing.
+   * @param capacity       reads the capacity of the housing.
+   * @param occupied       reads the capacity occupied.
+   * @param redesignations reads the number of times the housing was designated for another
+   *                       species.
+   */
+  public HousingGauge(String name, IntSupplier capacity, IntSupplier occupied,
+                      LongSupplier redesignations) {
+    this(name, false, capacity, occupied, redesignations);
+  }
+
+  /**
+   * Constructor to initialize the gauge of a housing or of the Isolation.
+   * @param name           name of the housing.
+   * @param isolation      true for the gauge of the Isolation.
+   * @param capacity       reads the capacity of the housing.
+   * @param occupied       reads the capacity occupied.
+   * @param redesignations reads the number of times the housing was designated for another
+   *                       species.
+   */
+  private HousingGauge(String name, boolean isolation, IntSupplier capacity,
+                       IntSupplier occupied, LongSupplier redesignations) {
+    this.name = name;
+    this.isolation = isolation;
+    this.capacity = capacity;
+    this.occupied = occupied;
+    this.redesignations = redesignations;
+  }
+
+  /**
+   * Gauge of the Isolation of a sanctuary, in cages. The Isolation is looked up on every read,
+   * so the gauge follows the sanctuary when its Isolation is replaced.
+   *
+   * @param isolation supplies the current Isolation of the sanctuary.
+   * @return the gauge of the Isolation.
+   */
+  public static HousingGauge of(Supplier<Isolation> isolation) {
+    return new HousingGauge("Isolation", true, () -> isolation.get().getTotalCages(),
+            () -> isolation.get().cageOccupied(), () -> 0);
+  }
+
+  /**
+   * Gauge of an Enclosure, in square meters.
+   *
+   * @param enclosure enclosure to be measured.
+   * @return the gauge of the enclosure.
+   */
+  public static HousingGauge of(Enclosure enclosure) {
+    return new HousingGauge(enclosure.getName(), enclosure::getTotalCapacity,
+            () -> enclosure.getTotalCapacity() - enclosure.getAvailableSpace(),
+            enclosure::getRedesignationCount);
+  }
+
+  /**
+   * Get the name of the housing.
+   *
+   * @return the name of the housing.
+   */
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Check if the gauge measures the Isolation, rather than a housing that may share its name.
+   * @return true for the gauge of the Isolation.
+   */
+  public boolean isIsolation() {
+    return isolation;
+  }
+
+  /**
+   * Get the capacity of the housing.
+   *
+   * @return the capacity of the housing.
+   */
+  @Override
+  public int getCapacity() {
+    return capacity.getAsInt();
+  }
+
+  /**
+   * Get the part of the capacity occupied.
+   *
+   * @return the capacity occupied.
+   */
+  @Override
+  public int getOccupied() {
+    return occupied.getAsInt();
+  }
+
+  /**
+   * Get the share of the capacity occupied.
+   *
+   * @return the occupancy, from 0 to 1.
+   */
+  @Override
+  public double getOccupancy() {
+    int total = getCapacity();
+    return total == 0 ? 0 : (double) getOccupied() / total;
+  }
+
+  /**
+   * Get the number of times the housing was designated for another species.
+   *
+   * @return the number of re-designations.
+   */
+  @Override
+  public long getRedesignationCount() {
+    return redesignations.getAsLong();
+  }
+
+  /**
+   * toString method for data representation.
+   *
+   * @return overview of the occupancy of the housing.
+   */
+  @Override
+  public String toString() {
+    return "Housing: " + name + ", Occupied: " + getOccupied() + " of " + getCapacity();
+  }
+}
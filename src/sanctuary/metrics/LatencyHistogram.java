@@ -0,0 +1,198 @@
+package sanctuary.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import sanctuary.interfaces.LatencyHistogramMBean;
+
+/**
+ * LatencyHistogram records latencies without locks, in log-linear buckets: every power of two
+ * is split into 16 buckets, so a percentile is reported within 1/16 of the true latency.
+ * Recording is a few atomic increments, and any number of threads can record at once.
+ *
+ * <p>Percentiles read while latencies are being recorded may miss the latest of them.
+ */
+public class LatencyHistogram implements LatencyHistogramMBean {
+
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  //Buckets -> latencies below 16 have a bucket each, then 16 buckets per power of two up to 2^63
+  private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  private final AtomicLongArray buckets;
+  private final LongAdder count;
+  private final LongAdder total;
+  private final LongAccumulator max;
+
+  /**
+   * Constructor to initialize an empty histogram.
+   */
+  public LatencyHistogram() {
+    this.buckets = new AtomicLongArray(BUCKETS);
+    this.count = new LongAdder();
+    this.total = new LongAdder();
+    this.max = new LongAccumulator(Math::max, 0);
+  }
+
+  /**
+   * Record a latency. Negative latencies are recorded as 0.
+   *
+   * @param nanos latency to be recorded (in nanoseconds).
+   */
+  public void record(long nanos) {
+    long latency = Math.max(nanos, 0);
+    buckets.incrementAndGet(bucketOf(latency));
+    count.increment();
+    total.add(latency);
+    max.accumulate(latency);
+  }
+
+  /**
+   * Get a percentile of the latencies recorded.
+   *
+   * @param percentile percentile to get, from 0 to 100.
+   * @return the largest latency of the bucket holding the percentile, 0 if none was recorded.
+   * @throws IllegalArgumentException if the percentile is not between 0 and 100.
+   */
+  public long getPercentileNanos(double percentile) {
+    if (percentile < 0 || percentile > 100) {
+      throw new IllegalArgumentException("Percentile must be between 0 and 100.");
+    }
+    long[] counts = new long[BUCKETS];
+    long recorded = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      counts[i] = buckets.get(i);
+      recorded += counts[i];
+    }
+    if (recorded == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100 * recorded));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return Math.min(highestOf(i), getMaxNanos());
+      }
+    }
+    return getMaxNanos();
+  }
+
+  /**
+   * Number of latencies recorded.
+   *
+   * @return the number of latencies recorded.
+   */
+  @Override
+  public long getCount() {
+    return count.sum();
+  }
+
+  /**
+   * Mean of the latencies recorded.
+   *
+   * @return the mean latency, 0 if none was recorded.
+   */
+  @Override
+  public double getMeanNanos() {
+    long recorded = count.sum();
+    return recorded == 0 ? 0 : (double) total.sum() / recorded;
+  }
+
+  /**
+   * Largest latency recorded.
+   *
+   * @return the largest latency, 0 if none was recorded.
+   */
+  @Override
+  public long getMaxNanos() {
+    return max.get();
+  }
+
+  /**
+   * Median of the latencies recorded.
+   *
+   * @return the median latency.
+   */
+  @Override
+  public long getMedianNanos() {
+    return getPercentileNanos(50);
+  }
+
+  /**
+   * 99th percentile of the latencies recorded.
+   *
+   * @return the 99th percentile latency.
+   */
+  @Override
+  public long get99thPercentileNanos() {
+    return getPercentileNanos(99);
+  }
+
+  /**
+   * 99.9th percentile of the latencies recorded.
+   *
+   * @return the 99.9th percentile latency.
+   */
+  @Override
+  public long get999thPercentileNanos() {
+    return getPercentileNanos(99.9);
+  }
+
+  /**
+   * Clear the latencies recorded. Latencies recorded while the histogram is cleared may be
+   * partly kept.
+   */
+  @Override
+  public void reset() {
+    for (int i = 0; i < BUCKETS; i++) {
+      buckets.set(i, 0);
+    }
+    count.reset();
+    total.reset();
+    max.reset();
+  }
+
+  /**
+   * toString method for data representation.
+   *
+   * @return overview of the latencies recorded.
+   */
+  @Override
+  public String toString() {
+    return "Count: " + getCount() + ", Mean: " + (long) getMeanNanos() + " ns, Median: "
+            + getMedianNanos() + " ns, 99th: " + get99thPercentileNanos() + " ns, Max: "
+            + getMaxNanos() + " ns";
+  }
+
+  /**
+   * Bucket of a latency.
+   *
+   * @param latency latency (in nanoseconds), 0 or more.
+   * @return the position of the bucket.
+   */
+  static int bucketOf(long latency) {
+    if (latency < SUB_BUCKETS) {
+      return (int) latency;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(latency);
+    int shift = exponent - SUB_BUCKET_BITS;
+    return (shift + 1) * SUB_BUCKETS + (int) ((latency >>> shift) & (SUB_BUCKETS - 1));
+  }
+
+  /**
+   * Largest latency held by a bucket.
+   *
+   * @param bucket position of the bucket.
+   * @return the largest latency (in nanoseconds).
+   */
+  static long highestOf(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+    int shift = bucket / SUB_BUCKETS - 1;
+    long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+    return lowest + (1L << shift) - 1;
+  }
+}
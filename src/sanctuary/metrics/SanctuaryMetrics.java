@@ -0,0 +1,363 @@
+package sanctuary.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+import sanctuary.enums.IntakeOutcome;
+import sanctuary.enums.Operation;
+import sanctuary.interfaces.HousingGaugeMBean;
+import sanctuary.interfaces.LatencyHistogramMBean;
+import sanctuary.interfaces.SanctuaryMetricsMBean;
+
+/**
+ * SanctuaryMetrics is the registry of the metrics of a sanctuary: counters of intakes, shifts
+ * and rejections by reason, a latency histogram per operation and an occupancy gauge per
+ * housing. Counters and histograms are updated without locks, so a sanctuary shared between
+ * threads can record into the same registry.
+ *
+ * <p>Reading the clock costs more than the cheapest reports themselves, so only a sample of
+ * their calls is timed: one in 64 by default. Intakes and shifts are timed on every call.
+ * Counters are always exact.
+ *
+ * <p>Once registered with an MBean server, the registry publishes itself, every histogram and
+ * every gauge as MBeans under its domain, including the gauges of housings added later.
+ */
+public class SanctuaryMetrics implements SanctuaryMetricsMBean {
+
+  private static final IntakeOutcome[] OUTCOMES = IntakeOutcome.values();
+  private static final Operation[] OPERATIONS = Operation.values();
+  private static final int CALLS_STRIDE = 16;
+  //Position of the gauge of the Isolation, ahead of the enclosures
+  private static final int ISOLATION = -1;
+
+  //Outcomes -> Index = IntakeOutcome ordinal, Value = monkeys brought in with the outcome
+  private final LongAdder[] outcomes;
+  private final LongAdder shifts;
+  private final LongAdder shiftRejections;
+  //Latencies -> Index = Operation ordinal, Value = histogram of the operation
+  private final LatencyHistogram[] latencies;
+  //Sampling Masks -> Index = Operation ordinal, Value = 2^k - 1 to time one call in 2^k
+  private final int[] samplingMasks;
+  //Calls -> Index = Operation ordinal * stride, Value = calls so far, counted without
+  //synchronization as a lost count only shifts the sample. Spread out to avoid false sharing.
+  private final int[] calls;
+  //Housings -> Key = position of the housing, the Isolation first and then the enclosures in
+  //the order they were added, Value = gauge of the housing. Names are not unique, an enclosure
+  //may even be named Isolation, so they cannot tell the housings apart.
+  private final Map<Integer, HousingGauge> housings;
+  private int enclosureCount;
+  private MBeanServer server;
+  private String domain;
+
+  /**
+   * Constructor to initialize the registry with every counter at 0.
+   */
+  public SanctuaryMetrics() {
+    this.outcomes = new LongAdder[OUTCOMES.length];
+    for (int i = 0; i < outcomes.length; i++) {
+      outcomes[i] = new LongAdder();
+    }
+    this.shifts = new LongAdder();
+    this.shiftRejections = new LongAdder();
+    this.latencies = new LatencyHistogram[OPERATIONS.length];
+    for (int i = 0; i < latencies.length; i++) {
+      latencies[i] = new LatencyHistogram();
+    }
+    this.samplingMasks = new int[OPERATIONS.length];
+    this.calls = new int[OPERATIONS.length * CALLS_STRIDE];
+    setSampling(Operation.ShoppingList, 64);
+    setSampling(Operation.SpeciesReport, 64);
+    setSampling(Operation.SignBoard, 64);
+    this.housings = new ConcurrentSkipListMap<>();
+  }
+
+  /**
+   * Record the outcome of a monkey brought in to the sanctuary.
+   *
+   * @param outcome outcome of the intake.
+   */
+  public void recordIntake(IntakeOutcome outcome) {
+    outcomes[outcome.ordinal()].increment();
+  }
+
+  /**
+   * Record the outcome of a batch of monkeys brought in to the sanctuary.
+   *
+   * @param outcome outcome of the intake.
+   * @param count   number of monkeys with the outcome.
+   */
+  public void recordIntakes(IntakeOutcome outcome, int count) {
+    outcomes[outcome.ordinal()].add(count);
+  }
+
+  /**
+   * Record a monkey shifted to an enclosure, or turned away for want of an enclosure.
+   *
+   * @param shifted true if the monkey was shifted.
+   */
+  public void recordShift(boolean shifted) {
+    if (shifted) {
+      shifts.increment();
+    } else {
+      shiftRejections.increment();
+    }
+  }
+
+  /**
+   * Time one call of an operation in every interval.
+   *
+   * @param operation operation measured.
+   * @param interval  calls per call timed, a power of two (1 to time every call).
+   * @throws IllegalArgumentException if the interval is not a power of two.
+   */
+  public void setSampling(Operation operation, int interval) {
+    if (interval <= 0 || Integer.bitCount(interval) != 1) {
+      throw new IllegalArgumentException("Sampling interval must be a power of two.");
+    }
+    samplingMasks[operation.ordinal()] = interval - 1;
+  }
+
+  /**
+   * Start timing a call of an operation, if the call is sampled.
+   *
+   * @param operation operation measured.
+   * @return the time the call started, as given by System.nanoTime(), or -1 if the call is not
+   *         timed.
+   */
+  public long startTimer(Operation operation) {
+    int mask = samplingMasks[operation.ordinal()];
+    if (mask != 0 && (++calls[operation.ordinal() * CALLS_STRIDE] & mask) != 0) {
+      return -1;
+    }
+    return System.nanoTime();
+  }
+
+  /**
+   * Record the latency of a call of an operation.
+   *
+   * @param operation operation measured.
+   * @param start     time the call started, as given by startTimer, -1 if it is not timed.
+   */
+  public void recordLatency(Operation operation, long start) {
+    if (start != -1) {
+      latencies[operation.ordinal()].record(System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Get the latency histogram of an operation.
+   *
+   * @param operation operation measured.
+   * @return the latency histogram of the operation.
+   */
+  public LatencyHistogram getLatency(Operation operation) {
+    return latencies[operation.ordinal()];
+  }
+
+  /**
+   * Add the occupancy gauge of a housing. The gauge of an enclosure is added after those of
+   * the enclosures added before it, whatever its name, while the gauge of the Isolation
+   * replaces the gauge of the previous Isolation.
+   *
+   * @param gauge gauge of the housing.
+   */
+  public synchronized void addHousing(HousingGauge gauge) {
+    int position = gauge.isIsolation() ? ISOLATION : enclosureCount++;
+    HousingGauge previous = housings.put(position, gauge);
+    if (server != null) {
+      if (previous != null) {
+        withdraw(housingName(position, previous));
+      }
+      publish(housingName(position, gauge), gauge, HousingGaugeMBean.class);
+    }
+  }
+
+  /**
+   * Get the occupancy gauge of a housing.
+   *
+   * @param name name of the housing.
+   * @return the gauge of the first housing with the name, the Isolation first and then the
+   *         enclosures in the order they were added, null if no housing has the name.
+   */
+  public HousingGauge getHousing(String name) {
+    for (HousingGauge gauge : housings.values()) {
+      if (gauge.getName().equals(name)) {
+        return gauge;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Get the occupancy gauges of every housing.
+   *
+   * @return the gauges, the Isolation first and then the enclosures in the order they were
+   *         added.
+   */
+  public List<HousingGauge> getHousings() {
+    return new ArrayList<>(housings.values());
+  }
+
+  /**
+   * Publish the registry, its histograms and its gauges as MBeans. The registry is published
+   * as {@code <domain>:type=Sanctuary}, each histogram as {@code <domain>:type=Latency,name=}
+   * the operation and each gauge as {@code <domain>:type=Housing,id=} the position of the
+   * enclosure, or Isolation, {@code ,name=} the name of the housing quoted.
+   *
+   * @param server server to register the MBeans with.
+   * @param domain domain of the names of the MBeans.
+   * @throws IllegalStateException if the registry is already registered, or a name is taken.
+   */
+  public synchronized void register(MBeanServer server, String domain) {
+    if (this.server != null) {
+      throw new IllegalStateException("Metrics are already registered with an MBean server.");
+    }
+    this.server = server;
+    this.domain = domain;
+    publish(domain + ":type=Sanctuary", this, SanctuaryMetricsMBean.class);
+    for (Operation operation : OPERATIONS) {
+      publish(domain + ":type=Latency,name=" + operation, latencies[operation.ordinal()],
+              LatencyHistogramMBean.class);
+    }
+    for (Map.Entry<Integer, HousingGauge> housing : housings.entrySet()) {
+      publish(housingName(housing.getKey(), housing.getValue()), housing.getValue(),
+              HousingGaugeMBean.class);
+    }
+  }
+
+  /**
+   * Remove every MBean published by the registry.
+   */
+  public synchronized void unregister() {
+    if (server == null) {
+      return;
+    }
+    withdraw(domain + ":type=Sanctuary");
+    for (Operation operation : OPERATIONS) {
+      withdraw(domain + ":type=Latency,name=" + operation);
+    }
+    for (Map.Entry<Integer, HousingGauge> housing : housings.entrySet()) {
+      withdraw(housingName(housing.getKey(), housing.getValue()));
+    }
+    server = null;
+    domain = null;
+  }
+
+  /**
+   * Number of monkeys admitted to the Isolation.
+   *
+   * @return the number of intakes.
+   */
+  @Override
+  public long getIntakeCount() {
+    return outcomes[IntakeOutcome.Admitted.ordinal()].sum();
+  }
+
+  /**
+   * Number of monkeys turned away because a monkey with the same name exists.
+   *
+   * @return the number of intakes rejected for a duplicate name.
+   */
+  @Override
+  public long getDuplicateNameRejections() {
+    return outcomes[IntakeOutcome.DuplicateName.ordinal()].sum();
+  }
+
+  /**
+   * Number of monkeys turned away because the Isolation is full.
+   *
+   * @return the number of intakes rejected for lack of space.
+   */
+  @Override
+  public long getNoSpaceRejections() {
+    return outcomes[IntakeOutcome.NoSpace.ordinal()].sum();
+  }
+
+  /**
+   * Number of monkeys shifted from the Isolation to an enclosure.
+   *
+   * @return the number of shifts.
+   */
+  @Override
+  public long getShiftCount() {
+    return shifts.sum();
+  }
+
+  /**
+   * Number of monkeys that could not be shifted because no enclosure could house them.
+   *
+   * @return the number of shifts rejected.
+   */
+  @Override
+  public long getNoEnclosureRejections() {
+    return shiftRejections.sum();
+  }
+
+  /**
+   * Number of times an enclosure was designated for another species, over every enclosure.
+   *
+   * @return the number of re-designations.
+   */
+  @Override
+  public long getRedesignationCount() {
+    long total = 0;
+    for (HousingGauge gauge : housings.values()) {
+      total += gauge.getRedesignationCount();
+    }
+    return total;
+  }
+
+  /**
+   * Name of the MBean of the gauge of a housing, told apart by its position as names may be
+   * shared.
+   *
+   * @param position position of the housing, ISOLATION for the Isolation.
+   * @param gauge    gauge of the housing.
+   * @return the name of the MBean.
+   */
+  private String housingName(int position, HousingGauge gauge) {
+    return domain + ":type=Housing,id=" + (position == ISOLATION ? "Isolation" : position)
+            + ",name=" + ObjectName.quote(gauge.getName());
+  }
+
+  /**
+   * Register an MBean with the server.
+   *
+   * @param name           name of the MBean.
+   * @param mbean          the MBean.
+   * @param mbeanInterface management interface of the MBean.
+   * @param <T>            type of the management interface.
+   * @throws IllegalStateException if the MBean cannot be registered.
+   */
+  private <T> void publish(String name, T mbean, Class<T> mbeanInterface) {
+    try {
+      server.registerMBean(new StandardMBean(mbean, mbeanInterface), new ObjectName(name));
+    } catch (JMException e) {
+      throw new IllegalStateException("Cannot register " + name + ": " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Unregister an MBean from the server, if it is registered.
+   *
+   * @param name name of the MBean.
+   * @throws IllegalStateException if the MBean cannot be unregistered.
+   */
+  private void withdraw(String name) {
+    try {
+      ObjectName objectName = new ObjectName(name);
+      if (server.isRegistered(objectName)) {
+        server.unregisterMBean(objectName);
+      }
+    } catch (JMException e) {
+      throw new IllegalStateException("Cannot unregister " + name + ": " + e.getMessage(), e);
+    }
+  }
+}
@@ -0,0 +1,248 @@
+package sanctuary.query;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+
+import sanctuary.entities.Monkey;
+import sanctuary.enums.Foods;
+import sanctuary.enums.Sex;
+import sanctuary.enums.Size;
+import sanctuary.enums.Species;
+
+/**
+ * MonkeyQuery holds the criteria of a search over the monkeys of a sanctuary. Every criterion
+ * left unset matches any monkey, and a monkey must match every criterion set.
+ *
+ * <p>For example, all female Large Howlers of 20 kg or more:
+ * <pre>{@code
+ * new MonkeyQuery().species(Species.Howler).sex(Sex.Female).size(Size.Large)
+ *     .weightBetween(20, Double.POSITIVE_INFINITY)
+ * }</pre>
+ */
+public class MonkeyQuery {
+
+  private EnumSet<Species> species;
+  private EnumSet<Sex> sexes;
+  private EnumSet<Size> sizes;
+  private EnumSet<Foods> foods;
+  private double minWeight;
+  private double maxWeight;
+  private double minAge;
+  private double maxAge;
+
+  /**
+   * Constructor to initialize a query matching every monkey.
+   */
+  public MonkeyQuery() {
+    this.minWeight = Double.NEGATIVE_INFINITY;
+    this.maxWeight = Double.POSITIVE_INFINITY;
+    this.minAge = Double.NEGATIVE_INFINITY;
+    this.maxAge = Double.POSITIVE_INFINITY;
+  }
+
+  /**
+   * Match monkeys of any of the species.
+   *
+   * @param values species to match.
+   * @return this query.
+   */
+  public MonkeyQuery species(Species... values) {
+    this.species = EnumSet.noneOf(Species.class);
+    this.species.addAll(Arrays.asList(values));
+    return this;
+  }
+
+  /**
+   * Match monkeys of any of the sexes.
+   *
+   * @param values sexes to match.
+   * @return this query.
+   */
+  public MonkeyQuery sex(Sex... values) {
+    this.sexes = EnumSet.noneOf(Sex.class);
+    this.sexes.addAll(Arrays.asList(values));
+    return this;
+  }
+
+  /**
+   * Match monkeys of any of the sizes.
+   *
+   * @param values sizes to match.
+   * @return this query.
+   */
+  public MonkeyQuery size(Size... values) {
+    this.sizes = EnumSet.noneOf(Size.class);
+    this.sizes.addAll(Arrays.asList(values));
+    return this;
+  }
+
+  /**
+   * Match monkeys with any of the favourite foods.
+   *
+   * @param values favourite foods to match.
+   * @return this query.
+   */
+  public MonkeyQuery favoriteFood(Foods... values) {
+    this.foods = EnumSet.noneOf(Foods.class);
+    this.foods.addAll(Arrays.asList(values));
+    return this;
+  }
+
+  /**
+   * Match monkeys with a weight in the range, bounds included.
+   *
+   * @param min lightest weight matched.
+   * @param max heaviest weight matched.
+   * @return this query.
+   * @throws IllegalArgumentException if min is greater than max.
+   */
+  public MonkeyQuery weightBetween(double min, double max) {
+    if (min > max) {
+      throw new IllegalArgumentException("Minimum weight cannot be greater than maximum.");
+    }
+    this.minWeight = min;
+    this.maxWeight = max;
+    return this;
+  }
+
+  /**
+   * Match monkeys with an age in the range, bounds included.
+   *
+   * @param min youngest age matched (in months).
+   * @param max oldest age matched (in months).
+   * @return this query.
+   * @throws IllegalArgumentException if min is greater than max.
+   */
+  public MonkeyQuery ageBetween(double min, double max) {
+    if (min > max) {
+      throw new IllegalArgumentException("Minimum age cannot be greater than maximum.");
+    }
+    this.minAge = min;
+    this.maxAge = max;
+    return this;
+  }
+
+  /**
+   * Check if a monkey matches every criterion of the query.
+   *
+   * @param monkey monkey to be checked.
+   * @return boolean true if the monkey matches.
+   */
+  public boolean matches(Monkey monkey) {
+    return (species == null || species.contains(monkey.getSpeciesType()))
+            && (sexes == null || sexes.contains(monkey.getSex()))
+            && (sizes == null || sizes.contains(monkey.getSize()))
+            && (foods == null || foods.contains(monkey.getFavoriteFood()))
+            && matchesWeight(monkey.getWeight()) && matchesAge(monkey.getAge());
+  }
+
+  /**
+   * Check if a weight is in the range of the query.
+   *
+   * @param weight weight to be checked.
+   * @return boolean true if the weight is in range.
+   */
+  boolean matchesWeight(double weight) {
+    return weight >= minWeight && weight <= maxWeight;
+  }
+
+  /**
+   * Check if an age is in the range of the query.
+   *
+   * @param age age to be checked (in months).
+   * @return boolean true if the age is in range.
+   */
+  boolean matchesAge(double age) {
+    return age >= minAge && age <= maxAge;
+  }
+
+  /**
+   * Get the species matched.
+   *
+   * @return the species, null if any species matches.
+   */
+  EnumSet<Species> getSpecies() {
+    return species;
+  }
+
+  /**
+   * Get the sexes matched.
+   *
+   * @return the sexes, null if any sex matches.
+   */
+  EnumSet<Sex> getSexes() {
+    return sexes;
+  }
+
+  /**
+   * Get the sizes matched.
+   *
+   * @return the sizes, null if any size matches.
+   */
+  EnumSet<Size> getSizes() {
+    return sizes;
+  }
+
+  /**
+   * Get the favourite foods matched.
+   *
+   * @return the favourite foods, null if any food matches.
+   */
+  EnumSet<Foods> getFoods() {
+    return foods;
+  }
+
+  /**
+   * Check if the query restricts the weight.
+   *
+   * @return boolean true if a weight range is set.
+   */
+  boolean hasWeightRange() {
+    return minWeight != Double.NEGATIVE_INFINITY || maxWeight != Double.POSITIVE_INFINITY;
+  }
+
+  /**
+   * Check if the query restricts the age.
+   *
+   * @return boolean true if an age range is set.
+   */
+  boolean hasAgeRange() {
+    return minAge != Double.NEGATIVE_INFINITY || maxAge != Double.POSITIVE_INFINITY;
+  }
+
+  /**
+   * Get the lightest weight matched.
+   *
+   * @return the lightest weight.
+   */
+  double getMinWeight() {
+    return minWeight;
+  }
+
+  /**
+   * Get the heaviest weight matched.
+   *
+   * @return the heaviest weight.
+   */
+  double getMaxWeight() {
+    return maxWeight;
+  }
+
+  /**
+   * Get the youngest age matched.
+   *
+   * @return the youngest age (in months).
+   */
+  double getMinAge() {
+    return minAge;
+  }
+
+  /**
+   * Get the oldest age matched.
+   *
+   * @return the oldest age (in months).
+   */
+  double getMaxAge() {
+    return maxAge;
+  }
+}
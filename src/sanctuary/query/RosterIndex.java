@@ -0,0 +1,479 @@
+package sanctuary.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import sanctuary.entities.Monkey;
+import sanctuary.enums.Foods;
+import sanctuary.enums.Sex;
+import sanctuary.enums.Size;
+import sanctuary.enums.Species;
+import sanctuary.interfaces.MonkeyObserver;
+
+/**
+ * RosterIndex indexes every monkey of a sanctuary by its attributes, to answer a MonkeyQuery
+ * without going through every monkey.
+ *
+ * <p>Every monkey is given a slot, numbered from 0. The enum attributes have a bitmap of
+ * slots per value, and weight and age have the slots sorted by value. A query ORs the
+ * bitmaps of the values it accepts for each attribute and ANDs the attributes together, then
+ * narrows the slots left by weight and age: with the slots of the range when the range is
+ * the smaller set, or else by checking the candidates left one by one.
+ *
+ * <p>The index observes the monkeys it holds, so a change of size, weight or age is applied
+ * as it happens.
+ */
+public class RosterIndex implements MonkeyObserver {
+
+  private static final int INITIAL_SLOTS = 16;
+
+  //Slots -> Index = slot, Value = monkey in the slot, null if the slot is free
+  private Monkey[] monkeys;
+  //Slot Numbers -> Key = name of monkey, Value = slot of the monkey
+  private final Map<String, Integer> slotNumbers;
+  private int[] freeSlots;
+  private int freeCount;
+  private int nextSlot;
+  private final BitSet live;
+  //Bitmaps -> Index = enum ordinal, Value = slots of the monkeys with the value
+  private final BitSet[] speciesBits;
+  private final BitSet[] sexBits;
+  private final BitSet[] sizeBits;
+  private final BitSet[] foodBits;
+  private final SortedColumn weights;
+  private final SortedColumn ages;
+
+  /**
+   * Constructor to initialize an empty index.
+   */
+  public RosterIndex() {
+    this.monkeys = new Monkey[INITIAL_SLOTS];
+    this.slotNumbers = new HashMap<>();
+    this.freeSlots = new int[INITIAL_SLOTS];
+    this.live = new BitSet();
+    this.speciesBits = bitmaps(Species.values().length);
+    this.sexBits = bitmaps(Sex.values().length);
+    this.sizeBits = bitmaps(Size.values().length);
+    this.foodBits = bitmaps(Foods.values().length);
+    this.weights = new SortedColumn();
+    this.ages = new SortedColumn();
+  }
+
+  /**
+   * Add a monkey to the index.
+   *
+   * @param monkey monkey to be indexed.
+   * @throws IllegalArgumentException if a monkey with the same name is already indexed.
+   */
+  public void add(Monkey monkey) {
+    if (slotNumbers.containsKey(monkey.getName())) {
+      throw new IllegalArgumentException("Monkey " + monkey.getName() + " is already indexed.");
+    }
+    int slot;
+    if (freeCount > 0) {
+      slot = freeSlots[--freeCount];
+    } else {
+      slot = nextSlot++;
+      if (slot == monkeys.length) {
+        monkeys = Arrays.copyOf(monkeys, slot * 2);
+      }
+    }
+    monkeys[slot] = monkey;
+    slotNumbers.put(monkey.getName(), slot);
+    live.set(slot);
+    speciesBits[monkey.getSpeciesType().ordinal()].set(slot);
+    sexBits[monkey.getSex().ordinal()].set(slot);
+    if (monkey.getSize() != null) {
+      sizeBits[monkey.getSize().ordinal()].set(slot);
+    }
+    foodBits[monkey.getFavoriteFood().ordinal()].set(slot);
+    weights.insert(slot, monkey.getWeight());
+    ages.insert(slot, monkey.getAge());
+    monkey.addObserver(this);
+  }
+
+  /**
+   * Remove a monkey from the index.
+   *
+   * @param monkey monkey to be removed.
+   */
+  public void remove(Monkey monkey) {
+    Integer slot = slotNumbers.remove(monkey.getName());
+    if (slot == null) {
+      return;
+    }
+    monkey.removeObserver(this);
+    monkeys[slot] = null;
+    live.clear(slot);
+    speciesBits[monkey.getSpeciesType().ordinal()].clear(slot);
+    sexBits[monkey.getSex().ordinal()].clear(slot);
+    if (monkey.getSize() != null) {
+      sizeBits[monkey.getSize().ordinal()].clear(slot);
+    }
+    foodBits[monkey.getFavoriteFood().ordinal()].clear(slot);
+    weights.delete(slot);
+    ages.delete(slot);
+    if (freeCount == freeSlots.length) {
+      freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+    }
+    freeSlots[freeCount++] = slot;
+  }
+
+  /**
+   * Move a monkey to the bitmap of its new size.
+   *
+   * @param monkey   monkey whose size changed.
+   * @param previous size of the monkey before the change.
+   */
+  @Override
+  public void sizeChanged(Monkey monkey, Size previous) {
+    int slot = slotNumbers.get(monkey.getName());
+    if (previous != null) {
+      sizeBits[previous.ordinal()].clear(slot);
+    }
+    if (monkey.getSize() != null) {
+      sizeBits[monkey.getSize().ordinal()].set(slot);
+    }
+  }
+
+  /**
+   * Move a monkey to the position of its new weight.
+   *
+   * @param monkey   monkey whose weight changed.
+   * @param previous weight of the monkey before the change.
+   */
+  @Override
+  public void weightChanged(Monkey monkey, double previous) {
+    int slot = slotNumbers.get(monkey.getName());
+    weights.delete(slot);
+    weights.insert(slot, monkey.getWeight());
+  }
+
+  /**
+   * Move a monkey to the position of its new age.
+   *
+   * @param monkey   monkey whose age changed.
+   * @param previous age of the monkey before the change.
+   */
+  @Override
+  public void ageChanged(Monkey monkey, double previous) {
+    int slot = slotNumbers.get(monkey.getName());
+    ages.delete(slot);
+    ages.insert(slot, monkey.getAge());
+  }
+
+  /**
+   * Number of monkeys in the index.
+   *
+   * @return the number of monkeys indexed.
+   */
+  public int size() {
+    return slotNumbers.size();
+  }
+
+  /**
+   * Find the monkeys matching a query.
+   *
+   * @param query criteria of the search.
+   * @return list of the monkeys found, in alphabetical order of their names.
+   */
+  public List<Monkey> find(MonkeyQuery query) {
+    BitSet slots = evaluate(query, null);
+    List<Monkey> found = new ArrayList<>(slots.cardinality());
+    for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+      found.add(monkeys[slot]);
+    }
+    found.sort(Comparator.comparing(Monkey::getName));
+    return found;
+  }
+
+  /**
+   * Describe how a query is answered: the bitmaps intersected, the ranges of the sorted
+   * columns taken and the candidates checked one by one, with the number of monkeys left
+   * after each step.
+   *
+   * @param query criteria of the search.
+   * @return the steps of the plan, separated by AND.
+   */
+  public String explain(MonkeyQuery query) {
+    List<String> plan = new ArrayList<>();
+    evaluate(query, plan);
+    return String.join(" AND ", plan);
+  }
+
+  /**
+   * Find the slots of the monkeys matching a query.
+   *
+   * @param query criteria of the search.
+   * @param plan  steps of the plan are added to it, null to skip them.
+   * @return the slots found.
+   */
+  private BitSet evaluate(MonkeyQuery query, List<String> plan) {
+    BitSet slots = null;
+    slots = intersect(slots, query.getSpecies(), speciesBits, "Species", plan);
+    slots = intersect(slots, query.getSexes(), sexBits, "Sex", plan);
+    slots = intersect(slots, query.getSizes(), sizeBits, "Size", plan);
+    slots = intersect(slots, query.getFoods(), foodBits, "Food", plan);
+
+    int weightFrom = weights.lowerBound(query.getMinWeight());
+    int weightTo = weights.upperBound(query.getMaxWeight());
+    int ageFrom = ages.lowerBound(query.getMinAge());
+    int ageTo = ages.upperBound(query.getMaxAge());
+    boolean ageFirst = query.hasAgeRange()
+            && (!query.hasWeightRange() || ageTo - ageFrom < weightTo - weightFrom);
+    if (ageFirst) {
+      slots = narrow(slots, ages, ageFrom, ageTo, query.getMinAge(), query.getMaxAge(), "Age",
+              plan);
+    }
+    if (query.hasWeightRange()) {
+      slots = narrow(slots, weights, weightFrom, weightTo, query.getMinWeight(),
+              query.getMaxWeight(), "Weight", plan);
+    }
+    if (query.hasAgeRange() && !ageFirst) {
+      slots = narrow(slots, ages, ageFrom, ageTo, query.getMinAge(), query.getMaxAge(), "Age",
+              plan);
+    }
+    if (slots == null) {
+      slots = (BitSet) live.clone();
+      if (plan != null) {
+        plan.add("All: " + slots.cardinality());
+      }
+    }
+    return slots;
+  }
+
+  /**
+   * Intersect the slots found so far with the slots of the values accepted for an attribute.
+   *
+   * @param slots    slots found so far, null if no attribute was applied yet.
+   * @param values   values accepted, null if any value is.
+   * @param bitmaps  bitmaps of the attribute, by enum ordinal.
+   * @param name     name of the attribute, for the plan.
+   * @param plan     steps of the plan, null to skip them.
+   * @param <E>      type of the attribute.
+   * @return the slots found.
+   */
+  private static <E extends Enum<E>> BitSet intersect(BitSet slots, EnumSet<E> values,
+                                                     BitSet[] bitmaps, String name,
+                                                     List<String> plan) {
+    if (values == null) {
+      return slots;
+    }
+    BitSet union = new BitSet();
+    for (E value : values) {
+      union.or(bitmaps[value.ordinal()]);
+    }
+    if (slots == null) {
+      slots = union;
+    } else {
+      slots.and(union);
+    }
+    if (plan != null) {
+      plan.add("Bitmap " + name + " " + values + ": " + slots.cardinality());
+    }
+    return slots;
+  }
+
+  /**
+   * Narrow the slots found so far to a range of a sorted column, taking the slots of the
+   * range when there are fewer of them than candidates, or else checking every candidate.
+   *
+   * @param slots  slots found so far, null if no attribute was applied yet.
+   * @param column sorted column of the attribute.
+   * @param from   first position of the range in the column.
+   * @param to     position after the last of the range in the column.
+   * @param min    lowest value of the range.
+   * @param max    highest value of the range.
+   * @param name   name of the attribute, for the plan.
+   * @param plan   steps of the plan, null to skip them.
+   * @return the slots found.
+   */
+  private static BitSet narrow(BitSet slots, SortedColumn column, int from, int to,
+                               double min, double max, String name, List<String> plan) {
+    int candidates = slots == null ? Integer.MAX_VALUE : slots.cardinality();
+    String step;
+    if (to - from <= candidates) {
+      BitSet range = new BitSet();
+      column.collect(from, to, range);
+      if (slots == null) {
+        slots = range;
+      } else {
+        slots.and(range);
+      }
+      step = "Range ";
+    } else {
+      for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+        double value = column.valueOf(slot);
+        if (value < min || value > max) {
+          slots.clear(slot);
+        }
+      }
+      step = "Probe ";
+    }
+    if (plan != null) {
+      plan.add(step + name + " [" + min + ", " + max + "]: " + slots.cardinality());
+    }
+    return slots;
+  }
+
+  /**
+   * Create a bitmap for every value of an attribute.
+   *
+   * @param count number of values of the attribute.
+   * @return the bitmaps.
+   */
+  private static BitSet[] bitmaps(int count) {
+    BitSet[] bitmaps = new BitSet[count];
+    for (int i = 0; i < count; i++) {
+      bitmaps[i] = new BitSet();
+    }
+    return bitmaps;
+  }
+
+  /**
+   * Slots sorted by the value of an attribute, ties sorted by slot, in parallel primitive
+   * arrays. Values are found by binary search and moved with a single array copy.
+   */
+  private static final class SortedColumn {
+
+    private double[] values;
+    private int[] slots;
+    private int size;
+    //Slot Values -> Index = slot, Value = value of the slot in the column
+    private double[] slotValues;
+
+    /**
+     * Constructor to initialize an empty column.
+     */
+    SortedColumn() {
+      this.values = new double[INITIAL_SLOTS];
+      this.slots = new int[INITIAL_SLOTS];
+      this.slotValues = new double[INITIAL_SLOTS];
+    }
+
+    /**
+     * Insert a slot at the position of its value.
+     *
+     * @param slot  slot to be inserted.
+     * @param value value of the slot.
+     */
+    void insert(int slot, double value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+        slots = Arrays.copyOf(slots, size * 2);
+      }
+      if (slot >= slotValues.length) {
+        slotValues = Arrays.copyOf(slotValues, Math.max(slot + 1, slotValues.length * 2));
+      }
+      int position = position(value, slot);
+      System.arraycopy(values, position, values, position + 1, size - position);
+      System.arraycopy(slots, position, slots, position + 1, size - position);
+      values[position] = value;
+      slots[position] = slot;
+      slotValues[slot] = value;
+      size++;
+    }
+
+    /**
+     * Delete a slot from the column.
+     *
+     * @param slot slot to be deleted.
+     */
+    void delete(int slot) {
+      int position = position(slotValues[slot], slot);
+      System.arraycopy(values, position + 1, values, position, size - position - 1);
+      System.arraycopy(slots, position + 1, slots, position, size - position - 1);
+      size--;
+    }
+
+    /**
+     * Get the value of a slot.
+     *
+     * @param slot slot in the column.
+     * @return the value of the slot.
+     */
+    double valueOf(int slot) {
+      return slotValues[slot];
+    }
+
+    /**
+     * First position with a value of at least the bound.
+     *
+     * @param bound lowest value.
+     * @return the position, size if every value is below the bound.
+     */
+    int lowerBound(double bound) {
+      int low = 0;
+      int high = size;
+      while (low < high) {
+        int middle = (low + high) >>> 1;
+        if (values[middle] < bound) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+      return low;
+    }
+
+    /**
+     * First position with a value above the bound.
+     *
+     * @param bound highest value.
+     * @return the position, size if no value is above the bound.
+     */
+    int upperBound(double bound) {
+      int low = 0;
+      int high = size;
+      while (low < high) {
+        int middle = (low + high) >>> 1;
+        if (values[middle] <= bound) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+      return low;
+    }
+
+    /**
+     * Set the slots between two positions in a bitmap.
+     *
+     * @param from first position.
+     * @param to   position after the last.
+     * @param into bitmap the slots are set in.
+     */
+    void collect(int from, int to, BitSet into) {
+      for (int i = from; i < to; i++) {
+        into.set(slots[i]);
+      }
+    }
+
+    /**
+     * Position of a value and slot in the column, or where they would be inserted.
+     *
+     * @param value value of the slot.
+     * @param slot  the slot.
+     * @return the position.
+     */
+    private int position(double value, int slot) {
+      int low = 0;
+      int high = size;
+      while (low < high) {
+        int middle = (low + high) >>> 1;
+        if (values[middle] < value || (values[middle] == value && slots[middle] < slot)) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+      return low;
+    }
+  }
+}
@@ -0,0 +1,202 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import sanctuary.CompactionReport;
+import sanctuary.ConcurrentSanctuary;
+import sanctuary.entities.Monkey;
+import sanctuary.enums.Foods;
+import sanctuary.enums.Outcome;
+import sanctuary.enums.Sex;
+import sanctuary.enums.Size;
+import sanctuary.enums.Species;
+import sanctuary.housing.Enclosure;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit Tests for the ConcurrentSanctuary facade class.
+ */
+public class ConcurrentSanctuaryTest {
+
+  private ConcurrentSanctuary sanctuary;
+
+  @Before
+  public void setUp() throws Exception {
+    sanctuary = new ConcurrentSanctuary();
+    sanctuary.createIsolation(400);
+  }
+
+  @Test
+  public void addMonkeyToSanctuarySameName() {
+    sanctuary.addMonkeyToSanctuary(new Monkey("Emma", Species.Drill, Sex.Female,
+            Size.Medium, 42, 24, Foods.Eggs));
+    sanctuary.addMonkeyToSanctuary(new Monkey("Emma", Species.Drill, Sex.Male,
+            Size.Large, 42, 24, Foods.Insects));
+
+    assertEquals(1, sanctuary.getIsolationOccupancy());
+  }
+
+  @Test
+  public void shiftMonkeyToEnclosure() {
+    Enclosure enclosure = (Enclosure) sanctuary.createEnclosure("Enclosure 1", 10,
+            Species.Drill);
+    Monkey monkey1 = new Monkey("Emma", Species.Drill, Sex.Female, Size.Medium,
+            42, 24, Foods.Eggs);
+    Monkey monkey2 = new Monkey("Emily", Species.Drill, Sex.Female, Size.Large,
+            12, 4, Foods.Insects);
+    sanctuary.addMonkeyToSanctuary(monkey1);
+    sanctuary.addMonkeyToSanctuary(monkey2);
+
+    assertEquals(Enclosure.class, sanctuary.shiftMonkeyToEnclosure(monkey1).getClass());
+    assertEquals(IllegalStateException.class,
+            sanctuary.shiftMonkeyToEnclosure(monkey2).getClass());
+    assertEquals(1, sanctuary.getIsolationOccupancy());
+    assertEquals(5, sanctuary.getEnclosureAvailability(enclosure));
+  }
+
+  @Test
+  public void parallelIntakeAndShift() throws Exception {
+    List<Enclosure> enclosures = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      enclosures.add((Enclosure) sanctuary.createEnclosure("Enclosure " + i, 50,
+              Species.values()[i % Species.values().length]));
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int t = 0; t < 8; t++) {
+      final int thread = t;
+      futures.add(executor.submit(() -> {
+        for (int i = 0; i < 50; i++) {
+          Monkey monkey = new Monkey("Monkey " + thread + "-" + i,
+                  Species.values()[i % Species.values().length], Sex.Male, Size.Small,
+                  10, 12, Foods.Nuts);
+          sanctuary.addMonkeyToSanctuary(monkey);
+          sanctuary.shiftMonkeyToEnclosure(monkey);
+          sanctuary.getSpeciesListInIsolation();
+        }
+      }));
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    executor.shutdown();
+
+    int housed = 0;
+    for (Enclosure enclosure : enclosures) {
+      housed += sanctuary.getMonkeysInEnclosure(enclosure).size();
+    }
+    assertEquals(400, housed);
+    assertEquals(0, sanctuary.getIsolationOccupancy());
+
+    Map<String, Integer> expected = new TreeMap<>();
+    expected.put("Nuts", 40000);
+    assertEquals(expected, sanctuary.getShoppingList());
+  }
+
+  /**
+   * Shift six Medium drills into three enclosures of 10, then take one out of the first two,
+   * leaving two half-filled enclosures.
+   *
+   * @return the three enclosures.
+   */
+  private Enclosure[] scatterDrills() {
+    Enclosure[] enclosures = new Enclosure[3];
+    for (int i = 0; i < enclosures.length; i++) {
+      enclosures[i] = (Enclosure) sanctuary.createEnclosure("Enclosure " + i, 10,
+              Species.Drill);
+    }
+    Monkey[] monkeys = new Monkey[6];
+    for (int i = 0; i < monkeys.length; i++) {
+      monkeys[i] = new Monkey("Monkey" + i, Species.Drill, Sex.Male, Size.Medium,
+              12, 24, Foods.Eggs);
+      sanctuary.addMonkeyToSanctuary(monkeys[i]);
+      sanctuary.shiftMonkeyToEnclosure(monkeys[i]);
+    }
+    enclosures[0].removeMonkeyFromEnclosure(monkeys[0]);
+    enclosures[1].removeMonkeyFromEnclosure(monkeys[2]);
+    return enclosures;
+  }
+
+  @Test
+  public void keepDesignationWhenShiftRejected() {
+    Enclosure enclosure = (Enclosure) sanctuary.createEnclosure("Enclosure 1", 10,
+            Species.Drill);
+    Monkey monkey = new Monkey("Emma", Species.Spider, Sex.Female, Size.Medium,
+            42, 24, Foods.Eggs);
+
+    assertEquals(Outcome.NotFound, sanctuary.tryShiftMonkeyToEnclosure(monkey).getOutcome());
+    assertEquals(Species.Drill, enclosure.getSpecies());
+    assertEquals(10, sanctuary.getEnclosureAvailability(enclosure));
+    assertEquals(0, enclosure.getRedesignationCount());
+  }
+
+  @Test
+  public void compactEnclosures() {
+    Enclosure[] enclosures = scatterDrills();
+
+    while (sanctuary.compactEnclosures(1_000_000)) {
+      continue;
+    }
+
+    CompactionReport report = sanctuary.getCompactionReport();
+    assertEquals(1, report.getMovesMade());
+    assertEquals(10, report.getSpaceReclaimed());
+    assertEquals(List.of("Enclosure 1"), report.getEnclosuresFreed());
+    assertEquals(0, sanctuary.getEnclosureAvailability(enclosures[0]));
+    assertEquals(true, enclosures[1].isEmpty());
+    assertEquals(false, sanctuary.compactEnclosures(1_000_000));
+    assertEquals(false, sanctuary.compactEnclosures(1));
+  }
+
+  @Test
+  public void compactEnclosuresUntilPassMovesNothing() {
+    Enclosure smallest = (Enclosure) sanctuary.createEnclosure("Enclosure A", 10, Species.Drill);
+    Enclosure middle = (Enclosure) sanctuary.createEnclosure("Enclosure B", 20, Species.Drill);
+    Enclosure largest = (Enclosure) sanctuary.createEnclosure("Enclosure C", 30, Species.Drill);
+    smallest.addMonkey(new Monkey("Pip", Species.Drill, Sex.Male, Size.Small, 4, 6,
+            Foods.Eggs));
+    middle.addMonkey(new Monkey("Max", Species.Drill, Sex.Male, Size.Medium, 12, 24,
+            Foods.Eggs));
+    largest.addMonkey(new Monkey("Kong", Species.Drill, Sex.Male, Size.Large, 30, 60,
+            Foods.Eggs));
+
+    //The first pass fills Enclosure B with Kong, which only then has less space left than
+    //Enclosure A and can take Pip in the second pass.
+    while (sanctuary.compactEnclosures(1_000_000)) {
+      continue;
+    }
+
+    CompactionReport report = sanctuary.getCompactionReport();
+
+    assertEquals(2, report.getMovesMade());
+    assertEquals(List.of("Enclosure C", "Enclosure A"), report.getEnclosuresFreed());
+    assertEquals(4, sanctuary.getEnclosureAvailability(middle));
+  }
+
+  @Test
+  public void compactEnclosuresInBackground() throws Exception {
+    scatterDrills();
+    ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    try {
+      sanctuary.startCompaction(executor, 1, TimeUnit.MILLISECONDS, 1_000_000);
+      long deadline = System.currentTimeMillis() + 5000;
+      while (sanctuary.getCompactionReport().getMovesMade() == 0
+              && System.currentTimeMillis() < deadline) {
+        Thread.sleep(1);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertEquals(10, sanctuary.getCompactionReport().getSpaceReclaimed());
+  }
+}
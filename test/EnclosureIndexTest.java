@@ -0,0 +1,85 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import sanctuary.entities.Monkey;
+import sanctuary.enums.Foods;
+import sanctuary.enums.Sex;
+import sanctuary.enums.Size;
+import sanctuary.enums.Species;
+import sanctuary.housing.Enclosure;
+import sanctuary.housing.EnclosureIndex;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Unit Tests for EnclosureIndex class.
+ */
+public class EnclosureIndexTest {
+
+  private EnclosureIndex index;
+  private Enclosure enclosure1;
+  private Enclosure enclosure2;
+  private Enclosure enclosure3;
+
+  @Before
+  public void setUp() throws Exception {
+    index = new EnclosureIndex();
+    enclosure1 = new Enclosure("Enclosure 1", 50, Species.Spider);
+    enclosure2 = new Enclosure("Enclosure 2", 20, Species.Drill);
+    enclosure3 = new Enclosure("Enclosure 3", 50, Species.Drill);
+    index.register(enclosure1);
+    index.register(enclosure2);
+    index.register(enclosure3);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void registerTwice() {
+    index.register(enclosure1);
+  }
+
+  @Test
+  public void findDesignatedEnclosure() {
+    assertEquals(enclosure2, index.findEnclosure(Species.Drill, 10));
+    assertEquals(enclosure3, index.findEnclosure(Species.Drill, 25));
+  }
+
+  @Test
+  public void findVacantEnclosure() {
+    assertEquals(enclosure2, index.findEnclosure(Species.Tamarin, 10));
+    assertEquals(enclosure1, index.findEnclosure(Species.Tamarin, 30));
+  }
+
+  @Test
+  public void findEnclosureAfterAdding() {
+    Monkey monkey1 = new Monkey("Emma", Species.Tamarin, Sex.Female, Size.Large,
+            42, 24, Foods.Eggs);
+    Monkey monkey2 = new Monkey("Jake", Species.Drill, Sex.Male, Size.Large,
+            22, 24, Foods.Insects);
+    enclosure1.addMonkey(monkey1);
+    enclosure2.addMonkey(monkey2);
+
+    assertEquals(1, index.vacantCount());
+    assertEquals(enclosure1, index.findEnclosure(Species.Tamarin, 10));
+    assertEquals(enclosure3, index.findEnclosure(Species.Spider, 10));
+    assertEquals(enclosure2, index.findEnclosure(Species.Drill, 10));
+  }
+
+  @Test
+  public void findEnclosureAfterRemoving() {
+    Monkey monkey1 = new Monkey("Emma", Species.Tamarin, Sex.Female, Size.Large,
+            42, 24, Foods.Eggs);
+    enclosure1.addMonkey(monkey1);
+    enclosure3.addMonkey(new Monkey("Jake", Species.Howler, Sex.Male, Size.Large,
+            22, 24, Foods.Insects));
+    assertNull(index.findEnclosure(Species.Saki, 30));
+
+    enclosure1.removeMonkeyFromEnclosure(monkey1);
+    assertEquals(enclosure1, index.findEnclosure(Species.Saki, 30));
+  }
+
+  @Test
+  public void noEnclosureFound() {
+    assertNull(index.findEnclosure(Species.Drill, 60));
+  }
+}
@@ -8,6 +8,7 @@ import java.util.TreeSet;
 
 import sanctuary.entities.Monkey;
 import sanctuary.enums.Foods;
+import sanctuary.enums.Outcome;
 import sanctuary.enums.Sex;
 import sanctuary.enums.Size;
 import sanctuary.enums.Species;
@@ -69,6 +70,24 @@ public class EnclosureTest {
     enclosure.addMonkey(monkey2);
   }
 
+  @Test
+  public void tryAddMonkey() {
+    enclosure = new Enclosure("Enclosure 1", 10, Species.Drill);
+    Monkey monkey1 = new Monkey("Emma", Species.Drill, Sex.Female, Size.Medium,
+            42, 24, Foods.Eggs);
+    Monkey monkey2 = new Monkey("Emily", Species.Spider, Sex.Female, Size.Medium,
+            42, 24, Foods.Eggs);
+    Monkey monkey3 = new Monkey("Jake", Species.Drill, Sex.Male, Size.Large,
+            42, 24, Foods.Eggs);
+
+    assertEquals(Outcome.Done, enclosure.tryAddMonkey(monkey1).getOutcome());
+    assertEquals(Outcome.WrongSpecies, enclosure.tryAddMonkey(monkey2).getOutcome());
+    assertEquals(Outcome.NoSpace, enclosure.tryAddMonkey(monkey3).getOutcome());
+    assertEquals(Outcome.NotFound, enclosure.tryRemoveMonkey(monkey3).getOutcome());
+    assertEquals(Outcome.Done, enclosure.tryRemoveMonkey(monkey1).getOutcome());
+    assertEquals(10, enclosure.getAvailableSpace());
+  }
+
   @Test
   public void isSpaceAvailable() {
     assertEquals(true, enclosure.isSpaceAvailable());
@@ -150,6 +169,20 @@ public class EnclosureTest {
 
   }
 
+  @Test
+  public void renderSignBoard() {
+    Monkey monkey1 = new Monkey("Emma", Species.Drill, Sex.Female, Size.Medium,
+            42, 24, Foods.Eggs);
+    Monkey monkey2 = new Monkey("Jake", Species.Drill, Sex.Male, Size.Medium,
+            22, 24, Foods.Insects);
+    enclosure.addMonkey(monkey2);
+    enclosure.addMonkey(monkey1);
+    StringBuilder out = new StringBuilder();
+    enclosure.renderSignBoard(out);
+    assertEquals("Emma (Drill) - Female - Eggs\nJake (Drill) - Male - Insects\n",
+            out.toString());
+  }
+
   @Test
   public void getName() {
     assertEquals("Enclosure 1", enclosure.getName());
@@ -178,4 +211,170 @@ public class EnclosureTest {
   public void isEmpty() {
     assertEquals(true, enclosure.isEmpty());
   }
-}
\ No newline at end of file
+
+  @Test
+  public void removeMonkeyFromEnclosure() {
+    Monkey monkey1 = new Monkey("Emma", Species.Drill, Sex.Female, Size.Medium,
+            42, 24, Foods.Eggs);
+    enclosure.addMonkey(monkey1);
+    enclosure.removeMonkeyFromEnclosure(monkey1);
+
+    assertEquals(true, enclosure.isEmpty());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void removeMonkeyNotInEnclosure() {
+    Monkey monkey1 = new Monkey("Emma", Species.Drill, Sex.Female, Size.Medium,
+            42, 24, Foods.Eggs);
+    enclosure.removeMonkeyFromEnclosure(monkey1);
+  }
+
+  @Test
+  public void reserveAndCommitSpace() {
+    Monkey monkey1 = new Monkey("Emma", Species.Spider, Sex.Female, Size.Large,
+            42, 24, Foods.Eggs);
+    assertEquals(true, enclosure.reserveSpace(monkey1));
+    assertEquals(40, enclosure.getAvailableSpace());
+    assertEquals(Species.Spider, enclosure.getSpecies());
+
+    enclosure.commitReservation(monkey1);
+    assertEquals(monkey1, enclosure.lookupMonkey("Emma"));
+  }
+
+  @Test
+  public void commitReservationReplacingSameName() {
+    Monkey monkey1 = new Monkey("Emma", Species.Drill, Sex.Female, Size.Large,
+            42, 24, Foods.Eggs);
+    Monkey monkey2 = new Monkey("Emma", Species.Drill, Sex.Female, Size.Small,
+            42, 24, Foods.Eggs);
+    enclosure.addMonkey(monkey1);
+    enclosure.addMonkey(monkey2);
+    assertEquals(50 - monkey2.getSpaceOccupancy(), enclosure.getAvailableSpace());
+    assertEquals(monkey2, enclosure.lookupMonkey("Emma"));
+
+    monkey1.setSize(Size.Medium);
+    assertEquals(50 - monkey2.getSpaceOccupancy(), enclosure.getAvailableSpace());
+    enclosure.addMonkey(monkey2);
+    assertEquals(50 - monkey2.getSpaceOccupancy(), enclosure.getAvailableSpace());
+    enclosure.removeMonkeyFromEnclosure(monkey2);
+    assertEquals(50, enclosure.getAvailableSpace());
+  }
+
+  @Test
+  public void reserveSpaceForOtherSpecies() {
+    Monkey monkey1 = new Monkey("Emma", Species.Drill, Sex.Female, Size.Large,
+            42, 24, Foods.Eggs);
+    Monkey monkey2 = new Monkey("Jake", Species.Spider, Sex.Male, Size.Small,
+            22, 24, Foods.Insects);
+    enclosure.reserveSpace(monkey1);
+
+    assertEquals(false, enclosure.reserveSpace(monkey2));
+  }
+
+  @Test
+  public void releaseReservation() {
+    Monkey monkey1 = new Monkey("Emma", Species.Drill, Sex.Female, Size.Large,
+            42, 24, Foods.Eggs);
+    enclosure.reserveSpace(monkey1);
+    enclosure.releaseReservation(monkey1);
+
+    assertEquals(50, enclosure.getAvailableSpace());
+    assertEquals(true, enclosure.isEmpty());
+  }
+
+  @Test
+  public void releaseReservationUndoesDesignation() {
+    Monkey monkey1 = new Monkey("Emma", Species.Spider, Sex.Female, Size.Large,
+            42, 24, Foods.Eggs);
+    Monkey monkey2 = new Monkey("Jake", Species.Spider, Sex.Male, Size.Small,
+            22, 24, Foods.Insects);
+    enclosure.reserveSpace(monkey1);
+    enclosure.reserveSpace(monkey2);
+    enclosure.releaseReservation(monkey1);
+    assertEquals(Species.Spider, enclosure.getSpecies());
+
+    enclosure.releaseReservation(monkey2);
+    assertEquals(Species.Drill, enclosure.getSpecies());
+    assertEquals(50, enclosure.getAvailableSpace());
+    assertEquals(0, enclosure.getRedesignationCount());
+  }
+
+  @Test
+  public void keepDesignationOnceCommitted() {
+    Monkey monkey1 = new Monkey("Emma", Species.Spider, Sex.Female, Size.Large,
+            42, 24, Foods.Eggs);
+    enclosure.reserveSpace(monkey1);
+    enclosure.commitReservation(monkey1);
+    enclosure.removeMonkeyFromEnclosure(monkey1);
+
+    assertEquals(Species.Spider, enclosure.getSpecies());
+    assertEquals(50, enclosure.getAvailableSpace());
+    assertEquals(1, enclosure.getRedesignationCount());
+  }
+
+  @Test
+  public void reserveSpaceConcurrently() throws Exception {
+    Thread[] workers = new Thread[8];
+    int[] reserved = new int[workers.length];
+    for (int t = 0; t < workers.length; t++) {
+      final int worker = t;
+      workers[t] = new Thread(() -> {
+        for (int i = 0; i < 100; i++) {
+          Monkey monkey = new Monkey("Monkey " + worker + "-" + i, Species.Drill, Sex.Male,
+                  Size.Small, 12, 4, Foods.Nuts);
+          if (enclosure.reserveSpace(monkey)) {
+            reserved[worker]++;
+          }
+        }
+      });
+      workers[t].start();
+    }
+    int total = 0;
+    for (int t = 0; t < workers.length; t++) {
+      workers[t].join();
+      total += reserved[t];
+    }
+    assertEquals(50, total);
+    assertEquals(0, enclosure.getAvailableSpace());
+  }
+
+  @Test
+  public void lookupSpeciesWithoutLoadingTroop() {
+    enclosure = new Enclosure("Restored", 50, Species.Spider, 40, 2, () -> {
+      throw new AssertionError("The troop should not have been loaded.");
+    });
+    assertEquals(true, enclosure.lookupSpecies(Species.Spider));
+    assertEquals(false, enclosure.lookupSpecies(Species.Drill));
+    assertEquals("[Spider]", enclosure.reportAllSpeciesList().toString());
+    assertEquals(false, enclosure.isTroopLoaded());
+  }
+
+  @Test
+  public void followSizeChanges() {
+    enclosure = new Enclosure("Enclosure 1", 12, Species.Drill);
+    Monkey monkey1 = new Monkey("Emma", Species.Drill, Sex.Female, Size.Small,
+            42, 24, Foods.Eggs);
+    Monkey monkey2 = new Monkey("Emily", Species.Drill, Sex.Female, Size.Small,
+            12, 4, Foods.Insects);
+    enclosure.addMonkey(monkey1);
+    enclosure.addMonkey(monkey2);
+    monkey1.setSize(Size.Medium);
+
+    assertEquals(6, enclosure.getAvailableSpace());
+
+    monkey2.setSize(Size.Large);
+
+    assertEquals(-3, enclosure.getAvailableSpace());
+    assertEquals(false, enclosure.canAccommodate(new Monkey("Jake", Species.Drill, Sex.Male,
+            Size.Small, 22, 24, Foods.Insects)));
+
+    enclosure.removeMonkeyFromEnclosure(monkey2);
+    monkey2.setSize(Size.Small);
+
+    assertEquals(7, enclosure.getAvailableSpace());
+
+    enclosure.removeMonkeyFromEnclosure(monkey1);
+
+    assertEquals(true, enclosure.isEmpty());
+  }
+}
@@ -2,18 +2,22 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
 import sanctuary.entities.Monkey;
 import sanctuary.enums.Foods;
+import sanctuary.enums.Outcome;
 import sanctuary.enums.Sex;
 import sanctuary.enums.Size;
 import sanctuary.enums.Species;
+import sanctuary.housing.ElasticCapacity;
 import sanctuary.housing.Isolation;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 
 /**
  * Unit Tests for Isolation class.
@@ -54,6 +58,24 @@ public class IsolationTest {
     assertEquals(expectedList, result);
   }
 
+  /**
+   * Test rejections reported without exceptions.
+   */
+  @Test
+  public void tryAddAndRemoveMonkey() {
+    isolation = new Isolation(1);
+    Monkey monkey1 = new Monkey("Emma", Species.Drill, Sex.Female, Size.Medium, 42,
+            24, Foods.Eggs);
+    Monkey monkey2 = new Monkey("Emily", Species.Drill, Sex.Female, Size.Medium, 42,
+            24, Foods.Eggs);
+
+    assertEquals(Outcome.Done, isolation.tryAddMonkey(monkey1).getOutcome());
+    assertEquals(Outcome.NoSpace, isolation.tryAddMonkey(monkey2).getOutcome());
+    assertEquals(Outcome.NotFound, isolation.tryRemoveMonkey(monkey2).getOutcome());
+    assertEquals(Outcome.Done, isolation.tryRemoveMonkey(monkey1).getOutcome());
+    assertEquals(0, isolation.cageOccupied());
+  }
+
   @Test(expected = IllegalStateException.class)
   public void addMonkeyWhenIsolationFull() {
     isolation = new Isolation(2);
@@ -160,6 +182,148 @@ public class IsolationTest {
     assertEquals(true, isolation.lookupSpecies(Species.Spider));
   }
 
+  @Test
+  public void lookupSpeciesAfterRemove() {
+    Monkey monkey1 = new Monkey("Emma", Species.Drill, Sex.Female, Size.Medium,
+            42, 24, Foods.Eggs);
+    Monkey monkey2 = new Monkey("Jake", Species.Spider, Sex.Male, Size.Medium,
+            22, 24, Foods.Insects);
+    isolation.addMonkey(monkey1);
+    isolation.addMonkey(monkey2);
+    isolation.removeMonkeyFromIsolation(monkey2);
+    assertEquals(false, isolation.lookupSpecies(Species.Spider));
+    assertEquals(true, isolation.lookupSpecies(Species.Drill));
+    assertEquals("[Drill]", isolation.reportAllSpeciesList().toString());
+  }
+
+  @Test
+  public void cageNumbers() {
+    Monkey monkey1 = new Monkey("Emma", Species.Drill, Sex.Female, Size.Medium,
+            42, 24, Foods.Eggs);
+    Monkey monkey2 = new Monkey("Jake", Species.Spider, Sex.Male, Size.Medium,
+            22, 24, Foods.Insects);
+    Monkey monkey3 = new Monkey("Emily", Species.Tamarin, Sex.Male, Size.Medium,
+            12, 24, Foods.Fruits);
+    isolation.addMonkey(monkey1);
+    isolation.addMonkey(monkey2);
+    assertEquals(0, isolation.getCageNumber("Emma"));
+    assertEquals(1, isolation.getCageNumber("Jake"));
+    assertEquals(monkey2, isolation.lookupCage(1));
+
+    assertEquals(monkey1, isolation.removeMonkeyFromCage(0));
+    isolation.addMonkey(monkey3);
+    assertEquals(0, isolation.getCageNumber("Emily"));
+    assertEquals(-1, isolation.getCageNumber("Emma"));
+    assertEquals(8, isolation.cagesAvailable());
+  }
+
+  @Test
+  public void reuseLowestFreeCageFirst() {
+    for (int i = 0; i < 4; i++) {
+      isolation.addMonkey(new Monkey("Monkey" + i, Species.Drill, Sex.Male, Size.Small,
+              12, 24, Foods.Eggs));
+    }
+    isolation.removeMonkeyFromCage(0);
+    isolation.removeMonkeyFromCage(2);
+    for (int i = 4; i < 7; i++) {
+      isolation.addMonkey(new Monkey("Monkey" + i, Species.Drill, Sex.Male, Size.Small,
+              12, 24, Foods.Eggs));
+    }
+    assertEquals(0, isolation.getCageNumber("Monkey4"));
+    assertEquals(2, isolation.getCageNumber("Monkey5"));
+    assertEquals(4, isolation.getCageNumber("Monkey6"));
+  }
+
+  @Test
+  public void removeMonkeyByName() {
+    Monkey monkey1 = new Monkey("Emma", Species.Drill, Sex.Female, Size.Medium,
+            42, 24, Foods.Eggs);
+    isolation.addMonkey(monkey1);
+    assertEquals(monkey1, isolation.removeMonkeyFromIsolation("Emma"));
+    assertEquals(0, isolation.cageOccupied());
+    assertEquals(10, isolation.cagesAvailable());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void removeMonkeyFromFreeCage() {
+    isolation.removeMonkeyFromCage(3);
+  }
+
+  @Test
+  public void increaseSizeKeepsCageNumbers() {
+    for (int i = 0; i < 10; i++) {
+      isolation.addMonkey(new Monkey("Monkey" + i, Species.Drill, Sex.Male, Size.Small,
+              12, 24, Foods.Eggs));
+    }
+    isolation.removeMonkeyFromCage(4);
+    isolation.increaseSize(5);
+    Monkey monkey = new Monkey("Jake", Species.Spider, Sex.Male, Size.Medium,
+            22, 24, Foods.Insects);
+    isolation.addMonkey(monkey);
+    assertEquals(4, isolation.getCageNumber("Jake"));
+    assertEquals(5, isolation.cagesAvailable());
+    assertEquals("Monkey9", isolation.lookupCage(9).getName());
+  }
+
+  @Test
+  public void elasticGrowAndShrink() {
+    ElasticCapacity elasticity = new ElasticCapacity(0.25, 0.8, 10, 50);
+    isolation.setElasticity(elasticity);
+    Monkey[] monkeys = new Monkey[40];
+    for (int i = 0; i < monkeys.length; i++) {
+      monkeys[i] = new Monkey("Monkey" + i, Species.Drill, Sex.Male, Size.Small,
+              12, 24, Foods.Eggs);
+      isolation.addMonkey(monkeys[i]);
+    }
+    assertEquals(50, isolation.getTotalCages());
+    assertEquals(4, elasticity.getGrowCount());
+    assertEquals(50, elasticity.getPeakCapacity());
+
+    for (int i = monkeys.length - 1; i >= 2; i--) {
+      isolation.removeMonkeyFromIsolation(monkeys[i]);
+    }
+    assertEquals(10, isolation.getTotalCages());
+    assertEquals(40, elasticity.getCagesReleased());
+    assertEquals(2, isolation.cageOccupied());
+  }
+
+  @Test
+  public void elasticRejectedIntakeDoesNotGrow() {
+    ElasticCapacity elasticity = new ElasticCapacity(0.25, 0.8, 10, 50);
+    isolation.setElasticity(elasticity);
+    for (int i = 0; i < 7; i++) {
+      isolation.addMonkey(new Monkey("Monkey" + i, Species.Drill, Sex.Male, Size.Small,
+              12, 24, Foods.Eggs));
+    }
+    Monkey duplicate = new Monkey("Monkey0", Species.Drill, Sex.Male, Size.Small,
+            12, 24, Foods.Eggs);
+    assertEquals(Outcome.DuplicateName, isolation.tryAddMonkey(duplicate).getOutcome());
+    try {
+      isolation.addMonkeys(Arrays.asList(new Monkey("Monkey7", Species.Drill, Sex.Male,
+              Size.Small, 12, 24, Foods.Eggs), duplicate));
+      fail("The batch should not have been added.");
+    } catch (IllegalStateException e) {
+      assertEquals("Monkey with same name already exists in the Isolation.", e.getMessage());
+    }
+    assertEquals(10, isolation.getTotalCages());
+    assertEquals(0, elasticity.getGrowCount());
+    assertEquals(7, isolation.cageOccupied());
+
+    isolation.addMonkey(new Monkey("Monkey7", Species.Drill, Sex.Male, Size.Small,
+            12, 24, Foods.Eggs));
+    assertEquals(20, isolation.getTotalCages());
+    assertEquals(1, elasticity.getGrowCount());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void elasticGrowthStopsAtMaximum() {
+    isolation.setElasticity(new ElasticCapacity(0.25, 0.8, 10, 20));
+    for (int i = 0; i <= 20; i++) {
+      isolation.addMonkey(new Monkey("Monkey" + i, Species.Drill, Sex.Male, Size.Small,
+              12, 24, Foods.Eggs));
+    }
+  }
+
   @Test
   public void increaseSize() {
     isolation.increaseSize(20);
@@ -235,4 +399,26 @@ public class IsolationTest {
 
     assertEquals(2, isolation.cageOccupied());
   }
-}
\ No newline at end of file
+
+  @Test
+  public void addMonkeys() {
+    Monkey monkey1 = new Monkey("Emma", Species.Drill, Sex.Female, Size.Medium,
+            42, 24, Foods.Eggs);
+    Monkey monkey2 = new Monkey("Jake", Species.Spider, Sex.Male, Size.Medium,
+            22, 24, Foods.Insects);
+    isolation.addMonkeys(Arrays.asList(monkey1, monkey2));
+
+    assertEquals(2, isolation.cageOccupied());
+    assertEquals(8, isolation.cagesAvailable());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void addMonkeysOverCapacity() {
+    isolation = new Isolation(1);
+    Monkey monkey1 = new Monkey("Emma", Species.Drill, Sex.Female, Size.Medium,
+            42, 24, Foods.Eggs);
+    Monkey monkey2 = new Monkey("Jake", Species.Spider, Sex.Male, Size.Medium,
+            22, 24, Foods.Insects);
+    isolation.addMonkeys(Arrays.asList(monkey1, monkey2));
+  }
+}
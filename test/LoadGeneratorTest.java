@@ -0,0 +1,80 @@
+import org.junit.Test;
+
+import sanctuary.enums.Operation;
+import sanctuary.enums.Size;
+import sanctuary.enums.Species;
+import sanctuary.load.LoadGenerator;
+import sanctuary.load.LoadReport;
+import sanctuary.load.WorkloadConfig;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit Tests for LoadGenerator class.
+ */
+public class LoadGeneratorTest {
+
+  @Test
+  public void runFixedOperations() {
+    WorkloadConfig config = WorkloadConfig.parse(new String[]{"operations=2000",
+        "species=Drill:3,Spider:1", "enclosures=20", "enclosureSize=50-100", "cages=100",
+        "shiftRatio=0.5", "reportEvery=10", "seed=7"});
+    LoadReport report = new LoadGenerator(config).run();
+
+    assertEquals(2000, report.getCount(Operation.Intake));
+    assertEquals(2000, report.getAdmitted() + report.getIntakeRejections());
+    assertEquals(report.getCount(Operation.Shift),
+            report.getShifted() + report.getShiftRejections());
+    assertTrue(report.getCount(Operation.Shift) > 800);
+    assertTrue(report.getCount(Operation.Shift) < 1200);
+    assertEquals(200, report.getCount(Operation.ShoppingList)
+            + report.getCount(Operation.SpeciesReport) + report.getCount(Operation.SignBoard));
+    assertTrue(report.getElapsedNanos() > 0);
+    assertTrue(report.toString().contains("Intake"));
+  }
+
+  @Test
+  public void replaySameSeed() {
+    WorkloadConfig config = new WorkloadConfig();
+    config.setOperations(500);
+    config.setEnclosures(5, 10, 20);
+    config.setIsolation(50, false);
+    LoadReport first = new LoadGenerator(config).run();
+    LoadReport second = new LoadGenerator(config).run();
+
+    assertEquals(first.getAdmitted(), second.getAdmitted());
+    assertEquals(first.getShifted(), second.getShifted());
+    assertEquals(first.getShiftRejections(), second.getShiftRejections());
+  }
+
+  @Test
+  public void throttleArrivals() {
+    WorkloadConfig config = new WorkloadConfig();
+    config.setArrivalRate(2000);
+    config.setOperations(100);
+    LoadReport report = new LoadGenerator(config).run();
+
+    assertTrue(report.getElapsedNanos() >= 49_000_000L);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void unknownSetting() {
+    WorkloadConfig.parse(new String[]{"arrivals=10"});
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shiftRatioOutOfRange() {
+    WorkloadConfig.parse(new String[]{"shiftRatio=1.5"});
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void noWeightedSize() {
+    WorkloadConfig config = new WorkloadConfig();
+    for (Size size : Size.values()) {
+      config.setSizeWeight(size, 0);
+    }
+    config.setSpeciesWeight(Species.Drill, 1);
+    new LoadGenerator(config);
+  }
+}
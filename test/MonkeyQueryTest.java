@@ -0,0 +1,107 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import sanctuary.Sanctuary;
+import sanctuary.entities.Monkey;
+import sanctuary.enums.Foods;
+import sanctuary.enums.Sex;
+import sanctuary.enums.Size;
+import sanctuary.enums.Species;
+import sanctuary.query.MonkeyQuery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit Tests for the queries over the monkeys of the Sanctuary.
+ */
+public class MonkeyQueryTest {
+
+  private Sanctuary sanctuary;
+
+  @Before
+  public void setUp() throws Exception {
+    sanctuary = new Sanctuary();
+    sanctuary.createIsolation(10);
+    sanctuary.createEnclosure("Enclosure 1", 100, Species.Howler);
+    sanctuary.addMonkeyToSanctuary(new Monkey("Emma", Species.Howler, Sex.Female, Size.Large,
+            24, 60, Foods.Fruits));
+    sanctuary.addMonkeyToSanctuary(new Monkey("Emily", Species.Howler, Sex.Female,
+            Size.Large, 18, 50, Foods.Leaves));
+    sanctuary.addMonkeyToSanctuary(new Monkey("Drake", Species.Howler, Sex.Male, Size.Large,
+            30, 70, Foods.Fruits));
+    sanctuary.addMonkeyToSanctuary(new Monkey("Kong", Species.Drill, Sex.Female, Size.Large,
+            25, 40, Foods.Eggs));
+    sanctuary.addMonkeyToSanctuary(new Monkey("Jake", Species.Howler, Sex.Female,
+            Size.Medium, 21, 30, Foods.Nuts));
+    sanctuary.shiftMonkeyToEnclosure(sanctuary.lookupMonkey("Emma"));
+  }
+
+  @Test
+  public void findAcrossHousings() {
+    MonkeyQuery query = new MonkeyQuery().species(Species.Howler).sex(Sex.Female)
+            .size(Size.Large).weightBetween(20, Double.POSITIVE_INFINITY);
+
+    assertEquals("[Emma]", names(sanctuary.findMonkeys(query)));
+    assertEquals("[Drake, Emily, Emma, Jake, Kong]",
+            names(sanctuary.findMonkeys(new MonkeyQuery())));
+  }
+
+  @Test
+  public void findByRangesAndAnyOf() {
+    assertEquals("[Emily, Emma, Kong]",
+            names(sanctuary.findMonkeys(new MonkeyQuery().ageBetween(40, 60))));
+    assertEquals("[Drake, Emma, Jake]", names(sanctuary.findMonkeys(new MonkeyQuery()
+            .favoriteFood(Foods.Fruits, Foods.Nuts).weightBetween(21, 30))));
+    assertEquals("[]", names(sanctuary.findMonkeys(new MonkeyQuery().species(Species.Saki))));
+  }
+
+  @Test
+  public void followChanges() {
+    Monkey jake = sanctuary.lookupMonkey("Jake");
+    jake.setSize(Size.Large);
+    jake.setWeight(35);
+    MonkeyQuery query = new MonkeyQuery().size(Size.Large).weightBetween(30, 40);
+
+    assertEquals("[Drake, Jake]", names(sanctuary.findMonkeys(query)));
+
+    sanctuary.tryReleaseMonkey("Drake");
+    jake.setAge(80);
+
+    assertEquals("[Jake]", names(sanctuary.findMonkeys(query)));
+    assertEquals("[Jake]", names(sanctuary.findMonkeys(new MonkeyQuery().ageBetween(75, 90))));
+  }
+
+  @Test
+  public void explainPlan() {
+    String plan = sanctuary.explainQuery(new MonkeyQuery().species(Species.Howler)
+            .sex(Sex.Female).weightBetween(0, 100));
+
+    assertTrue(plan, plan.startsWith("Bitmap Species [Howler]: 4 AND Bitmap Sex [Female]: 3"));
+    assertTrue(plan, plan.endsWith("Probe Weight [0.0, 100.0]: 3"));
+    assertEquals("Range Age [65.0, 90.0]: 1",
+            sanctuary.explainQuery(new MonkeyQuery().ageBetween(65, 90)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invertedRange() {
+    new MonkeyQuery().weightBetween(30, 20);
+  }
+
+  /**
+   * Names of the monkeys, in the order given.
+   *
+   * @param monkeys monkeys found.
+   * @return the names.
+   */
+  private static String names(List<Monkey> monkeys) {
+    List<String> names = new ArrayList<>();
+    for (Monkey monkey : monkeys) {
+      names.add(monkey.getName());
+    }
+    return names.toString();
+  }
+}
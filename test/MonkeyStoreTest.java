@@ -0,0 +1,178 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+
+import sanctuary.Sanctuary;
+import sanctuary.entities.Monkey;
+import sanctuary.entities.MonkeyStore;
+import sanctuary.enums.Foods;
+import sanctuary.enums.IntakeOutcome;
+import sanctuary.enums.Sex;
+import sanctuary.enums.Size;
+import sanctuary.enums.Species;
+import sanctuary.interfaces.AnimalInterface;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Unit Tests for MonkeyStore class.
+ */
+public class MonkeyStoreTest {
+
+  private MonkeyStore store;
+
+  /**
+   * Initialize a store with a single monkey.
+   */
+  @Before
+  public void setUp() {
+    store = new MonkeyStore(1);
+    store.add("Emma", Species.Drill, Sex.Female, Size.Medium, 42, 24, Foods.Eggs);
+  }
+
+  /**
+   * Test the view reads the attributes of the monkey.
+   */
+  @Test
+  public void getMonkey() {
+    AnimalInterface monkey = store.get(store.find("Emma"));
+    assertEquals("Emma", monkey.getName());
+    assertEquals(Species.Drill, monkey.getSpeciesType());
+    assertEquals(Sex.Female, monkey.getSex());
+    assertEquals(Size.Medium, monkey.getSize());
+    assertEquals(42, monkey.getWeight(), 0.01);
+    assertEquals(24, monkey.getAge(), 0.01);
+    assertEquals(Foods.Eggs, monkey.getFavoriteFood());
+    assertEquals("Emma (Drill) - Female - Eggs", monkey.toString());
+  }
+
+  /**
+   * Test changes through a view are seen by every view of the monkey.
+   */
+  @Test
+  public void setThroughView() {
+    store.get(0).setSize(Size.Large);
+    store.get(0).setWeight(50);
+    store.get(0).setAge(30);
+    AnimalInterface monkey = store.get(0);
+    assertEquals(Size.Large, monkey.getSize());
+    assertEquals(50, monkey.getWeight(), 0.01);
+    assertEquals(30, monkey.getAge(), 0.01);
+    assertEquals(store.get(0), monkey);
+    assertEquals(Size.Large, store.toMonkey(0).getSize());
+  }
+
+  /**
+   * Test the store grows and names stay searchable.
+   */
+  @Test
+  public void addMany() {
+    for (int i = 0; i < 1000; i++) {
+      store.add(new Monkey("Monkey" + i, Species.values()[i % Species.values().length],
+              Sex.Male, Size.Small, 5, 12, Foods.Fruits));
+    }
+    assertEquals(1001, store.size());
+    assertEquals(0, store.find("Emma"));
+    assertEquals(501, store.find("Monkey500"));
+    assertEquals(-1, store.find("Jake"));
+    assertNotEquals(store.get(1), store.get(2));
+  }
+
+  /**
+   * Test names of every length and script are found and read back from the name pool.
+   */
+  @Test
+  public void internNames() {
+    store.add("Zo\u00eb", Species.Howler, Sex.Female, Size.Small, 5, 12, Foods.Fruits);
+    store.add("", Species.Howler, Sex.Male, Size.Small, 5, 12, Foods.Fruits);
+    store.add("Em", Species.Howler, Sex.Male, Size.Small, 5, 12, Foods.Fruits);
+    assertEquals(1, store.find("Zo\u00eb"));
+    assertEquals(2, store.find(""));
+    assertEquals(3, store.find("Em"));
+    assertEquals(-1, store.find("Emm"));
+    assertEquals("Zo\u00eb", store.get(1).getName());
+    assertEquals("", store.toMonkey(2).getName());
+    assertEquals("Em", store.get(3).getName());
+  }
+
+  /**
+   * Test the memory per monkey is derived from the columns, the pool and the name table.
+   */
+  @Test
+  public void bytesPerMonkey() {
+    assertEquals(0, new MonkeyStore().bytesPerMonkey(), 0);
+    //One monkey: 24 bytes of columns, a 16 byte name pool and a table of 4 int slots
+    assertEquals(24 + 16 + 16, store.bytesPerMonkey(), 0);
+    store.add("Jake", Species.Drill, Sex.Male, Size.Large, 22, 24, Foods.Insects);
+    //Columns doubled to two monkeys, the names still fit the pool and the table
+    assertEquals((2 * 24 + 16 + 16) / 2.0, store.bytesPerMonkey(), 0);
+  }
+
+  /**
+   * Test a monkey with the same name cannot be added twice.
+   */
+  @Test(expected = IllegalStateException.class)
+  public void addDuplicateName() {
+    store.add("Emma", Species.Spider, Sex.Male, Size.Small, 10, 12, Foods.Nuts);
+  }
+
+  /**
+   * Test an invalid weight set through a view.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void setInvalidWeight() {
+    store.get(0).setWeight(-1);
+  }
+
+  /**
+   * Test a monkey without a size is kept and read back without one.
+   */
+  @Test
+  public void addWithoutSize() {
+    int id = store.add("Jake", Species.Drill, Sex.Male, null, 22, 24, Foods.Insects);
+    assertNull(store.get(id).getSize());
+    assertNull(store.toMonkey(id).getSize());
+    store.get(id).setSize(Size.Small);
+    assertEquals(Size.Small, store.get(id).getSize());
+  }
+
+  /**
+   * Test the same Monkey is built every time, and changes through it reach the columns.
+   */
+  @Test
+  public void setThroughMonkey() {
+    Monkey monkey = store.toMonkey(0);
+    assertSame(monkey, store.toMonkey(0));
+    monkey.setSize(Size.Small);
+    monkey.setWeight(40);
+    monkey.setAge(36);
+    AnimalInterface view = store.get(0);
+    assertEquals(Size.Small, view.getSize());
+    assertEquals(40, view.getWeight(), 0.01);
+    assertEquals(36, view.getAge(), 0.01);
+  }
+
+  /**
+   * Test monkeys added to a Sanctuary from the store keep the shopping list up to date when
+   * changed through a view.
+   */
+  @Test
+  public void setThroughViewInSanctuary() {
+    store.add("Jake", Species.Drill, Sex.Male, Size.Small, 22, 24, Foods.Insects);
+    Sanctuary sanctuary = new Sanctuary();
+    sanctuary.createIsolation(10);
+    assertEquals(2, sanctuary.addMonkeysToSanctuary(store).count(IntakeOutcome.Admitted));
+    store.get(store.find("Jake")).setSize(Size.Large);
+    store.get(0).setWeight(50);
+
+    Map shoppingList = sanctuary.getShoppingList();
+    assertEquals(250, shoppingList.get("Eggs"));
+    assertEquals(500, shoppingList.get("Insects"));
+    assertEquals(Size.Large, sanctuary.lookupMonkey("Jake").getSize());
+    assertEquals(50, sanctuary.lookupMonkey("Emma").getWeight(), 0.01);
+  }
+}
@@ -1,11 +1,16 @@
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import sanctuary.entities.Monkey;
 import sanctuary.enums.Foods;
 import sanctuary.enums.Sex;
 import sanctuary.enums.Size;
 import sanctuary.enums.Species;
+import sanctuary.interfaces.MonkeyObserver;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
@@ -174,6 +179,23 @@ public class MonkeyTest {
     assertEquals("Emma (Drill) - Female - Eggs", monkey.toString());
   }
 
+  /**
+   * Test a monkey changes without observers, and notifies an observer once one is added.
+   */
+  @Test
+  public void observeMonkey() {
+    monkey.removeObserver((changed, previous) -> { });
+    monkey.setSize(Size.Small);
+    List<Size> previousSizes = new ArrayList<>();
+    MonkeyObserver observer = (changed, previous) -> previousSizes.add(previous);
+    monkey.addObserver(observer);
+    monkey.setSize(Size.Large);
+    monkey.removeObserver(observer);
+    monkey.setSize(Size.Medium);
+    assertEquals(Collections.singletonList(Size.Small), previousSizes);
+    assertEquals(Size.Medium, monkey.getSize());
+  }
+
   @Test
   public void addMonkeyWithoutSize(){
     monkey = new Monkey("Jake", Species.Spider, Sex.Male, Size.Small,
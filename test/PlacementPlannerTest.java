@@ -0,0 +1,63 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import sanctuary.PlacementPlan;
+import sanctuary.Sanctuary;
+import sanctuary.entities.Monkey;
+import sanctuary.enums.Foods;
+import sanctuary.enums.PlacementStrategy;
+import sanctuary.enums.Sex;
+import sanctuary.enums.Size;
+import sanctuary.enums.Species;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit Tests for PlacementPlanner class.
+ */
+public class PlacementPlannerTest {
+
+  private Sanctuary sanctuary;
+
+  @Before
+  public void setUp() throws Exception {
+    sanctuary = new Sanctuary();
+    sanctuary.createIsolation(10);
+    sanctuary.createEnclosure("Enclosure 1", 15, Species.Drill);
+    sanctuary.createEnclosure("Enclosure 2", 10, Species.Drill);
+    sanctuary.addMonkeyToSanctuary(new Monkey("Emma", Species.Drill, Sex.Female, Size.Large,
+            42, 24, Foods.Eggs));
+    sanctuary.addMonkeyToSanctuary(new Monkey("Jake", Species.Spider, Sex.Male, Size.Large,
+            22, 24, Foods.Insects));
+    sanctuary.addMonkeyToSanctuary(new Monkey("Kong", Species.Spider, Sex.Male, Size.Medium,
+            22, 40, Foods.Eggs));
+  }
+
+  @Test
+  public void firstFitDecreasing() {
+    PlacementPlan plan = sanctuary.planPlacement(PlacementStrategy.FirstFitDecreasing);
+
+    assertEquals(2, plan.size());
+    assertEquals("Kong", plan.getUnplaced().get(0).getName());
+    assertEquals(0.8, plan.getPlacedShare(), 0.001);
+    assertEquals(3, sanctuary.getIsolationOccupancy());
+  }
+
+  @Test
+  public void speciesBestFit() {
+    PlacementPlan plan = sanctuary.planPlacement(PlacementStrategy.SpeciesBestFit);
+
+    assertEquals(3, plan.size());
+    assertEquals(0, plan.getUnplaced().size());
+    assertEquals(1.0, plan.getUtilization(), 0.001);
+  }
+
+  @Test
+  public void applyPlacement() {
+    PlacementPlan plan = sanctuary.planPlacement(PlacementStrategy.SpeciesBestFit);
+
+    assertEquals(3, sanctuary.applyPlacement(plan));
+    assertEquals(0, sanctuary.getIsolationOccupancy());
+    assertEquals(0, sanctuary.applyPlacement(plan));
+  }
+}
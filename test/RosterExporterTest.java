@@ -0,0 +1,89 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import sanctuary.ExportReport;
+import sanctuary.RosterExporter;
+import sanctuary.Sanctuary;
+import sanctuary.entities.Monkey;
+import sanctuary.enums.ExportFormat;
+import sanctuary.enums.Foods;
+import sanctuary.enums.Sex;
+import sanctuary.enums.Size;
+import sanctuary.enums.Species;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit Tests for RosterExporter class.
+ */
+public class RosterExporterTest {
+
+  private Path file;
+  private Sanctuary sanctuary;
+
+  @Before
+  public void setUp() throws Exception {
+    file = Files.createTempFile("roster", ".export");
+    sanctuary = new Sanctuary();
+    sanctuary.createIsolation(10);
+    sanctuary.createEnclosure("Enclosure 1", 50, Species.Drill);
+    Monkey monkey1 = new Monkey("Emma", Species.Drill, Sex.Female, Size.Medium,
+            42.5, 24, Foods.Eggs);
+    Monkey monkey2 = new Monkey("Drake, \"Jr\"", Species.Guereza, Sex.Male, Size.Large,
+            82, 44, Foods.Fruits);
+    Monkey monkey3 = new Monkey("Zo\u00eb", Species.Howler, Sex.Female, Size.Small,
+            12, 4, Foods.Leaves);
+    sanctuary.addMonkeyToSanctuary(monkey1);
+    sanctuary.addMonkeyToSanctuary(monkey2);
+    sanctuary.addMonkeyToSanctuary(monkey3);
+    sanctuary.shiftMonkeyToEnclosure(monkey1);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    Files.deleteIfExists(file);
+  }
+
+  @Test
+  public void exportCsv() throws IOException {
+    ExportReport report = new RosterExporter().export(sanctuary, file, ExportFormat.Csv);
+    List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+
+    assertEquals(3, report.getRecords());
+    assertEquals(Files.size(file), report.getBytes());
+    assertEquals("housing,name,species,sex,size,weight,age,favoriteFood", lines.get(0));
+    assertEquals("Isolation,\"Drake, \"\"Jr\"\"\",Guereza,Male,Large,82,44,Fruits",
+            lines.get(1));
+    assertEquals("Isolation,Zo\u00eb,Howler,Female,Small,12,4,Leaves", lines.get(2));
+    assertEquals("Enclosure 1,Emma,Drill,Female,Medium,42.5,24,Eggs", lines.get(3));
+  }
+
+  @Test
+  public void exportJsonLinesThroughSmallBuffer() throws IOException {
+    RosterExporter exporter = new RosterExporter(64, 1);
+    exporter.export(sanctuary, file, ExportFormat.Csv);
+    ExportReport report = exporter.export(sanctuary, file, ExportFormat.JsonLines);
+    List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+
+    assertEquals(3, lines.size());
+    assertEquals(Files.size(file), report.getBytes());
+    assertEquals("{\"housing\":\"Isolation\",\"name\":\"Drake, \\\"Jr\\\"\","
+            + "\"species\":\"Guereza\",\"sex\":\"Male\",\"size\":\"Large\",\"weight\":82,"
+            + "\"age\":44,\"favoriteFood\":\"Fruits\"}", lines.get(0));
+    assertEquals("{\"housing\":\"Enclosure 1\",\"name\":\"Emma\",\"species\":\"Drill\","
+            + "\"sex\":\"Female\",\"size\":\"Medium\",\"weight\":42.5,\"age\":24,"
+            + "\"favoriteFood\":\"Eggs\"}", lines.get(2));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void bufferTooSmall() {
+    new RosterExporter(16, 1);
+  }
+}
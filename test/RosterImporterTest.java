@@ -0,0 +1,189 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import sanctuary.ImportReport;
+import sanctuary.RosterExporter;
+import sanctuary.RosterImporter;
+import sanctuary.Sanctuary;
+import sanctuary.SanctuaryReport;
+import sanctuary.entities.Monkey;
+import sanctuary.enums.ExportFormat;
+import sanctuary.enums.Foods;
+import sanctuary.enums.Sex;
+import sanctuary.enums.Size;
+import sanctuary.enums.Species;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Unit Tests for RosterImporter class.
+ */
+public class RosterImporterTest {
+
+  private Path file;
+  private Sanctuary sanctuary;
+
+  @Before
+  public void setUp() throws Exception {
+    file = Files.createTempFile("roster", ".csv");
+    sanctuary = new Sanctuary();
+    sanctuary.createIsolation(10);
+    sanctuary.createEnclosure("Enclosure 1", 50, Species.Drill);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    Files.deleteIfExists(file);
+  }
+
+  @Test
+  public void importExportedRoster() throws IOException {
+    Sanctuary source = new Sanctuary();
+    source.createIsolation(10);
+    source.createEnclosure("Enclosure 1", 50, Species.Drill);
+    Monkey monkey1 = new Monkey("Emma", Species.Drill, Sex.Female, Size.Medium, 42.5, 24,
+            Foods.Eggs);
+    source.addMonkeyToSanctuary(monkey1);
+    source.addMonkeyToSanctuary(new Monkey("Drake, \"Jr\"", Species.Guereza, Sex.Male,
+            Size.Large, 82, 44, Foods.Fruits));
+    source.addMonkeyToSanctuary(new Monkey("Zo\u00eb", Species.Howler, Sex.Female, null,
+            12.125, 4, Foods.Leaves));
+    source.shiftMonkeyToEnclosure(monkey1);
+    new RosterExporter().export(source, file, ExportFormat.Csv);
+
+    ImportReport report = new RosterImporter().load(sanctuary, file);
+    Monkey drake = sanctuary.lookupMonkey("Drake, \"Jr\"");
+    Monkey zoe = sanctuary.lookupMonkey("Zo\u00eb");
+
+    assertEquals(3, report.getRows());
+    assertEquals(3, report.getAdmitted());
+    assertEquals(1, report.getPlaced());
+    assertEquals(0, report.getRejectedCount());
+    assertEquals(Size.Large, drake.getSize());
+    assertEquals(82, drake.getWeight(), 0);
+    assertNull(zoe.getSize());
+    assertEquals(12.125, zoe.getWeight(), 0);
+    assertEquals(2, sanctuary.getSanctuaryReport().getIsolation().getMonkeyCount());
+    assertEquals(1, sanctuary.getSanctuaryReport().getEnclosures().get(0).getMonkeyCount());
+  }
+
+  @Test
+  public void rejectRowsWithoutAborting() throws IOException {
+    write("housing,name,species,sex,size,weight,age,favoriteFood",
+            "Enclosure 1,Emma,Drill,Female,Medium,42.5,24,Eggs",
+            "Isolation,Kong,Gorilla,Male,Large,90,50,Fruits",
+            "",
+            "Isolation,Emma,Drill,Female,Small,10,3,Eggs",
+            "Enclosure 9,Bob,Drill,Male,Small,10,3,Eggs",
+            "Isolation,Tiny,Howler,Male,Small,-4,3,Seeds",
+            "Enclosure 1,Gus,Howler,Male,Small,8,3,Seeds",
+            "Isolation,Ada,Tamarin,Female,Small,1e1,12",
+            "Isolation,Max,Tamarin,Male,,1.5e1,12,Nuts\r",
+            "Isolation,\"Unclosed,Howler,Male,Small,8,3,Seeds");
+
+    ImportReport report = new RosterImporter().load(sanctuary, file);
+
+    assertEquals(9, report.getRows());
+    assertEquals(3, report.getAdmitted());
+    assertEquals(1, report.getPlaced());
+    assertEquals(Arrays.asList("Line 3: Unknown species 'Gorilla'",
+            "Line 5: Not admitted: DuplicateName",
+            "Line 6: No enclosure named 'Enclosure 9'",
+            "Line 7: Weight and Age cannot be 0 or less.",
+            "Line 8: Kept in Isolation: WrongSpecies in Enclosure 1",
+            "Line 9: Expected 8 fields, found 7",
+            "Line 11: Unterminated quoted field"), report.getRejections());
+    assertEquals(15, sanctuary.lookupMonkey("Max").getWeight(), 0);
+    assertEquals(Foods.Nuts, sanctuary.lookupMonkey("Max").getFavoriteFood());
+  }
+
+  @Test
+  public void importNamesWithLineBreaks() throws IOException {
+    Sanctuary source = new Sanctuary();
+    source.createIsolation(100);
+    for (int i = 0; i < 40; i++) {
+      String name = i % 3 == 0 ? "Line\nBreak " + i : "Monkey " + i;
+      source.addMonkeyToSanctuary(new Monkey(name, Species.Howler, Sex.Male, Size.Small, 8,
+              i, Foods.Seeds));
+    }
+    new RosterExporter().export(source, file, ExportFormat.Csv);
+    sanctuary = new Sanctuary();
+    sanctuary.createIsolation(100);
+    ForkJoinPool pool = new ForkJoinPool(2);
+    ImportReport report = new RosterImporter(pool, 16, 8).load(sanctuary, file);
+    pool.shutdown();
+
+    assertEquals(40, report.getRows());
+    assertEquals(40, report.getAdmitted());
+    assertEquals(0, report.getRejectedCount());
+    assertEquals(39, sanctuary.lookupMonkey("Line\nBreak 39").getAge(), 0);
+    assertEquals(38, sanctuary.lookupMonkey("Monkey 38").getAge(), 0);
+  }
+
+  @Test
+  public void numberRowsByTheLineTheyStartOn() throws IOException {
+    write("Isolation,\"Two\nLines\",Howler,Male,Small,8,3,Seeds",
+            "Isolation,Broken,Howler",
+            "Isolation,\"Three\r\nLong\nLines\",Howler,Male,Small,8,3,Seeds",
+            "Isolation,Broken,Howler");
+
+    ImportReport report = new RosterImporter().load(sanctuary, file);
+
+    assertEquals(2, report.getAdmitted());
+    assertEquals(Arrays.asList("Line 3: Expected 8 fields, found 3",
+            "Line 7: Expected 8 fields, found 3"), report.getRejections());
+    assertEquals(Size.Small, sanctuary.lookupMonkey("Three\r\nLong\nLines").getSize());
+  }
+
+  @Test
+  public void importChunksInParallel() throws IOException {
+    sanctuary = new Sanctuary();
+    sanctuary.createIsolation(200);
+    sanctuary.createEnclosure("Enclosure 2", 1000, Species.Howler);
+    String[] lines = new String[300];
+    for (int i = 0; i < lines.length; i++) {
+      lines[i] = (i % 2 == 0 ? "Enclosure 2" : "Isolation") + ",Monkey " + i
+              + ",Howler,Female,Small," + (i % 7) + ".5," + i + ",Seeds";
+    }
+    lines[100] = "Isolation,Broken,Howler";
+    lines[251] = "Isolation,Monkey 3,Howler,Female,Small,1,1,Seeds";
+    write(lines);
+    ForkJoinPool pool = new ForkJoinPool(2);
+    ImportReport report = new RosterImporter(pool, 256, 16).load(sanctuary, file);
+    pool.shutdown();
+
+    assertEquals(300, report.getRows());
+    assertEquals(298, report.getAdmitted());
+    assertEquals(149, report.getPlaced());
+    assertEquals(Arrays.asList("Line 101: Expected 8 fields, found 3",
+            "Line 252: Not admitted: DuplicateName"), report.getRejections());
+    assertEquals(4.5, sanctuary.lookupMonkey("Monkey 298").getWeight(), 0);
+    SanctuaryReport housing = sanctuary.getSanctuaryReport();
+    assertEquals(149, housing.getEnclosures().get(0).getMonkeyCount());
+    assertEquals(149, housing.getIsolation().getMonkeyCount());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void noBatchSize() {
+    new RosterImporter(ForkJoinPool.commonPool(), 1024, 0);
+  }
+
+  /**
+   * Write lines to the file.
+   *
+   * @param lines lines of the file.
+   * @throws IOException if the file cannot be written.
+   */
+  private void write(String... lines) throws IOException {
+    Files.write(file, (String.join("\n", lines) + "\n").getBytes(StandardCharsets.UTF_8));
+  }
+}
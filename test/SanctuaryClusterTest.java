@@ -0,0 +1,142 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import sanctuary.SanctuaryCluster;
+import sanctuary.entities.Monkey;
+import sanctuary.enums.Foods;
+import sanctuary.enums.Outcome;
+import sanctuary.enums.Sex;
+import sanctuary.enums.ShardingPolicy;
+import sanctuary.enums.Size;
+import sanctuary.enums.Species;
+import sanctuary.housing.Result;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Unit Tests for SanctuaryCluster class.
+ */
+public class SanctuaryClusterTest {
+
+  private SanctuaryCluster cluster;
+
+  @Before
+  public void setUp() throws Exception {
+    cluster = new SanctuaryCluster(3, 2, ShardingPolicy.SpeciesAffinity);
+  }
+
+  @Test
+  public void routeOverflowToNextShard() {
+    Monkey monkey1 = new Monkey("Emma", Species.Drill, Sex.Female, Size.Medium, 42, 24,
+            Foods.Eggs);
+    Monkey monkey2 = new Monkey("Emily", Species.Drill, Sex.Female, Size.Small, 12, 4,
+            Foods.Insects);
+    Monkey monkey3 = new Monkey("Jake", Species.Drill, Sex.Male, Size.Large, 22, 24,
+            Foods.Insects);
+    int home = cluster.homeShard(monkey1);
+
+    assertEquals(Integer.valueOf(home), cluster.tryAddMonkey(monkey1).getValue());
+    assertEquals(Integer.valueOf(home), cluster.tryAddMonkey(monkey2).getValue());
+    assertEquals(Integer.valueOf((home + 1) % 3), cluster.tryAddMonkey(monkey3).getValue());
+    assertEquals(1, cluster.getOverflowCount());
+    assertSame(monkey3, cluster.lookupMonkey("Jake"));
+  }
+
+  @Test
+  public void rejectWhenEveryShardIsFull() {
+    for (int i = 0; i < 6; i++) {
+      assertEquals(Outcome.Done, cluster.tryAddMonkey(new Monkey("Monkey " + i,
+              Species.Saki, Sex.Male, Size.Small, 3, 20, Foods.Seeds)).getOutcome());
+    }
+    Result<Integer> result = cluster.tryAddMonkey(new Monkey("Monkey 6", Species.Saki,
+            Sex.Male, Size.Small, 3, 20, Foods.Seeds));
+
+    assertEquals(Outcome.NoSpace, result.getOutcome());
+    assertEquals(-1, cluster.getShardOf("Monkey 6"));
+    assertEquals(6, cluster.getIsolationOccupancy());
+  }
+
+  @Test
+  public void uniqueNamesAcrossShards() {
+    cluster.tryAddMonkey(new Monkey("Emma", Species.Drill, Sex.Female, Size.Medium, 42, 24,
+            Foods.Eggs));
+    Result<Integer> result = cluster.tryAddMonkey(new Monkey("Emma", Species.Howler,
+            Sex.Female, Size.Medium, 42, 24, Foods.Eggs));
+
+    assertEquals(Outcome.DuplicateName, result.getOutcome());
+    assertEquals(1, cluster.getIsolationOccupancy());
+  }
+
+  @Test
+  public void transferMonkey() {
+    Monkey monkey = new Monkey("Emma", Species.Drill, Sex.Female, Size.Medium, 42, 24,
+            Foods.Eggs);
+    cluster.tryAddMonkey(monkey);
+    int source = cluster.getShardOf("Emma");
+    int target = (source + 1) % 3;
+    cluster.tryCreateEnclosure(target, "Enclosure 1", 10, Species.Drill);
+
+    assertEquals(Outcome.Done, cluster.transferMonkey("Emma", target).getOutcome());
+    assertEquals(target, cluster.getShardOf("Emma"));
+    assertEquals(0, cluster.getIsolationOccupancy(source));
+    assertEquals(1, cluster.getIsolationOccupancy(target));
+    assertEquals(Integer.valueOf(250), cluster.getShoppingList().get("Eggs"));
+    assertEquals("Enclosure 1",
+            cluster.tryShiftMonkeyToEnclosure("Emma").getValue().getName());
+    assertEquals(Outcome.NotFound, cluster.transferMonkey("Emma", source).getOutcome());
+    assertEquals(Outcome.NotFound, cluster.transferMonkey("Drake", source).getOutcome());
+    assertNull(cluster.lookupMonkey("Drake"));
+  }
+
+  @Test
+  public void transferToFullShard() {
+    cluster.tryAddMonkey(new Monkey("Emma", Species.Drill, Sex.Female, Size.Medium, 42, 24,
+            Foods.Eggs));
+    int target = (cluster.getShardOf("Emma") + 1) % 3;
+    for (int i = 0; i < 2; i++) {
+      Monkey monkey = new Monkey("Monkey " + i, Species.Drill, Sex.Male, Size.Small, 3, 20,
+              Foods.Seeds);
+      cluster.tryAddMonkey(monkey);
+      cluster.transferMonkey(monkey.getName(), target);
+    }
+
+    assertEquals(Outcome.NoSpace, cluster.transferMonkey("Emma", target).getOutcome());
+  }
+
+  @Test
+  public void parallelIntake() throws Exception {
+    SanctuaryCluster hashed = new SanctuaryCluster(4, 1000, ShardingPolicy.NameHash);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      futures.add(executor.submit(() -> {
+        for (int i = 0; i < 1000; i++) {
+          hashed.tryAddMonkey(new Monkey("Monkey " + i, Species.Saki, Sex.Male, Size.Small,
+                  3, 20, Foods.Seeds));
+        }
+      }));
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    executor.shutdown();
+    executor.awaitTermination(10, TimeUnit.SECONDS);
+
+    assertEquals(1000, hashed.getIsolationOccupancy());
+    assertEquals(Integer.valueOf(100_000), hashed.getShoppingList().get("Seeds"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void noShards() {
+    new SanctuaryCluster(0, 10, ShardingPolicy.NameHash);
+  }
+}
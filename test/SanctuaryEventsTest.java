@@ -0,0 +1,118 @@
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import sanctuary.Sanctuary;
+import sanctuary.entities.Monkey;
+import sanctuary.enums.Foods;
+import sanctuary.enums.Sex;
+import sanctuary.enums.Size;
+import sanctuary.enums.Species;
+import sanctuary.housing.Enclosure;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Unit Tests for the Flight Recorder events of the Sanctuary.
+ */
+public class SanctuaryEventsTest {
+
+  private Sanctuary sanctuary;
+  private Enclosure enclosure;
+
+  @Before
+  public void setUp() throws Exception {
+    sanctuary = new Sanctuary();
+    sanctuary.createIsolation(2);
+    enclosure = (Enclosure) sanctuary.createEnclosure("Enclosure 1", 10, Species.Drill);
+  }
+
+  @Test
+  public void intakeAndShiftEvents() throws Exception {
+    List<RecordedEvent> events = record(() -> {
+      sanctuary.addMonkeyToSanctuary(new Monkey("Emma", Species.Drill, Sex.Female, Size.Large,
+              42, 24, Foods.Eggs));
+      sanctuary.addMonkeyToSanctuary(new Monkey("Emma", Species.Drill, Sex.Female, Size.Large,
+              42, 24, Foods.Eggs));
+      sanctuary.addMonkeyToSanctuary(new Monkey("Jake", Species.Spider, Sex.Male, Size.Large,
+              22, 24, Foods.Insects));
+      sanctuary.shiftMonkeyToEnclosure(sanctuary.lookupMonkey("Emma"));
+      sanctuary.shiftMonkeyToEnclosure(sanctuary.lookupMonkey("Jake"));
+    });
+
+    assertEquals(5, events.size());
+    assertEquals("sanctuary.Intake", events.get(0).getEventType().getName());
+    assertEquals("Emma", events.get(0).getString("monkeyName"));
+    assertEquals("Admitted", events.get(0).getString("outcome"));
+    assertEquals(1, events.get(0).getInt("cagesOccupied"));
+    assertEquals("DuplicateName", events.get(1).getString("outcome"));
+
+    RecordedEvent shifted = events.get(3);
+    assertEquals("sanctuary.Shift", shifted.getEventType().getName());
+    assertEquals("Drill", shifted.getString("species"));
+    assertEquals("Enclosure 1", shifted.getString("enclosure"));
+    assertEquals(1, shifted.getInt("scanLength"));
+    assertEquals("Shifted", shifted.getString("outcome"));
+
+    RecordedEvent rejected = events.get(4);
+    assertNull(rejected.getString("enclosure"));
+    assertEquals(2, rejected.getInt("scanLength"));
+    assertEquals("NoEnclosure", rejected.getString("outcome"));
+  }
+
+  @Test
+  public void reportEvents() throws Exception {
+    sanctuary.addMonkeyToSanctuary(new Monkey("Emma", Species.Drill, Sex.Female, Size.Large,
+            42, 24, Foods.Eggs));
+    sanctuary.shiftMonkeyToEnclosure(sanctuary.lookupMonkey("Emma"));
+
+    List<RecordedEvent> events = record(() -> {
+      sanctuary.getShoppingList();
+      sanctuary.getSpeciesListInIsolation();
+      sanctuary.getEnclosureSignBoard(enclosure);
+    });
+
+    assertEquals(3, events.size());
+    assertEquals("sanctuary.ShoppingList", events.get(0).getEventType().getName());
+    assertEquals(1, events.get(0).getInt("monkeys"));
+    assertEquals(1, events.get(0).getInt("entries"));
+    assertEquals("Isolation", events.get(1).getString("housing"));
+    assertEquals("SpeciesList", events.get(1).getString("report"));
+    assertEquals("Enclosure 1", events.get(2).getString("housing"));
+    assertEquals("SignBoard", events.get(2).getString("report"));
+    assertEquals(1, events.get(2).getInt("entries"));
+  }
+
+  /**
+   * Record the sanctuary events emitted while the work runs.
+   *
+   * @param work work to be recorded.
+   * @return the events recorded, in the order they were emitted.
+   * @throws Exception if the recording cannot be written or read.
+   */
+  private static List<RecordedEvent> record(Runnable work) throws Exception {
+    Path file = Files.createTempFile("sanctuary", ".jfr");
+    try (Recording recording = new Recording()) {
+      for (String event : new String[] {"Intake", "BatchIntake", "Shift", "ShoppingList",
+          "HousingReport"}) {
+        recording.enable("sanctuary." + event).withoutStackTrace();
+      }
+      recording.start();
+      work.run();
+      recording.stop();
+      recording.dump(file);
+      List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+      events.sort((a, b) -> a.getStartTime().compareTo(b.getStartTime()));
+      return events;
+    } finally {
+      Files.delete(file);
+    }
+  }
+}
@@ -0,0 +1,217 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import sanctuary.PlacementPlan;
+import sanctuary.Sanctuary;
+import sanctuary.SanctuaryLog;
+import sanctuary.entities.Monkey;
+import sanctuary.enums.Foods;
+import sanctuary.enums.PlacementStrategy;
+import sanctuary.enums.Sex;
+import sanctuary.enums.Size;
+import sanctuary.enums.Species;
+import sanctuary.housing.ElasticCapacity;
+import sanctuary.housing.Enclosure;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit Tests for SanctuaryLog class.
+ */
+public class SanctuaryLogTest {
+
+  private Path file;
+  private SanctuaryLog log;
+  private Sanctuary sanctuary;
+
+  @Before
+  public void setUp() throws Exception {
+    file = Files.createTempFile("sanctuary", ".log");
+    log = SanctuaryLog.open(file, 4);
+    sanctuary = log.restore();
+    sanctuary.createIsolation(5);
+    sanctuary.createEnclosure("Enclosure 1", 50, Species.Spider);
+    sanctuary.createEnclosure("Enclosure 2", 50, Species.Drill);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    Files.deleteIfExists(file);
+  }
+
+  @Test
+  public void replay() throws IOException {
+    Monkey monkey1 = new Monkey("Emma", Species.Drill, Sex.Female, Size.Medium,
+            42, 24, Foods.Eggs);
+    Monkey monkey2 = new Monkey("Drake", Species.Guereza, Sex.Male, Size.Large,
+            82, 44, Foods.Fruits);
+    Monkey monkey3 = new Monkey("Emily", Species.Drill, Sex.Female, Size.Small,
+            12, 4, Foods.Insects);
+    sanctuary.addMonkeyToSanctuary(monkey1);
+    sanctuary.addMonkeyToSanctuary(monkey2);
+    sanctuary.addMonkeyToSanctuary(monkey3);
+    sanctuary.shiftMonkeyToEnclosure(monkey1);
+    sanctuary.increaseIsolationCapacity(5);
+    monkey3.setSize(Size.Large);
+    monkey2.setWeight(90);
+    monkey2.setAge(50);
+    sanctuary.shiftMonkeyToEnclosure(monkey3);
+    log.close();
+
+    Sanctuary replayed = SanctuaryLog.replay(file);
+
+    assertEquals(10, replayed.getIsolationCapacity());
+    assertEquals(sanctuary.getMonkeysInIsolation(), replayed.getMonkeysInIsolation());
+    assertEquals(sanctuary.getShoppingList(), replayed.getShoppingList());
+    assertEquals(Size.Large, replayed.lookupMonkey("Emily").getSize());
+    assertEquals(90, replayed.lookupMonkey("Drake").getWeight(), 0.001);
+    assertEquals(50, replayed.lookupMonkey("Drake").getAge(), 0.001);
+    Enclosure enclosure = (Enclosure) replayed.shiftMonkeyToEnclosure(
+            replayed.lookupMonkey("Drake"));
+    assertEquals("Enclosure 1", enclosure.getName());
+  }
+
+  @Test
+  public void replayRelease() throws IOException {
+    sanctuary.addMonkeyToSanctuary(new Monkey("Emma", Species.Drill, Sex.Female, Size.Medium,
+            42, 24, Foods.Eggs));
+    sanctuary.addMonkeyToSanctuary(new Monkey("Drake", Species.Guereza, Sex.Male, Size.Large,
+            82, 44, Foods.Fruits));
+    sanctuary.tryReleaseMonkey("Emma");
+    log.close();
+
+    Sanctuary replayed = SanctuaryLog.replay(file);
+
+    assertEquals(1, replayed.getIsolationOccupancy());
+    assertEquals(null, replayed.lookupMonkey("Emma"));
+    assertEquals(sanctuary.getShoppingList(), replayed.getShoppingList());
+  }
+
+  @Test
+  public void replayElasticIsolation() throws IOException {
+    sanctuary.setIsolationElasticity(new ElasticCapacity(0.25, 0.8, 5, 100));
+    for (int i = 0; i < 12; i++) {
+      sanctuary.addMonkeyToSanctuary(new Monkey("Monkey" + i, Species.Drill, Sex.Male,
+              Size.Small, 12, 4, Foods.Eggs));
+    }
+    log.close();
+
+    Sanctuary replayed = SanctuaryLog.replay(file);
+
+    assertEquals(12, replayed.getIsolationOccupancy());
+    assertEquals(sanctuary.getIsolationCapacity(), replayed.getIsolationCapacity());
+  }
+
+  @Test
+  public void replayRecordsWithLongestNames() throws IOException {
+    String[] names = new String[5];
+    for (int i = 0; i < names.length; i++) {
+      names[i] = String.valueOf((char) ('a' + i)).repeat(0xFFFF);
+    }
+    sanctuary.createEnclosure(names[0], 10, Species.Drill);
+    sanctuary.createEnclosure(names[1], 10, Species.Drill);
+    Monkey[] monkeys = new Monkey[3];
+    for (int i = 0; i < monkeys.length; i++) {
+      monkeys[i] = new Monkey(names[2 + i], Species.Drill, Sex.Male, Size.Medium, 12, 24,
+              Foods.Eggs);
+      sanctuary.addMonkeyToSanctuary(monkeys[i]);
+      sanctuary.shiftMonkeyToEnclosure(monkeys[i]);
+    }
+    monkeys[0].setSize(Size.Small);
+    monkeys[1].setSize(Size.Small);
+    //Both small monkeys move to the other enclosure, each move record carrying three names.
+    while (sanctuary.compactEnclosures(1_000_000)) {
+      continue;
+    }
+    sanctuary.addMonkeyToSanctuary(new Monkey("Jake", Species.Spider, Sex.Male, Size.Small,
+            22, 24, Foods.Insects));
+    log.close();
+
+    Sanctuary replayed = SanctuaryLog.replay(file);
+
+    assertEquals(2, sanctuary.getCompactionReport().getMovesMade());
+    assertEquals(1, replayed.getIsolationOccupancy());
+    assertEquals(sanctuary.getSanctuaryReport().getEnclosures().toString(),
+            replayed.getSanctuaryReport().getEnclosures().toString());
+  }
+
+  @Test
+  public void replayMovesBetweenEnclosuresWithSameName() throws IOException {
+    sanctuary.createEnclosure("Twin", 10, Species.Howler);
+    sanctuary.createEnclosure("Twin", 20, Species.Howler);
+    Monkey[] monkeys = new Monkey[3];
+    for (int i = 0; i < monkeys.length; i++) {
+      monkeys[i] = new Monkey("Monkey" + i, Species.Howler, Sex.Male,
+              i < 2 ? Size.Medium : Size.Small, 12, 24, Foods.Eggs);
+      sanctuary.addMonkeyToSanctuary(monkeys[i]);
+      sanctuary.shiftMonkeyToEnclosure(monkeys[i]);
+    }
+    //Monkey2 went to the second Twin, and moves to the first once Monkey0 is small.
+    monkeys[0].setSize(Size.Small);
+    while (sanctuary.compactEnclosures(1_000_000)) {
+      continue;
+    }
+    log.close();
+
+    Sanctuary replayed = SanctuaryLog.replay(file);
+
+    assertEquals(1, sanctuary.getCompactionReport().getMovesMade());
+    assertEquals(sanctuary.getSanctuaryReport().getEnclosures().toString(),
+            replayed.getSanctuaryReport().getEnclosures().toString());
+  }
+
+  @Test
+  public void replayPlacementInEnclosuresWithSameName() throws IOException {
+    sanctuary.createEnclosure("Twin", 10, Species.Howler);
+    sanctuary.createEnclosure("Twin", 20, Species.Howler);
+    //Keep the first enclosures designated, so the plan only has the twins for the Howlers.
+    Monkey spider = new Monkey("Spider", Species.Spider, Sex.Male, Size.Small, 12, 24,
+            Foods.Eggs);
+    Monkey drill = new Monkey("Drill", Species.Drill, Sex.Male, Size.Small, 12, 24,
+            Foods.Eggs);
+    sanctuary.addMonkeyToSanctuary(spider);
+    sanctuary.addMonkeyToSanctuary(drill);
+    sanctuary.shiftMonkeyToEnclosure(spider);
+    sanctuary.shiftMonkeyToEnclosure(drill);
+    for (int i = 0; i < 4; i++) {
+      sanctuary.addMonkeyToSanctuary(new Monkey("Monkey" + i, Species.Howler, Sex.Male,
+              Size.Medium, 12, 24, Foods.Eggs));
+    }
+    PlacementPlan plan = sanctuary.planPlacement(PlacementStrategy.FirstFitDecreasing);
+    assertEquals(4, sanctuary.applyPlacement(plan));
+    log.close();
+
+    Sanctuary replayed = SanctuaryLog.replay(file);
+
+    assertEquals(sanctuary.getSanctuaryReport().getEnclosures().toString(),
+            replayed.getSanctuaryReport().getEnclosures().toString());
+  }
+
+  @Test
+  public void replayIgnoresTornRecord() throws IOException {
+    sanctuary.addMonkeyToSanctuary(new Monkey("Emma", Species.Drill, Sex.Female,
+            Size.Medium, 42, 24, Foods.Eggs));
+    sanctuary.addMonkeyToSanctuary(new Monkey("Drake", Species.Guereza, Sex.Male,
+            Size.Large, 82, 44, Foods.Fruits));
+    log.close();
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+      channel.truncate(channel.size() - 3);
+    }
+
+    log = SanctuaryLog.open(file, 1);
+    Sanctuary restored = log.restore();
+    assertEquals(1, restored.getIsolationOccupancy());
+
+    restored.addMonkeyToSanctuary(new Monkey("Emily", Species.Drill, Sex.Female,
+            Size.Small, 12, 4, Foods.Insects));
+    log.close();
+    assertEquals(2, SanctuaryLog.replay(file).getIsolationOccupancy());
+  }
+}
@@ -0,0 +1,152 @@
+import java.lang.management.ManagementFactory;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import sanctuary.Sanctuary;
+import sanctuary.entities.Monkey;
+import sanctuary.enums.Foods;
+import sanctuary.enums.Operation;
+import sanctuary.enums.Sex;
+import sanctuary.enums.Size;
+import sanctuary.enums.Species;
+import sanctuary.metrics.LatencyHistogram;
+import sanctuary.metrics.SanctuaryMetrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit Tests for SanctuaryMetrics class.
+ */
+public class SanctuaryMetricsTest {
+
+  private Sanctuary sanctuary;
+
+  @Before
+  public void setUp() throws Exception {
+    sanctuary = new Sanctuary();
+    sanctuary.createIsolation(2);
+    sanctuary.createEnclosure("Enclosure 1", 10, Species.Drill);
+    sanctuary.addMonkeyToSanctuary(new Monkey("Emma", Species.Spider, Sex.Female, Size.Large,
+            42, 24, Foods.Eggs));
+    sanctuary.addMonkeyToSanctuary(new Monkey("Emma", Species.Drill, Sex.Female, Size.Large,
+            42, 24, Foods.Eggs));
+    sanctuary.addMonkeyToSanctuary(new Monkey("Jake", Species.Drill, Sex.Male, Size.Large,
+            22, 24, Foods.Insects));
+    sanctuary.addMonkeyToSanctuary(new Monkey("Kong", Species.Drill, Sex.Male, Size.Medium,
+            22, 40, Foods.Eggs));
+  }
+
+  @Test
+  public void countIntakesAndShifts() {
+    sanctuary.shiftMonkeyToEnclosure(sanctuary.lookupMonkey("Emma"));
+    sanctuary.shiftMonkeyToEnclosure(sanctuary.lookupMonkey("Jake"));
+    SanctuaryMetrics metrics = sanctuary.getMetrics();
+
+    assertEquals(2, metrics.getIntakeCount());
+    assertEquals(1, metrics.getDuplicateNameRejections());
+    assertEquals(1, metrics.getNoSpaceRejections());
+    assertEquals(1, metrics.getShiftCount());
+    assertEquals(1, metrics.getNoEnclosureRejections());
+    assertEquals(1, metrics.getRedesignationCount());
+    assertEquals(4, metrics.getLatency(Operation.Intake).getCount());
+    assertEquals(2, metrics.getLatency(Operation.Shift).getCount());
+  }
+
+  @Test
+  public void housingGauges() {
+    sanctuary.shiftMonkeyToEnclosure(sanctuary.lookupMonkey("Emma"));
+    SanctuaryMetrics metrics = sanctuary.getMetrics();
+
+    assertEquals(2, metrics.getHousings().size());
+    assertEquals(1, metrics.getHousing("Isolation").getOccupied());
+    assertEquals(0.5, metrics.getHousing("Isolation").getOccupancy(), 0.001);
+    assertEquals(10, metrics.getHousing("Enclosure 1").getOccupied());
+    assertEquals(1, metrics.getHousing("Enclosure 1").getRedesignationCount());
+  }
+
+  @Test
+  public void housingGaugesWithSharedNames() {
+    sanctuary.createEnclosure("Enclosure 1", 20, Species.Howler);
+    sanctuary.createEnclosure("Isolation", 30, Species.Howler);
+    sanctuary.shiftMonkeyToEnclosure(sanctuary.lookupMonkey("Emma"));
+    sanctuary.shiftMonkeyToEnclosure(sanctuary.lookupMonkey("Jake"));
+    SanctuaryMetrics metrics = sanctuary.getMetrics();
+
+    assertEquals(4, metrics.getHousings().size());
+    assertEquals(2, metrics.getHousing("Isolation").getCapacity());
+    assertEquals(2, metrics.getRedesignationCount());
+    assertEquals(10, metrics.getHousings().get(2).getOccupied());
+    assertEquals(30, metrics.getHousings().get(3).getCapacity());
+  }
+
+  @Test
+  public void sampleReports() {
+    SanctuaryMetrics metrics = sanctuary.getMetrics();
+    for (int i = 0; i < 128; i++) {
+      sanctuary.getShoppingList();
+    }
+    assertEquals(2, metrics.getLatency(Operation.ShoppingList).getCount());
+
+    metrics.setSampling(Operation.ShoppingList, 1);
+    sanctuary.getShoppingList();
+    assertEquals(3, metrics.getLatency(Operation.ShoppingList).getCount());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void samplingNotPowerOfTwo() {
+    sanctuary.getMetrics().setSampling(Operation.Shift, 3);
+  }
+
+  @Test
+  public void histogramPercentiles() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 1; i <= 1000; i++) {
+      histogram.record(i * 1000L);
+    }
+
+    assertEquals(1000, histogram.getCount());
+    assertEquals(500_500, histogram.getMeanNanos(), 0.001);
+    assertEquals(1_000_000, histogram.getMaxNanos());
+    assertEquals(500_000, histogram.getMedianNanos(), 500_000 / 16);
+    assertEquals(990_000, histogram.get99thPercentileNanos(), 990_000 / 16);
+
+    histogram.reset();
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getMedianNanos());
+  }
+
+  @Test
+  public void publishOverJmx() throws Exception {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    SanctuaryMetrics metrics = sanctuary.getMetrics();
+    metrics.register(server, "sanctuary.test");
+    try {
+      sanctuary.createEnclosure("Enclosure 2", 10, Species.Spider);
+
+      assertEquals(2L, server.getAttribute(new ObjectName("sanctuary.test:type=Sanctuary"),
+              "IntakeCount"));
+      assertEquals(4L, server.getAttribute(
+              new ObjectName("sanctuary.test:type=Latency,name=Intake"), "Count"));
+      sanctuary.createEnclosure("Isolation", 30, Species.Howler);
+
+      assertEquals(10, server.getAttribute(
+              new ObjectName("sanctuary.test:type=Housing,id=1,name=\"Enclosure 2\""),
+              "Capacity"));
+      assertEquals(2, server.getAttribute(
+              new ObjectName("sanctuary.test:type=Housing,id=Isolation,name=\"Isolation\""),
+              "Capacity"));
+      assertEquals(30, server.getAttribute(
+              new ObjectName("sanctuary.test:type=Housing,id=2,name=\"Isolation\""),
+              "Capacity"));
+    } finally {
+      metrics.unregister();
+    }
+    assertFalse(server.isRegistered(new ObjectName("sanctuary.test:type=Sanctuary")));
+    assertTrue(server.queryNames(new ObjectName("sanctuary.test:*"), null).isEmpty());
+  }
+}
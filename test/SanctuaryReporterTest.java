@@ -0,0 +1,94 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.EnumSet;
+import java.util.concurrent.ForkJoinPool;
+
+import sanctuary.ConcurrentSanctuary;
+import sanctuary.HousingSummary;
+import sanctuary.Sanctuary;
+import sanctuary.SanctuaryReport;
+import sanctuary.SanctuaryReporter;
+import sanctuary.entities.Monkey;
+import sanctuary.enums.Foods;
+import sanctuary.enums.Sex;
+import sanctuary.enums.Size;
+import sanctuary.enums.Species;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit Tests for the SanctuaryReporter class.
+ */
+public class SanctuaryReporterTest {
+
+  private Sanctuary sanctuary;
+
+  @Before
+  public void setUp() throws Exception {
+    sanctuary = new Sanctuary();
+    sanctuary.createIsolation(100);
+    Species[] species = Species.values();
+    for (int i = 0; i < 40; i++) {
+      sanctuary.createEnclosure("Enclosure " + i, 20, species[i % species.length]);
+    }
+    for (int i = 0; i < 60; i++) {
+      Monkey monkey = new Monkey("Monkey " + i, species[i % 3], Sex.Female, Size.Medium, 12,
+              24, Foods.Fruits);
+      sanctuary.tryAddMonkeyToSanctuary(monkey);
+      if (i % 2 == 0) {
+        sanctuary.tryShiftMonkeyToEnclosure(monkey);
+      }
+    }
+  }
+
+  @Test
+  public void reportSequentially() {
+    SanctuaryReport report = sanctuary.getSanctuaryReport();
+    HousingSummary isolation = report.getIsolation();
+
+    assertFalse(report.isParallel());
+    assertEquals(60, report.getMonkeyCount());
+    assertEquals(40, report.getEnclosures().size());
+    assertEquals(800, report.getEnclosureCapacity());
+    assertEquals(150, report.getEnclosureOccupied());
+    assertEquals(30, isolation.getMonkeyCount());
+    assertEquals(0.3, isolation.getUtilization(), 1e-9);
+    assertEquals(EnumSet.of(Species.values()[0], Species.values()[1], Species.values()[2]),
+            report.getSpecies());
+    assertEquals("Enclosure 0", report.getEnclosures().get(0).getName());
+  }
+
+  @Test
+  public void reportInParallel() {
+    ForkJoinPool pool = new ForkJoinPool(2);
+    SanctuaryReport sequential = sanctuary.getSanctuaryReport();
+    SanctuaryReport parallel = sanctuary.getSanctuaryReport(new SanctuaryReporter(pool, 3));
+    pool.shutdown();
+
+    assertTrue(parallel.isParallel());
+    assertEquals(sequential.getEnclosures().toString(), parallel.getEnclosures().toString());
+    assertEquals(sequential.getEnclosureOccupied(), parallel.getEnclosureOccupied());
+    assertEquals(sequential.getVacantEnclosures(), parallel.getVacantEnclosures());
+    assertEquals(sequential.getSpecies(), parallel.getSpecies());
+  }
+
+  @Test
+  public void reportConcurrentSanctuary() {
+    ConcurrentSanctuary concurrent = new ConcurrentSanctuary();
+    concurrent.createEnclosure("Enclosure 1", 50, Species.Drill);
+    SanctuaryReport report = concurrent.getSanctuaryReport();
+
+    assertNull(report.getIsolation());
+    assertEquals(1, report.getVacantEnclosures());
+    assertEquals(0, report.getMonkeyCount());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void noThreshold() {
+    new SanctuaryReporter(ForkJoinPool.commonPool(), 0);
+  }
+}
@@ -0,0 +1,126 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import sanctuary.Sanctuary;
+import sanctuary.SanctuarySnapshot;
+import sanctuary.entities.Monkey;
+import sanctuary.enums.Foods;
+import sanctuary.enums.Outcome;
+import sanctuary.enums.Sex;
+import sanctuary.enums.Size;
+import sanctuary.enums.Species;
+import sanctuary.housing.Enclosure;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Unit Tests for SanctuarySnapshot class.
+ */
+public class SanctuarySnapshotTest {
+
+  private Path file;
+  private Sanctuary sanctuary;
+  private Enclosure enclosure1;
+  private Enclosure enclosure2;
+
+  @Before
+  public void setUp() throws Exception {
+    file = Files.createTempFile("sanctuary", ".snapshot");
+    sanctuary = new Sanctuary();
+    sanctuary.createIsolation(10);
+    sanctuary.createEnclosure("Enclosure 1", 50, Species.Spider);
+    sanctuary.createEnclosure("Enclosure 2", 50, Species.Drill);
+
+    Monkey monkey1 = new Monkey("Emma", Species.Drill, Sex.Female, Size.Medium,
+            42, 24, Foods.Eggs);
+    Monkey monkey2 = new Monkey("Drake", Species.Guereza, Sex.Male, Size.Large,
+            82, 44, Foods.Fruits);
+    Monkey monkey3 = new Monkey("Emily", Species.Drill, Sex.Female, Size.Small,
+            12, 4, Foods.Insects);
+    Monkey monkey4 = new Monkey("Kong", Species.Spider, Sex.Male, Size.Large,
+            22, 40, Foods.Eggs);
+    sanctuary.addMonkeyToSanctuary(monkey1);
+    sanctuary.addMonkeyToSanctuary(monkey2);
+    sanctuary.addMonkeyToSanctuary(monkey3);
+    sanctuary.addMonkeyToSanctuary(monkey4);
+    enclosure2 = (Enclosure) sanctuary.shiftMonkeyToEnclosure(monkey1);
+    sanctuary.shiftMonkeyToEnclosure(monkey3);
+    enclosure1 = (Enclosure) sanctuary.shiftMonkeyToEnclosure(monkey4);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    Files.deleteIfExists(file);
+  }
+
+  @Test
+  public void load() throws IOException {
+    SanctuarySnapshot.write(sanctuary, file);
+    Sanctuary loaded = SanctuarySnapshot.load(file);
+
+    assertEquals(10, loaded.getIsolationCapacity());
+    assertEquals(sanctuary.getMonkeysInIsolation(), loaded.getMonkeysInIsolation());
+    assertEquals(sanctuary.getShoppingList(), loaded.getShoppingList());
+    assertEquals(44, loaded.lookupMonkey("Drake").getAge(), 0.001);
+  }
+
+  @Test
+  public void readmitReleasedMonkey() throws IOException {
+    SanctuarySnapshot.write(sanctuary, file);
+    Sanctuary loaded = SanctuarySnapshot.load(file);
+    Monkey drake = new Monkey("Drake", Species.Guereza, Sex.Male, Size.Small, 12, 2,
+            Foods.Nuts);
+
+    assertEquals(Outcome.DuplicateName, loaded.tryAddMonkeyToSanctuary(drake).getOutcome());
+    assertEquals(Outcome.DuplicateName, loaded.tryAddMonkeyToSanctuary(
+            new Monkey("Emma", Species.Drill, Sex.Female, Size.Small, 12, 2, Foods.Nuts))
+            .getOutcome());
+    assertEquals(Outcome.Done, loaded.tryReleaseMonkey("Drake").getOutcome());
+    assertEquals(Outcome.Done, loaded.tryAddMonkeyToSanctuary(drake).getOutcome());
+    assertEquals(2, loaded.lookupMonkey("Drake").getAge(), 0.001);
+  }
+
+  @Test
+  public void enclosureLoadedOnFirstAccess() throws IOException {
+    SanctuarySnapshot.write(sanctuary, file);
+    Sanctuary loaded = SanctuarySnapshot.load(file);
+    Monkey monkey = new Monkey("Jake", Species.Spider, Sex.Male, Size.Small,
+            22, 24, Foods.Insects);
+    loaded.addMonkeyToSanctuary(monkey);
+    Enclosure enclosure = (Enclosure) loaded.shiftMonkeyToEnclosure(monkey);
+
+    assertEquals("Enclosure 1", enclosure.getName());
+    assertEquals(enclosure1.getAvailableSpace() - 1, enclosure.getAvailableSpace());
+    assertEquals(enclosure1.signBoard().size() + 1, enclosure.signBoard().size());
+    assertEquals(true, enclosure.isTroopLoaded());
+  }
+
+  @Test
+  public void lookupMonkeyLoadsEnclosure() throws IOException {
+    SanctuarySnapshot.write(sanctuary, file);
+    Sanctuary loaded = SanctuarySnapshot.load(file);
+
+    Monkey monkey = loaded.lookupMonkey("Emily");
+    assertEquals(Species.Drill, monkey.getSpeciesType());
+    assertNull(loaded.lookupMonkey("Jake"));
+
+    monkey.setSize(Size.Large);
+    assertEquals(Integer.valueOf(500), loaded.getShoppingList().get("Insects"));
+  }
+
+  @Test
+  public void addMonkeyWithRestoredName() throws IOException {
+    SanctuarySnapshot.write(sanctuary, file);
+    Sanctuary loaded = SanctuarySnapshot.load(file);
+
+    loaded.addMonkeyToSanctuary(new Monkey("Kong", Species.Spider, Sex.Male, Size.Large,
+            22, 40, Foods.Eggs));
+    assertEquals(1, loaded.getIsolationOccupancy());
+  }
+}
@@ -2,22 +2,28 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.SortedSet;
 import java.util.TreeMap;
 import java.util.TreeSet;
 
+import sanctuary.IntakeReport;
 import sanctuary.Sanctuary;
 import sanctuary.entities.Monkey;
 import sanctuary.enums.Foods;
+import sanctuary.enums.IntakeOutcome;
+import sanctuary.enums.Outcome;
 import sanctuary.enums.Sex;
 import sanctuary.enums.Size;
 import sanctuary.enums.Species;
 
 import sanctuary.housing.Enclosure;
+import sanctuary.housing.Result;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 /**
  * Unit Tests for the Sanctuary facade class.
@@ -303,6 +309,23 @@ public class SanctuaryTest {
     assertEquals(expected, sanctuary.getShoppingList());
   }
 
+  @Test
+  public void getShoppingListAfterSizeChange() {
+    sanctuary.addMonkeyToSanctuary(monkey1);
+    sanctuary.addMonkeyToSanctuary(monkey3);
+    sanctuary.addMonkeyToSanctuary(monkey5);
+    sanctuary.shiftMonkeyToEnclosure(monkey5);
+
+    monkey1.setSize(Size.Large);
+    monkey5.setSize(Size.Small);
+
+    Map<String, Integer> expected = new TreeMap<>();
+    expected.put("Eggs", 600);
+    expected.put("Insects", 100);
+
+    assertEquals(expected, sanctuary.getShoppingList());
+  }
+
   @Test
   public void shiftMonkeyToEnclosure() {
     sanctuary.addMonkeyToSanctuary(monkey1);
@@ -316,4 +339,77 @@ public class SanctuaryTest {
 
     assertEquals(3, sanctuary.getIsolationOccupancy());
   }
-}
\ No newline at end of file
+
+  @Test
+  public void addMonkeysToSanctuary() {
+    sanctuary.createIsolation(3);
+    Monkey duplicate = (Monkey) sanctuary.createMonkey("Emma", Species.Drill,
+            Sex.Male, Size.Large, 42, 24, Foods.Insects);
+
+    IntakeReport report = sanctuary.addMonkeysToSanctuary(
+            Arrays.asList(monkey1, monkey2, duplicate, monkey3, monkey4));
+
+    assertEquals(5, report.size());
+    assertEquals(IntakeOutcome.Admitted, report.getOutcome(0));
+    assertEquals(IntakeOutcome.Admitted, report.getOutcome(1));
+    assertEquals(IntakeOutcome.DuplicateName, report.getOutcome(2));
+    assertEquals(IntakeOutcome.Admitted, report.getOutcome(3));
+    assertEquals(IntakeOutcome.NoSpace, report.getOutcome(4));
+    assertEquals(Arrays.asList(duplicate, monkey4), report.getRejected());
+    assertEquals(3, sanctuary.getIsolationOccupancy());
+  }
+
+  @Test
+  public void addMonkeysToSanctuaryExistingName() {
+    sanctuary.addMonkeyToSanctuary(monkey1);
+
+    IntakeReport report = sanctuary.addMonkeysToSanctuary(Arrays.asList(monkey1, monkey2));
+
+    assertEquals(1, report.count(IntakeOutcome.Admitted));
+    assertEquals(1, report.count(IntakeOutcome.DuplicateName));
+    assertEquals(2, sanctuary.getIsolationOccupancy());
+  }
+
+  @Test
+  public void tryAddMonkeyToSanctuary() {
+    sanctuary.createIsolation(1);
+    Monkey duplicate = (Monkey) sanctuary.createMonkey("Emma", Species.Drill,
+            Sex.Male, Size.Large, 42, 24, Foods.Insects);
+
+    assertEquals(Outcome.Done, sanctuary.tryAddMonkeyToSanctuary(monkey1).getOutcome());
+    Result<Void> duplicateName = sanctuary.tryAddMonkeyToSanctuary(duplicate);
+    Result<Void> noSpace = sanctuary.tryAddMonkeyToSanctuary(monkey2);
+
+    assertEquals(Outcome.DuplicateName, duplicateName.getOutcome());
+    assertEquals(Outcome.NoSpace, noSpace.getOutcome());
+    assertSame(noSpace, sanctuary.tryAddMonkeyToSanctuary(monkey3));
+    assertEquals(1, sanctuary.getIsolationOccupancy());
+  }
+
+  @Test
+  public void tryShiftMonkeyToEnclosure() {
+    sanctuary.addMonkeyToSanctuary(monkey1);
+    sanctuary.addMonkeyToSanctuary(monkey2);
+    sanctuary.addMonkeyToSanctuary(monkey5);
+    sanctuary.addMonkeyToSanctuary((Monkey) sanctuary.createMonkey("Jake", Species.Howler,
+            Sex.Male, Size.Large, 22, 40, Foods.Eggs));
+
+    Result<Enclosure> shifted = sanctuary.tryShiftMonkeyToEnclosure(monkey1);
+    assertEquals(Outcome.Done, shifted.getOutcome());
+    assertEquals("Enclosure 2", shifted.getValue().getName());
+    assertEquals(Outcome.NotFound, sanctuary.tryShiftMonkeyToEnclosure(monkey1).getOutcome());
+    assertEquals(Outcome.Done, sanctuary.tryShiftMonkeyToEnclosure(monkey2).getOutcome());
+    assertEquals(Outcome.Done, sanctuary.tryShiftMonkeyToEnclosure(monkey5).getOutcome());
+    assertEquals(Outcome.NoEnclosure, sanctuary.tryShiftMonkeyToEnclosure(
+            sanctuary.lookupMonkey("Jake")).getOutcome());
+    assertEquals(1, sanctuary.getIsolationOccupancy());
+  }
+
+  @Test
+  public void tryCreateEnclosure() {
+    assertEquals(Outcome.InvalidSize,
+            sanctuary.tryCreateEnclosure("Enclosure 4", 0, Species.Spider).getOutcome());
+    assertEquals("Enclosure 4",
+            sanctuary.tryCreateEnclosure("Enclosure 4", 10, Species.Spider).getValue().getName());
+  }
+}